@@ -1,9 +1,10 @@
 package io.microsphere.multiple.active.zone.spring.aws;
 
-import io.microsphere.multiple.active.zone.HttpUtils;
+import io.microsphere.multiple.active.zone.MetadataHttpClient;
 import io.microsphere.multiple.active.zone.spring.AbstractZoneLocator;
 import io.microsphere.multiple.active.zone.spring.ZoneLocator;
 import org.springframework.context.EnvironmentAware;
+import org.springframework.core.annotation.Order;
 import org.springframework.core.env.Environment;
 import org.springframework.util.StringUtils;
 
@@ -12,11 +13,15 @@ import static io.microsphere.multiple.active.zone.ZoneConstants.LOCATOR_TIMEOUT_
 
 /**
  * Amazon EC2 Availability Zone Endpoint {@link ZoneLocator}
+ * <p>
+ * The endpoint is requested with the IMDSv2 session token, which is cached by {@link MetadataHttpClient} until it
+ * expires, and IMDSv1 is used if the session token is not supported.
  *
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
  * @see ZoneLocator
  * @since 1.0.0
  */
+@Order(Ec2AvailabilityZoneEndpointZoneLocator.DEFAULT_ORDER)
 public class Ec2AvailabilityZoneEndpointZoneLocator extends AbstractZoneLocator implements EnvironmentAware {
 
     public static final String AVAILABILITY_ZONE_ENDPOINT_URI_PROPERTY_NAME = "EC2_AVAILABILITY_ZONE_ENDPOINT_URI";
@@ -42,7 +47,7 @@ public class Ec2AvailabilityZoneEndpointZoneLocator extends AbstractZoneLocator
         String zone = null;
         if (StringUtils.hasText(uri)) {
             try {
-                zone = HttpUtils.doGet(uri, timeout);
+                zone = MetadataHttpClient.getDefault().getWithToken(uri, timeout);
                 logger.info("The zone ['{}'] was located from the EC2 Availability Zone Endpoint[URI : '{}' , property name: '{}']", zone, uri,
                         AVAILABILITY_ZONE_ENDPOINT_URI_PROPERTY_NAME);
             } catch (Throwable e) {
@@ -1,18 +1,16 @@
 package io.microsphere.multiple.active.zone.spring.aws;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.microsphere.multiple.active.zone.spring.AbstractZoneLocator;
 import io.microsphere.multiple.active.zone.spring.ZoneLocator;
+import org.springframework.core.annotation.Order;
 import org.springframework.core.env.Environment;
 import org.springframework.util.StringUtils;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.InputStream;
-import java.util.Map;
 
-import static io.microsphere.io.IOUtils.copyToString;
-import static java.nio.charset.StandardCharsets.UTF_8;
+import static io.microsphere.multiple.active.zone.spring.aws.EcsMetadata.AVAILABILITY_ZONE_FIELD_NAME;
+import static io.microsphere.multiple.active.zone.spring.aws.EcsMetadata.CLUSTER_FIELD_NAME;
+import static io.microsphere.multiple.active.zone.spring.aws.EcsMetadata.TASK_ARN_FIELD_NAME;
 
 /**
  *
@@ -28,14 +26,13 @@ import static java.nio.charset.StandardCharsets.UTF_8;
  * @see EcsTaskMetadataEndpointV4ZoneLocator
  * @since 1.0.0
  */
+@Order(EcsContainerMetadataFileZoneLocator.DEFAULT_ORDER)
 public class EcsContainerMetadataFileZoneLocator extends AbstractZoneLocator {
 
     public static final String METADATA_FILE_ENV_NAME = "ECS_CONTAINER_METADATA_FILE";
 
     public static final int DEFAULT_ORDER = 5;
 
-    private static final String ZONE_FIELD_NAME = "AvailabilityZone";
-
     public EcsContainerMetadataFileZoneLocator() {
         super(DEFAULT_ORDER);
     }
@@ -52,14 +49,13 @@ public class EcsContainerMetadataFileZoneLocator extends AbstractZoneLocator {
         if (StringUtils.hasText(metadataFilePath)) {
             File metadataFile = new File(metadataFilePath);
             if (metadataFile.canRead()) {
-                try (InputStream inputStream = new FileInputStream(metadataFile)) {
-                    String json = copyToString(inputStream, UTF_8);
-                    ObjectMapper objectMapper = new ObjectMapper();
-                    Map metadata = objectMapper.readValue(json, Map.class);
-                    Object zoneValue = metadata.get(ZONE_FIELD_NAME);
-                    zone = zoneValue == null ? null : String.valueOf(zoneValue);
-                    logger.info("The zone ['{}'] was located from the Amazon ECS Container metadata file [path: : '{}' , property name: '{}']", zone,
-                            metadataFile.getAbsolutePath(), METADATA_FILE_ENV_NAME);
+                try {
+                    // The container metadata file does not contain the launch type
+                    EcsMetadata metadata = EcsMetadataParser.parse(metadataFile.toPath(), AVAILABILITY_ZONE_FIELD_NAME,
+                            CLUSTER_FIELD_NAME, TASK_ARN_FIELD_NAME);
+                    zone = metadata.getAvailabilityZone();
+                    logger.info("The zone ['{}'] was located from the Amazon ECS Container metadata file [path: : '{}' , property name: '{}'] : {}", zone,
+                            metadataFile.getAbsolutePath(), METADATA_FILE_ENV_NAME, metadata);
                 } catch (Throwable e) {
                     logger.error("Read Amazon ECS container metadata file [path : '{}'] failed", metadataFile.getAbsolutePath(), e);
                 }
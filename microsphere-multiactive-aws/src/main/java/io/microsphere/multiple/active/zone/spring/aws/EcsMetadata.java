@@ -0,0 +1,79 @@
+package io.microsphere.multiple.active.zone.spring.aws;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The fields of Amazon ECS metadata, which are extracted by {@link EcsMetadataParser}.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see EcsMetadataParser
+ * @since 1.0.0
+ */
+public class EcsMetadata {
+
+    public static final String AVAILABILITY_ZONE_FIELD_NAME = "AvailabilityZone";
+
+    public static final String CLUSTER_FIELD_NAME = "Cluster";
+
+    public static final String TASK_ARN_FIELD_NAME = "TaskARN";
+
+    public static final String LAUNCH_TYPE_FIELD_NAME = "LaunchType";
+
+    private final Map<String, String> fields;
+
+    EcsMetadata(Map<String, String> fields) {
+        this.fields = Collections.unmodifiableMap(new LinkedHashMap<>(fields));
+    }
+
+    /**
+     * @return the availability zone, or <code>null</code> if absent
+     */
+    public String getAvailabilityZone() {
+        return get(AVAILABILITY_ZONE_FIELD_NAME);
+    }
+
+    /**
+     * @return the cluster name or ARN, or <code>null</code> if absent
+     */
+    public String getCluster() {
+        return get(CLUSTER_FIELD_NAME);
+    }
+
+    /**
+     * @return the task ARN, or <code>null</code> if absent
+     */
+    public String getTaskArn() {
+        return get(TASK_ARN_FIELD_NAME);
+    }
+
+    /**
+     * @return the launch type, e.g "EC2" or "FARGATE", or <code>null</code> if absent
+     */
+    public String getLaunchType() {
+        return get(LAUNCH_TYPE_FIELD_NAME);
+    }
+
+    /**
+     * Get the value of the extracted top-level field
+     *
+     * @param fieldName the field name
+     * @return the value, or <code>null</code> if absent or not requested
+     */
+    public String get(String fieldName) {
+        return fields.get(fieldName);
+    }
+
+    /**
+     * @return the read-only extracted fields
+     */
+    public Map<String, String> getFields() {
+        return fields;
+    }
+
+    @Override
+    public String toString() {
+        return "EcsMetadata" + fields;
+    }
+}
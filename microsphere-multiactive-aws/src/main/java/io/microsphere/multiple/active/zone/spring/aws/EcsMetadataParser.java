@@ -0,0 +1,109 @@
+package io.microsphere.multiple.active.zone.spring.aws;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadFeature;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static io.microsphere.multiple.active.zone.spring.aws.EcsMetadata.AVAILABILITY_ZONE_FIELD_NAME;
+import static io.microsphere.multiple.active.zone.spring.aws.EcsMetadata.CLUSTER_FIELD_NAME;
+import static io.microsphere.multiple.active.zone.spring.aws.EcsMetadata.LAUNCH_TYPE_FIELD_NAME;
+import static io.microsphere.multiple.active.zone.spring.aws.EcsMetadata.TASK_ARN_FIELD_NAME;
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * The parser of Amazon ECS metadata, the top-level fields are extracted by streaming the JSON tokens in a single pass,
+ * the nested objects and arrays are skipped, and the parsing stops as soon as all requested fields have been read.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see EcsMetadata
+ * @see JsonParser
+ * @since 1.0.0
+ */
+public abstract class EcsMetadataParser {
+
+    /**
+     * The default field names to be extracted
+     */
+    public static final String[] DEFAULT_FIELD_NAMES = {AVAILABILITY_ZONE_FIELD_NAME, CLUSTER_FIELD_NAME,
+            TASK_ARN_FIELD_NAME, LAUNCH_TYPE_FIELD_NAME};
+
+    /**
+     * The shared and thread-safe {@link JsonFactory}
+     */
+    private static final JsonFactory jsonFactory = JsonFactory.builder()
+            .disable(StreamReadFeature.AUTO_CLOSE_SOURCE)
+            .build();
+
+    /**
+     * Parse the metadata file through the {@link FileChannel}
+     *
+     * @param metadataFile the metadata file
+     * @param fieldNames   the top-level field names to be extracted, {@link #DEFAULT_FIELD_NAMES} if empty
+     * @return non-null
+     * @throws IOException if the file can't be read or the content is not a JSON object
+     */
+    public static EcsMetadata parse(Path metadataFile, String... fieldNames) throws IOException {
+        try (FileChannel fileChannel = FileChannel.open(metadataFile, READ);
+             InputStream inputStream = Channels.newInputStream(fileChannel)) {
+            return parse(inputStream, fieldNames);
+        }
+    }
+
+    /**
+     * Parse the metadata from the {@link InputStream}, which will not be closed.
+     *
+     * @param inputStream the {@link InputStream} of metadata
+     * @param fieldNames  the top-level field names to be extracted, {@link #DEFAULT_FIELD_NAMES} if empty
+     * @return non-null
+     * @throws IOException if the content can't be read or is not a JSON object
+     */
+    public static EcsMetadata parse(InputStream inputStream, String... fieldNames) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(inputStream)) {
+            return parse(parser, fieldNames);
+        }
+    }
+
+    /**
+     * Parse the metadata from the JSON content
+     *
+     * @param json       the JSON content of metadata
+     * @param fieldNames the top-level field names to be extracted, {@link #DEFAULT_FIELD_NAMES} if empty
+     * @return non-null
+     * @throws IOException if the content is not a JSON object
+     */
+    public static EcsMetadata parse(String json, String... fieldNames) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            return parse(parser, fieldNames);
+        }
+    }
+
+    private static EcsMetadata parse(JsonParser parser, String... fieldNames) throws IOException {
+        Set<String> pendingFieldNames = new HashSet<>(Arrays.asList(fieldNames.length == 0 ? DEFAULT_FIELD_NAMES : fieldNames));
+        Map<String, String> fields = new HashMap<>(pendingFieldNames.size());
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("The ECS metadata is not a JSON object : " + parser.currentLocation());
+        }
+        String fieldName;
+        while (!pendingFieldNames.isEmpty() && (fieldName = parser.nextFieldName()) != null) {
+            JsonToken token = parser.nextToken();
+            if (token.isStructStart()) {
+                parser.skipChildren();
+            } else if (pendingFieldNames.remove(fieldName) && token != JsonToken.VALUE_NULL) {
+                fields.put(fieldName, parser.getText());
+            }
+        }
+        return new EcsMetadata(fields);
+    }
+}
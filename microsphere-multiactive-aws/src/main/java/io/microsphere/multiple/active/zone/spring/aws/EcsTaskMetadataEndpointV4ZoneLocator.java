@@ -1,14 +1,15 @@
 package io.microsphere.multiple.active.zone.spring.aws;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.microsphere.multiple.active.zone.HttpUtils;
 import io.microsphere.multiple.active.zone.spring.AbstractZoneLocator;
 import io.microsphere.multiple.active.zone.spring.ZoneLocator;
 import org.springframework.context.EnvironmentAware;
+import org.springframework.core.annotation.Order;
 import org.springframework.core.env.Environment;
 import org.springframework.util.StringUtils;
 
-import java.util.Map;
+import java.io.IOException;
+import java.io.InputStream;
 
 import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_TIMEOUT;
 import static io.microsphere.multiple.active.zone.ZoneConstants.LOCATOR_TIMEOUT_PROPERTY_NAME;
@@ -22,19 +23,21 @@ import static io.microsphere.multiple.active.zone.ZoneConstants.LOCATOR_TIMEOUT_
  * on Amazon EC2 Linux instances that are running at least version 1.39.0 of the Amazon ECS
  * container agent. For Amazon EC2 Windows instances that use awsvpc network mode, the Amazon ECS
  * container agent must be at least version 1.54.0
+ * <p>
+ * The task metadata, which grows with the containers of task, is streamed into the {@link EcsMetadataParser} without
+ * the size limit of {@link HttpUtils#doGet(String, int)}, and the reading stops once the fields have been parsed.
  *
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
  * @see ZoneLocator
  * @since 1.0.0
  */
+@Order(EcsTaskMetadataEndpointV4ZoneLocator.DEFAULT_ORDER)
 public class EcsTaskMetadataEndpointV4ZoneLocator extends AbstractZoneLocator implements EnvironmentAware {
 
     public static final String METADATA_URI_V4_ENV_NAME = "ECS_CONTAINER_METADATA_URI_V4";
 
     public static final int DEFAULT_ORDER = 10;
 
-    private static final String ZONE_FIELD_NAME = "AvailabilityZone";
-
     private int timeout = DEFAULT_TIMEOUT;
 
     public EcsTaskMetadataEndpointV4ZoneLocator() {
@@ -53,13 +56,10 @@ public class EcsTaskMetadataEndpointV4ZoneLocator extends AbstractZoneLocator im
         if (StringUtils.hasText(uri)) {
             String taskURL = uri + "/task";
             try {
-                String json = HttpUtils.doGet(taskURL, timeout);
-                ObjectMapper objectMapper = new ObjectMapper();
-                Map metadata = objectMapper.readValue(json, Map.class);
-                Object zoneValue = metadata.get(ZONE_FIELD_NAME);
-                zone = zoneValue == null ? null : String.valueOf(zoneValue);
-                logger.info("The zone ['{}'] was located from the Amazon ECS Task metadata endpoint version 4 [URL : '{}' , property name: '{}']",
-                        zone, taskURL, METADATA_URI_V4_ENV_NAME);
+                EcsMetadata metadata = getTaskMetadata(taskURL);
+                zone = metadata.getAvailabilityZone();
+                logger.info("The zone ['{}'] was located from the Amazon ECS Task metadata endpoint version 4 [URL : '{}' , property name: '{}'] : {}",
+                        zone, taskURL, METADATA_URI_V4_ENV_NAME, metadata);
             } catch (Throwable e) {
                 logger.error("Request Amazon ECS Task metadata endpoint version 4 [URL : '{}'] failed", taskURL, e);
             }
@@ -70,6 +70,15 @@ public class EcsTaskMetadataEndpointV4ZoneLocator extends AbstractZoneLocator im
         return zone;
     }
 
+    private EcsMetadata getTaskMetadata(String taskURL) throws IOException {
+        try (InputStream inputStream = HttpUtils.doGetAsStream(taskURL, timeout)) {
+            if (inputStream == null) {
+                throw new IOException("The URL of Amazon ECS Task metadata endpoint is not a HTTP(S) URL : " + taskURL);
+            }
+            return EcsMetadataParser.parse(inputStream);
+        }
+    }
+
     @Override
     public void setEnvironment(Environment environment) {
         this.timeout = environment.getProperty(LOCATOR_TIMEOUT_PROPERTY_NAME, int.class, DEFAULT_TIMEOUT);
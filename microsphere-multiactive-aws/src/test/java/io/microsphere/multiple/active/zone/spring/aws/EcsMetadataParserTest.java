@@ -0,0 +1,104 @@
+package io.microsphere.multiple.active.zone.spring.aws;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static io.microsphere.multiple.active.zone.spring.aws.EcsMetadata.AVAILABILITY_ZONE_FIELD_NAME;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link EcsMetadataParser}
+ */
+class EcsMetadataParserTest {
+
+    private static final String TASK_METADATA = "{" +
+            "\"Cluster\":\"arn:aws:ecs:us-west-2:111122223333:cluster/default\"," +
+            "\"TaskARN\":\"arn:aws:ecs:us-west-2:111122223333:task/default/158d1c8083dd49d6b527399fd6414f5c\"," +
+            "\"Family\":\"curltest\"," +
+            "\"Containers\":[{\"Name\":\"curl\",\"Labels\":{\"AvailabilityZone\":\"nested\"},\"Networks\":[{\"IPv4Addresses\":[\"10.0.2.106\"]}]}]," +
+            "\"Limits\":{\"CPU\":0.25,\"Memory\":512}," +
+            "\"PullStartedAt\":null," +
+            "\"AvailabilityZone\":\"us-west-2d\"," +
+            "\"LaunchType\":\"EC2\"," +
+            "\"ClockDrift\":{\"ClockErrorBound\":0.44}" +
+            "}";
+
+    @Test
+    void testParse() throws IOException {
+        EcsMetadata metadata = EcsMetadataParser.parse(TASK_METADATA);
+        assertEquals("us-west-2d", metadata.getAvailabilityZone());
+        assertEquals("arn:aws:ecs:us-west-2:111122223333:cluster/default", metadata.getCluster());
+        assertEquals("arn:aws:ecs:us-west-2:111122223333:task/default/158d1c8083dd49d6b527399fd6414f5c", metadata.getTaskArn());
+        assertEquals("EC2", metadata.getLaunchType());
+        assertEquals(4, metadata.getFields().size());
+        assertNull(metadata.get("Family"));
+    }
+
+    @Test
+    void testParseWithFieldNames() throws IOException {
+        EcsMetadata metadata = EcsMetadataParser.parse(TASK_METADATA, AVAILABILITY_ZONE_FIELD_NAME, "Family");
+        assertEquals("us-west-2d", metadata.getAvailabilityZone());
+        assertEquals("curltest", metadata.get("Family"));
+        assertNull(metadata.getCluster());
+        assertEquals(2, metadata.getFields().size());
+    }
+
+    @Test
+    void testParseStopsOnRequestedFields() throws IOException {
+        // The malformed content after the requested fields is never read
+        String json = "{\"AvailabilityZone\":\"us-west-2a\",\"Cluster\":\"default\", !!!";
+        EcsMetadata metadata = EcsMetadataParser.parse(json, AVAILABILITY_ZONE_FIELD_NAME);
+        assertEquals("us-west-2a", metadata.getAvailabilityZone());
+        assertThrows(IOException.class, () -> EcsMetadataParser.parse(json));
+    }
+
+    @Test
+    void testParseOnAbsentFields() throws IOException {
+        EcsMetadata metadata = EcsMetadataParser.parse("{\"Containers\":[{\"AvailabilityZone\":\"nested\"}],\"LaunchType\":null}");
+        assertNull(metadata.getAvailabilityZone());
+        assertNull(metadata.getLaunchType());
+        assertTrue(metadata.getFields().isEmpty());
+    }
+
+    @Test
+    void testParseOnNonObject() {
+        assertThrows(IOException.class, () -> EcsMetadataParser.parse("[]"));
+        assertThrows(IOException.class, () -> EcsMetadataParser.parse(""));
+    }
+
+    @Test
+    void testParseInputStream() throws IOException {
+        boolean[] closed = new boolean[1];
+        InputStream inputStream = new ByteArrayInputStream(TASK_METADATA.getBytes(UTF_8)) {
+            @Override
+            public void close() throws IOException {
+                closed[0] = true;
+                super.close();
+            }
+        };
+        EcsMetadata metadata = EcsMetadataParser.parse(inputStream);
+        assertEquals("us-west-2d", metadata.getAvailabilityZone());
+        assertFalse(closed[0]);
+    }
+
+    @Test
+    void testParseFile(@TempDir Path tempDir) throws IOException {
+        Path metadataFile = tempDir.resolve("ecs-container-metadata.json");
+        Files.write(metadataFile, TASK_METADATA.getBytes(UTF_8));
+        EcsMetadata metadata = EcsMetadataParser.parse(metadataFile);
+        assertEquals("us-west-2d", metadata.getAvailabilityZone());
+        assertEquals("EC2", metadata.getLaunchType());
+        assertThrows(IOException.class, () -> EcsMetadataParser.parse(tempDir.resolve("absent.json")));
+    }
+}
@@ -0,0 +1,290 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.multiple.active.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.CodeSource;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Properties;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+
+import static java.lang.Double.parseDouble;
+import static java.lang.Math.max;
+import static java.lang.String.format;
+import static java.lang.System.getProperty;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Locale.ROOT;
+
+/**
+ * The entry of the benchmarks, which runs the JMH benchmarks with {@link GCProfiler} to report the allocations
+ * per operation, and then compares the results with the locally recorded baseline for the regressions.
+ * <p>
+ * The arguments are the same as JMH's command line, and the following system properties are supported :
+ * <ul>
+ *     <li>{@link #BASELINE_PROPERTY_NAME "benchmark.baseline"} : the path of baseline, defaults to
+ *     "baseline/benchmark-baseline.properties" of the benchmarks module, which is resolved by the location of
+ *     <code>target/benchmarks.jar</code> rather than the working directory</li>
+ *     <li>{@link #UPDATE_BASELINE_PROPERTY_NAME "benchmark.baseline.update"} : update the baseline by the results or not,
+ *     defaults to <code>false</code></li>
+ *     <li>{@link #THRESHOLD_PROPERTY_NAME "benchmark.regression.threshold"} : the tolerated ratio of regression,
+ *     defaults to 0.1</li>
+ *     <li>{@link #FAIL_ON_REGRESSION_PROPERTY_NAME "benchmark.regression.fail"} : exit with non-zero code if any regression
+ *     was found or not, defaults to <code>false</code></li>
+ * </ul>
+ * The missing or empty baseline is reported as a warning, because none of the regressions could be detected, and it
+ * also fails the run if {@link #FAIL_ON_REGRESSION_PROPERTY_NAME "benchmark.regression.fail"} is enabled. No baseline
+ * is shipped, it should be recorded on the machine running the comparison, because the scores are not comparable
+ * across the machines, thus the JVM and the hardware are recorded in its header.
+ * e.g.
+ * <pre>
+ * java -jar target/benchmarks.jar ZonePreferenceFilterBenchmark -p instanceCount=1000
+ * java -Dbenchmark.baseline.update=true -jar microsphere-multiactive-benchmarks/target/benchmarks.jar
+ * </pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see GCProfiler
+ * @since 1.0.0
+ */
+public class BenchmarkRunner {
+
+    public static final String BASELINE_PROPERTY_NAME = "benchmark.baseline";
+
+    public static final String DEFAULT_BASELINE = "baseline/benchmark-baseline.properties";
+
+    public static final String UPDATE_BASELINE_PROPERTY_NAME = "benchmark.baseline.update";
+
+    public static final String THRESHOLD_PROPERTY_NAME = "benchmark.regression.threshold";
+
+    public static final String DEFAULT_THRESHOLD = "0.1";
+
+    public static final String FAIL_ON_REGRESSION_PROPERTY_NAME = "benchmark.regression.fail";
+
+    /**
+     * The secondary result of {@link GCProfiler} : the allocated bytes per operation
+     */
+    public static final String ALLOCATION_RESULT_NAME = "gc.alloc.rate.norm";
+
+    private static final String TARGET_DIRECTORY_NAME = "target";
+
+    private static final String SCORE_SUFFIX = ".score";
+
+    private static final String ALLOCATION_SUFFIX = ".alloc";
+
+    /**
+     * The allocation below this bytes per operation is regarded as noise
+     */
+    private static final double ALLOCATION_NOISE = 16;
+
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException, IOException {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        Path moduleDirectory = resolveModuleDirectory();
+        OptionsBuilder optionsBuilder = new OptionsBuilder();
+        if (commandLineOptions.getIncludes().isEmpty()) {
+            optionsBuilder.include(BenchmarkRunner.class.getPackage().getName() + ".*Benchmark");
+        }
+        Options options = optionsBuilder
+                .parent(commandLineOptions)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(moduleDirectory.resolve("target/jmh-result.json").toString())
+                .build();
+
+        Collection<RunResult> runResults = new Runner(options).run();
+
+        Map<String, Double> results = toResults(runResults);
+        Path baselinePath = resolveBaselinePath(moduleDirectory);
+
+        if (Boolean.getBoolean(UPDATE_BASELINE_PROPERTY_NAME)) {
+            Map<String, Double> baseline = loadBaseline(baselinePath);
+            baseline.putAll(results);
+            storeBaseline(baselinePath, baseline);
+            System.out.printf("The baseline[%s] has been updated by %d results%n", baselinePath, results.size());
+            return;
+        }
+
+        boolean failOnRegression = Boolean.getBoolean(FAIL_ON_REGRESSION_PROPERTY_NAME);
+        Map<String, Double> baseline = loadBaseline(baselinePath);
+        if (baseline.isEmpty()) {
+            System.err.printf("%nWARNING : No baseline was found in '%s', the regressions can't be detected! " +
+                    "Run with -D%s=true to record it%n", baselinePath.toAbsolutePath(), UPDATE_BASELINE_PROPERTY_NAME);
+            if (failOnRegression) {
+                System.exit(2);
+            }
+            return;
+        }
+
+        int regressions = compare(baseline, results, parseDouble(getProperty(THRESHOLD_PROPERTY_NAME, DEFAULT_THRESHOLD)));
+        if (regressions > 0 && failOnRegression) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Resolve the directory of the benchmarks module by the location of the classes, e.g.
+     * "target/benchmarks.jar" or "target/classes", the working directory will be used if it's unknown.
+     *
+     * @return non-null
+     */
+    static Path resolveModuleDirectory() {
+        Path path = null;
+        try {
+            CodeSource codeSource = BenchmarkRunner.class.getProtectionDomain().getCodeSource();
+            if (codeSource != null) {
+                path = Paths.get(codeSource.getLocation().toURI());
+            }
+        } catch (URISyntaxException | IllegalArgumentException | SecurityException e) {
+            // The location is not a file, e.g. a nested jar
+        }
+        return resolveModuleDirectory(path);
+    }
+
+    static Path resolveModuleDirectory(Path classesLocation) {
+        Path path = classesLocation == null ? null : classesLocation.toAbsolutePath();
+        // target/benchmarks.jar or target/classes
+        Path target = path == null ? null : path.getParent();
+        if (target == null || !TARGET_DIRECTORY_NAME.equals(String.valueOf(target.getFileName())) || target.getParent() == null) {
+            return Paths.get("").toAbsolutePath();
+        }
+        return target.getParent();
+    }
+
+    static Path resolveBaselinePath(Path moduleDirectory) {
+        String baseline = getProperty(BASELINE_PROPERTY_NAME);
+        // The specified baseline is relative to the working directory as usual
+        return baseline == null ? moduleDirectory.resolve(DEFAULT_BASELINE) : Paths.get(baseline);
+    }
+
+    /**
+     * Convert the {@link RunResult run results} to the flat results, the key is the benchmark with the parameters,
+     * the value is the score or the allocated bytes per operation.
+     *
+     * @param runResults {@link RunResult run results}
+     * @return the sorted results
+     */
+    static Map<String, Double> toResults(Collection<RunResult> runResults) {
+        Map<String, Double> results = new TreeMap<>();
+        for (RunResult runResult : runResults) {
+            String key = buildKey(runResult);
+            results.put(key + SCORE_SUFFIX, runResult.getPrimaryResult().getScore());
+            Result allocation = runResult.getSecondaryResults().get(ALLOCATION_RESULT_NAME);
+            if (allocation != null) {
+                results.put(key + ALLOCATION_SUFFIX, allocation.getScore());
+            }
+        }
+        return results;
+    }
+
+    static String buildKey(RunResult runResult) {
+        String benchmark = runResult.getParams().getBenchmark();
+        String simpleName = benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1);
+        StringJoiner params = new StringJoiner(",", "[", "]");
+        for (String paramKey : runResult.getParams().getParamsKeys()) {
+            params.add(paramKey + "=" + runResult.getParams().getParam(paramKey));
+        }
+        return simpleName + params;
+    }
+
+    /**
+     * Compare the results with the baseline, the lower score and allocation are the better.
+     *
+     * @param baseline  the baseline
+     * @param results   the results
+     * @param threshold the tolerated ratio of regression
+     * @return the count of regressions
+     */
+    static int compare(Map<String, Double> baseline, Map<String, Double> results, double threshold) {
+        int regressions = 0;
+        int uncompared = 0;
+        System.out.printf("%n%-100s %16s %16s %10s%n", "Benchmark", "Baseline", "Result", "Change");
+        for (Map.Entry<String, Double> entry : results.entrySet()) {
+            String key = entry.getKey();
+            Double expected = baseline.get(key);
+            if (expected == null) {
+                uncompared++;
+                continue;
+            }
+            double actual = entry.getValue();
+            double change = (actual - expected) / max(expected, key.endsWith(ALLOCATION_SUFFIX) ? ALLOCATION_NOISE : Double.MIN_VALUE);
+            boolean regressed = change > threshold && !(key.endsWith(ALLOCATION_SUFFIX) && actual < ALLOCATION_NOISE);
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-100s %16.3f %16.3f %+9.1f%%%s%n", key, expected, actual, change * 100, regressed ? " REGRESSION" : "");
+        }
+        System.out.println(format("%d regression(s) over the threshold %.0f%%", regressions, threshold * 100));
+        if (uncompared > 0) {
+            System.err.printf("WARNING : %d of %d result(s) are not in the baseline, which were not compared! " +
+                    "Run with -D%s=true to record them%n", uncompared, results.size(), UPDATE_BASELINE_PROPERTY_NAME);
+        }
+        return regressions;
+    }
+
+    static Map<String, Double> loadBaseline(Path path) throws IOException {
+        Map<String, Double> baseline = new TreeMap<>();
+        if (Files.exists(path)) {
+            Properties properties = new Properties();
+            try (Reader reader = Files.newBufferedReader(path, UTF_8)) {
+                properties.load(reader);
+            }
+            for (String name : properties.stringPropertyNames()) {
+                baseline.put(name, parseDouble(properties.getProperty(name)));
+            }
+        }
+        return baseline;
+    }
+
+    static void storeBaseline(Path path, Map<String, Double> baseline) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (Writer writer = Files.newBufferedWriter(path, UTF_8)) {
+            writer.write("# The baseline of benchmarks : <Benchmark>[<params>].score (ns/op) and .alloc (B/op)\n");
+            writer.write("# Recorded by : java -D" + UPDATE_BASELINE_PROPERTY_NAME + "=true -jar target/benchmarks.jar\n");
+            writer.write("# Java : " + getProperty("java.vm.name") + " " + getProperty("java.version") + "\n");
+            writer.write("# OS : " + getProperty("os.name") + " " + getProperty("os.version") + " " + getProperty("os.arch") + "\n");
+            writer.write("# Hardware : " + Runtime.getRuntime().availableProcessors() + " processors, "
+                    + Runtime.getRuntime().maxMemory() / (1024 * 1024) + " MB max heap\n");
+            for (Map.Entry<String, Double> entry : baseline.entrySet()) {
+                // The equal signs and colons in the keys must be escaped in properties
+                writer.write(entry.getKey().replace("=", "\\=").replace(":", "\\:"));
+                writer.write('=');
+                writer.write(format(ROOT, "%.3f", entry.getValue()));
+                writer.write('\n');
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.multiple.active.benchmark;
+
+import io.microsphere.multiple.active.zone.ZoneContext;
+import io.microsphere.multiple.active.zone.ZoneContextSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import static io.microsphere.multiple.active.benchmark.ZonePreferenceScenario.LOCAL_ZONE;
+import static io.microsphere.multiple.active.benchmark.ZonePreferenceScenario.SAME_ZONE;
+import static io.microsphere.multiple.active.zone.ZoneConstants.CURRENT_ZONE_PROPERTY_NAME;
+import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_ZONE;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * The benchmark of the reads of {@link ZoneContext} which are performed on every outgoing call.
+ * <p>
+ * The {@link #getCurrentZone() cached current zone} is a volatile read, which is compared with
+ * {@link #getCurrentZoneFromSystemProperty() the system property} looked up from {@link System#getProperties()}.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see ZoneContext
+ * @see ZoneContextSnapshot
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@Threads(4)
+public class ZoneContextBenchmark {
+
+    private ZoneContext zoneContext;
+
+    @Setup
+    public void setup() {
+        zoneContext = new ZoneContext();
+        SAME_ZONE.configure(zoneContext, 3);
+        ZoneContext.setCurrentZone(LOCAL_ZONE);
+    }
+
+    @Benchmark
+    public String getCurrentZone() {
+        return ZoneContext.getCurrentZone();
+    }
+
+    @Benchmark
+    public String getCurrentZoneFromSystemProperty() {
+        return System.getProperty(CURRENT_ZONE_PROPERTY_NAME, DEFAULT_ZONE);
+    }
+
+    @Benchmark
+    public String getZone() {
+        return zoneContext.getZone();
+    }
+
+    @Benchmark
+    public ZoneContextSnapshot getSnapshot() {
+        return zoneContext.getSnapshot();
+    }
+
+    @Benchmark
+    public void readProperties(Blackhole blackhole) {
+        blackhole.consume(zoneContext.isEnabled());
+        blackhole.consume(zoneContext.isPreferenceEnabled());
+        blackhole.consume(zoneContext.getZone());
+        blackhole.consume(zoneContext.getPreferenceUpstreamZoneReadyPercentage());
+        blackhole.consume(zoneContext.getPreferenceUpstreamSameZoneMinAvailable());
+        blackhole.consume(zoneContext.getPreferenceUpstreamDisabledZone());
+    }
+
+    @Benchmark
+    public void readSnapshotProperties(Blackhole blackhole) {
+        ZoneContextSnapshot snapshot = zoneContext.getSnapshot();
+        blackhole.consume(snapshot.isEnabled());
+        blackhole.consume(snapshot.isPreferenceEnabled());
+        blackhole.consume(snapshot.getZone());
+        blackhole.consume(snapshot.getPreferenceUpstreamZoneReadyPercentage());
+        blackhole.consume(snapshot.getPreferenceUpstreamSameZoneMinAvailable());
+        blackhole.consume(snapshot.getPreferenceUpstreamDisabledZones());
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.multiple.active.benchmark;
+
+import io.microsphere.multiple.active.zone.CachingZonePreferenceFilter;
+import io.microsphere.multiple.active.zone.ZoneContext;
+import io.microsphere.multiple.active.zone.ZoneFilter;
+import io.microsphere.multiple.active.zone.ZonePartitionedIndex;
+import io.microsphere.multiple.active.zone.ZonePreferenceFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.List;
+
+import static io.microsphere.multiple.active.zone.spring.cloud.CloudServerZoneResolver.INSTANCE;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * The benchmark of {@link ZonePreferenceFilter} and its alternatives across the instance counts, zone counts and
+ * {@link ZonePreferenceScenario scenarios}.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see ZonePreferenceFilter
+ * @see CachingZonePreferenceFilter
+ * @see ZonePartitionedIndex
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ZonePreferenceFilterBenchmark {
+
+    @Param({"10", "100", "1000", "10000", "50000"})
+    private int instanceCount;
+
+    @Param({"1", "3", "8"})
+    private int zoneCount;
+
+    @Param
+    private ZonePreferenceScenario scenario;
+
+    private List<ServiceInstance> serviceInstances;
+
+    private ZoneContext zoneContext;
+
+    private ZonePreferenceFilter<ServiceInstance> filter;
+
+    private ZoneFilter<ServiceInstance> cachingFilter;
+
+    private ZonePartitionedIndex<ServiceInstance> index;
+
+    @Setup
+    public void setup() {
+        zoneContext = new ZoneContext();
+        scenario.configure(zoneContext, zoneCount);
+        serviceInstances = scenario.createServiceInstances(instanceCount, zoneCount);
+        filter = new ZonePreferenceFilter<>(zoneContext, INSTANCE);
+        cachingFilter = new CachingZonePreferenceFilter<>(new ZonePreferenceFilter<>(zoneContext, INSTANCE));
+        index = new ZonePartitionedIndex<>(INSTANCE, ServiceInstance::getInstanceId);
+        index.sync(serviceInstances);
+    }
+
+    @Benchmark
+    public List<ServiceInstance> filter() {
+        return filter.filter(serviceInstances);
+    }
+
+    @Benchmark
+    public List<ServiceInstance> cachingFilter() {
+        return cachingFilter.filter(serviceInstances);
+    }
+
+    @Benchmark
+    public List<ServiceInstance> partitionedIndex() {
+        return index.filter(zoneContext.getSnapshot());
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.multiple.active.benchmark;
+
+import io.microsphere.multiple.active.zone.ZoneContext;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+import static io.microsphere.multiple.active.zone.ZoneConstants.ZONE_PROPERTY_NAME;
+
+/**
+ * The scenarios of the zone-preference for the benchmarks, each one drives {@link ZoneContext} and the upstream
+ * {@link ServiceInstance service instances} into a specific decision path.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @since 1.0.0
+ */
+public enum ZonePreferenceScenario {
+
+    /**
+     * The same-zone instances are selected
+     */
+    SAME_ZONE,
+
+    /**
+     * All zones except the local one are disabled, the same-zone instances are selected
+     */
+    DISABLED_ZONES,
+
+    /**
+     * A quarter of instances have no zone, falls back to all instances because of the ready percentage
+     */
+    ZONE_NOT_READY,
+
+    /**
+     * The same-zone instances are less than the min available, falls back to all instances
+     */
+    SAME_ZONE_NOT_ENOUGH,
+
+    /**
+     * No instance is in the local zone, falls back to all instances
+     */
+    NO_SAME_ZONE;
+
+    /**
+     * The local zone
+     */
+    public static final String LOCAL_ZONE = "zone-0";
+
+    private static final String SERVICE_ID = "benchmark-service";
+
+    /**
+     * Configure {@link ZoneContext} for this scenario
+     *
+     * @param zoneContext {@link ZoneContext}
+     * @param zoneCount   the count of zones
+     */
+    public void configure(ZoneContext zoneContext, int zoneCount) {
+        zoneContext.setEnabled(true);
+        zoneContext.setPreferenceEnabled(true);
+        zoneContext.setZone(this == NO_SAME_ZONE ? "zone-absent" : LOCAL_ZONE);
+        zoneContext.setPreferenceUpstreamZoneReadyPercentage(this == ZONE_NOT_READY ? 90 : 0);
+        zoneContext.setPreferenceUpstreamSameZoneMinAvailable(this == SAME_ZONE_NOT_ENOUGH ? Integer.MAX_VALUE : 1);
+        zoneContext.setPreferenceUpstreamDisabledZone(this == DISABLED_ZONES ? disabledZones(zoneCount) : null);
+    }
+
+    /**
+     * Create the upstream {@link ServiceInstance service instances} for this scenario, the zones are assigned
+     * round-robin.
+     *
+     * @param instanceCount the count of instances
+     * @param zoneCount     the count of zones
+     * @return non-null
+     */
+    public List<ServiceInstance> createServiceInstances(int instanceCount, int zoneCount) {
+        List<ServiceInstance> serviceInstances = new ArrayList<>(instanceCount);
+        for (int i = 0; i < instanceCount; i++) {
+            Map<String, String> metadata = new HashMap<>();
+            if (this != ZONE_NOT_READY || i % 4 != 0) {
+                metadata.put(ZONE_PROPERTY_NAME, zone(i, zoneCount));
+            }
+            serviceInstances.add(new DefaultServiceInstance(SERVICE_ID + "-" + i, SERVICE_ID, host(i), 8080,
+                    false, metadata));
+        }
+        return serviceInstances;
+    }
+
+    /**
+     * @param index     the index of instance
+     * @param zoneCount the count of zones
+     * @return the zone of the instance
+     */
+    public static String zone(int index, int zoneCount) {
+        return "zone-" + (index % zoneCount);
+    }
+
+    /**
+     * @param index the index of instance
+     * @return the host of the instance
+     */
+    public static String host(int index) {
+        return "10." + ((index >> 16) & 0xff) + "." + ((index >> 8) & 0xff) + "." + (index & 0xff);
+    }
+
+    private static String disabledZones(int zoneCount) {
+        if (zoneCount < 2) {
+            return "zone-unknown";
+        }
+        StringJoiner disabledZones = new StringJoiner(",");
+        for (int i = 1; i < zoneCount; i++) {
+            disabledZones.add("zone-" + i);
+        }
+        return disabledZones.toString();
+    }
+}
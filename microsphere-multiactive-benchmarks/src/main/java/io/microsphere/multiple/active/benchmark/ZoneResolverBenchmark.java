@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.multiple.active.benchmark;
+
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.loadbalancer.Server;
+import io.microsphere.multiple.active.zone.ZoneResolver;
+import io.microsphere.multiple.active.zone.netflix.eureka.EurekaInstanceInfoZoneResolver;
+import io.microsphere.multiple.active.zone.netflix.ribbon.RibbonServerZoneResolver;
+import io.microsphere.multiple.active.zone.spring.cloud.CloudServerZoneResolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.microsphere.multiple.active.benchmark.ZonePreferenceScenario.SAME_ZONE;
+import static io.microsphere.multiple.active.benchmark.ZonePreferenceScenario.host;
+import static io.microsphere.multiple.active.benchmark.ZonePreferenceScenario.zone;
+import static io.microsphere.multiple.active.zone.ZoneConstants.ZONE_PROPERTY_NAME;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * The benchmark of the {@link ZoneResolver} implementations, the score is the time per resolution.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see CloudServerZoneResolver
+ * @see EurekaInstanceInfoZoneResolver
+ * @see RibbonServerZoneResolver
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ZoneResolverBenchmark {
+
+    private static final int SIZE = 1024;
+
+    private static final int ZONE_COUNT = 3;
+
+    private final CloudServerZoneResolver cloudServerZoneResolver = CloudServerZoneResolver.INSTANCE;
+
+    private final EurekaInstanceInfoZoneResolver eurekaInstanceInfoZoneResolver = new EurekaInstanceInfoZoneResolver();
+
+    private final RibbonServerZoneResolver<Server> ribbonServerZoneResolver = new RibbonServerZoneResolver<>();
+
+    private ServiceInstance[] serviceInstances;
+
+    private InstanceInfo[] instanceInfos;
+
+    private Server[] servers;
+
+    @Setup
+    public void setup() {
+        List<ServiceInstance> serviceInstances = SAME_ZONE.createServiceInstances(SIZE, ZONE_COUNT);
+        this.serviceInstances = serviceInstances.toArray(new ServiceInstance[0]);
+        this.instanceInfos = new InstanceInfo[SIZE];
+        this.servers = new Server[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            String zone = zone(i, ZONE_COUNT);
+            Map<String, String> metadata = new HashMap<>();
+            metadata.put(ZONE_PROPERTY_NAME, zone);
+            instanceInfos[i] = InstanceInfo.Builder.newBuilder()
+                    .setAppName("benchmark-service")
+                    .setInstanceId("benchmark-service-" + i)
+                    .setHostName(host(i))
+                    .setMetadata(metadata)
+                    .build();
+            Server server = new Server(host(i), 8080);
+            server.setZone(zone);
+            servers[i] = server;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void cloudServerZoneResolver(Blackhole blackhole) {
+        for (ServiceInstance serviceInstance : serviceInstances) {
+            blackhole.consume(cloudServerZoneResolver.resolve(serviceInstance));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void eurekaInstanceInfoZoneResolver(Blackhole blackhole) {
+        for (InstanceInfo instanceInfo : instanceInfos) {
+            blackhole.consume(eurekaInstanceInfoZoneResolver.resolve(instanceInfo));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void ribbonServerZoneResolver(Blackhole blackhole) {
+        for (Server server : servers) {
+            blackhole.consume(ribbonServerZoneResolver.resolve(server));
+        }
+    }
+}
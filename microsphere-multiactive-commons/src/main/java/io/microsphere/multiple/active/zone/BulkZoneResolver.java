@@ -0,0 +1,50 @@
+package io.microsphere.multiple.active.zone;
+
+import java.util.List;
+import java.util.RandomAccess;
+
+import static io.microsphere.multiple.active.zone.ZoneRegistry.UNKNOWN_ZONE_ID;
+
+/**
+ * The {@link ZoneIdResolver} extension resolving a whole list of entities into a primitive array of zone IDs.
+ * The default {@link #resolveAll(List, int[])} resolves the zone of each entity by {@link #resolve(Object)}, and
+ * reuses the ID of the last zone for the consecutive entities in the same zone, thus the implementation only needs
+ * to implement {@link #resolve(Object)}, unless it overrides {@link #resolveId(Object)}. The implementations on the
+ * hot path should override it to read the zones directly rather than calling {@link #resolve(Object)} per entity.
+ *
+ * @param <E> the type of entity
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ZoneIdResolver
+ * @see ZoneRegistry
+ * @since 1.0.0
+ */
+public interface BulkZoneResolver<E> extends ZoneIdResolver<E> {
+
+    /**
+     * Resolve the IDs of zones of all entities
+     *
+     * @param entities the entities, may contain <code>null</code>
+     * @param zoneIds  the output array whose length is not less than the size of entities, the ID of zone will be
+     *                 {@link ZoneRegistry#UNKNOWN_ZONE_ID} if can't be resolved
+     */
+    default void resolveAll(List<E> entities, int[] zoneIds) {
+        ZoneRegistry zoneRegistry = ZoneRegistry.get();
+        String lastZone = null;
+        int lastZoneId = UNKNOWN_ZONE_ID;
+        if (entities instanceof RandomAccess) {
+            for (int i = 0, size = entities.size(); i < size; i++) {
+                E entity = entities.get(i);
+                String zone = entity == null ? null : resolve(entity);
+                lastZoneId = zoneIds[i] = zoneRegistry.getId(zone, lastZone, lastZoneId);
+                lastZone = zone;
+            }
+        } else {
+            int i = 0;
+            for (E entity : entities) {
+                String zone = entity == null ? null : resolve(entity);
+                lastZoneId = zoneIds[i++] = zoneRegistry.getId(zone, lastZone, lastZoneId);
+                lastZone = zone;
+            }
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package io.microsphere.multiple.active.zone;
+
+import io.microsphere.logging.Logger;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import static io.microsphere.logging.LoggerFactory.getLogger;
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * The caching decorator of {@link ZoneFilter}, e.g. {@link ZonePreferenceFilter}, which reuses the previous result
+ * as long as the same upstream {@link List} instance is filtered again and the {@link ZoneContext} is not changed,
+ * it's suitable for the callers that hand over the identical {@link List} between refreshes, e.g. the caching
+ * <code>ServiceInstanceListSupplier</code> of Spring Cloud LoadBalancer.
+ * <p>
+ * Only the latest result is held, so the memory footprint per filter is bounded to one entry. The upstream
+ * {@link List} must not be mutated after being filtered, and the cached result is unmodifiable. The filtering is
+ * always delegated, thus the decorator holds none of the filtering state itself.
+ *
+ * @param <E> the type of entity to filter
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ZoneFilter
+ * @see ZonePreferenceFilter
+ * @see ZoneContextSnapshot#getVersion()
+ * @since 1.0.0
+ */
+public class CachingZonePreferenceFilter<E> implements ZoneFilter<E> {
+
+    private static final Logger logger = getLogger(CachingZonePreferenceFilter.class);
+
+    private final ZoneContext zoneContext;
+
+    private final ZoneFilter<E> delegate;
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private volatile Entry<E> entry;
+
+    public CachingZonePreferenceFilter(ZonePreferenceFilter<E> delegate) {
+        this(delegate.getZoneContext(), delegate);
+    }
+
+    /**
+     * @param zoneContext {@link ZoneContext} whose version invalidates the cached result
+     * @param delegate    the delegate {@link ZoneFilter}
+     */
+    public CachingZonePreferenceFilter(ZoneContext zoneContext, ZoneFilter<E> delegate) {
+        this.zoneContext = zoneContext;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public List<E> filter(List<E> entities) {
+        if (entities == null) {
+            return delegate.filter(null);
+        }
+
+        long version = zoneContext.getVersion();
+        int size = entities.size();
+
+        Entry<E> entry = this.entry;
+        if (entry != null && entry.matches(entities, size, version)) {
+            hitCount.increment();
+            return entry.result;
+        }
+
+        missCount.increment();
+        List<E> result = delegate.filter(entities);
+        if (result != entities) {
+            result = unmodifiableList(result);
+        }
+        this.entry = new Entry<>(entities, size, version, result);
+        if (logger.isTraceEnabled()) {
+            logger.trace("The filtered result[size : {} -> {}] has been cached on the version of ZoneContext : {}", size, result.size(), version);
+        }
+        return result;
+    }
+
+    @Override
+    public int getOrder() {
+        return delegate.getOrder();
+    }
+
+    /**
+     * @return the delegate {@link ZoneFilter}
+     */
+    public ZoneFilter<E> getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Clear the cached result
+     */
+    public void clear() {
+        this.entry = null;
+    }
+
+    /**
+     * @return the count of the cache hits
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * @return the count of the cache misses
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "CachingZonePreferenceFilter{"
+                + "delegate=" + delegate
+                + ", hitCount=" + getHitCount()
+                + ", missCount=" + getMissCount() + '}';
+    }
+
+    private static final class Entry<E> {
+
+        private final List<E> source;
+
+        private final int size;
+
+        private final long version;
+
+        private final List<E> result;
+
+        private Entry(List<E> source, int size, long version, List<E> result) {
+            this.source = source;
+            this.size = size;
+            this.version = version;
+            this.result = result;
+        }
+
+        private boolean matches(List<E> source, int size, long version) {
+            return this.source == source && this.size == size && this.version == version;
+        }
+    }
+}
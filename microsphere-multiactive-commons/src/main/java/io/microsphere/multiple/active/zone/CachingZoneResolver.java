@@ -0,0 +1,351 @@
+package io.microsphere.multiple.active.zone;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import static io.microsphere.multiple.active.zone.ZoneRegistry.OTHER_ZONE_ID;
+import static io.microsphere.multiple.active.zone.ZoneRegistry.UNKNOWN_ZONE_ID;
+
+/**
+ * The {@link ZoneResolver} caching the resolved zones of the entities, which is decorated by another
+ * {@link ZoneResolver}.
+ * <p>
+ * The entities are matched by identity and weakly referenced, thus the entities dropped from the discovery are never
+ * retained by the cache. The cache is a two-way set-associative table indexed by the identity hash code, the lookups
+ * and updates are lock-free, and the slot will be overwritten on collision. The table grows to twice the size of the
+ * largest list passed to {@link #resolveAll(List, int[])}, and the entities missed in a bulk resolution are resolved
+ * by the {@link BulkZoneResolver#resolveAll(List, int[]) bulk resolution} of the delegate if supported.
+ * <p>
+ * The cache only pays off when the same entity instances are resolved repeatedly, the discovery clients creating new
+ * instances on each refresh make every lookup a miss, thus it's not used by default.
+ * <p>
+ * The zone of the entity is supposed to be unchanged during its lifetime, {@link #clear()} should be invoked if not.
+ *
+ * @param <E> the type of entity
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ZoneResolver
+ * @see BulkZoneResolver
+ * @since 1.0.0
+ */
+public class CachingZoneResolver<E> implements BulkZoneResolver<E> {
+
+    /**
+     * The default initial capacity of cache
+     */
+    public static final int DEFAULT_CAPACITY = 64;
+
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private final ZoneResolver<E> delegate;
+
+    private volatile AtomicReferenceArray<Entry> table;
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * @param delegate the delegate {@link ZoneResolver}
+     */
+    public CachingZoneResolver(ZoneResolver<E> delegate) {
+        this(delegate, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param delegate the delegate {@link ZoneResolver}
+     * @param capacity the initial count of the cached entities, which will be rounded up to the power of two
+     */
+    public CachingZoneResolver(ZoneResolver<E> delegate, int capacity) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("The capacity must be greater than 1 : " + capacity);
+        }
+        this.delegate = delegate;
+        this.table = new AtomicReferenceArray<>(tableSize(capacity));
+    }
+
+    @Override
+    public String resolve(E entity) {
+        if (entity == null) {
+            return delegate.resolve(null);
+        }
+        return lookup(entity).zone;
+    }
+
+    @Override
+    public int resolveId(E entity) {
+        return entity == null ? UNKNOWN_ZONE_ID : zoneId(lookup(entity));
+    }
+
+    @Override
+    public void resolveAll(List<E> entities, int[] zoneIds) {
+        int size = entities.size();
+        AtomicReferenceArray<Entry> table = ensureCapacity(size);
+        List<E> missedEntities = null;
+        int[] missedIndexes = null;
+        int hits = 0;
+        if (entities instanceof RandomAccess) {
+            for (int i = 0; i < size; i++) {
+                E entity = entities.get(i);
+                Entry entry;
+                if (entity == null) {
+                    zoneIds[i] = UNKNOWN_ZONE_ID;
+                } else if ((entry = get(table, entity)) != null) {
+                    zoneIds[i] = zoneId(entry);
+                    hits++;
+                } else {
+                    if (missedEntities == null) {
+                        missedEntities = new ArrayList<>(size - i);
+                        missedIndexes = new int[size - i];
+                    }
+                    missedIndexes[missedEntities.size()] = i;
+                    missedEntities.add(entity);
+                }
+            }
+        } else {
+            int i = 0;
+            for (E entity : entities) {
+                Entry entry;
+                if (entity == null) {
+                    zoneIds[i] = UNKNOWN_ZONE_ID;
+                } else if ((entry = get(table, entity)) != null) {
+                    zoneIds[i] = zoneId(entry);
+                    hits++;
+                } else {
+                    if (missedEntities == null) {
+                        missedEntities = new ArrayList<>(size - i);
+                        missedIndexes = new int[size - i];
+                    }
+                    missedIndexes[missedEntities.size()] = i;
+                    missedEntities.add(entity);
+                }
+                i++;
+            }
+        }
+        // The statistics are accumulated once per bulk resolution
+        if (hits > 0) {
+            hitCount.add(hits);
+        }
+        if (missedEntities != null) {
+            resolveMissed(table, missedEntities, missedIndexes, zoneIds);
+        }
+    }
+
+    private void resolveMissed(AtomicReferenceArray<Entry> table, List<E> missedEntities, int[] missedIndexes,
+                               int[] zoneIds) {
+        int missed = missedEntities.size();
+        missCount.add(missed);
+        ZoneRegistry zoneRegistry = ZoneRegistry.get();
+        int[] missedZoneIds = null;
+        if (delegate instanceof BulkZoneResolver) {
+            missedZoneIds = new int[missed];
+            ((BulkZoneResolver<E>) delegate).resolveAll(missedEntities, missedZoneIds);
+        }
+        for (int i = 0; i < missed; i++) {
+            E entity = missedEntities.get(i);
+            String zone;
+            int zoneId;
+            if (missedZoneIds == null) {
+                zone = delegate.resolve(entity);
+                zoneId = zoneRegistry.getId(zone);
+            } else {
+                zoneId = missedZoneIds[i];
+                // The unregistered zone is resolved singly, which is supposed to be rare
+                zone = zoneId >= 0 ? zoneRegistry.getZone(zoneId) :
+                        zoneId == UNKNOWN_ZONE_ID ? null : delegate.resolve(entity);
+            }
+            put(table, new Entry(entity, zone, zoneId));
+            zoneIds[missedIndexes[i]] = zoneId;
+        }
+    }
+
+    private static int zoneId(Entry entry) {
+        int zoneId = entry.zoneId;
+        // The registered IDs are stable, but the zone may be registered after it's cached
+        return zoneId == OTHER_ZONE_ID ? ZoneRegistry.get().getId(entry.zone) : zoneId;
+    }
+
+    private Entry lookup(E entity) {
+        AtomicReferenceArray<Entry> table = this.table;
+        Entry entry = get(table, entity);
+        if (entry != null) {
+            hitCount.increment();
+            return entry;
+        }
+        missCount.increment();
+        String zone = delegate.resolve(entity);
+        entry = new Entry(entity, zone, ZoneRegistry.get().getId(zone));
+        put(table, entry);
+        return entry;
+    }
+
+    private static Entry get(AtomicReferenceArray<Entry> table, Object entity) {
+        int index = index(table, hash(entity));
+        Entry entry = table.get(index);
+        if (entry != null && entry.get() == entity) {
+            return entry;
+        }
+        // Two-way : the slot and its buddy
+        entry = table.get(index ^ 1);
+        return entry != null && entry.get() == entity ? entry : null;
+    }
+
+    private void put(AtomicReferenceArray<Entry> table, Entry entry) {
+        if (!put(table, entry, true)) {
+            evictionCount.increment();
+        }
+    }
+
+    /**
+     * @return <code>false</code> if the live entry is overwritten
+     */
+    private static boolean put(AtomicReferenceArray<Entry> table, Entry entry, boolean overwrite) {
+        int index = index(table, entry.hash);
+        int buddy = index ^ 1;
+        // Prefer the empty or cleared slot, or else overwrite the primary slot
+        if (isVacant(table.get(index))) {
+            table.set(index, entry);
+        } else if (isVacant(table.get(buddy))) {
+            table.set(buddy, entry);
+        } else {
+            if (overwrite) {
+                table.set(index, entry);
+            }
+            return false;
+        }
+        return true;
+    }
+
+    private AtomicReferenceArray<Entry> ensureCapacity(int size) {
+        AtomicReferenceArray<Entry> table = this.table;
+        if (!needsResize(table, size)) {
+            return table;
+        }
+        synchronized (this) {
+            table = this.table;
+            if (needsResize(table, size)) {
+                AtomicReferenceArray<Entry> newTable = new AtomicReferenceArray<>(tableSize(size * 2));
+                for (int i = 0, length = table.length(); i < length; i++) {
+                    Entry entry = table.get(i);
+                    if (!isVacant(entry)) {
+                        put(newTable, entry, false);
+                    }
+                }
+                this.table = table = newTable;
+            }
+        }
+        return table;
+    }
+
+    private static boolean needsResize(AtomicReferenceArray<Entry> table, int size) {
+        int length = table.length();
+        // Two slots per entity
+        return length < MAX_CAPACITY && size > length >> 1;
+    }
+
+    private static int tableSize(int capacity) {
+        return capacity >= MAX_CAPACITY || capacity < 0 ? MAX_CAPACITY : Integer.highestOneBit(capacity - 1) << 1;
+    }
+
+    private static int hash(Object entity) {
+        int hash = System.identityHashCode(entity);
+        // Spreads the higher bits to the lower
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int index(AtomicReferenceArray<Entry> table, int hash) {
+        return hash & (table.length() - 1);
+    }
+
+    private static boolean isVacant(Entry entry) {
+        return entry == null || entry.get() == null;
+    }
+
+    /**
+     * Clear the cache
+     */
+    public void clear() {
+        AtomicReferenceArray<Entry> table = this.table;
+        for (int i = 0, length = table.length(); i < length; i++) {
+            table.set(i, null);
+        }
+    }
+
+    /**
+     * @return the delegate {@link ZoneResolver}
+     */
+    public ZoneResolver<E> getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * @return the current max count of the cached entities, which grows with the size of the bulk resolutions
+     */
+    public int getCapacity() {
+        return table.length();
+    }
+
+    /**
+     * @return the count of the cache hits
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * @return the count of the cache misses
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * @return the count of the live entries evicted by the collisions
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * @return the ratio of the cache hits in [0, 1], or <code>0</code> if no request
+     */
+    public double getHitRate() {
+        long hits = getHitCount();
+        long requests = hits + getMissCount();
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+    @Override
+    public String toString() {
+        return "CachingZoneResolver{"
+                + "delegate=" + delegate
+                + ", capacity=" + getCapacity()
+                + ", hitCount=" + getHitCount()
+                + ", missCount=" + getMissCount()
+                + ", evictionCount=" + getEvictionCount() + '}';
+    }
+
+    /**
+     * The immutable cache entry weakly referencing the entity
+     */
+    private static final class Entry extends WeakReference<Object> {
+
+        private final String zone;
+
+        private final int zoneId;
+
+        private final int hash;
+
+        private Entry(Object entity, String zone, int zoneId) {
+            super(entity);
+            this.hash = hash(entity);
+            this.zone = zone;
+            this.zoneId = zoneId;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package io.microsphere.multiple.active.zone;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * The factory to create the result {@link List} of {@link ZonePreferenceFilter} from the selected indices of
+ * the source {@link List}.
+ *
+ * @param <E> the type of entity
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ZonePreferenceFilter
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface FilteredListFactory<E> {
+
+    /**
+     * Create the result {@link List} from the selected elements of the source {@link List}.
+     * <p>
+     * The indices array is a reusable buffer owned by the caller, thus it must not be retained by the
+     * implementation.
+     *
+     * @param source  the source {@link List}
+     * @param indices the ascending indices of the selected elements in the source {@link List}
+     * @param size    the count of the valid indices
+     * @return non-null
+     */
+    List<E> create(List<E> source, int[] indices, int size);
+
+    /**
+     * The default {@link FilteredListFactory} creating the {@link ArrayList} with the exact capacity
+     *
+     * @param <E> the type of entity
+     * @return non-null
+     */
+    static <E> FilteredListFactory<E> arrayList() {
+        return FilteredListFactory::copyToArrayList;
+    }
+
+    /**
+     * Copy the selected elements of the source {@link List} into a new {@link ArrayList} with the exact capacity,
+     * the source {@link List} will be traversed once if it's not {@link RandomAccess}.
+     *
+     * @param source  the source {@link List}
+     * @param indices the ascending indices of the selected elements in the source {@link List}
+     * @param size    the count of the valid indices
+     * @param <E>     the type of entity
+     * @return non-null
+     */
+    static <E> List<E> copyToArrayList(List<E> source, int[] indices, int size) {
+        List<E> target = new ArrayList<>(size);
+        if (source instanceof RandomAccess) {
+            for (int i = 0; i < size; i++) {
+                target.add(source.get(indices[i]));
+            }
+        } else {
+            Iterator<E> iterator = source.iterator();
+            int index = 0;
+            for (int i = 0; i < size; i++) {
+                int selectedIndex = indices[i];
+                E element = iterator.next();
+                while (index++ < selectedIndex) {
+                    element = iterator.next();
+                }
+                target.add(element);
+            }
+        }
+        return target;
+    }
+}
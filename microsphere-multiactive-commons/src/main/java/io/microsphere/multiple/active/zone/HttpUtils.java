@@ -4,19 +4,16 @@ import io.microsphere.logging.Logger;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.HttpURLConnection;
 import java.net.URL;
-import java.net.URLConnection;
 
-import static io.microsphere.io.IOUtils.copyToString;
 import static io.microsphere.logging.LoggerFactory.getLogger;
 import static io.microsphere.util.StringUtils.isNotBlank;
-import static java.nio.charset.StandardCharsets.UTF_8;
 
 /**
  * The utilities class for simple http request.
  *
  * @author <a href="mailto:warlklown@gmail.com">Walklown<a/>
+ * @see MetadataHttpClient
  * @since 1.0.0
  */
 public abstract class HttpUtils {
@@ -25,28 +22,45 @@ public abstract class HttpUtils {
 
     /**
      * Retrieve a representation by doing a GET on the specified URL. The response (if any) is returned.
+     * <p>
+     * The request is sent by the shared {@link MetadataHttpClient#getDefault() MetadataHttpClient}, whose connections
+     * are reused.
      *
      * @param url     the URL
-     * @param timeout timeout – an int that specifies the connect timeout value in milliseconds
-     * @return The response context
+     * @param timeout timeout – an int that specifies the timeout value in milliseconds
+     * @return The response context, or <code>null</code> if the URL is blank or not a HTTP(S) URL
      * @throws IOException
      */
     public static String doGet(String url, int timeout) throws IOException {
         String content = null;
-        if (isNotBlank(url)) {
-            URLConnection urlConnection = new URL(url).openConnection();
-            if (urlConnection instanceof HttpURLConnection) {
-                HttpURLConnection httpURLConnection = (HttpURLConnection) urlConnection;
-                urlConnection.setConnectTimeout(timeout);
-                urlConnection.setReadTimeout(timeout);
-                try (InputStream inputStream = httpURLConnection.getInputStream()) {
-                    content = copyToString(inputStream, UTF_8);
-                    logger.info("The response of Availability Zone Endpoint[URI : '{}'] : {}", url, content);
-                } finally {
-                    httpURLConnection.disconnect();
-                }
-            }
+        if (isNotBlank(url) && isHttpURL(url)) {
+            content = MetadataHttpClient.getDefault().get(url, timeout);
+            logger.debug("The response of Availability Zone Endpoint[URI : '{}'] : {}", url, content);
         }
         return content;
     }
+
+    /**
+     * Retrieve a representation by doing a GET on the specified URL, the response body is streamed without the size
+     * limit of {@link #doGet(String, int)}.
+     *
+     * @param url     the URL
+     * @param timeout timeout – an int that specifies the timeout value in milliseconds
+     * @return The {@link InputStream} of response body which must be closed by the caller, or <code>null</code> if the
+     * URL is blank or not a HTTP(S) URL
+     * @throws IOException
+     * @see MetadataHttpClient#getAsStream(String, int)
+     */
+    public static InputStream doGetAsStream(String url, int timeout) throws IOException {
+        InputStream inputStream = null;
+        if (isNotBlank(url) && isHttpURL(url)) {
+            inputStream = MetadataHttpClient.getDefault().getAsStream(url, timeout);
+        }
+        return inputStream;
+    }
+
+    private static boolean isHttpURL(String url) throws IOException {
+        String protocol = new URL(url).getProtocol();
+        return "http".equalsIgnoreCase(protocol) || "https".equalsIgnoreCase(protocol);
+    }
 }
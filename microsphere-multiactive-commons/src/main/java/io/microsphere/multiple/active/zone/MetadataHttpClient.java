@@ -0,0 +1,535 @@
+package io.microsphere.multiple.active.zone;
+
+import io.microsphere.logging.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.net.http.HttpTimeoutException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+
+import static io.microsphere.logging.LoggerFactory.getLogger;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.CompletableFuture.delayedExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * The HTTP client for the instance metadata services, all requests share one {@link HttpClient} whose connections are
+ * kept alive and reused, and the size of the response body is capped unless it's read by
+ * {@link #getAsStream(String, int) the stream}. The timeout of request covers the whole response including the body,
+ * even if the body is streamed, and it's shared by the session token request and the metadata request, thus the
+ * stalled metadata endpoint can't block the caller beyond it.
+ * <p>
+ * The <a href="https://docs.aws.amazon.com/AWSEC2/latest/UserGuide/configuring-instance-metadata-service.html">IMDSv2</a>
+ * session token is fetched once per metadata host and cached until it expires, so that the repeated metadata reads
+ * cost one round trip. If the session token can't be fetched, the metadata will be read without it (IMDSv1), the
+ * absence of session token is cached for {@link #UNSUPPORTED_TOKEN_TTL a short while} only if IMDSv2 is not supported
+ * by the server(the status code is 403, 404 or 405), otherwise it will be fetched again in the next request.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see HttpClient
+ * @since 1.0.0
+ */
+public class MetadataHttpClient {
+
+    private static final Logger logger = getLogger(MetadataHttpClient.class);
+
+    /**
+     * The default max size of the response body in bytes
+     */
+    public static final int DEFAULT_MAX_RESPONSE_SIZE = 64 * 1024;
+
+    /**
+     * The default TTL of the IMDSv2 session token in seconds
+     */
+    public static final int DEFAULT_TOKEN_TTL = 21600;
+
+    /**
+     * The TTL of the absent IMDSv2 session token in seconds if IMDSv2 is not supported
+     */
+    public static final int UNSUPPORTED_TOKEN_TTL = 60;
+
+    /**
+     * The path of the IMDSv2 session token
+     */
+    public static final String TOKEN_PATH = "/latest/api/token";
+
+    /**
+     * The request header of the IMDSv2 session token
+     */
+    public static final String TOKEN_HEADER_NAME = "X-aws-ec2-metadata-token";
+
+    /**
+     * The request header of the IMDSv2 session token TTL in seconds
+     */
+    public static final String TOKEN_TTL_HEADER_NAME = "X-aws-ec2-metadata-token-ttl-seconds";
+
+    /**
+     * The max margin in seconds before the cached session token expires
+     */
+    private static final long MAX_TOKEN_EXPIRY_MARGIN = SECONDS.toNanos(60);
+
+    private static final MetadataHttpClient DEFAULT = new MetadataHttpClient();
+
+    private final HttpClient httpClient;
+
+    private final int maxResponseSize;
+
+    private final int tokenTtl;
+
+    private final LongSupplier nanoClock;
+
+    private final ConcurrentMap<String, CompletableFuture<Token>> tokens = new ConcurrentHashMap<>();
+
+    public MetadataHttpClient() {
+        this(HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build(), DEFAULT_MAX_RESPONSE_SIZE, DEFAULT_TOKEN_TTL);
+    }
+
+    /**
+     * @param httpClient      the shared {@link HttpClient}
+     * @param maxResponseSize the max size of the response body in bytes
+     * @param tokenTtl        the TTL of the IMDSv2 session token in seconds
+     */
+    public MetadataHttpClient(HttpClient httpClient, int maxResponseSize, int tokenTtl) {
+        this(httpClient, maxResponseSize, tokenTtl, System::nanoTime);
+    }
+
+    /**
+     * @param httpClient      the shared {@link HttpClient}
+     * @param maxResponseSize the max size of the response body in bytes
+     * @param tokenTtl        the TTL of the IMDSv2 session token in seconds
+     * @param nanoClock       the clock in nanoseconds to measure the expiry of the session token
+     */
+    MetadataHttpClient(HttpClient httpClient, int maxResponseSize, int tokenTtl, LongSupplier nanoClock) {
+        if (httpClient == null) {
+            throw new IllegalArgumentException("The argument 'httpClient' must not be null!");
+        }
+        if (maxResponseSize < 1) {
+            throw new IllegalArgumentException("The argument 'maxResponseSize' must be positive!");
+        }
+        if (tokenTtl < 1) {
+            throw new IllegalArgumentException("The argument 'tokenTtl' must be positive!");
+        }
+        this.httpClient = httpClient;
+        this.maxResponseSize = maxResponseSize;
+        this.tokenTtl = tokenTtl;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * @return the shared {@link MetadataHttpClient}
+     */
+    public static MetadataHttpClient getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Retrieve a representation by doing a GET on the specified URL.
+     *
+     * @param url     the URL
+     * @param timeout the timeout in milliseconds
+     * @return the response content
+     * @throws IOException if the request failed, the response status is not successful or the response is too large
+     */
+    public String get(String url, int timeout) throws IOException {
+        long deadline = deadline(timeout);
+        return await(send(URI.create(url), null, deadline), deadline);
+    }
+
+    /**
+     * Retrieve a representation by doing a GET on the specified URL asynchronously.
+     *
+     * @param url     the URL
+     * @param timeout the timeout in milliseconds
+     * @return the {@link CompletableFuture} of the response content
+     */
+    public CompletableFuture<String> getAsync(String url, int timeout) {
+        return send(URI.create(url), null, deadline(timeout));
+    }
+
+    /**
+     * Retrieve a representation by doing a GET on the specified URL, whose response body is not capped but streamed,
+     * e.g. the large metadata document is parsed incrementally.
+     *
+     * @param url     the URL
+     * @param timeout the timeout in milliseconds until the whole response body is read, the {@link InputStream} is
+     *                closed and fails if the body is not read completely within it
+     * @return the {@link InputStream} of the response body, which must be closed by the caller
+     * @throws IOException if the request failed or the response status is not successful
+     */
+    public InputStream getAsStream(String url, int timeout) throws IOException {
+        long deadline = deadline(timeout);
+        URI uri = URI.create(url);
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofMillis(timeout))
+                .GET()
+                .build();
+        CompletableFuture<HttpResponse<InputStream>> future = httpClient.sendAsync(request,
+                HttpResponse.BodyHandlers.ofInputStream());
+        HttpResponse<InputStream> response;
+        try {
+            response = future.get(timeout, MILLISECONDS);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("The request was interrupted");
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new HttpTimeoutException("The request [GET " + uri + "] timed out : " + timeout + " ms");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException(cause);
+        }
+        InputStream body = response.body();
+        if (!isSuccessful(response)) {
+            body.close();
+            throw new IOException("The request [GET " + uri + "] failed with the status code : " + response.statusCode());
+        }
+        return new DeadlineInputStream(body, uri, timeout, deadline - System.nanoTime());
+    }
+
+    /**
+     * Retrieve a representation by doing a GET on the specified URL with the cached IMDSv2 session token.
+     *
+     * @param url     the URL
+     * @param timeout the timeout in milliseconds
+     * @return the response content
+     * @throws IOException if the request failed, the response status is not successful or the response is too large
+     */
+    public String getWithToken(String url, int timeout) throws IOException {
+        long deadline = deadline(timeout);
+        return await(getWithTokenAsync(URI.create(url), deadline), deadline);
+    }
+
+    /**
+     * Retrieve a representation by doing a GET on the specified URL with the cached IMDSv2 session token
+     * asynchronously, the session token will be fetched if it is absent or expired.
+     *
+     * @param url     the URL
+     * @param timeout the timeout in milliseconds, which covers both the session token request and the metadata request
+     * @return the {@link CompletableFuture} of the response content
+     */
+    public CompletableFuture<String> getWithTokenAsync(String url, int timeout) {
+        return getWithTokenAsync(URI.create(url), deadline(timeout));
+    }
+
+    private CompletableFuture<String> getWithTokenAsync(URI uri, long deadline) {
+        return getToken(uri, deadline)
+                .exceptionally(e -> {
+                    logger.warn("The IMDSv2 session token of [URI : '{}'] can't be fetched, fallback to IMDSv1", uri, e);
+                    return null;
+                })
+                .thenCompose(token -> send(uri, token == null ? null : token.value, deadline));
+    }
+
+    private CompletableFuture<Token> getToken(URI uri, long deadline) {
+        String key = uri.getScheme() + "://" + uri.getRawAuthority();
+        return tokens.compute(key, (k, token) -> isValid(token) ? token : fetchToken(URI.create(k + TOKEN_PATH), deadline));
+    }
+
+    private boolean isValid(CompletableFuture<Token> token) {
+        if (token == null || token.isCompletedExceptionally()) {
+            return false;
+        }
+        // The token being fetched is shared
+        return !token.isDone() || token.join().expiresAt - nanoClock.getAsLong() > 0;
+    }
+
+    private CompletableFuture<Token> fetchToken(URI tokenUri, long deadline) {
+        long startTime = nanoClock.getAsLong();
+        HttpRequest.Builder builder = HttpRequest.newBuilder(tokenUri)
+                .header(TOKEN_TTL_HEADER_NAME, String.valueOf(tokenTtl))
+                .PUT(HttpRequest.BodyPublishers.noBody());
+        // The shared session token request is bounded too, otherwise the stalled one would be waited by all requests
+        return sendAsync(builder, deadline).thenApply(response -> {
+            if (isSuccessful(response)) {
+                long ttl = response.headers().firstValueAsLong(TOKEN_TTL_HEADER_NAME).orElse(tokenTtl);
+                long ttlNanos = SECONDS.toNanos(ttl);
+                // The expiry is measured from the request rather than the response, and refreshed a bit earlier
+                long expiresAt = startTime + ttlNanos - min(ttlNanos / 10, MAX_TOKEN_EXPIRY_MARGIN);
+                logger.trace("The IMDSv2 session token [URI : '{}'] was fetched, TTL : {} seconds", tokenUri, ttl);
+                return new Token(getBody(response), expiresAt);
+            }
+            if (isTokenUnsupported(response)) {
+                // IMDSv2 is not supported by the server, the absence is cached for a while to avoid the extra round trip
+                logger.warn("The IMDSv2 session token [URI : '{}'] is not supported, the status code : {}, fallback to IMDSv1",
+                        tokenUri, response.statusCode());
+                return new Token(null, startTime + SECONDS.toNanos(UNSUPPORTED_TOKEN_TTL));
+            }
+            // The transient failure, e.g. 5xx or 429, is not cached, the session token will be fetched again
+            throw new CompletionException(new IOException("The request [PUT " + tokenUri +
+                    "] failed with the status code : " + response.statusCode()));
+        });
+    }
+
+    private CompletableFuture<String> send(URI uri, String token, long deadline) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri).GET();
+        if (token != null) {
+            builder.header(TOKEN_HEADER_NAME, token);
+        }
+        return sendAsync(builder, deadline).thenApply(response -> {
+            String content = getBody(response);
+            logger.trace("The response of [URI : '{}'] : {}", uri, content);
+            return content;
+        });
+    }
+
+    /**
+     * Send the request whose whole response including the body must be received before the deadline, because
+     * {@link HttpRequest#timeout()} stops counting once the response headers arrive, the exchange is cancelled if the
+     * deadline elapses.
+     */
+    private CompletableFuture<HttpResponse<byte[]>> sendAsync(HttpRequest.Builder builder, long deadline) {
+        long remaining = deadline - System.nanoTime();
+        HttpRequest request = builder.timeout(Duration.ofNanos(max(1L, remaining))).build();
+        if (remaining <= 0) {
+            return CompletableFuture.failedFuture(timeoutException(request));
+        }
+        CompletableFuture<HttpResponse<byte[]>> future = httpClient.sendAsync(request, this::bodySubscriber);
+        return future.copy().orTimeout(remaining, NANOSECONDS).exceptionally(e -> {
+            if (e instanceof TimeoutException) {
+                future.cancel(true);
+                throw new CompletionException(timeoutException(request));
+            }
+            throw e instanceof CompletionException ? (CompletionException) e : new CompletionException(e);
+        });
+    }
+
+    private static HttpTimeoutException timeoutException(HttpRequest request) {
+        return new HttpTimeoutException("The request [" + request.method() + " " + request.uri() +
+                "] was not completed within the timeout");
+    }
+
+    private static long deadline(int timeout) {
+        return System.nanoTime() + MILLISECONDS.toNanos(timeout);
+    }
+
+    private String getBody(HttpResponse<byte[]> response) {
+        if (!isSuccessful(response)) {
+            throw new CompletionException(new IOException("The request [" + response.request().method() + " " +
+                    response.uri() + "] failed with the status code : " + response.statusCode()));
+        }
+        return new String(response.body(), UTF_8);
+    }
+
+    private boolean isSuccessful(HttpResponse<?> response) {
+        int statusCode = response.statusCode();
+        return statusCode >= 200 && statusCode < 300;
+    }
+
+    private boolean isTokenUnsupported(HttpResponse<?> response) {
+        int statusCode = response.statusCode();
+        return statusCode == 403 || statusCode == 404 || statusCode == 405;
+    }
+
+    private BodySubscriber<byte[]> bodySubscriber(ResponseInfo responseInfo) {
+        OptionalLong contentLength = responseInfo.headers().firstValueAsLong("Content-Length");
+        return new LimitedBodySubscriber(maxResponseSize, contentLength.orElse(-1L));
+    }
+
+    private static String await(CompletableFuture<String> future, long deadline) throws IOException {
+        try {
+            return future.get(max(0L, deadline - System.nanoTime()), NANOSECONDS);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("The request was interrupted");
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new HttpTimeoutException("The request was not completed within the timeout");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "MetadataHttpClient{" + "maxResponseSize=" + maxResponseSize + ", tokenTtl=" + tokenTtl + '}';
+    }
+
+    /**
+     * The {@link BodySubscriber} collects the response body up to the max size, or fails if it is exceeded.
+     */
+    static final class LimitedBodySubscriber implements BodySubscriber<byte[]> {
+
+        private final int maxSize;
+
+        private final long contentLength;
+
+        private final CompletableFuture<byte[]> body = new CompletableFuture<>();
+
+        private final ByteArrayOutputStream outputStream;
+
+        private Flow.Subscription subscription;
+
+        LimitedBodySubscriber(int maxSize, long contentLength) {
+            this.maxSize = maxSize;
+            this.contentLength = contentLength;
+            this.outputStream = new ByteArrayOutputStream(contentLength < 0 ? 256 : (int) min(contentLength, maxSize));
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (contentLength > maxSize) {
+                fail(contentLength);
+            } else {
+                subscription.request(Long.MAX_VALUE);
+            }
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> buffers) {
+            if (body.isDone()) {
+                return;
+            }
+            for (ByteBuffer buffer : buffers) {
+                int remaining = buffer.remaining();
+                if (outputStream.size() + remaining > maxSize) {
+                    fail((long) outputStream.size() + remaining);
+                    return;
+                }
+                byte[] bytes = new byte[remaining];
+                buffer.get(bytes);
+                outputStream.write(bytes, 0, remaining);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            body.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            body.complete(outputStream.toByteArray());
+        }
+
+        @Override
+        public CompletionStage<byte[]> getBody() {
+            return body;
+        }
+
+        private void fail(long size) {
+            subscription.cancel();
+            body.completeExceptionally(new IOException("The size of response body (" + size +
+                    " bytes at least) exceeds the max size : " + maxSize + " bytes"));
+        }
+    }
+
+    /**
+     * The {@link InputStream} of the streamed response body, which is closed when the deadline elapses, thus the
+     * stalled read is unblocked and fails rather than waiting forever.
+     */
+    static final class DeadlineInputStream extends FilterInputStream {
+
+        private final URI uri;
+
+        private final int timeout;
+
+        private final CompletableFuture<Void> timer;
+
+        private volatile boolean expired;
+
+        DeadlineInputStream(InputStream inputStream, URI uri, int timeout, long remainingNanos) {
+            super(inputStream);
+            this.uri = uri;
+            this.timeout = timeout;
+            this.timer = CompletableFuture.runAsync(this::expire, delayedExecutor(max(0L, remainingNanos), NANOSECONDS));
+        }
+
+        private void expire() {
+            expired = true;
+            try {
+                in.close();
+            } catch (IOException e) {
+                logger.trace("The response body of [URI : '{}'] can't be closed", uri, e);
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            checkExpired();
+            int value;
+            try {
+                value = super.read();
+            } catch (IOException e) {
+                checkExpired();
+                throw e;
+            }
+            checkExpired();
+            return value;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            checkExpired();
+            int count;
+            try {
+                count = super.read(bytes, offset, length);
+            } catch (IOException e) {
+                checkExpired();
+                throw e;
+            }
+            // The closed body may be ended silently, which must not be taken as the complete one
+            checkExpired();
+            return count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            timer.cancel(false);
+            super.close();
+        }
+
+        private void checkExpired() throws HttpTimeoutException {
+            if (expired) {
+                throw new HttpTimeoutException("The response body of [GET " + uri + "] was not read within the timeout : "
+                        + timeout + " ms");
+            }
+        }
+    }
+
+    private static final class Token {
+
+        private final String value;
+
+        private final long expiresAt;
+
+        private Token(String value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
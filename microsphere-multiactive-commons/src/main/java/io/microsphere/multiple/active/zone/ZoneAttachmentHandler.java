@@ -9,7 +9,8 @@ import static io.microsphere.multiple.active.zone.ZoneConstants.ZONE_PROPERTY_NA
 import static io.microsphere.util.StringUtils.isNotBlank;
 
 /**
- * The handler to attach zone
+ * The handler to attach zone, which waits for the zone to be confirmed if it's
+ * {@link ZoneContext#isZoneProvisional() provisional}
  *
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
  * @see ZoneContext
@@ -19,6 +20,11 @@ public class ZoneAttachmentHandler {
 
     private static final Logger logger = getLogger(ZoneAttachmentHandler.class);
 
+    /**
+     * The key of zone in the metadata
+     */
+    public static final String ZONE_METADATA_KEY = ZONE_PROPERTY_NAME;
+
     private final ZoneContext zoneContext;
 
     public ZoneAttachmentHandler(ZoneContext zoneContext) {
@@ -26,9 +32,9 @@ public class ZoneAttachmentHandler {
     }
 
     public void attachZone(Map<String, String> metadata) {
-        String zone = zoneContext.getZone();
+        String zone = zoneContext.awaitZone();
         if (isNotBlank(zone)) {
-            String propertyName = ZONE_PROPERTY_NAME;
+            String propertyName = ZONE_METADATA_KEY;
             // If metadata is unmodifiable, UnsupportedOperationException will be thrown.
             try {
                 metadata.put(propertyName, zone);
@@ -127,6 +127,57 @@ public interface ZoneConstants {
     )
     String PREFERENCE_FILTER_ORDER_PROPERTY_NAME = PREFERENCE_FILER_PROPERTY_NAME_PREFIX + "order";
 
+    /**
+     * The property value of default zone preference filter parallel threshold : "0", which means the parallel mode
+     * is disabled
+     */
+    String DEFAULT_ZONE_PREFERENCE_FILTER_PARALLEL_THRESHOLD_PROPERTY_VALUE = "0";
+
+    /**
+     * The default value of zone preference filter parallel threshold.
+     */
+    int DEFAULT_ZONE_PREFERENCE_FILTER_PARALLEL_THRESHOLD = parseInt(DEFAULT_ZONE_PREFERENCE_FILTER_PARALLEL_THRESHOLD_PROPERTY_VALUE);
+
+    /**
+     * The property name of zone preference filter parallel threshold :
+     * "microsphere.availability.zone.preference.filter.parallel-threshold", the entities will be filtered in parallel
+     * if their size is not less than the positive threshold.
+     */
+    @ConfigurationProperty(
+            type = int.class,
+            defaultValue = DEFAULT_ZONE_PREFERENCE_FILTER_PARALLEL_THRESHOLD_PROPERTY_VALUE,
+            source = APPLICATION_SOURCE
+    )
+    String PREFERENCE_FILTER_PARALLEL_THRESHOLD_PROPERTY_NAME = PREFERENCE_FILER_PROPERTY_NAME_PREFIX + "parallel-threshold";
+
+    /**
+     * The property name prefix of zone preference filter resolver cache :
+     * "microsphere.availability.zone.preference.filter.resolver-cache."
+     */
+    String PREFERENCE_FILTER_RESOLVER_CACHE_PROPERTY_NAME_PREFIX = PREFERENCE_FILER_PROPERTY_NAME_PREFIX + "resolver-cache" + DOT;
+
+    /**
+     * The property value of default zone preference filter resolver cache enabled : "false"
+     */
+    String DEFAULT_PREFERENCE_FILTER_RESOLVER_CACHE_ENABLED_PROPERTY_VALUE = "false";
+
+    /**
+     * The default value of zone preference filter resolver cache enabled.
+     */
+    boolean DEFAULT_PREFERENCE_FILTER_RESOLVER_CACHE_ENABLED = parseBoolean(DEFAULT_PREFERENCE_FILTER_RESOLVER_CACHE_ENABLED_PROPERTY_VALUE);
+
+    /**
+     * The property name of zone preference filter resolver cache enabled :
+     * "microsphere.availability.zone.preference.filter.resolver-cache.enabled", the resolved zones will be cached by
+     * the identities of the entities, which only pays off when the discovery reuses the entity instances.
+     */
+    @ConfigurationProperty(
+            type = boolean.class,
+            defaultValue = DEFAULT_PREFERENCE_FILTER_RESOLVER_CACHE_ENABLED_PROPERTY_VALUE,
+            source = APPLICATION_SOURCE
+    )
+    String PREFERENCE_FILTER_RESOLVER_CACHE_ENABLED_PROPERTY_NAME = PREFERENCE_FILTER_RESOLVER_CACHE_PROPERTY_NAME_PREFIX + ENABLED_PROPERTY_NAME;
+
     // Zone Preference Upstream Properties
 
     /**
@@ -238,4 +289,247 @@ public interface ZoneConstants {
     )
     String LOCATOR_TIMEOUT_PROPERTY_NAME = LOCATOR_PROPERTY_NAME_PREFIX + "timeout";
 
+    /**
+     * The property value of default zone locator parallel : "false"
+     */
+    String DEFAULT_LOCATOR_PARALLEL_PROPERTY_VALUE = "false";
+
+    /**
+     * The default value of zone locator parallel.
+     */
+    boolean DEFAULT_LOCATOR_PARALLEL = parseBoolean(DEFAULT_LOCATOR_PARALLEL_PROPERTY_VALUE);
+
+    /**
+     * The property name of zone locator parallel : "microsphere.availability.zone.locator.parallel"
+     */
+    @ConfigurationProperty(
+            type = boolean.class,
+            defaultValue = DEFAULT_LOCATOR_PARALLEL_PROPERTY_VALUE,
+            source = APPLICATION_SOURCE
+    )
+    String LOCATOR_PARALLEL_PROPERTY_NAME = LOCATOR_PROPERTY_NAME_PREFIX + "parallel";
+
+    /**
+     * The property value of default zone locator deadline : "5000"
+     */
+    String DEFAULT_LOCATOR_DEADLINE_PROPERTY_VALUE = "5000";
+
+    /**
+     * The default value of zone locator deadline.
+     */
+    int DEFAULT_LOCATOR_DEADLINE = parseInt(DEFAULT_LOCATOR_DEADLINE_PROPERTY_VALUE);
+
+    /**
+     * The property name of zone locator deadline in milliseconds for all locators in parallel :
+     * "microsphere.availability.zone.locator.deadline"
+     */
+    @ConfigurationProperty(
+            type = int.class,
+            defaultValue = DEFAULT_LOCATOR_DEADLINE_PROPERTY_VALUE,
+            source = APPLICATION_SOURCE
+    )
+    String LOCATOR_DEADLINE_PROPERTY_NAME = LOCATOR_PROPERTY_NAME_PREFIX + "deadline";
+
+    /**
+     * The property name prefix of zone locator cache : "microsphere.availability.zone.locator.cache."
+     */
+    String LOCATOR_CACHE_PROPERTY_NAME_PREFIX = LOCATOR_PROPERTY_NAME_PREFIX + "cache" + DOT;
+
+    /**
+     * The property value of default zone locator cache enabled : "false"
+     */
+    String DEFAULT_LOCATOR_CACHE_ENABLED_PROPERTY_VALUE = "false";
+
+    /**
+     * The default value of zone locator cache enabled.
+     */
+    boolean DEFAULT_LOCATOR_CACHE_ENABLED = parseBoolean(DEFAULT_LOCATOR_CACHE_ENABLED_PROPERTY_VALUE);
+
+    /**
+     * The property name of zone locator cache enabled : "microsphere.availability.zone.locator.cache.enabled"
+     */
+    @ConfigurationProperty(
+            type = boolean.class,
+            defaultValue = DEFAULT_LOCATOR_CACHE_ENABLED_PROPERTY_VALUE,
+            source = APPLICATION_SOURCE
+    )
+    String LOCATOR_CACHE_ENABLED_PROPERTY_NAME = LOCATOR_CACHE_PROPERTY_NAME_PREFIX + ENABLED_PROPERTY_NAME;
+
+    /**
+     * The property name of zone locator cache file : "microsphere.availability.zone.locator.cache.file", the file
+     * ".microsphere/availability-zone.properties" under the "user.home" will be used if absent.
+     */
+    @ConfigurationProperty(
+            source = APPLICATION_SOURCE
+    )
+    String LOCATOR_CACHE_FILE_PROPERTY_NAME = LOCATOR_CACHE_PROPERTY_NAME_PREFIX + "file";
+
+    /**
+     * The property name prefix of zone locator async : "microsphere.availability.zone.locator.async."
+     */
+    String LOCATOR_ASYNC_PROPERTY_NAME_PREFIX = LOCATOR_PROPERTY_NAME_PREFIX + "async" + DOT;
+
+    /**
+     * The property value of default zone locator async enabled : "false"
+     */
+    String DEFAULT_LOCATOR_ASYNC_ENABLED_PROPERTY_VALUE = "false";
+
+    /**
+     * The default value of zone locator async enabled.
+     */
+    boolean DEFAULT_LOCATOR_ASYNC_ENABLED = parseBoolean(DEFAULT_LOCATOR_ASYNC_ENABLED_PROPERTY_VALUE);
+
+    /**
+     * The property name of zone locator async enabled : "microsphere.availability.zone.locator.async.enabled"
+     */
+    @ConfigurationProperty(
+            type = boolean.class,
+            defaultValue = DEFAULT_LOCATOR_ASYNC_ENABLED_PROPERTY_VALUE,
+            source = APPLICATION_SOURCE
+    )
+    String LOCATOR_ASYNC_ENABLED_PROPERTY_NAME = LOCATOR_ASYNC_PROPERTY_NAME_PREFIX + ENABLED_PROPERTY_NAME;
+
+    /**
+     * The property value of default zone locator async timeout : "10000"
+     */
+    String DEFAULT_LOCATOR_ASYNC_TIMEOUT_PROPERTY_VALUE = "10000";
+
+    /**
+     * The default value of zone locator async timeout.
+     */
+    int DEFAULT_LOCATOR_ASYNC_TIMEOUT = parseInt(DEFAULT_LOCATOR_ASYNC_TIMEOUT_PROPERTY_VALUE);
+
+    /**
+     * The property name of zone locator async timeout in milliseconds, which is the max time to wait for the located
+     * zone before the registration : "microsphere.availability.zone.locator.async.timeout"
+     */
+    @ConfigurationProperty(
+            type = int.class,
+            defaultValue = DEFAULT_LOCATOR_ASYNC_TIMEOUT_PROPERTY_VALUE,
+            source = APPLICATION_SOURCE
+    )
+    String LOCATOR_ASYNC_TIMEOUT_PROPERTY_NAME = LOCATOR_ASYNC_PROPERTY_NAME_PREFIX + "timeout";
+
+    /**
+     * The property name prefix of zone locator refresh : "microsphere.availability.zone.locator.refresh."
+     */
+    String LOCATOR_REFRESH_PROPERTY_NAME_PREFIX = LOCATOR_PROPERTY_NAME_PREFIX + "refresh" + DOT;
+
+    /**
+     * The property value of default zone locator refresh enabled : "false"
+     */
+    String DEFAULT_LOCATOR_REFRESH_ENABLED_PROPERTY_VALUE = "false";
+
+    /**
+     * The default value of zone locator refresh enabled.
+     */
+    boolean DEFAULT_LOCATOR_REFRESH_ENABLED = parseBoolean(DEFAULT_LOCATOR_REFRESH_ENABLED_PROPERTY_VALUE);
+
+    /**
+     * The property name of zone locator refresh enabled, which locates the zone periodically in the background to
+     * detect the zone drift : "microsphere.availability.zone.locator.refresh.enabled"
+     */
+    @ConfigurationProperty(
+            type = boolean.class,
+            defaultValue = DEFAULT_LOCATOR_REFRESH_ENABLED_PROPERTY_VALUE,
+            source = APPLICATION_SOURCE
+    )
+    String LOCATOR_REFRESH_ENABLED_PROPERTY_NAME = LOCATOR_REFRESH_PROPERTY_NAME_PREFIX + ENABLED_PROPERTY_NAME;
+
+    /**
+     * The property value of default zone locator refresh interval : "300000"
+     */
+    String DEFAULT_LOCATOR_REFRESH_INTERVAL_PROPERTY_VALUE = "300000";
+
+    /**
+     * The default value of zone locator refresh interval.
+     */
+    int DEFAULT_LOCATOR_REFRESH_INTERVAL = parseInt(DEFAULT_LOCATOR_REFRESH_INTERVAL_PROPERTY_VALUE);
+
+    /**
+     * The property name of zone locator refresh interval in milliseconds :
+     * "microsphere.availability.zone.locator.refresh.interval"
+     */
+    @ConfigurationProperty(
+            type = int.class,
+            defaultValue = DEFAULT_LOCATOR_REFRESH_INTERVAL_PROPERTY_VALUE,
+            source = APPLICATION_SOURCE
+    )
+    String LOCATOR_REFRESH_INTERVAL_PROPERTY_NAME = LOCATOR_REFRESH_PROPERTY_NAME_PREFIX + "interval";
+
+    /**
+     * The property value of default zone locator refresh jitter : "30000"
+     */
+    String DEFAULT_LOCATOR_REFRESH_JITTER_PROPERTY_VALUE = "30000";
+
+    /**
+     * The default value of zone locator refresh jitter.
+     */
+    int DEFAULT_LOCATOR_REFRESH_JITTER = parseInt(DEFAULT_LOCATOR_REFRESH_JITTER_PROPERTY_VALUE);
+
+    /**
+     * The property name of zone locator refresh jitter in milliseconds, the random delay up to it will be added to
+     * each interval in order to spread the requests of the instances : "microsphere.availability.zone.locator.refresh.jitter"
+     */
+    @ConfigurationProperty(
+            type = int.class,
+            defaultValue = DEFAULT_LOCATOR_REFRESH_JITTER_PROPERTY_VALUE,
+            source = APPLICATION_SOURCE
+    )
+    String LOCATOR_REFRESH_JITTER_PROPERTY_NAME = LOCATOR_REFRESH_PROPERTY_NAME_PREFIX + "jitter";
+
+    /**
+     * The property name prefix of zone context : "microsphere.availability.zone.context."
+     */
+    String CONTEXT_PROPERTY_NAME_PREFIX = ZONE_PROPERTY_NAME + DOT + "context" + DOT;
+
+    /**
+     * The property name prefix of zone context coalescing : "microsphere.availability.zone.context.coalescing."
+     */
+    String CONTEXT_COALESCING_PROPERTY_NAME_PREFIX = CONTEXT_PROPERTY_NAME_PREFIX + "coalescing" + DOT;
+
+    /**
+     * The property value of default zone context coalescing interval : "0"
+     */
+    String DEFAULT_CONTEXT_COALESCING_INTERVAL_PROPERTY_VALUE = "0";
+
+    /**
+     * The default value of zone context coalescing interval.
+     */
+    int DEFAULT_CONTEXT_COALESCING_INTERVAL = parseInt(DEFAULT_CONTEXT_COALESCING_INTERVAL_PROPERTY_VALUE);
+
+    /**
+     * The property name of zone context coalescing interval in milliseconds, the property changes arriving within it
+     * are merged into one update of zone context, the coalescing is disabled if it's not positive :
+     * "microsphere.availability.zone.context.coalescing.interval"
+     */
+    @ConfigurationProperty(
+            type = int.class,
+            defaultValue = DEFAULT_CONTEXT_COALESCING_INTERVAL_PROPERTY_VALUE,
+            source = APPLICATION_SOURCE
+    )
+    String CONTEXT_COALESCING_INTERVAL_PROPERTY_NAME = CONTEXT_COALESCING_PROPERTY_NAME_PREFIX + "interval";
+
+    /**
+     * The property value of default zone context coalescing max latency : "1000"
+     */
+    String DEFAULT_CONTEXT_COALESCING_MAX_LATENCY_PROPERTY_VALUE = "1000";
+
+    /**
+     * The default value of zone context coalescing max latency.
+     */
+    int DEFAULT_CONTEXT_COALESCING_MAX_LATENCY = parseInt(DEFAULT_CONTEXT_COALESCING_MAX_LATENCY_PROPERTY_VALUE);
+
+    /**
+     * The property name of zone context coalescing max latency in milliseconds, the merged property changes will be
+     * applied in it since the first one arrived, even if the changes keep arriving :
+     * "microsphere.availability.zone.context.coalescing.max-latency"
+     */
+    @ConfigurationProperty(
+            type = int.class,
+            defaultValue = DEFAULT_CONTEXT_COALESCING_MAX_LATENCY_PROPERTY_VALUE,
+            source = APPLICATION_SOURCE
+    )
+    String CONTEXT_COALESCING_MAX_LATENCY_PROPERTY_NAME = CONTEXT_COALESCING_PROPERTY_NAME_PREFIX + "max-latency";
+
 }
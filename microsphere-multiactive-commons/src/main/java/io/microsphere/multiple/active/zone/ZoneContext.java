@@ -2,10 +2,21 @@ package io.microsphere.multiple.active.zone;
 
 import io.microsphere.logging.Logger;
 
+import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
-import java.beans.PropertyChangeSupport;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.StringJoiner;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import static io.microsphere.constants.SymbolConstants.COMMA;
 import static io.microsphere.logging.LoggerFactory.getLogger;
@@ -17,12 +28,35 @@ import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_ZONE;
 import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_ZONE_ENABLED;
 import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_ZONE_PREFERENCE_ENABLED;
 import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_ZONE_PREFERENCE_FILTER_ORDER;
+import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_ZONE_PREFERENCE_FILTER_PARALLEL_THRESHOLD;
+import static io.microsphere.multiple.active.zone.ZoneContextSnapshot.parseDisabledZones;
 import static io.microsphere.util.StringUtils.isBlank;
 import static io.microsphere.util.StringUtils.split;
 import static io.microsphere.util.StringUtils.trimAllWhitespace;
+import static java.lang.System.nanoTime;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 /**
  * The context of zone
+ * <p>
+ * The {@link PropertyChangeListener listeners} are held in a copy-on-write array, which is replaced atomically on
+ * add or remove, thus the changes are dispatched without any lock. The listener could be notified synchronously
+ * in the thread changing the property, or asynchronously by the specified {@link Executor}.
+ * <p>
+ * The zone could be {@link #setProvisionalZone(String, long, TimeUnit) provisional} while it's being located
+ * asynchronously, the callers of {@link #awaitZone()} will wait until the zone is confirmed by
+ * {@link #setZone(String)} or {@link #confirmZone()}, or the timeout of the provisional zone elapses.
+ * <p>
+ * The properties could be changed together in a transaction by {@link #update(Consumer)}, the readers never observe
+ * the half-applied state of them.
+ * <p>
+ * The {@link #getCurrentZone() current zone} is cached in an {@link AtomicReference}, which is updated when the zone
+ * is located or set on the {@link #get() singleton}, thus it's read without any lock on the hot path, the system
+ * property {@link ZoneConstants#CURRENT_ZONE_PROPERTY_NAME} is written only if the current zone is changed for
+ * compatibility. Before the current zone is set, the system property is read once and cached as the fallback until
+ * it's {@link #invalidateCurrentZone() invalidated}.
  *
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
  * @since 1.0.0
@@ -31,69 +65,178 @@ public class ZoneContext {
 
     private static final Logger logger = getLogger(ZoneContext.class);
 
+    private static final Registration[] NO_REGISTRATIONS = new Registration[0];
+
     private static final ZoneContext instance = new ZoneContext();
 
-    private volatile boolean enabled = DEFAULT_ZONE_ENABLED;
+    /**
+     * The cached current zone, or <code>null</code> if it's not set
+     */
+    private static final AtomicReference<String> currentZone = new AtomicReference<>();
 
-    private volatile String zone = DEFAULT_ZONE;
+    /**
+     * The cached fallback of current zone from the system property, or <code>null</code> if it's not read or invalidated
+     */
+    private static volatile String fallbackCurrentZone;
 
-    private volatile boolean preferenceEnabled = DEFAULT_ZONE_PREFERENCE_ENABLED;
+    private final Object lock = new Object();
 
-    private volatile int preferenceFilterOrder = DEFAULT_ZONE_PREFERENCE_FILTER_ORDER;
+    private final AtomicReference<Registration[]> registrations = new AtomicReference<>(NO_REGISTRATIONS);
 
-    private volatile int preferenceUpstreamZoneReadyPercentage = DEFAULT_PREFERENCE_UPSTREAM_ZONE_READY_PERCENTAGE;
+    private volatile ZoneConfirmation zoneConfirmation;
 
-    private volatile int preferenceUpstreamSameZoneMinAvailable = DEFAULT_PREFERENCE_UPSTREAM_SAME_ZONE_MIN_AVAILABLE;
+    private volatile ZoneContextSnapshot snapshot = new ZoneContextSnapshot(0L, DEFAULT_ZONE_ENABLED, registerZone(DEFAULT_ZONE),
+            DEFAULT_ZONE_PREFERENCE_ENABLED, DEFAULT_ZONE_PREFERENCE_FILTER_ORDER, DEFAULT_ZONE_PREFERENCE_FILTER_PARALLEL_THRESHOLD,
+            DEFAULT_PREFERENCE_UPSTREAM_ZONE_READY_PERCENTAGE,
+            DEFAULT_PREFERENCE_UPSTREAM_SAME_ZONE_MIN_AVAILABLE, DEFAULT_PREFERENCE_UPSTREAM_DISABLED_ZONE);
 
-    private volatile String preferenceUpstreamDisabledZone = DEFAULT_PREFERENCE_UPSTREAM_DISABLED_ZONE;
+    public void setEnabled(boolean enabled) {
+        setProperty("enabled", ZoneContextSnapshot::isEnabled, enabled, ZoneContextSnapshot::withEnabled);
+    }
 
-    private final PropertyChangeSupport propertyChangeSupport = new PropertyChangeSupport(this);
+    public void setZone(String zone) {
+        setProperty("zone", ZoneContextSnapshot::getZone, trimAllWhitespace(zone), ZoneContext::withRegisteredZone);
+        confirmZone();
+        updateCurrentZone();
+    }
 
-    public void setEnabled(boolean enabled) {
-        if (isPropertyChanged("enabled", this.enabled, enabled)) {
-            this.enabled = enabled;
+    /**
+     * Set the provisional zone which is used until the zone is confirmed by {@link #setZone(String)} or
+     * {@link #confirmZone()}
+     *
+     * @param zone    the provisional zone
+     * @param timeout the max time to wait for the confirmed zone in {@link #awaitZone()}
+     * @param unit    the unit of timeout
+     */
+    public void setProvisionalZone(String zone, long timeout, TimeUnit unit) {
+        ZoneConfirmation zoneConfirmation = new ZoneConfirmation(nanoTime() + unit.toNanos(timeout));
+        this.zoneConfirmation = zoneConfirmation;
+        setProperty("zone", ZoneContextSnapshot::getZone, trimAllWhitespace(zone), ZoneContext::withRegisteredZone);
+        logger.info("The provisional zone ['{}'] is set, which will be confirmed in {} ms", zone, unit.toMillis(timeout));
+    }
+
+    /**
+     * Confirm current zone if it's provisional
+     */
+    public void confirmZone() {
+        ZoneConfirmation zoneConfirmation = this.zoneConfirmation;
+        if (zoneConfirmation != null) {
+            this.zoneConfirmation = null;
+            zoneConfirmation.latch.countDown();
+            logger.info("The zone ['{}'] is confirmed", getZone());
         }
     }
 
-    public void setZone(String zone) {
-        if (isPropertyChanged("zone", this.zone, zone)) {
-            this.zone = trimAllWhitespace(zone);
+    /**
+     * @return <code>true</code> if current zone is provisional
+     */
+    public boolean isZoneProvisional() {
+        return zoneConfirmation != null;
+    }
+
+    /**
+     * Wait until current zone is confirmed or the timeout of the provisional zone elapses
+     *
+     * @return current zone
+     */
+    public String awaitZone() {
+        ZoneConfirmation zoneConfirmation = this.zoneConfirmation;
+        if (zoneConfirmation != null) {
+            long timeout = zoneConfirmation.deadline - nanoTime();
+            try {
+                if (timeout <= 0 || !zoneConfirmation.latch.await(timeout, NANOSECONDS)) {
+                    logger.warn("The zone is not confirmed in time, the provisional zone ['{}'] will be used", getZone());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.warn("The waiting for the confirmed zone was interrupted, the provisional zone ['{}'] will be used", getZone());
+            }
         }
+        return getZone();
     }
 
     public void setPreferenceEnabled(boolean preferenceEnabled) {
-        if (isPropertyChanged("preferenceEnabled", this.preferenceEnabled, preferenceEnabled)) {
-            this.preferenceEnabled = preferenceEnabled;
-        }
+        setProperty("preferenceEnabled", ZoneContextSnapshot::isPreferenceEnabled, preferenceEnabled,
+                ZoneContextSnapshot::withPreferenceEnabled);
     }
 
     public void setPreferenceFilterOrder(int preferenceFilterOrder) {
-        if (isPropertyChanged("preferenceFilterOrder", this.preferenceFilterOrder, preferenceFilterOrder)) {
-            this.preferenceFilterOrder = preferenceFilterOrder;
-        }
+        setProperty("preferenceFilterOrder", ZoneContextSnapshot::getPreferenceFilterOrder, preferenceFilterOrder,
+                ZoneContextSnapshot::withPreferenceFilterOrder);
+    }
+
+    public void setPreferenceFilterParallelThreshold(int preferenceFilterParallelThreshold) {
+        setProperty("preferenceFilterParallelThreshold", ZoneContextSnapshot::getPreferenceFilterParallelThreshold,
+                preferenceFilterParallelThreshold, ZoneContextSnapshot::withPreferenceFilterParallelThreshold);
+    }
+
+    /**
+     * @param preferenceUpstreamZoneReadyPercentage the zone ready percentage of upstream servers(nodes) for
+     *                                              zone-preference, which must be between 0 and 100
+     * @throws IllegalArgumentException if it's out of range
+     */
+    public void setPreferenceUpstreamZoneReadyPercentage(int preferenceUpstreamZoneReadyPercentage) throws IllegalArgumentException {
+        setProperty("preferenceUpstreamZoneReadyPercentage", ZoneContextSnapshot::getPreferenceUpstreamZoneReadyPercentage,
+                validatePreferenceUpstreamZoneReadyPercentage(preferenceUpstreamZoneReadyPercentage),
+                ZoneContextSnapshot::withPreferenceUpstreamZoneReadyPercentage);
+    }
+
+    /**
+     * @param preferenceUpstreamSameZoneMinAvailable the mix available of upstream servers(nodes) in the same zone for
+     *                                               zone-preference, which must not be negative
+     * @throws IllegalArgumentException if it's negative
+     */
+    public void setPreferenceUpstreamSameZoneMinAvailable(int preferenceUpstreamSameZoneMinAvailable) throws IllegalArgumentException {
+        setProperty("preferenceUpstreamSameZoneMinAvailable", ZoneContextSnapshot::getPreferenceUpstreamSameZoneMinAvailable,
+                validatePreferenceUpstreamSameZoneMinAvailable(preferenceUpstreamSameZoneMinAvailable),
+                ZoneContextSnapshot::withPreferenceUpstreamSameZoneMinAvailable);
     }
 
-    public void setPreferenceUpstreamZoneReadyPercentage(int preferenceUpstreamZoneReadyPercentage) {
-        if (isPropertyChanged("preferenceUpstreamZoneReadyPercentage", this.preferenceUpstreamZoneReadyPercentage,
-                preferenceUpstreamZoneReadyPercentage)) {
-            this.preferenceUpstreamZoneReadyPercentage = preferenceUpstreamZoneReadyPercentage;
+    private static int validatePreferenceUpstreamZoneReadyPercentage(int preferenceUpstreamZoneReadyPercentage) {
+        if (preferenceUpstreamZoneReadyPercentage < 0 || preferenceUpstreamZoneReadyPercentage > 100) {
+            throw new IllegalArgumentException("The 'preferenceUpstreamZoneReadyPercentage' must be between 0 and 100 : "
+                    + preferenceUpstreamZoneReadyPercentage);
         }
+        return preferenceUpstreamZoneReadyPercentage;
     }
 
-    public void setPreferenceUpstreamSameZoneMinAvailable(int preferenceUpstreamSameZoneMinAvailable) {
-        if (isPropertyChanged("preferenceUpstreamSameZoneMinAvailable", this.preferenceUpstreamSameZoneMinAvailable,
-                preferenceUpstreamSameZoneMinAvailable)) {
-            this.preferenceUpstreamSameZoneMinAvailable = preferenceUpstreamSameZoneMinAvailable;
+    private static int validatePreferenceUpstreamSameZoneMinAvailable(int preferenceUpstreamSameZoneMinAvailable) {
+        if (preferenceUpstreamSameZoneMinAvailable < 0) {
+            throw new IllegalArgumentException("The 'preferenceUpstreamSameZoneMinAvailable' must not be negative : "
+                    + preferenceUpstreamSameZoneMinAvailable);
         }
+        return preferenceUpstreamSameZoneMinAvailable;
     }
 
     public void setPreferenceUpstreamDisabledZone(String preferenceUpstreamDisabledZone) {
-        if (isPropertyChanged("preferenceUpstreamDisabledZone", this.preferenceUpstreamDisabledZone, preferenceUpstreamDisabledZone)) {
-            this.preferenceUpstreamDisabledZone = resolveCommaDelimited(preferenceUpstreamDisabledZone);
+        setProperty("preferenceUpstreamDisabledZone", ZoneContextSnapshot::getPreferenceUpstreamDisabledZone,
+                resolveCommaDelimited(preferenceUpstreamDisabledZone), ZoneContext::withRegisteredPreferenceUpstreamDisabledZone);
+    }
+
+    // The zones are registered only if the snapshot will be published, as same as the transaction
+    private static ZoneContextSnapshot withRegisteredZone(ZoneContextSnapshot snapshot, String zone) {
+        return snapshot.withZone(registerZone(zone));
+    }
+
+    private static ZoneContextSnapshot withRegisteredPreferenceUpstreamDisabledZone(ZoneContextSnapshot snapshot,
+                                                                                   String preferenceUpstreamDisabledZone) {
+        return snapshot.withPreferenceUpstreamDisabledZone(registerZones(preferenceUpstreamDisabledZone));
+    }
+
+    // The zones are registered before they're published by the snapshot rather than on the filtering path
+    private static String registerZone(String zone) {
+        ZoneRegistry.get().register(zone);
+        return zone;
+    }
+
+    private static String registerZones(String commaDelimitedZones) {
+        if (commaDelimitedZones != null) {
+            ZoneRegistry.get().register(parseDisabledZones(commaDelimitedZones));
         }
+        return commaDelimitedZones;
     }
 
-    private String resolveCommaDelimited(String value) {
+    private static String resolveCommaDelimited(String value) {
         if (isBlank(value)) {
             return value;
         }
@@ -109,61 +252,169 @@ public class ZoneContext {
         return stringJoiner.toString();
     }
 
+    /**
+     * Add the {@link PropertyChangeListener} notified synchronously in the thread changing the property
+     *
+     * @param listener {@link PropertyChangeListener}
+     */
     public void addPropertyChangeListener(PropertyChangeListener listener) {
-        propertyChangeSupport.addPropertyChangeListener(listener);
+        addPropertyChangeListener(listener, null);
     }
 
+    /**
+     * Add the {@link PropertyChangeListener} notified asynchronously by the specified {@link Executor}
+     *
+     * @param listener {@link PropertyChangeListener}
+     * @param executor {@link Executor}, the listener will be notified synchronously if <code>null</code>
+     */
+    public void addPropertyChangeListener(PropertyChangeListener listener, Executor executor) {
+        if (listener == null) {
+            return;
+        }
+        Registration registration = new Registration(listener, executor);
+        Registration[] current;
+        Registration[] updated;
+        do {
+            current = registrations.get();
+            updated = new Registration[current.length + 1];
+            System.arraycopy(current, 0, updated, 0, current.length);
+            updated[current.length] = registration;
+        } while (!registrations.compareAndSet(current, updated));
+    }
+
+    /**
+     * Remove the first registration of the {@link PropertyChangeListener}
+     *
+     * @param listener {@link PropertyChangeListener}
+     */
     public void removePropertyChangeListener(PropertyChangeListener listener) {
-        propertyChangeSupport.removePropertyChangeListener(listener);
+        if (listener == null) {
+            return;
+        }
+        Registration[] current;
+        Registration[] updated;
+        do {
+            current = registrations.get();
+            int index = indexOf(current, listener);
+            if (index < 0) {
+                return;
+            }
+            int length = current.length - 1;
+            if (length == 0) {
+                updated = NO_REGISTRATIONS;
+            } else {
+                updated = new Registration[length];
+                System.arraycopy(current, 0, updated, 0, index);
+                System.arraycopy(current, index + 1, updated, index, length - index);
+            }
+        } while (!registrations.compareAndSet(current, updated));
+    }
+
+    /**
+     * @return the copy of the registered {@link PropertyChangeListener listeners}
+     */
+    public PropertyChangeListener[] getPropertyChangeListeners() {
+        Registration[] registrations = this.registrations.get();
+        PropertyChangeListener[] listeners = new PropertyChangeListener[registrations.length];
+        for (int i = 0; i < registrations.length; i++) {
+            listeners[i] = registrations[i].listener;
+        }
+        return listeners;
+    }
+
+    private static int indexOf(Registration[] registrations, PropertyChangeListener listener) {
+        for (int i = 0; i < registrations.length; i++) {
+            if (registrations[i].listener.equals(listener)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void firePropertyChange(String propertyName, Object oldValue, Object newValue) {
+        Registration[] registrations = this.registrations.get();
+        if (registrations.length == 0) {
+            return;
+        }
+        firePropertyChanges(registrations, singletonList(new PropertyChangeEvent(this, propertyName, oldValue, newValue)));
+    }
+
+    private void firePropertyChanges(Registration[] registrations, List<PropertyChangeEvent> events) {
+        for (Registration registration : registrations) {
+            registration.dispatch(events);
+        }
+    }
+
+    /**
+     * Get the current immutable {@link ZoneContextSnapshot}, all properties of which are consistent.
+     *
+     * @return non-null
+     */
+    public ZoneContextSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * @return the monotonic version of current context, which increases whenever any property is changed
+     */
+    public long getVersion() {
+        return snapshot.getVersion();
     }
 
     /**
      * @return Zone context enabled or not
      */
     public boolean isEnabled() {
-        return enabled;
+        return snapshot.isEnabled();
     }
 
     /**
      * @return current zone in the context
      */
     public String getZone() {
-        return zone;
+        return snapshot.getZone();
     }
 
     /**
      * @return Zone preference enabled or not
      */
     public boolean isPreferenceEnabled() {
-        return preferenceEnabled;
+        return snapshot.isPreferenceEnabled();
     }
 
     /**
      * @return the order of zone preference filter
      */
     public int getPreferenceFilterOrder() {
-        return preferenceFilterOrder;
+        return snapshot.getPreferenceFilterOrder();
+    }
+
+    /**
+     * @return the min size of entities filtered in parallel by zone preference filter
+     */
+    public int getPreferenceFilterParallelThreshold() {
+        return snapshot.getPreferenceFilterParallelThreshold();
     }
 
     /**
      * @return the zone ready percentage of upstream servers(nodes) for zone-preference
      */
     public int getPreferenceUpstreamZoneReadyPercentage() {
-        return preferenceUpstreamZoneReadyPercentage;
+        return snapshot.getPreferenceUpstreamZoneReadyPercentage();
     }
 
     /**
      * @return the mix available of upstream servers(nodes) in the same zone for zone-preference
      */
     public int getPreferenceUpstreamSameZoneMinAvailable() {
-        return preferenceUpstreamSameZoneMinAvailable;
+        return snapshot.getPreferenceUpstreamSameZoneMinAvailable();
     }
 
     /**
      * @return the disabled zone of upstream servers(nodes) for zone-preference
      */
     public String getPreferenceUpstreamDisabledZone() {
-        return preferenceUpstreamDisabledZone;
+        return snapshot.getPreferenceUpstreamDisabledZone();
     }
 
     /**
@@ -172,7 +423,7 @@ public class ZoneContext {
      * @return previous enabled status
      */
     public boolean enable() {
-        boolean enabled = this.enabled;
+        boolean enabled = isEnabled();
         if (!enabled) {
             setEnabled(true);
         }
@@ -180,39 +431,248 @@ public class ZoneContext {
     }
 
     /**
-     * Reset to default status
+     * Reset to default status, the cached {@link #getCurrentZone() current zone} is cleared if it's the
+     * {@link #get() singleton}
      */
     public void reset() {
-        setEnabled(DEFAULT_ZONE_ENABLED);
-        setZone(DEFAULT_ZONE);
-        setPreferenceEnabled(DEFAULT_ZONE_PREFERENCE_ENABLED);
-        setPreferenceFilterOrder(DEFAULT_ZONE_PREFERENCE_FILTER_ORDER);
-        setPreferenceUpstreamZoneReadyPercentage(DEFAULT_PREFERENCE_UPSTREAM_ZONE_READY_PERCENTAGE);
-        setPreferenceUpstreamSameZoneMinAvailable(DEFAULT_PREFERENCE_UPSTREAM_SAME_ZONE_MIN_AVAILABLE);
-        setPreferenceUpstreamDisabledZone(DEFAULT_PREFERENCE_UPSTREAM_DISABLED_ZONE);
+        update(mutator -> {
+            mutator.setEnabled(DEFAULT_ZONE_ENABLED);
+            mutator.setZone(DEFAULT_ZONE);
+            mutator.setPreferenceEnabled(DEFAULT_ZONE_PREFERENCE_ENABLED);
+            mutator.setPreferenceFilterOrder(DEFAULT_ZONE_PREFERENCE_FILTER_ORDER);
+            mutator.setPreferenceFilterParallelThreshold(DEFAULT_ZONE_PREFERENCE_FILTER_PARALLEL_THRESHOLD);
+            mutator.setPreferenceUpstreamZoneReadyPercentage(DEFAULT_PREFERENCE_UPSTREAM_ZONE_READY_PERCENTAGE);
+            mutator.setPreferenceUpstreamSameZoneMinAvailable(DEFAULT_PREFERENCE_UPSTREAM_SAME_ZONE_MIN_AVAILABLE);
+            mutator.setPreferenceUpstreamDisabledZone(DEFAULT_PREFERENCE_UPSTREAM_DISABLED_ZONE);
+        }, false);
+        if (this == instance) {
+            currentZone.set(null);
+            invalidateCurrentZone();
+        }
+    }
+
+    /**
+     * Change the properties in a transaction, all of them are validated by the {@link ZoneContextMutator} before
+     * being published in one {@link ZoneContextSnapshot}, thus the readers observe either none or all of them.
+     * The {@link PropertyChangeEvent PropertyChangeEvents} of the changed properties are dispatched to each
+     * {@link PropertyChangeListener} in one batch after the snapshot is published.
+     * <p>
+     * The mutation is executed in the caller thread without any lock held, nothing will be changed if it throws.
+     *
+     * @param mutation the mutation of {@link ZoneContextMutator}
+     * @return the {@link PropertyChangeEvent PropertyChangeEvents} of the changed properties, or empty list if none
+     * @throws IllegalArgumentException if any property is invalid
+     */
+    public List<PropertyChangeEvent> update(Consumer<ZoneContextMutator> mutation) throws IllegalArgumentException {
+        return update(mutation, true);
     }
 
-    private boolean isPropertyChanged(String propertyName, Object previousPropertyValue, Object newPropertyValue) {
-        boolean changed = !Objects.equals(previousPropertyValue, newPropertyValue);
-        if (changed) {
-            propertyChangeSupport.firePropertyChange(propertyName, previousPropertyValue, newPropertyValue);
-            logger.info("The property value [name : '{}'] is changed from '{}' to '{}'", propertyName, previousPropertyValue, newPropertyValue);
-        } else {
-            logger.trace("The property value [name : '{}'] is not changed : '{}'", propertyName, previousPropertyValue);
+    private List<PropertyChangeEvent> update(Consumer<ZoneContextMutator> mutation, boolean currentZoneUpdated) {
+        if (mutation == null) {
+            throw new IllegalArgumentException("The argument 'mutation' must not be null!");
+        }
+        Transaction transaction = new Transaction();
+        mutation.accept(transaction);
+        List<PropertyChangeEvent> events = new ArrayList<>(transaction.values.size());
+        synchronized (lock) {
+            ZoneContextSnapshot snapshot = transaction.apply(this.snapshot, events);
+            if (!events.isEmpty()) {
+                // Publish the new snapshot
+                this.snapshot = snapshot;
+            }
+        }
+        if (transaction.values.containsKey("zone")) {
+            confirmZone();
+            if (currentZoneUpdated) {
+                updateCurrentZone();
+            }
+        }
+        if (events.isEmpty()) {
+            logger.trace("None of the property values is changed in the transaction : {}", transaction.values);
+            return emptyList();
+        }
+        Registration[] registrations = this.registrations.get();
+        if (registrations.length > 0) {
+            firePropertyChanges(registrations, events);
         }
-        return changed;
+        logger.info("The property values are changed in the transaction : {}", events);
+        return events;
+    }
+
+    private void updateCurrentZone() {
+        if (this == instance) {
+            setCurrentZone(getZone());
+        }
+    }
+
+    private <V> void setProperty(String propertyName, Function<ZoneContextSnapshot, V> propertyGetter, V newPropertyValue,
+                                 BiFunction<ZoneContextSnapshot, V, ZoneContextSnapshot> snapshotMutator) {
+        V previousPropertyValue;
+        synchronized (lock) {
+            ZoneContextSnapshot snapshot = this.snapshot;
+            previousPropertyValue = propertyGetter.apply(snapshot);
+            if (Objects.equals(previousPropertyValue, newPropertyValue)) {
+                logger.trace("The property value [name : '{}'] is not changed : '{}'", propertyName, previousPropertyValue);
+                return;
+            }
+            // Publish the new snapshot
+            this.snapshot = snapshotMutator.apply(snapshot, newPropertyValue);
+        }
+        firePropertyChange(propertyName, previousPropertyValue, newPropertyValue);
+        logger.info("The property value [name : '{}'] is changed from '{}' to '{}'", propertyName, previousPropertyValue, newPropertyValue);
     }
 
     @Override
     public String toString() {
+        ZoneContextSnapshot snapshot = this.snapshot;
         return "ZoneContext{"
-                + "enabled=" + enabled
-                + ", zone='" + zone + '\''
-                + ", preferenceEnabled=" + preferenceEnabled
-                + ", preferenceFilterOrder=" + preferenceFilterOrder
-                + ", preferenceUpstreamZoneReadyPercentage=" + preferenceUpstreamZoneReadyPercentage
-                + ", preferenceUpstreamSameZoneMinAvailable=" + preferenceUpstreamSameZoneMinAvailable
-                + ", preferenceUpstreamDisabledZone=" + preferenceUpstreamDisabledZone + '}';
+                + "version=" + snapshot.getVersion()
+                + ", enabled=" + snapshot.isEnabled()
+                + ", zone='" + snapshot.getZone() + '\''
+                + ", preferenceEnabled=" + snapshot.isPreferenceEnabled()
+                + ", preferenceFilterOrder=" + snapshot.getPreferenceFilterOrder()
+                + ", preferenceFilterParallelThreshold=" + snapshot.getPreferenceFilterParallelThreshold()
+                + ", preferenceUpstreamZoneReadyPercentage=" + snapshot.getPreferenceUpstreamZoneReadyPercentage()
+                + ", preferenceUpstreamSameZoneMinAvailable=" + snapshot.getPreferenceUpstreamSameZoneMinAvailable()
+                + ", preferenceUpstreamDisabledZone=" + snapshot.getPreferenceUpstreamDisabledZone() + '}';
+    }
+
+    private final class Transaction implements ZoneContextMutator {
+
+        private final Map<String, Object> values = new HashMap<>();
+
+        @Override
+        public void setEnabled(boolean enabled) {
+            values.put("enabled", enabled);
+        }
+
+        @Override
+        public void setZone(String zone) {
+            values.put("zone", trimAllWhitespace(zone));
+        }
+
+        @Override
+        public void setPreferenceEnabled(boolean preferenceEnabled) {
+            values.put("preferenceEnabled", preferenceEnabled);
+        }
+
+        @Override
+        public void setPreferenceFilterOrder(int preferenceFilterOrder) {
+            values.put("preferenceFilterOrder", preferenceFilterOrder);
+        }
+
+        @Override
+        public void setPreferenceFilterParallelThreshold(int preferenceFilterParallelThreshold) {
+            values.put("preferenceFilterParallelThreshold", preferenceFilterParallelThreshold);
+        }
+
+        @Override
+        public void setPreferenceUpstreamZoneReadyPercentage(int preferenceUpstreamZoneReadyPercentage) {
+            values.put("preferenceUpstreamZoneReadyPercentage",
+                    validatePreferenceUpstreamZoneReadyPercentage(preferenceUpstreamZoneReadyPercentage));
+        }
+
+        @Override
+        public void setPreferenceUpstreamSameZoneMinAvailable(int preferenceUpstreamSameZoneMinAvailable) {
+            values.put("preferenceUpstreamSameZoneMinAvailable",
+                    validatePreferenceUpstreamSameZoneMinAvailable(preferenceUpstreamSameZoneMinAvailable));
+        }
+
+        @Override
+        public void setPreferenceUpstreamDisabledZone(String preferenceUpstreamDisabledZone) {
+            values.put("preferenceUpstreamDisabledZone", resolveCommaDelimited(preferenceUpstreamDisabledZone));
+        }
+
+        private ZoneContextSnapshot apply(ZoneContextSnapshot snapshot, List<PropertyChangeEvent> events) {
+            boolean enabled = apply("enabled", snapshot.isEnabled(), events);
+            String zone = apply("zone", snapshot.getZone(), events);
+            boolean preferenceEnabled = apply("preferenceEnabled", snapshot.isPreferenceEnabled(), events);
+            int preferenceFilterOrder = apply("preferenceFilterOrder", snapshot.getPreferenceFilterOrder(), events);
+            int preferenceFilterParallelThreshold = apply("preferenceFilterParallelThreshold",
+                    snapshot.getPreferenceFilterParallelThreshold(), events);
+            int preferenceUpstreamZoneReadyPercentage = apply("preferenceUpstreamZoneReadyPercentage",
+                    snapshot.getPreferenceUpstreamZoneReadyPercentage(), events);
+            int preferenceUpstreamSameZoneMinAvailable = apply("preferenceUpstreamSameZoneMinAvailable",
+                    snapshot.getPreferenceUpstreamSameZoneMinAvailable(), events);
+            String preferenceUpstreamDisabledZone = apply("preferenceUpstreamDisabledZone",
+                    snapshot.getPreferenceUpstreamDisabledZone(), events);
+            if (events.isEmpty()) {
+                return snapshot;
+            }
+            // The zones are registered only if the snapshot will be published, the bounded registry is not filled by
+            // the zones of the rejected or unchanged transactions
+            if (!Objects.equals(zone, snapshot.getZone())) {
+                registerZone(zone);
+            }
+            if (!Objects.equals(preferenceUpstreamDisabledZone, snapshot.getPreferenceUpstreamDisabledZone())) {
+                registerZones(preferenceUpstreamDisabledZone);
+            }
+            return new ZoneContextSnapshot(snapshot.getVersion() + 1, enabled, zone, preferenceEnabled, preferenceFilterOrder,
+                    preferenceFilterParallelThreshold, preferenceUpstreamZoneReadyPercentage, preferenceUpstreamSameZoneMinAvailable,
+                    preferenceUpstreamDisabledZone);
+        }
+
+        @SuppressWarnings("unchecked")
+        private <V> V apply(String propertyName, V previousPropertyValue, List<PropertyChangeEvent> events) {
+            if (!values.containsKey(propertyName)) {
+                return previousPropertyValue;
+            }
+            V newPropertyValue = (V) values.get(propertyName);
+            if (!Objects.equals(previousPropertyValue, newPropertyValue)) {
+                events.add(new PropertyChangeEvent(ZoneContext.this, propertyName, previousPropertyValue, newPropertyValue));
+            }
+            return newPropertyValue;
+        }
+    }
+
+    private static final class ZoneConfirmation {
+
+        private final CountDownLatch latch = new CountDownLatch(1);
+
+        private final long deadline;
+
+        private ZoneConfirmation(long deadline) {
+            this.deadline = deadline;
+        }
+    }
+
+    private static final class Registration {
+
+        private final PropertyChangeListener listener;
+
+        private final Executor executor;
+
+        private Registration(PropertyChangeListener listener, Executor executor) {
+            this.listener = listener;
+            this.executor = executor;
+        }
+
+        private void dispatch(List<PropertyChangeEvent> events) {
+            if (executor == null) {
+                notify(events);
+            } else {
+                try {
+                    executor.execute(() -> notify(events));
+                } catch (RuntimeException e) {
+                    logger.error("The PropertyChangeEvents{} can't be dispatched to {} by {}", events, listener, executor, e);
+                }
+            }
+        }
+
+        private void notify(List<PropertyChangeEvent> events) {
+            for (int i = 0; i < events.size(); i++) {
+                notify(events.get(i));
+            }
+        }
+
+        private void notify(PropertyChangeEvent event) {
+            try {
+                listener.propertyChange(event);
+            } catch (RuntimeException e) {
+                logger.error("The PropertyChangeListener {} failed to handle the PropertyChangeEvent[name : '{}']", listener,
+                        event.getPropertyName(), e);
+            }
+        }
     }
 
     /**
@@ -225,11 +685,50 @@ public class ZoneContext {
     }
 
     /**
-     * Get current zone
+     * Get current zone from the cache, or the system property {@link ZoneConstants#CURRENT_ZONE_PROPERTY_NAME} if it's
+     * not set by {@link #setCurrentZone(String)}, which is read once and cached until
+     * {@link #invalidateCurrentZone() invalidated}
      *
      * @return non-null
      */
     public static String getCurrentZone() {
-        return System.getProperty(CURRENT_ZONE_PROPERTY_NAME, DEFAULT_ZONE);
+        String zone = currentZone.get();
+        if (zone == null) {
+            zone = fallbackCurrentZone;
+            if (zone == null) {
+                zone = System.getProperty(CURRENT_ZONE_PROPERTY_NAME, DEFAULT_ZONE);
+                fallbackCurrentZone = zone;
+            }
+        }
+        return zone;
+    }
+
+    /**
+     * Invalidate the cached fallback of current zone, thus the system property
+     * {@link ZoneConstants#CURRENT_ZONE_PROPERTY_NAME} will be read again by {@link #getCurrentZone()} if the current
+     * zone is not set, e.g. the system property is changed externally.
+     */
+    public static void invalidateCurrentZone() {
+        fallbackCurrentZone = null;
+    }
+
+    /**
+     * Set current zone into the cache, the system property {@link ZoneConstants#CURRENT_ZONE_PROPERTY_NAME} is
+     * written only if the current zone is changed, because it's guarded by the lock of {@link System#getProperties()}
+     *
+     * @param zone the current zone, which is ignored if it's blank
+     */
+    public static void setCurrentZone(String zone) {
+        if (isBlank(zone)) {
+            return;
+        }
+        String previousZone = currentZone.getAndSet(zone);
+        if (!zone.equals(previousZone)) {
+            synchronized (currentZone) {
+                // The latest zone is written even if the concurrent changes are reordered
+                System.setProperty(CURRENT_ZONE_PROPERTY_NAME, currentZone.get());
+            }
+            logger.debug("The current zone is changed from '{}' to '{}'", previousZone, zone);
+        }
     }
 }
@@ -0,0 +1,63 @@
+package io.microsphere.multiple.active.zone;
+
+import java.util.function.Consumer;
+
+/**
+ * The mutator of {@link ZoneContext} in a transaction, the properties set by it are validated eagerly, and will be
+ * published at once by {@link ZoneContext#update(Consumer)} after the transaction completes.
+ * <p>
+ * The property set more than once in a transaction takes the last value.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ZoneContext#update(Consumer)
+ * @since 1.0.0
+ */
+public interface ZoneContextMutator {
+
+    /**
+     * @param enabled Zone context enabled or not
+     */
+    void setEnabled(boolean enabled);
+
+    /**
+     * Set the zone, which will be confirmed if it's provisional
+     *
+     * @param zone the zone
+     */
+    void setZone(String zone);
+
+    /**
+     * @param preferenceEnabled Zone preference enabled or not
+     */
+    void setPreferenceEnabled(boolean preferenceEnabled);
+
+    /**
+     * @param preferenceFilterOrder the order of zone preference filter
+     */
+    void setPreferenceFilterOrder(int preferenceFilterOrder);
+
+    /**
+     * @param preferenceFilterParallelThreshold the min size of entities filtered in parallel by zone preference filter
+     */
+    void setPreferenceFilterParallelThreshold(int preferenceFilterParallelThreshold);
+
+    /**
+     * @param preferenceUpstreamZoneReadyPercentage the zone ready percentage of upstream servers(nodes) for
+     *                                              zone-preference, which must be between 0 and 100
+     * @throws IllegalArgumentException if it's out of range
+     */
+    void setPreferenceUpstreamZoneReadyPercentage(int preferenceUpstreamZoneReadyPercentage) throws IllegalArgumentException;
+
+    /**
+     * @param preferenceUpstreamSameZoneMinAvailable the mix available of upstream servers(nodes) in the same zone for
+     *                                               zone-preference, which must not be negative
+     * @throws IllegalArgumentException if it's negative
+     */
+    void setPreferenceUpstreamSameZoneMinAvailable(int preferenceUpstreamSameZoneMinAvailable) throws IllegalArgumentException;
+
+    /**
+     * @param preferenceUpstreamDisabledZone the comma-delimited disabled zone of upstream servers(nodes) for
+     *                                       zone-preference
+     */
+    void setPreferenceUpstreamDisabledZone(String preferenceUpstreamDisabledZone);
+}
@@ -0,0 +1,256 @@
+package io.microsphere.multiple.active.zone;
+
+import java.util.BitSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import static io.microsphere.constants.SymbolConstants.COMMA_CHAR;
+import static io.microsphere.multiple.active.zone.ZoneRegistry.OTHER_ZONE_ID;
+import static io.microsphere.util.StringUtils.split;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.unmodifiableSet;
+
+/**
+ * The immutable snapshot of {@link ZoneContext}, which is published by {@link ZoneContext} via a single volatile
+ * reference, so that all properties could be read consistently by one load.
+ * <p>
+ * The {@link #getVersion() version} increases monotonically whenever any property of {@link ZoneContext} is changed,
+ * it could be used to detect the changes cheaply.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ZoneContext#getSnapshot()
+ * @since 1.0.0
+ */
+public final class ZoneContextSnapshot {
+
+    private final long version;
+
+    private final boolean enabled;
+
+    private final String zone;
+
+    private final boolean preferenceEnabled;
+
+    private final int preferenceFilterOrder;
+
+    private final int preferenceFilterParallelThreshold;
+
+    private final int preferenceUpstreamZoneReadyPercentage;
+
+    private final int preferenceUpstreamSameZoneMinAvailable;
+
+    private final String preferenceUpstreamDisabledZone;
+
+    private final Set<String> preferenceUpstreamDisabledZones;
+
+    private final int zoneId;
+
+    private final BitSet preferenceUpstreamDisabledZoneIds;
+
+    private final boolean zoneIdsRegistered;
+
+    ZoneContextSnapshot(long version, boolean enabled, String zone, boolean preferenceEnabled, int preferenceFilterOrder,
+                        int preferenceFilterParallelThreshold, int preferenceUpstreamZoneReadyPercentage, int preferenceUpstreamSameZoneMinAvailable,
+                        String preferenceUpstreamDisabledZone) {
+        this.version = version;
+        this.enabled = enabled;
+        this.zone = zone;
+        this.preferenceEnabled = preferenceEnabled;
+        this.preferenceFilterOrder = preferenceFilterOrder;
+        this.preferenceFilterParallelThreshold = preferenceFilterParallelThreshold;
+        this.preferenceUpstreamZoneReadyPercentage = preferenceUpstreamZoneReadyPercentage;
+        this.preferenceUpstreamSameZoneMinAvailable = preferenceUpstreamSameZoneMinAvailable;
+        this.preferenceUpstreamDisabledZone = preferenceUpstreamDisabledZone;
+        this.preferenceUpstreamDisabledZones = parseDisabledZones(preferenceUpstreamDisabledZone);
+        // The zones are registered by ZoneContext, the snapshot only looks up their IDs
+        ZoneRegistry zoneRegistry = ZoneRegistry.get();
+        this.zoneId = zoneRegistry.getId(zone);
+        this.preferenceUpstreamDisabledZoneIds = zoneRegistry.getIds(preferenceUpstreamDisabledZones);
+        this.zoneIdsRegistered = zoneId != OTHER_ZONE_ID
+                && preferenceUpstreamDisabledZoneIds.cardinality() == preferenceUpstreamDisabledZones.size();
+    }
+
+    ZoneContextSnapshot withEnabled(boolean enabled) {
+        return new ZoneContextSnapshot(version + 1, enabled, zone, preferenceEnabled, preferenceFilterOrder,
+                preferenceFilterParallelThreshold, preferenceUpstreamZoneReadyPercentage, preferenceUpstreamSameZoneMinAvailable,
+                preferenceUpstreamDisabledZone);
+    }
+
+    ZoneContextSnapshot withZone(String zone) {
+        return new ZoneContextSnapshot(version + 1, enabled, zone, preferenceEnabled, preferenceFilterOrder,
+                preferenceFilterParallelThreshold, preferenceUpstreamZoneReadyPercentage, preferenceUpstreamSameZoneMinAvailable,
+                preferenceUpstreamDisabledZone);
+    }
+
+    ZoneContextSnapshot withPreferenceEnabled(boolean preferenceEnabled) {
+        return new ZoneContextSnapshot(version + 1, enabled, zone, preferenceEnabled, preferenceFilterOrder,
+                preferenceFilterParallelThreshold, preferenceUpstreamZoneReadyPercentage, preferenceUpstreamSameZoneMinAvailable,
+                preferenceUpstreamDisabledZone);
+    }
+
+    ZoneContextSnapshot withPreferenceFilterOrder(int preferenceFilterOrder) {
+        return new ZoneContextSnapshot(version + 1, enabled, zone, preferenceEnabled, preferenceFilterOrder,
+                preferenceFilterParallelThreshold, preferenceUpstreamZoneReadyPercentage, preferenceUpstreamSameZoneMinAvailable,
+                preferenceUpstreamDisabledZone);
+    }
+
+    ZoneContextSnapshot withPreferenceFilterParallelThreshold(int preferenceFilterParallelThreshold) {
+        return new ZoneContextSnapshot(version + 1, enabled, zone, preferenceEnabled, preferenceFilterOrder,
+                preferenceFilterParallelThreshold, preferenceUpstreamZoneReadyPercentage, preferenceUpstreamSameZoneMinAvailable,
+                preferenceUpstreamDisabledZone);
+    }
+
+    ZoneContextSnapshot withPreferenceUpstreamZoneReadyPercentage(int preferenceUpstreamZoneReadyPercentage) {
+        return new ZoneContextSnapshot(version + 1, enabled, zone, preferenceEnabled, preferenceFilterOrder,
+                preferenceFilterParallelThreshold, preferenceUpstreamZoneReadyPercentage, preferenceUpstreamSameZoneMinAvailable,
+                preferenceUpstreamDisabledZone);
+    }
+
+    ZoneContextSnapshot withPreferenceUpstreamSameZoneMinAvailable(int preferenceUpstreamSameZoneMinAvailable) {
+        return new ZoneContextSnapshot(version + 1, enabled, zone, preferenceEnabled, preferenceFilterOrder,
+                preferenceFilterParallelThreshold, preferenceUpstreamZoneReadyPercentage, preferenceUpstreamSameZoneMinAvailable,
+                preferenceUpstreamDisabledZone);
+    }
+
+    ZoneContextSnapshot withPreferenceUpstreamDisabledZone(String preferenceUpstreamDisabledZone) {
+        return new ZoneContextSnapshot(version + 1, enabled, zone, preferenceEnabled, preferenceFilterOrder,
+                preferenceFilterParallelThreshold, preferenceUpstreamZoneReadyPercentage, preferenceUpstreamSameZoneMinAvailable,
+                preferenceUpstreamDisabledZone);
+    }
+
+    static Set<String> parseDisabledZones(String disabledZone) {
+        if (disabledZone == null) {
+            return emptySet();
+        }
+        String[] values = split(disabledZone, COMMA_CHAR);
+        Set<String> disabledZones = new LinkedHashSet<>(values.length);
+        for (String value : values) {
+            disabledZones.add(value);
+        }
+        return unmodifiableSet(disabledZones);
+    }
+
+    /**
+     * @return the monotonic version of {@link ZoneContext}
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return Zone context enabled or not
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return the normalized zone without any whitespace
+     */
+    public String getZone() {
+        return zone;
+    }
+
+    /**
+     * @return the ID of {@link #getZone() zone} in {@link ZoneRegistry}, {@link ZoneRegistry#UNKNOWN_ZONE_ID}
+     * if the zone is <code>null</code>, or {@link ZoneRegistry#OTHER_ZONE_ID} if it's not registered
+     */
+    public int getZoneId() {
+        return zoneId;
+    }
+
+    /**
+     * @return <code>true</code> if the zone and the disabled zones are all registered in {@link ZoneRegistry}, thus
+     * they could be matched by the IDs, otherwise they must be matched by the strings
+     */
+    public boolean isZoneIdsRegistered() {
+        return zoneIdsRegistered;
+    }
+
+    /**
+     * @return Zone preference enabled or not
+     */
+    public boolean isPreferenceEnabled() {
+        return preferenceEnabled;
+    }
+
+    /**
+     * @return the order of zone preference filter
+     */
+    public int getPreferenceFilterOrder() {
+        return preferenceFilterOrder;
+    }
+
+    /**
+     * @return the min size of entities filtered in parallel by zone preference filter, the non-positive value means
+     * the parallel mode is disabled
+     */
+    public int getPreferenceFilterParallelThreshold() {
+        return preferenceFilterParallelThreshold;
+    }
+
+    /**
+     * @return the zone ready percentage of upstream servers(nodes) for zone-preference
+     */
+    public int getPreferenceUpstreamZoneReadyPercentage() {
+        return preferenceUpstreamZoneReadyPercentage;
+    }
+
+    /**
+     * @return the mix available of upstream servers(nodes) in the same zone for zone-preference
+     */
+    public int getPreferenceUpstreamSameZoneMinAvailable() {
+        return preferenceUpstreamSameZoneMinAvailable;
+    }
+
+    /**
+     * @return the comma-delimited disabled zone of upstream servers(nodes) for zone-preference
+     */
+    public String getPreferenceUpstreamDisabledZone() {
+        return preferenceUpstreamDisabledZone;
+    }
+
+    /**
+     * @return the pre-parsed and unmodifiable set of disabled zones of upstream servers(nodes) for zone-preference
+     */
+    public Set<String> getPreferenceUpstreamDisabledZones() {
+        return preferenceUpstreamDisabledZones;
+    }
+
+    /**
+     * @return <code>true</code> if any disabled zone of upstream servers(nodes) was configured
+     */
+    public boolean hasPreferenceUpstreamDisabledZone() {
+        return preferenceUpstreamDisabledZone != null;
+    }
+
+    /**
+     * @param zone the zone to test
+     * @return <code>true</code> if the specified zone is disabled for zone-preference
+     */
+    public boolean isPreferenceUpstreamDisabledZone(String zone) {
+        return zone != null && preferenceUpstreamDisabledZones.contains(zone);
+    }
+
+    /**
+     * @param zoneId the ID of zone in {@link ZoneRegistry}
+     * @return <code>true</code> if the zone of the specified ID is disabled for zone-preference
+     */
+    public boolean isPreferenceUpstreamDisabledZoneId(int zoneId) {
+        return zoneId >= 0 && preferenceUpstreamDisabledZoneIds.get(zoneId);
+    }
+
+    @Override
+    public String toString() {
+        return "ZoneContextSnapshot{"
+                + "version=" + version
+                + ", enabled=" + enabled
+                + ", zone='" + zone + '\''
+                + ", preferenceEnabled=" + preferenceEnabled
+                + ", preferenceFilterOrder=" + preferenceFilterOrder
+                + ", preferenceFilterParallelThreshold=" + preferenceFilterParallelThreshold
+                + ", preferenceUpstreamZoneReadyPercentage=" + preferenceUpstreamZoneReadyPercentage
+                + ", preferenceUpstreamSameZoneMinAvailable=" + preferenceUpstreamSameZoneMinAvailable
+                + ", preferenceUpstreamDisabledZone=" + preferenceUpstreamDisabledZone + '}';
+    }
+}
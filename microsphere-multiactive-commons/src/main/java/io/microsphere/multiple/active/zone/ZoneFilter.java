@@ -0,0 +1,28 @@
+package io.microsphere.multiple.active.zone;
+
+import java.util.List;
+
+/**
+ * The filter of the upstream entities by zone
+ *
+ * @param <E> the type of entity to filter
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ZonePreferenceFilter
+ * @see CachingZonePreferenceFilter
+ * @since 1.0.0
+ */
+public interface ZoneFilter<E> {
+
+    /**
+     * Filter the entities
+     *
+     * @param entities the upstream entities, may be <code>null</code>
+     * @return the filtered entities, or the original {@link List} if none of entities is filtered out
+     */
+    List<E> filter(List<E> entities);
+
+    /**
+     * @return the order of filter
+     */
+    int getOrder();
+}
@@ -0,0 +1,42 @@
+package io.microsphere.multiple.active.zone;
+
+import static io.microsphere.multiple.active.zone.ZoneRegistry.UNKNOWN_ZONE_ID;
+
+/**
+ * The {@link ZoneResolver} variant resolving the ID of zone in {@link ZoneRegistry}, thus the zones could be
+ * matched by the integer operations.
+ *
+ * @param <E> the type of entity
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ZoneRegistry
+ * @see ZoneResolver
+ * @since 1.0.0
+ */
+public interface ZoneIdResolver<E> extends ZoneResolver<E> {
+
+    /**
+     * Resolve the ID of zone in the global {@link ZoneRegistry}, the zone will not be registered if absent
+     *
+     * @param entity the specified entity
+     * @return {@link ZoneRegistry#UNKNOWN_ZONE_ID} if can't be resolved, or {@link ZoneRegistry#OTHER_ZONE_ID} if the
+     * zone is not registered
+     */
+    default int resolveId(E entity) {
+        String zone = resolve(entity);
+        return zone == null ? UNKNOWN_ZONE_ID : ZoneRegistry.get().getId(zone);
+    }
+
+    /**
+     * Adapt the {@link ZoneResolver} to be {@link ZoneIdResolver}
+     *
+     * @param zoneResolver {@link ZoneResolver}
+     * @param <E>          the type of entity
+     * @return non-null
+     */
+    static <E> ZoneIdResolver<E> of(ZoneResolver<E> zoneResolver) {
+        if (zoneResolver instanceof ZoneIdResolver) {
+            return (ZoneIdResolver<E>) zoneResolver;
+        }
+        return zoneResolver::resolve;
+    }
+}
@@ -0,0 +1,111 @@
+package io.microsphere.multiple.active.zone;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * The {@link ZoneFilter} based on {@link ZonePartitionedIndex}, the upstream entities are
+ * {@link ZonePartitionedIndex#sync(java.util.Collection) synchronized} into the index only if another {@link List}
+ * instance is handed over, thus the adapter of the upstream, e.g. Ribbon <code>ServerList</code>, could
+ * {@link #sync(List) synchronize} the deltas ahead of the filtering without resolving them twice, and the filtered
+ * entities are answered by the index without traversing the upstream.
+ * <p>
+ * Each synchronization publishes an immutable view of the index in the order of the upstream {@link List}, thus the
+ * filtering of the synchronized {@link List} reads the view without any lock, and the result keeps the upstream order
+ * as {@link ZonePreferenceFilter} does. The upstream {@link List} must not be mutated after being synchronized, and
+ * the result is unmodifiable. The deltas applied to the {@link #getIndex() index} directly are not visible to the
+ * filtering until the next synchronization.
+ *
+ * @param <E> the type of entity to filter
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ZonePartitionedIndex
+ * @see ZoneFilter
+ * @since 1.0.0
+ */
+public class ZonePartitionedFilter<E> implements ZoneFilter<E> {
+
+    private final ZoneContext zoneContext;
+
+    private final ZonePartitionedIndex<E> index;
+
+    private volatile SyncedView<E> syncedView;
+
+    /**
+     * @param zoneContext  {@link ZoneContext}
+     * @param zoneResolver {@link ZoneResolver}
+     * @param keyResolver  the function to resolve the non-null identity key of entity
+     */
+    public ZonePartitionedFilter(ZoneContext zoneContext, ZoneResolver<E> zoneResolver, Function<E, ?> keyResolver) {
+        this(zoneContext, new ZonePartitionedIndex<>(zoneResolver, keyResolver));
+    }
+
+    public ZonePartitionedFilter(ZoneContext zoneContext, ZonePartitionedIndex<E> index) {
+        this.zoneContext = zoneContext;
+        this.index = index;
+    }
+
+    /**
+     * Synchronize the upstream entities into the index if they have not been synchronized
+     *
+     * @param entities the full upstream entities
+     */
+    public void sync(List<E> entities) {
+        SyncedView<E> syncedView = this.syncedView;
+        if (syncedView == null || syncedView.entities != entities) {
+            doSync(entities);
+        }
+    }
+
+    @Override
+    public List<E> filter(List<E> entities) {
+        if (entities == null) {
+            return null;
+        }
+        // The synchronized view is read without any lock until another upstream List is handed over
+        SyncedView<E> syncedView = this.syncedView;
+        if (syncedView == null || syncedView.entities != entities) {
+            syncedView = doSync(entities);
+        }
+        return syncedView.view.filter(zoneContext.getSnapshot());
+    }
+
+    private SyncedView<E> doSync(List<E> entities) {
+        synchronized (index) {
+            SyncedView<E> syncedView = this.syncedView;
+            if (syncedView == null || syncedView.entities != entities) {
+                syncedView = new SyncedView<>(entities, index.syncView(entities));
+                this.syncedView = syncedView;
+            }
+            return syncedView;
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return zoneContext.getPreferenceFilterOrder();
+    }
+
+    /**
+     * @return {@link ZonePartitionedIndex}
+     */
+    public ZonePartitionedIndex<E> getIndex() {
+        return index;
+    }
+
+    @Override
+    public String toString() {
+        return "ZonePartitionedFilter{index=" + index + '}';
+    }
+
+    private static final class SyncedView<E> {
+
+        private final List<E> entities;
+
+        private final ZonePartitionedIndex<E>.View view;
+
+        private SyncedView(List<E> entities, ZonePartitionedIndex<E>.View view) {
+            this.entities = entities;
+            this.view = view;
+        }
+    }
+}
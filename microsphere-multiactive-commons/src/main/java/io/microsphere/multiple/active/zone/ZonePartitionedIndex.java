@@ -0,0 +1,512 @@
+package io.microsphere.multiple.active.zone;
+
+import io.microsphere.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import static io.microsphere.logging.LoggerFactory.getLogger;
+import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_ZONE;
+import static io.microsphere.util.StringUtils.isBlank;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.unmodifiableSet;
+
+/**
+ * The index of the upstream entities partitioned by zone, which is maintained incrementally by the deltas
+ * ({@link #add(Object) add}, {@link #remove(Object) remove} and {@link #update(Object) update}) or by
+ * {@link #sync(Collection) synchronizing} the full upstream list, only the new or changed entities' zones
+ * will be resolved.
+ * <p>
+ * The same-zone entities, the zone ready percentage and the size excluding the disabled zones are answered in
+ * O(1) or O(zones) without traversing the entities, and {@link #filter(ZoneContextSnapshot)} makes the same
+ * decision as {@link ZonePreferenceFilter} based on them. The decision is made on an immutable view of the index,
+ * which is rebuilt only after the index is changed, and the entities in the result keep the order in which they were
+ * added into the index. The view {@link #syncView(List) synchronized} from the upstream list keeps the upstream
+ * order instead, and it could be read without any lock, e.g. by {@link ZonePartitionedFilter}.
+ *
+ * @param <E> the type of entity
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ZonePreferenceFilter
+ * @see ZoneResolver
+ * @since 1.0.0
+ */
+public class ZonePartitionedIndex<E> {
+
+    private static final Logger logger = getLogger(ZonePartitionedIndex.class);
+
+    private final ZoneResolver<E> zoneResolver;
+
+    private final Function<E, ?> keyResolver;
+
+    private final Map<Object, Entry<E>> entries = new LinkedHashMap<>();
+
+    private final Map<String, Partition<E>> partitions = new HashMap<>();
+
+    private int zonedSize;
+
+    private long generation;
+
+    private View view;
+
+    /**
+     * @param zoneResolver {@link ZoneResolver}
+     */
+    public ZonePartitionedIndex(ZoneResolver<E> zoneResolver) {
+        this(zoneResolver, Function.identity());
+    }
+
+    /**
+     * @param zoneResolver {@link ZoneResolver}
+     * @param keyResolver  the function to resolve the identity key of entity, e.g. the instance id
+     */
+    public ZonePartitionedIndex(ZoneResolver<E> zoneResolver, Function<E, ?> keyResolver) {
+        this.zoneResolver = zoneResolver;
+        this.keyResolver = keyResolver;
+    }
+
+    /**
+     * Add the entity, it will be updated if the entity with the same key exists
+     *
+     * @param entity the entity
+     * @return <code>true</code> if added, <code>false</code> if updated
+     */
+    public synchronized boolean add(E entity) {
+        return entity != null && put(keyResolver.apply(entity), entity);
+    }
+
+    /**
+     * Update the entity, it will be added if the entity with the same key is absent
+     *
+     * @param entity the entity
+     * @return <code>true</code> if updated, <code>false</code> if added
+     */
+    public synchronized boolean update(E entity) {
+        return entity != null && !put(keyResolver.apply(entity), entity);
+    }
+
+    /**
+     * Remove the entity with the same key
+     *
+     * @param entity the entity
+     * @return <code>true</code> if removed
+     */
+    public synchronized boolean remove(E entity) {
+        if (entity == null) {
+            return false;
+        }
+        Entry<E> entry = entries.remove(keyResolver.apply(entity));
+        if (entry == null) {
+            return false;
+        }
+        leave(entry);
+        invalidate();
+        return true;
+    }
+
+    /**
+     * Synchronize the full upstream entities, the deltas are applied incrementally : the absent entities are
+     * removed, and only the new or changed (not identical) entities are resolved.
+     *
+     * @param entities the full upstream entities
+     */
+    public synchronized void sync(Collection<E> entities) {
+        sync(entities, null);
+    }
+
+    /**
+     * Synchronize the full upstream entities as {@link #sync(Collection)}, and then create the immutable view of
+     * them in the upstream order
+     *
+     * @param entities the full upstream entities
+     * @return the view that could be read without any lock
+     */
+    synchronized View syncView(List<E> entities) {
+        List<Entry<E>> orderedEntries = new ArrayList<>(entities.size());
+        sync(entities, orderedEntries);
+        return new View(orderedEntries);
+    }
+
+    private void sync(Collection<E> entities, List<Entry<E>> orderedEntries) {
+        long generation = ++this.generation;
+        int added = 0;
+        int updated = 0;
+        int removed = 0;
+        for (E entity : entities) {
+            if (entity == null) {
+                continue;
+            }
+            Object key = keyResolver.apply(entity);
+            Entry<E> entry = entries.get(key);
+            if (entry == null) {
+                entry = attach(key, entity);
+                added++;
+            } else if (entry.entity != entity) {
+                replace(entry, entity);
+                updated++;
+            }
+            // The duplicate keys are ordered by the first one
+            if (orderedEntries != null && entry.generation != generation) {
+                orderedEntries.add(entry);
+            }
+            entry.generation = generation;
+        }
+
+        Iterator<Entry<E>> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry<E> entry = iterator.next();
+            if (entry.generation != generation) {
+                iterator.remove();
+                leave(entry);
+                removed++;
+            }
+        }
+
+        if (added > 0 || updated > 0 || removed > 0) {
+            invalidate();
+            logger.trace("The index has been synchronized, added : {} , updated : {} , removed : {} , size : {}", added, updated, removed,
+                    entries.size());
+        }
+    }
+
+    /**
+     * Clear all entities
+     */
+    public synchronized void clear() {
+        entries.clear();
+        partitions.clear();
+        zonedSize = 0;
+        invalidate();
+    }
+
+    /**
+     * @return the size of all entities
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return the size of the entities whose zone was resolved
+     */
+    public synchronized int zonedSize() {
+        return zonedSize;
+    }
+
+    /**
+     * @param zone the zone
+     * @return the size of the entities in the specified zone
+     */
+    public synchronized int size(String zone) {
+        Partition<E> partition = partitions.get(zone);
+        return partition == null ? 0 : partition.members.size();
+    }
+
+    /**
+     * @return the unmodifiable set of zones
+     */
+    public synchronized Set<String> getZones() {
+        return unmodifiableSet(new LinkedHashSet<>(partitions.keySet()));
+    }
+
+    /**
+     * @return the percentage of the entities whose zone was resolved
+     */
+    public synchronized int getZoneReadyPercentage() {
+        int size = entries.size();
+        return size == 0 ? 0 : zonedSize * 100 / size;
+    }
+
+    /**
+     * @return the unmodifiable list of all entities
+     */
+    public List<E> getEntities() {
+        return getView().entities;
+    }
+
+    /**
+     * @param zone the zone
+     * @return the unmodifiable list of the entities in the specified zone
+     */
+    public synchronized List<E> getEntities(String zone) {
+        Partition<E> partition = partitions.get(zone);
+        return partition == null ? emptyList() : partition.getEntities();
+    }
+
+    /**
+     * Filter the entities by the zone preference that is the same as {@link ZonePreferenceFilter#filter(List)}
+     *
+     * @param snapshot {@link ZoneContextSnapshot}
+     * @return the unmodifiable list of the filtered entities
+     */
+    public List<E> filter(ZoneContextSnapshot snapshot) {
+        return getView().filter(snapshot);
+    }
+
+    protected boolean isIgnored(String zone) {
+        return isBlank(zone) || DEFAULT_ZONE.equalsIgnoreCase(zone);
+    }
+
+    private synchronized View getView() {
+        View view = this.view;
+        if (view == null) {
+            view = new View(entries.values());
+            this.view = view;
+        }
+        return view;
+    }
+
+    private boolean put(Object key, E entity) {
+        Entry<E> entry = entries.get(key);
+        if (entry == null) {
+            attach(key, entity);
+            invalidate();
+            return true;
+        }
+        if (entry.entity != entity) {
+            replace(entry, entity);
+            invalidate();
+        }
+        return false;
+    }
+
+    private Entry<E> attach(Object key, E entity) {
+        Entry<E> entry = new Entry<>(key, entity, zoneResolver.resolve(entity));
+        entries.put(key, entry);
+        join(entry);
+        return entry;
+    }
+
+    private void replace(Entry<E> entry, E entity) {
+        String zone = zoneResolver.resolve(entity);
+        if (entry.zone == null ? zone == null : entry.zone.equals(zone)) {
+            entry.entity = entity;
+            Partition<E> partition = entry.zone == null ? null : partitions.get(zone);
+            if (partition != null) {
+                partition.members.put(entry.key, entity);
+                partition.view = null;
+            }
+        } else {
+            leave(entry);
+            entry.entity = entity;
+            entry.zone = zone;
+            join(entry);
+        }
+    }
+
+    private void join(Entry<E> entry) {
+        String zone = entry.zone;
+        if (zone != null) {
+            zonedSize++;
+            Partition<E> partition = partitions.computeIfAbsent(zone, Partition::new);
+            partition.members.put(entry.key, entry.entity);
+            partition.view = null;
+        }
+    }
+
+    private void leave(Entry<E> entry) {
+        String zone = entry.zone;
+        if (zone != null) {
+            zonedSize--;
+            Partition<E> partition = partitions.get(zone);
+            partition.members.remove(entry.key);
+            partition.view = null;
+            if (partition.members.isEmpty()) {
+                partitions.remove(zone);
+            }
+        }
+    }
+
+    private void invalidate() {
+        view = null;
+    }
+
+    @Override
+    public synchronized String toString() {
+        Map<String, Integer> sizes = new LinkedHashMap<>(partitions.size());
+        for (Partition<E> partition : partitions.values()) {
+            sizes.put(partition.zone, partition.members.size());
+        }
+        return "ZonePartitionedIndex{"
+                + "size=" + entries.size()
+                + ", zonedSize=" + zonedSize
+                + ", partitions=" + sizes + '}';
+    }
+
+    /**
+     * The immutable view of the entities partitioned by zone, which is created from the entries in order
+     */
+    final class View {
+
+        private final List<E> entities;
+
+        private final String[] zones;
+
+        private final Map<String, List<E>> zoneEntities;
+
+        private final int zonedSize;
+
+        private volatile TargetEntities<E> targetEntities;
+
+        private View(Collection<Entry<E>> entries) {
+            int size = entries.size();
+            List<E> entities = new ArrayList<>(size);
+            String[] zones = new String[size];
+            Map<String, List<E>> zoneEntities = new HashMap<>();
+            int zonedSize = 0;
+            for (Entry<E> entry : entries) {
+                String zone = entry.zone;
+                zones[entities.size()] = zone;
+                entities.add(entry.entity);
+                if (zone != null) {
+                    zoneEntities.computeIfAbsent(zone, z -> new ArrayList<>()).add(entry.entity);
+                    zonedSize++;
+                }
+            }
+            for (Map.Entry<String, List<E>> entry : zoneEntities.entrySet()) {
+                entry.setValue(unmodifiableList(entry.getValue()));
+            }
+            this.entities = unmodifiableList(entities);
+            this.zones = zones;
+            this.zoneEntities = zoneEntities;
+            this.zonedSize = zonedSize;
+        }
+
+        /**
+         * @return the unmodifiable list of all entities
+         */
+        List<E> getEntities() {
+            return entities;
+        }
+
+        /**
+         * Filter the entities by the zone preference that is the same as {@link ZonePreferenceFilter#filter(List)}
+         *
+         * @param snapshot {@link ZoneContextSnapshot}
+         * @return the unmodifiable list of the filtered entities
+         */
+        List<E> filter(ZoneContextSnapshot snapshot) {
+            int totalSize = entities.size();
+
+            if (totalSize <= 1 || !snapshot.isEnabled() || !snapshot.isPreferenceEnabled()) {
+                return entities;
+            }
+
+            String zone = snapshot.getZone();
+            if (isIgnored(zone)) {
+                return entities;
+            }
+
+            Set<String> disabledZones = snapshot.hasPreferenceUpstreamDisabledZone() ? snapshot.getPreferenceUpstreamDisabledZones() : emptySet();
+            int disabledSize = 0;
+            for (String disabledZone : disabledZones) {
+                disabledSize += size(disabledZone);
+            }
+
+            int targetSize = totalSize - disabledSize;
+            if (snapshot.hasPreferenceUpstreamDisabledZone() && targetSize <= 1) { // Not enough entity available
+                return entities;
+            }
+
+            int zoneCount = zonedSize - disabledSize;
+            if (zoneCount * 100 / targetSize < snapshot.getPreferenceUpstreamZoneReadyPercentage()) {
+                return getTargetEntities(disabledZones, disabledSize);
+            }
+
+            int sameZoneSize = disabledZones.contains(zone) ? 0 : size(zone);
+            if (sameZoneSize > 0) {
+                if (sameZoneSize < snapshot.getPreferenceUpstreamSameZoneMinAvailable()) {
+                    return getTargetEntities(disabledZones, disabledSize);
+                }
+                return zoneEntities.get(zone);
+            }
+
+            return getTargetEntities(disabledZones, disabledSize);
+        }
+
+        private int size(String zone) {
+            List<E> entities = zoneEntities.get(zone);
+            return entities == null ? 0 : entities.size();
+        }
+
+        private List<E> getTargetEntities(Set<String> disabledZones, int disabledSize) {
+            if (disabledSize == 0) {
+                return entities;
+            }
+            // The racing threads may compute the same result, the last one is retained
+            TargetEntities<E> targetEntities = this.targetEntities;
+            if (targetEntities == null || targetEntities.disabledZones != disabledZones) {
+                List<E> entities = new ArrayList<>(this.entities.size() - disabledSize);
+                for (int i = 0; i < zones.length; i++) {
+                    String zone = zones[i];
+                    if (zone == null || !disabledZones.contains(zone)) {
+                        entities.add(this.entities.get(i));
+                    }
+                }
+                targetEntities = new TargetEntities<>(disabledZones, unmodifiableList(entities));
+                this.targetEntities = targetEntities;
+            }
+            return targetEntities.entities;
+        }
+    }
+
+    private static final class TargetEntities<E> {
+
+        private final Set<String> disabledZones;
+
+        private final List<E> entities;
+
+        private TargetEntities(Set<String> disabledZones, List<E> entities) {
+            this.disabledZones = disabledZones;
+            this.entities = entities;
+        }
+    }
+
+    private static final class Entry<E> {
+
+        private final Object key;
+
+        private E entity;
+
+        private String zone;
+
+        private long generation;
+
+        private Entry(Object key, E entity, String zone) {
+            this.key = key;
+            this.entity = entity;
+            this.zone = zone;
+        }
+    }
+
+    private static final class Partition<E> {
+
+        private final String zone;
+
+        private final Map<Object, E> members = new LinkedHashMap<>();
+
+        private List<E> view;
+
+        private Partition(String zone) {
+            this.zone = zone;
+        }
+
+        private List<E> getEntities() {
+            List<E> view = this.view;
+            if (view == null) {
+                view = unmodifiableList(new ArrayList<>(members.values()));
+                this.view = view;
+            }
+            return view;
+        }
+    }
+}
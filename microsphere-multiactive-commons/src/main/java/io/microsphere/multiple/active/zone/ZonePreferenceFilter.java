@@ -2,37 +2,110 @@ package io.microsphere.multiple.active.zone;
 
 import io.microsphere.logging.Logger;
 
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
 
-import static io.microsphere.constants.SymbolConstants.COMMA_CHAR;
 import static io.microsphere.logging.LoggerFactory.getLogger;
+import static io.microsphere.multiple.active.zone.FilteredListFactory.arrayList;
 import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_ZONE;
 import static io.microsphere.multiple.active.zone.ZoneConstants.PREFERENCE_ENABLED_PROPERTY_NAME;
 import static io.microsphere.multiple.active.zone.ZoneConstants.ZONE_ENABLED_PROPERTY_NAME;
+import static io.microsphere.multiple.active.zone.ZoneRegistry.UNKNOWN_ZONE_ID;
 import static io.microsphere.util.StringUtils.isBlank;
-import static io.microsphere.util.StringUtils.split;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
 
 /**
  * Zone Preference Filter
+ * <p>
+ * The entities are traversed only once, the indices of the matched entities are recorded in a reusable
+ * thread-local buffer, and then the result is created by the {@link FilteredListFactory}. The original
+ * {@link List} will be returned without copying if none of entities is filtered out. The thread-local buffer is
+ * retained up to {@link #MAX_RETAINED_BUFFER_CAPACITY} entities, a larger list is filtered with a transient buffer,
+ * thus a single huge list does not pin its buffer in every thread that filtered it.
+ * <p>
+ * All properties of {@link ZoneContext} are read from one {@link ZoneContextSnapshot} per filtering, thus the
+ * decision is always made on a consistent configuration even if the context is being changed concurrently.
+ * <p>
+ * If the {@link ZoneResolver} is a {@link ZoneIdResolver}, the zones are matched by the IDs in {@link ZoneRegistry}
+ * rather than the strings as long as the zones of the snapshot are
+ * {@link ZoneContextSnapshot#isZoneIdsRegistered() registered}, and if it's a {@link BulkZoneResolver}, the IDs of all
+ * entities are resolved in bulk ahead of the matching.
+ * <p>
+ * If the size of the {@link RandomAccess random-access} entities reaches the
+ * {@link ZoneContextSnapshot#getPreferenceFilterParallelThreshold() parallel threshold}, the entities are split into
+ * chunks which are resolved and partitioned in the {@link ForkJoinPool}, the order of the result is the same as the
+ * sequential one. The parallel filtering collects the indices into its own buffer rather than the thread-local one,
+ * and runs in a dedicated {@link ForkJoinPool} unless specified, thus it neither competes with the
+ * {@link ForkJoinPool#commonPool() common pool} nor is interfered by the reentrant filtering. The entities will be
+ * filtered in sequence if the caller is running in a {@link ForkJoinPool}, which should not be blocked by joining the
+ * tasks.
  *
  * @param <E> the type of entity to filter
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see FilteredListFactory
+ * @see ZoneContextSnapshot
+ * @see ZoneIdResolver
+ * @see BulkZoneResolver
+ * @see ZoneFilter
  */
-public class ZonePreferenceFilter<E> {
+public class ZonePreferenceFilter<E> implements ZoneFilter<E> {
 
     private final static Logger logger = getLogger(ZonePreferenceFilter.class);
 
+    /**
+     * The max capacity of the thread-local buffer retained after the filtering
+     */
+    static final int MAX_RETAINED_BUFFER_CAPACITY = 4096;
+
+    private static final ThreadLocal<IndexBuffer> indexBufferHolder = ThreadLocal.withInitial(IndexBuffer::new);
+
+    private static final String FORK_JOIN_THREAD_NAME_PREFIX = "zone-preference-filter-";
+
     private final ZoneContext zoneContext;
 
     private final ZoneResolver<E> zoneResolver;
 
+    private final ZoneIdResolver<E> zoneIdResolver;
+
+    private final BulkZoneResolver<E> bulkZoneResolver;
+
+    private final FilteredListFactory<E> filteredListFactory;
+
+    private final ForkJoinPool forkJoinPool;
+
     public ZonePreferenceFilter(ZoneContext zoneContext, ZoneResolver<E> zoneResolver) {
+        this(zoneContext, zoneResolver, arrayList());
+    }
+
+    public ZonePreferenceFilter(ZoneContext zoneContext, ZoneResolver<E> zoneResolver, FilteredListFactory<E> filteredListFactory) {
+        this(zoneContext, zoneResolver, filteredListFactory, DefaultForkJoinPoolHolder.forkJoinPool);
+    }
+
+    /**
+     * @param zoneContext         {@link ZoneContext}
+     * @param zoneResolver        {@link ZoneResolver}
+     * @param filteredListFactory {@link FilteredListFactory}
+     * @param forkJoinPool        {@link ForkJoinPool} for the parallel mode, which should not be shared with the
+     *                            tasks calling {@link #filter(List)}
+     */
+    public ZonePreferenceFilter(ZoneContext zoneContext, ZoneResolver<E> zoneResolver, FilteredListFactory<E> filteredListFactory,
+                                ForkJoinPool forkJoinPool) {
         this.zoneContext = zoneContext;
         this.zoneResolver = zoneResolver;
+        this.zoneIdResolver = zoneResolver instanceof ZoneIdResolver ? (ZoneIdResolver<E>) zoneResolver : null;
+        this.bulkZoneResolver = zoneResolver instanceof BulkZoneResolver ? (BulkZoneResolver<E>) zoneResolver : null;
+        this.filteredListFactory = filteredListFactory;
+        this.forkJoinPool = forkJoinPool;
     }
 
+    @Override
     public List<E> filter(final List<E> entities) {
 
         int totalSize = entities == null ? 0 : entities.size();
@@ -42,123 +115,209 @@ public class ZonePreferenceFilter<E> {
             return entities;
         }
 
+        final ZoneContextSnapshot snapshot = zoneContext.getSnapshot();
+
         // Disabled case
-        if (!zoneContext.isEnabled()) {
+        if (!snapshot.isEnabled()) {
             logger.trace("Zone Context feature is disabled! It could be enabled if the Spring property '{}' to be set 'true'",
                     ZONE_ENABLED_PROPERTY_NAME);
             return entities;
         }
 
-        if (!zoneContext.isPreferenceEnabled()) {
+        if (!snapshot.isPreferenceEnabled()) {
             logger.trace("Zone Preference feature is disabled as default! It could be enabled if the Spring property '{}' to be set 'true'",
                     PREFERENCE_ENABLED_PROPERTY_NAME);
             return entities;
         }
 
         // Ignored case
-        final String zone = zoneContext.getZone();
+        final String zone = snapshot.getZone();
         if (isIgnored(zone)) {
             logger.trace("Zone Preference feature will be ignored, caused by zone : '{}'", zone);
             return entities;
         }
 
-        List<E> targetEntities = entities;
-
-        // Disable Zone Case
-        String disabledZone = zoneContext.getPreferenceUpstreamDisabledZone();
-
-        if (disabledZone != null) {
-            targetEntities = filterDisabledZone(entities, disabledZone, totalSize);
-            int currentSize = targetEntities.size();
-
-            if (currentSize <= 1) { // Not enough entity available
-                logger.trace("Not enough entity available after disabled zone['{}'] filter, " + "the entities' total size : {} -> actual size : {}",
-                        disabledZone, totalSize, currentSize);
-                return entities;
+        String disabledZone = snapshot.getPreferenceUpstreamDisabledZone();
+        Set<String> disabledZones = snapshot.hasPreferenceUpstreamDisabledZone() ? snapshot.getPreferenceUpstreamDisabledZones() : null;
+
+        // Single pass : records the indices of the entities in the reusable buffer
+        // The parallel filtering owns its buffer, the thread-local one may be reused by the reentrant filtering
+        // The oversize list owns its buffer as well, the thread-local one never grows beyond the retained capacity
+        // The zones are matched by the IDs only if they're all registered, otherwise by the strings
+        boolean matchedByIds = snapshot.isZoneIdsRegistered();
+        boolean parallel = matchedByIds && isParallel(entities, totalSize, snapshot);
+        boolean transientBuffer = parallel || totalSize > MAX_RETAINED_BUFFER_CAPACITY;
+        IndexBuffer buffer = (transientBuffer ? new IndexBuffer() : indexBufferHolder.get()).reset(totalSize);
+        if (parallel) {
+            if (logger.isTraceEnabled()) {
+                logger.trace("The entities[size : {}] will be filtered in parallel, threshold : {}", totalSize,
+                        snapshot.getPreferenceFilterParallelThreshold());
+            }
+            new ParallelCollector<>(buffer, entities, totalSize, ZoneIdResolver.of(zoneResolver), bulkZoneResolver, snapshot,
+                    disabledZones != null, forkJoinPool.getParallelism()).collect(forkJoinPool);
+        } else if (matchedByIds && bulkZoneResolver != null) {
+            collectByBulkIds(buffer, entities, totalSize, snapshot, disabledZones != null);
+        } else if (matchedByIds && zoneIdResolver != null) {
+            collectByIds(buffer, entities, snapshot, disabledZones != null);
+        } else if (entities instanceof RandomAccess) {
+            for (int i = 0; i < totalSize; i++) {
+                collect(buffer, i, entities.get(i), zone, disabledZones);
+            }
+        } else {
+            int i = 0;
+            for (E entity : entities) {
+                collect(buffer, i++, entity, zone, disabledZones);
             }
-            // reassign total size
-            totalSize = currentSize;
         }
 
-        // Enabled case
-        List<E> sameZoneEntities = new LinkedList<>();
-
-        int zoneCount = 0;
+        int targetSize = buffer.targetSize;
 
-        for (int i = 0; i < totalSize; i++) {
-            E entity = targetEntities.get(i);
-
-            String resolvedZone = resolveZone(entity);
-
-            if (resolvedZone != null) {
-                zoneCount++;
-                if (matches(zone, resolvedZone)) {
-                    sameZoneEntities.add(entity);
+        // Disable Zone Case
+        if (disabledZones != null) {
+            if (logger.isTraceEnabled()) {
+                logger.trace("After filtering the disabled zone['{}'] entities[size : {} -> {}]", disabledZone, totalSize, targetSize);
+            }
+            if (targetSize <= 1) { // Not enough entity available
+                if (logger.isTraceEnabled()) {
+                    logger.trace("Not enough entity available after disabled zone['{}'] filter, " + "the entities' total size : {} -> actual size : {}",
+                            disabledZone, totalSize, targetSize);
                 }
+                return entities;
             }
         }
 
         // Upstream entities ready case
-        int upstreamReadyPercentage = zoneContext.getPreferenceUpstreamZoneReadyPercentage();
-        if (isUpstreamZoneNotReady(zoneCount, totalSize, upstreamReadyPercentage)) {
-            logger.trace("The ready percentage of entities with zone is under the threshold [{}%], total entities size : {} , "
-                    + "ready entities size : {}", upstreamReadyPercentage, totalSize, zoneCount);
-            return targetEntities;
+        int zoneCount = buffer.zoneCount;
+        int upstreamReadyPercentage = snapshot.getPreferenceUpstreamZoneReadyPercentage();
+        if (isUpstreamZoneNotReady(zoneCount, targetSize, upstreamReadyPercentage)) {
+            if (logger.isTraceEnabled()) {
+                logger.trace("The ready percentage of entities with zone is under the threshold [{}%], total entities size : {} , "
+                        + "ready entities size : {}", upstreamReadyPercentage, targetSize, zoneCount);
+            }
+            return targetEntities(entities, buffer);
         }
 
         // Zone preference matched case
-        int sameZoneEntitiesSize = sameZoneEntities.size();
+        int sameZoneEntitiesSize = buffer.sameZoneSize;
         if (sameZoneEntitiesSize > 0) {
             // The min available in the same zone threshold case
-            int sameZoneMinAvailable = zoneContext.getPreferenceUpstreamSameZoneMinAvailable();
+            int sameZoneMinAvailable = snapshot.getPreferenceUpstreamSameZoneMinAvailable();
             if (isUnderSameZoneMinAvailableThreshold(sameZoneEntitiesSize, sameZoneMinAvailable)) {
-                logger.trace("The size of same zone ['{}'] entities is under the threshold : {}, actual size : {}", zone, sameZoneMinAvailable,
-                        sameZoneEntitiesSize);
-                return targetEntities;
+                if (logger.isTraceEnabled()) {
+                    logger.trace("The size of same zone ['{}'] entities is under the threshold : {}, actual size : {}", zone, sameZoneMinAvailable,
+                            sameZoneEntitiesSize);
+                }
+                return targetEntities(entities, buffer);
             }
 
-            logger.trace("The same zone ['{}'] entities[size : {} , total : {}] are found!", zone, sameZoneEntitiesSize, totalSize);
-            return sameZoneEntities;
+            if (logger.isTraceEnabled()) {
+                logger.trace("The same zone ['{}'] entities[size : {} , total : {}] are found!", zone, sameZoneEntitiesSize, targetSize);
+            }
+            if (sameZoneEntitiesSize == totalSize) { // All entities are in the same zone
+                return entities;
+            }
+            return filteredListFactory.create(entities, buffer.sameZoneIndices, sameZoneEntitiesSize);
         }
 
         // No matched
-        logger.trace("No same zone ['{}'] entity was found, total entities size : {} , zone count : {}", zone, totalSize, zoneCount);
-        return targetEntities;
+        if (logger.isTraceEnabled()) {
+            logger.trace("No same zone ['{}'] entity was found, total entities size : {} , zone count : {}", zone, targetSize, zoneCount);
+        }
+        return targetEntities(entities, buffer);
     }
 
+    @Override
     public int getOrder() {
         return zoneContext.getPreferenceFilterOrder();
     }
 
-    private List<E> filterDisabledZone(List<E> entities, String disabledZone, int totalSize) {
-        List<E> targetEntities = new LinkedList<>();
+    protected ZoneContext getZoneContext() {
+        return zoneContext;
+    }
 
-        String[] disabledZones = split(disabledZone, COMMA_CHAR);
+    protected ZoneResolver<E> getZoneResolver() {
+        return zoneResolver;
+    }
 
-        for (int i = 0; i < totalSize; i++) {
-            E entity = entities.get(i);
+    protected FilteredListFactory<E> getFilteredListFactory() {
+        return filteredListFactory;
+    }
+
+    protected ForkJoinPool getForkJoinPool() {
+        return forkJoinPool;
+    }
+
+    private boolean isParallel(List<E> entities, int totalSize, ZoneContextSnapshot snapshot) {
+        int parallelThreshold = snapshot.getPreferenceFilterParallelThreshold();
+        if (parallelThreshold <= 0 || totalSize < parallelThreshold || !(entities instanceof RandomAccess)) {
+            return false;
+        }
+        if (ForkJoinTask.inForkJoinPool()) {
+            logger.trace("The entities[size : {}] will be filtered in sequence, caused by the caller in the ForkJoinPool",
+                    totalSize);
+            return false;
+        }
+        return true;
+    }
 
-            String resolvedZone = resolveZone(entity);
+    private void collectByBulkIds(IndexBuffer buffer, List<E> entities, int totalSize, ZoneContextSnapshot snapshot,
+                                  boolean hasDisabledZone) {
+        int[] zoneIds = buffer.zoneIds(totalSize);
+        bulkZoneResolver.resolveAll(entities, zoneIds);
+        int zoneId = snapshot.getZoneId();
+        for (int i = 0; i < totalSize; i++) {
+            collect(buffer, i, zoneIds[i], zoneId, snapshot, hasDisabledZone);
+        }
+    }
 
-            if (!isDisabledZone(resolvedZone, disabledZones)) {
-                targetEntities.add(entity);
+    private void collectByIds(IndexBuffer buffer, List<E> entities, ZoneContextSnapshot snapshot, boolean hasDisabledZone) {
+        int zoneId = snapshot.getZoneId();
+        if (entities instanceof RandomAccess) {
+            for (int i = 0, size = entities.size(); i < size; i++) {
+                collect(buffer, i, resolveZoneId(entities.get(i)), zoneId, snapshot, hasDisabledZone);
+            }
+        } else {
+            int i = 0;
+            for (E entity : entities) {
+                collect(buffer, i++, resolveZoneId(entity), zoneId, snapshot, hasDisabledZone);
             }
         }
+    }
 
-        logger.trace("After filtering the disabled zone['{}'] entities[size : {} -> {}] : {} -> {}", disabledZone, totalSize, targetEntities.size(),
-                entities, targetEntities);
-        return targetEntities;
+    private void collect(IndexBuffer buffer, int index, int resolvedZoneId, int zoneId, ZoneContextSnapshot snapshot,
+                         boolean hasDisabledZone) {
+        if (hasDisabledZone && snapshot.isPreferenceUpstreamDisabledZoneId(resolvedZoneId)) {
+            return;
+        }
+        buffer.targetIndices[buffer.targetSize++] = index;
+        if (resolvedZoneId != UNKNOWN_ZONE_ID) {
+            buffer.zoneCount++;
+            if (resolvedZoneId == zoneId) {
+                buffer.sameZoneIndices[buffer.sameZoneSize++] = index;
+            }
+        }
     }
 
-    private boolean isDisabledZone(String zone, String[] disabledZones) {
-        boolean disabled = false;
-        for (String disabledZone : disabledZones) {
-            if (Objects.equals(zone, disabledZone)) {
-                disabled = true;
-                break;
+    private void collect(IndexBuffer buffer, int index, E entity, String zone, Set<String> disabledZones) {
+        String resolvedZone = resolveZone(entity);
+        if (disabledZones != null && disabledZones.contains(resolvedZone)) {
+            return;
+        }
+        buffer.targetIndices[buffer.targetSize++] = index;
+        if (resolvedZone != null) {
+            buffer.zoneCount++;
+            if (matches(zone, resolvedZone)) {
+                buffer.sameZoneIndices[buffer.sameZoneSize++] = index;
             }
         }
-        return disabled;
+    }
+
+    private List<E> targetEntities(List<E> entities, IndexBuffer buffer) {
+        int targetSize = buffer.targetSize;
+        if (targetSize == entities.size()) { // None of entities was filtered out
+            return entities;
+        }
+        return filteredListFactory.create(entities, buffer.targetIndices, targetSize);
     }
 
     private boolean isUpstreamZoneNotReady(int zoneCount, int entitiesSize, int zonePercentThreshold) {
@@ -175,6 +334,10 @@ public class ZonePreferenceFilter<E> {
         return zone;
     }
 
+    private int resolveZoneId(E entity) {
+        return entity == null ? UNKNOWN_ZONE_ID : zoneIdResolver.resolveId(entity);
+    }
+
     private boolean matches(String zone, String resolvedZone) {
         return Objects.equals(zone, resolvedZone);
     }
@@ -182,4 +345,231 @@ public class ZonePreferenceFilter<E> {
     protected boolean isIgnored(String zone) {
         return isBlank(zone) || DEFAULT_ZONE.equalsIgnoreCase(zone);
     }
+
+    /**
+     * The collector resolving and partitioning the chunks of entities in parallel by two phases : the first one
+     * resolves the IDs of zones and counts per chunk, and the second one fills the indices into the buffer at the
+     * offsets of chunks, thus the indices are kept in ascending order. The IDs of zones are resolved in bulk per chunk
+     * if the {@link BulkZoneResolver} is present.
+     */
+    private static final class ParallelCollector<E> {
+
+        private static final int MIN_CHUNK_SIZE = 1024;
+
+        private final IndexBuffer buffer;
+
+        private final List<E> entities;
+
+        private final int totalSize;
+
+        private final ZoneIdResolver<E> zoneIdResolver;
+
+        private final BulkZoneResolver<E> bulkZoneResolver;
+
+        private final ZoneContextSnapshot snapshot;
+
+        private final boolean hasDisabledZone;
+
+        private final int chunkSize;
+
+        private final int chunkCount;
+
+        private final int[] targetSizes;
+
+        private final int[] sameZoneSizes;
+
+        private final int[] zoneCounts;
+
+        private final int[] targetOffsets;
+
+        private final int[] sameZoneOffsets;
+
+        private final int[][] zoneIds;
+
+        private ParallelCollector(IndexBuffer buffer, List<E> entities, int totalSize, ZoneIdResolver<E> zoneIdResolver,
+                                  BulkZoneResolver<E> bulkZoneResolver, ZoneContextSnapshot snapshot, boolean hasDisabledZone,
+                                  int parallelism) {
+            this.buffer = buffer;
+            this.entities = entities;
+            this.totalSize = totalSize;
+            this.zoneIdResolver = zoneIdResolver;
+            this.bulkZoneResolver = bulkZoneResolver;
+            this.snapshot = snapshot;
+            this.hasDisabledZone = hasDisabledZone;
+            int maxChunkCount = max(1, min((totalSize + MIN_CHUNK_SIZE - 1) / MIN_CHUNK_SIZE, parallelism * 4));
+            this.chunkSize = (totalSize + maxChunkCount - 1) / maxChunkCount;
+            this.chunkCount = (totalSize + chunkSize - 1) / chunkSize;
+            this.targetSizes = new int[chunkCount];
+            this.sameZoneSizes = new int[chunkCount];
+            this.zoneCounts = new int[chunkCount];
+            this.targetOffsets = new int[chunkCount];
+            this.sameZoneOffsets = new int[chunkCount];
+            this.zoneIds = new int[chunkCount][];
+        }
+
+        private void collect(ForkJoinPool forkJoinPool) {
+            forkJoinPool.invoke(new ChunkTask(this, 0, chunkCount, false));
+
+            int targetSize = 0;
+            int sameZoneSize = 0;
+            int zoneCount = 0;
+            for (int chunk = 0; chunk < chunkCount; chunk++) {
+                targetOffsets[chunk] = targetSize;
+                sameZoneOffsets[chunk] = sameZoneSize;
+                targetSize += targetSizes[chunk];
+                sameZoneSize += sameZoneSizes[chunk];
+                zoneCount += zoneCounts[chunk];
+            }
+
+            forkJoinPool.invoke(new ChunkTask(this, 0, chunkCount, true));
+
+            buffer.targetSize = targetSize;
+            buffer.sameZoneSize = sameZoneSize;
+            buffer.zoneCount = zoneCount;
+        }
+
+        private void count(int chunk) {
+            int from = chunk * chunkSize;
+            int to = min(from + chunkSize, totalSize);
+            int[] zoneIds = resolveIds(from, to);
+            this.zoneIds[chunk] = zoneIds;
+            int zoneId = snapshot.getZoneId();
+            int targetSize = 0;
+            int sameZoneSize = 0;
+            int zoneCount = 0;
+            for (int i = 0, size = to - from; i < size; i++) {
+                int resolvedZoneId = zoneIds[i];
+                if (hasDisabledZone && snapshot.isPreferenceUpstreamDisabledZoneId(resolvedZoneId)) {
+                    continue;
+                }
+                targetSize++;
+                if (resolvedZoneId != UNKNOWN_ZONE_ID) {
+                    zoneCount++;
+                    if (resolvedZoneId == zoneId) {
+                        sameZoneSize++;
+                    }
+                }
+            }
+            targetSizes[chunk] = targetSize;
+            sameZoneSizes[chunk] = sameZoneSize;
+            zoneCounts[chunk] = zoneCount;
+        }
+
+        private int[] resolveIds(int from, int to) {
+            int[] zoneIds = new int[to - from];
+            if (bulkZoneResolver != null) {
+                bulkZoneResolver.resolveAll(entities.subList(from, to), zoneIds);
+            } else {
+                for (int i = from; i < to; i++) {
+                    E entity = entities.get(i);
+                    zoneIds[i - from] = entity == null ? UNKNOWN_ZONE_ID : zoneIdResolver.resolveId(entity);
+                }
+            }
+            return zoneIds;
+        }
+
+        private void fill(int chunk) {
+            int[] zoneIds = this.zoneIds[chunk];
+            int[] targetIndices = buffer.targetIndices;
+            int[] sameZoneIndices = buffer.sameZoneIndices;
+            int zoneId = snapshot.getZoneId();
+            int targetIndex = targetOffsets[chunk];
+            int sameZoneIndex = sameZoneOffsets[chunk];
+            for (int i = chunk * chunkSize, to = min(i + chunkSize, totalSize); i < to; i++) {
+                int resolvedZoneId = zoneIds[i - chunk * chunkSize];
+                if (hasDisabledZone && snapshot.isPreferenceUpstreamDisabledZoneId(resolvedZoneId)) {
+                    continue;
+                }
+                targetIndices[targetIndex++] = i;
+                if (resolvedZoneId != UNKNOWN_ZONE_ID && resolvedZoneId == zoneId) {
+                    sameZoneIndices[sameZoneIndex++] = i;
+                }
+            }
+        }
+    }
+
+    /**
+     * The task processing the chunks in [from, to) of {@link ParallelCollector}
+     */
+    private static final class ChunkTask extends RecursiveAction {
+
+        private final ParallelCollector<?> collector;
+
+        private final int from;
+
+        private final int to;
+
+        private final boolean fill;
+
+        private ChunkTask(ParallelCollector<?> collector, int from, int to, boolean fill) {
+            this.collector = collector;
+            this.from = from;
+            this.to = to;
+            this.fill = fill;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                if (fill) {
+                    collector.fill(from);
+                } else {
+                    collector.count(from);
+                }
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ChunkTask(collector, from, middle, fill), new ChunkTask(collector, middle, to, fill));
+            }
+        }
+    }
+
+    /**
+     * The holder of the dedicated {@link ForkJoinPool} for the parallel mode, which is created lazily and shared by all
+     * filters, its daemon threads are named with the prefix {@value #FORK_JOIN_THREAD_NAME_PREFIX}
+     */
+    private static final class DefaultForkJoinPoolHolder {
+
+        private static final ForkJoinPool forkJoinPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors(), pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName(FORK_JOIN_THREAD_NAME_PREFIX + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+    }
+
+    /**
+     * The reusable buffer of the entities' indices per thread
+     */
+    private static final class IndexBuffer {
+
+        private int[] targetIndices = new int[0];
+
+        private int[] sameZoneIndices = new int[0];
+
+        private int[] zoneIds = new int[0];
+
+        private int targetSize;
+
+        private int sameZoneSize;
+
+        private int zoneCount;
+
+        private IndexBuffer reset(int capacity) {
+            if (targetIndices.length < capacity) {
+                targetIndices = new int[capacity];
+                sameZoneIndices = new int[capacity];
+            }
+            targetSize = 0;
+            sameZoneSize = 0;
+            zoneCount = 0;
+            return this;
+        }
+
+        private int[] zoneIds(int capacity) {
+            if (zoneIds.length < capacity) {
+                zoneIds = new int[capacity];
+            }
+            return zoneIds;
+        }
+    }
 }
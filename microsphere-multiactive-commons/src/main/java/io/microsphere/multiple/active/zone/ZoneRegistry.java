@@ -0,0 +1,216 @@
+package io.microsphere.multiple.active.zone;
+
+import io.microsphere.logging.Logger;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static io.microsphere.logging.LoggerFactory.getLogger;
+
+/**
+ * The registry of zones, which maps each zone name to a dense small-int ID starting from zero and a canonical
+ * instance, thus the zones could be matched by the integer or {@link BitSet} operations, and the duplicated zone
+ * strings held by the entities could be replaced by the canonical one.
+ * <p>
+ * Only the zones of {@link ZoneContext}, e.g. the current zone and the disabled zones, are registered when they are
+ * set, the zones of entities are looked up without registration, and the unregistered ones share
+ * {@link #OTHER_ZONE_ID}, which never matches any zone of {@link ZoneContext}. The registered zones are never evicted
+ * and bounded by the {@link #DEFAULT_MAX_SIZE max size}, the zone will not be registered if it's exceeded. The lookups
+ * are lock-free, and the registrations are serialized.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ZoneIdResolver
+ * @see ZoneContextSnapshot
+ * @since 1.0.0
+ */
+public final class ZoneRegistry {
+
+    private static final Logger logger = getLogger(ZoneRegistry.class);
+
+    /**
+     * The ID of unknown(null) zone
+     */
+    public static final int UNKNOWN_ZONE_ID = -1;
+
+    /**
+     * The ID of the non-null zone which is not registered
+     */
+    public static final int OTHER_ZONE_ID = -2;
+
+    /**
+     * The default max size of the registered zones
+     */
+    public static final int DEFAULT_MAX_SIZE = 256;
+
+    private static final ZoneRegistry instance = new ZoneRegistry();
+
+    private final ConcurrentMap<String, Integer> ids = new ConcurrentHashMap<>();
+
+    private final String[] zones;
+
+    private volatile int size;
+
+    ZoneRegistry() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    ZoneRegistry(int maxSize) {
+        this.zones = new String[maxSize];
+    }
+
+    /**
+     * Get the global {@link ZoneRegistry}
+     *
+     * @return non-null
+     */
+    public static ZoneRegistry get() {
+        return instance;
+    }
+
+    /**
+     * Register the zone if absent
+     *
+     * @param zone the zone
+     * @return the ID of zone, {@link #UNKNOWN_ZONE_ID} if the zone is <code>null</code>, or {@link #OTHER_ZONE_ID}
+     * if the max size is exceeded
+     */
+    public int register(String zone) {
+        if (zone == null) {
+            return UNKNOWN_ZONE_ID;
+        }
+        Integer id = ids.get(zone);
+        return id == null ? doRegister(zone) : id;
+    }
+
+    private synchronized int doRegister(String zone) {
+        Integer id = ids.get(zone);
+        if (id == null) {
+            int size = this.size;
+            if (size == zones.length) {
+                logger.warn("The zone ['{}'] can't be registered, the max size of registry is exceeded : {}", zone, size);
+                return OTHER_ZONE_ID;
+            }
+            zones[size] = zone;
+            // The zone must be published before its ID
+            this.size = size + 1;
+            id = size;
+            ids.put(zone, id);
+        }
+        return id;
+    }
+
+    /**
+     * Register the zones if absent, and return their IDs as the {@link BitSet}
+     *
+     * @param zones the zones
+     * @return non-null
+     */
+    public BitSet register(Collection<String> zones) {
+        BitSet ids = new BitSet();
+        for (String zone : zones) {
+            int id = register(zone);
+            if (id >= 0) {
+                ids.set(id);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Get the ID of the registered zone
+     *
+     * @param zone the zone
+     * @return the ID of zone, {@link #UNKNOWN_ZONE_ID} if the zone is <code>null</code>, or {@link #OTHER_ZONE_ID}
+     * if it's not registered
+     */
+    public int getId(String zone) {
+        if (zone == null) {
+            return UNKNOWN_ZONE_ID;
+        }
+        Integer id = ids.get(zone);
+        return id == null ? OTHER_ZONE_ID : id;
+    }
+
+    /**
+     * Get the ID of the registered zone, the last resolved zone and its ID are reused if the zone equals to it, which
+     * is cheap for the consecutive entities in the same zone.
+     *
+     * @param zone       the zone
+     * @param lastZone   the last resolved zone
+     * @param lastZoneId the ID of the last resolved zone
+     * @return the ID of zone, {@link #UNKNOWN_ZONE_ID} if the zone is <code>null</code>, or {@link #OTHER_ZONE_ID}
+     * if it's not registered
+     */
+    public int getId(String zone, String lastZone, int lastZoneId) {
+        if (zone == lastZone || (zone != null && zone.equals(lastZone))) {
+            return lastZoneId;
+        }
+        return getId(zone);
+    }
+
+    /**
+     * Get the IDs of the registered zones as the {@link BitSet}, the unregistered zones are ignored
+     *
+     * @param zones the zones
+     * @return non-null
+     */
+    public BitSet getIds(Collection<String> zones) {
+        BitSet ids = new BitSet();
+        for (String zone : zones) {
+            int id = getId(zone);
+            if (id >= 0) {
+                ids.set(id);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Get the canonical zone by the ID
+     *
+     * @param id the ID of zone
+     * @return <code>null</code> if not registered
+     */
+    public String getZone(int id) {
+        return id < 0 || id >= size ? null : zones[id];
+    }
+
+    /**
+     * Get the canonical instance of the registered zone
+     *
+     * @param zone the zone
+     * @return the canonical zone, or the zone itself if it's not registered
+     */
+    public String intern(String zone) {
+        String canonicalZone = getZone(getId(zone));
+        return canonicalZone == null ? zone : canonicalZone;
+    }
+
+    /**
+     * @return the count of the registered zones
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the max count of the registered zones
+     */
+    public int getMaxSize() {
+        return zones.length;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("ZoneRegistry{zones=");
+        for (int i = 0, size = this.size; i < size; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(zones[i]);
+        }
+        return builder.append('}').toString();
+    }
+}
@@ -0,0 +1,46 @@
+package io.microsphere.multiple.active.zone;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+import static io.microsphere.multiple.active.zone.ZoneRegistry.OTHER_ZONE_ID;
+import static io.microsphere.multiple.active.zone.ZoneRegistry.UNKNOWN_ZONE_ID;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for {@link BulkZoneResolver}
+ */
+class BulkZoneResolverTest {
+
+    private final BulkZoneResolver<String> resolver = entity -> entity.isEmpty() ? null : entity;
+
+    @Test
+    void testResolveAll() {
+        List<String> entities = Arrays.asList("bulk-a", null, "", "bulk-b", "bulk-a");
+        ZoneRegistry zoneRegistry = ZoneRegistry.get();
+        int a = zoneRegistry.register("bulk-a");
+        int b = zoneRegistry.register("bulk-b");
+        int[] expected = {a, UNKNOWN_ZONE_ID, UNKNOWN_ZONE_ID, b, a};
+
+        int[] zoneIds = new int[8];
+        resolver.resolveAll(entities, zoneIds);
+        assertArrayEquals(expected, Arrays.copyOf(zoneIds, entities.size()));
+
+        zoneIds = new int[entities.size()];
+        resolver.resolveAll(new LinkedList<>(entities), zoneIds);
+        assertArrayEquals(expected, zoneIds);
+    }
+
+    @Test
+    void testResolveAllWithUnregisteredZone() {
+        List<String> entities = Arrays.asList("bulk-unregistered", "bulk-unregistered", null);
+        int[] zoneIds = new int[entities.size()];
+        resolver.resolveAll(entities, zoneIds);
+        assertArrayEquals(new int[]{OTHER_ZONE_ID, OTHER_ZONE_ID, UNKNOWN_ZONE_ID}, zoneIds);
+        assertEquals(OTHER_ZONE_ID, ZoneRegistry.get().getId("bulk-unregistered"));
+    }
+}
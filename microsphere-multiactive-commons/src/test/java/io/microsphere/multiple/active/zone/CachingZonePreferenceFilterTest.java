@@ -0,0 +1,152 @@
+package io.microsphere.multiple.active.zone;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link CachingZonePreferenceFilter}
+ */
+class CachingZonePreferenceFilterTest {
+
+    private final AtomicInteger resolvedCount = new AtomicInteger();
+
+    private final ZoneResolver<String> resolver = entity -> {
+        resolvedCount.incrementAndGet();
+        return entity.substring(0, entity.indexOf(':'));
+    };
+
+    private ZoneContext zoneContext;
+
+    private CachingZonePreferenceFilter<String> filter;
+
+    @BeforeEach
+    void setUp() {
+        zoneContext = new ZoneContext();
+        zoneContext.setPreferenceEnabled(true);
+        zoneContext.setZone("zone-a");
+        zoneContext.setPreferenceUpstreamSameZoneMinAvailable(1);
+        filter = new CachingZonePreferenceFilter<>(new ZonePreferenceFilter<>(zoneContext, resolver));
+    }
+
+    @AfterEach
+    void tearDown() {
+        zoneContext.reset();
+    }
+
+    @Test
+    void testFilterHitsCacheOnSameList() {
+        List<String> entities = Arrays.asList("zone-a:1", "zone-b:2", "zone-a:3");
+        List<String> result = filter.filter(entities);
+        assertEquals(Arrays.asList("zone-a:1", "zone-a:3"), result);
+        assertEquals(3, resolvedCount.get());
+
+        assertSame(result, filter.filter(entities));
+        assertSame(result, filter.filter(entities));
+        assertEquals(3, resolvedCount.get());
+        assertEquals(2, filter.getHitCount());
+        assertEquals(1, filter.getMissCount());
+    }
+
+    @Test
+    void testFilterMissesOnDifferentList() {
+        List<String> entities = Arrays.asList("zone-a:1", "zone-b:2");
+        filter.filter(entities);
+        filter.filter(new ArrayList<>(entities));
+        assertEquals(0, filter.getHitCount());
+        assertEquals(2, filter.getMissCount());
+    }
+
+    @Test
+    void testFilterMissesOnZoneContextChanged() {
+        List<String> entities = Arrays.asList("zone-a:1", "zone-b:2");
+        assertEquals(Arrays.asList("zone-a:1"), filter.filter(entities));
+
+        zoneContext.setZone("zone-b");
+        assertEquals(Arrays.asList("zone-b:2"), filter.filter(entities));
+        assertEquals(2, filter.getMissCount());
+    }
+
+    @Test
+    void testFilterMissesOnSizeChanged() {
+        List<String> entities = new ArrayList<>(Arrays.asList("zone-a:1", "zone-b:2"));
+        filter.filter(entities);
+        entities.add("zone-a:3");
+        assertEquals(Arrays.asList("zone-a:1", "zone-a:3"), filter.filter(entities));
+        assertEquals(2, filter.getMissCount());
+    }
+
+    @Test
+    void testCachedResultIsUnmodifiable() {
+        List<String> result = filter.filter(Arrays.asList("zone-a:1", "zone-b:2"));
+        assertThrows(UnsupportedOperationException.class, () -> result.add("zone-a:3"));
+    }
+
+    @Test
+    void testFilterReturnsOriginalListWhenNothingFiltered() {
+        List<String> entities = Arrays.asList("zone-a:1", "zone-a:2");
+        assertSame(entities, filter.filter(entities));
+        assertSame(entities, filter.filter(entities));
+    }
+
+    @Test
+    void testFilterNullList() {
+        assertNull(filter.filter(null));
+    }
+
+    @Test
+    void testClear() {
+        List<String> entities = Arrays.asList("zone-a:1", "zone-b:2");
+        List<String> result = filter.filter(entities);
+        filter.clear();
+        assertNotSame(result, filter.filter(entities));
+        assertEquals(2, filter.getMissCount());
+    }
+
+    @Test
+    void testGetOrder() {
+        assertEquals(zoneContext.getPreferenceFilterOrder(), filter.getOrder());
+    }
+
+    @Test
+    void testDecorateZoneFilter() {
+        AtomicInteger filteredCount = new AtomicInteger();
+        ZoneFilter<String> delegate = new ZoneFilter<String>() {
+
+            @Override
+            public List<String> filter(List<String> entities) {
+                filteredCount.incrementAndGet();
+                return entities.subList(0, 1);
+            }
+
+            @Override
+            public int getOrder() {
+                return 10;
+            }
+        };
+        CachingZonePreferenceFilter<String> filter = new CachingZonePreferenceFilter<>(zoneContext, delegate);
+        List<String> entities = Arrays.asList("zone-a:1", "zone-b:2");
+        assertEquals(Arrays.asList("zone-a:1"), filter.filter(entities));
+        assertEquals(Arrays.asList("zone-a:1"), filter.filter(entities));
+        assertEquals(1, filteredCount.get());
+        assertEquals(10, filter.getOrder());
+        assertSame(delegate, filter.getDelegate());
+    }
+
+    @Test
+    void testToString() {
+        assertTrue(filter.toString().startsWith("CachingZonePreferenceFilter{"));
+    }
+}
@@ -0,0 +1,205 @@
+package io.microsphere.multiple.active.zone;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.microsphere.multiple.active.zone.ZoneRegistry.OTHER_ZONE_ID;
+import static io.microsphere.multiple.active.zone.ZoneRegistry.UNKNOWN_ZONE_ID;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link CachingZoneResolver}
+ */
+class CachingZoneResolverTest {
+
+    /**
+     * The entity with value-based equality
+     */
+    static class Instance {
+        final String zone;
+
+        Instance(String zone) {
+            this.zone = zone;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Instance && ((Instance) o).zone.equals(zone);
+        }
+
+        @Override
+        public int hashCode() {
+            return zone.hashCode();
+        }
+    }
+
+    private final AtomicInteger resolvedCount = new AtomicInteger();
+
+    private final ZoneResolver<Instance> delegate = instance -> {
+        resolvedCount.incrementAndGet();
+        return instance == null ? null : instance.zone;
+    };
+
+    @Test
+    void testResolve() {
+        CachingZoneResolver<Instance> resolver = new CachingZoneResolver<>(delegate);
+        Instance instance = new Instance("zone-a");
+        assertEquals("zone-a", resolver.resolve(instance));
+        assertEquals("zone-a", resolver.resolve(instance));
+        assertEquals(1, resolvedCount.get());
+        assertEquals(1, resolver.getHitCount());
+        assertEquals(1, resolver.getMissCount());
+        assertEquals(0.5, resolver.getHitRate());
+
+        // Identity rather than equality
+        assertEquals("zone-a", resolver.resolve(new Instance("zone-a")));
+        assertEquals(2, resolvedCount.get());
+
+        assertNull(resolver.resolve(null));
+        assertSame(delegate, resolver.getDelegate());
+    }
+
+    @Test
+    void testResolveId() {
+        CachingZoneResolver<Instance> resolver = new CachingZoneResolver<>(delegate);
+        Instance instance = new Instance("zone-a");
+        int zoneId = ZoneRegistry.get().register("zone-a");
+        assertEquals(zoneId, resolver.resolveId(instance));
+        assertEquals(zoneId, resolver.resolveId(instance));
+        assertEquals(UNKNOWN_ZONE_ID, resolver.resolveId(null));
+        assertEquals(1, resolvedCount.get());
+    }
+
+    @Test
+    void testResolveIdRegisteredAfterCached() {
+        CachingZoneResolver<Instance> resolver = new CachingZoneResolver<>(delegate);
+        Instance instance = new Instance("zone-caching-later");
+        assertEquals(OTHER_ZONE_ID, resolver.resolveId(instance));
+        int zoneId = ZoneRegistry.get().register("zone-caching-later");
+        assertEquals(zoneId, resolver.resolveId(instance));
+        assertEquals(1, resolvedCount.get());
+    }
+
+    @Test
+    void testResolveAll() {
+        CachingZoneResolver<Instance> resolver = new CachingZoneResolver<>(delegate);
+        List<Instance> instances = Arrays.asList(new Instance("zone-a"), null, new Instance("zone-b"));
+        ZoneRegistry zoneRegistry = ZoneRegistry.get();
+        int[] expected = {zoneRegistry.register("zone-a"), UNKNOWN_ZONE_ID, zoneRegistry.register("zone-b")};
+        int[] zoneIds = new int[3];
+        resolver.resolveAll(instances, zoneIds);
+        assertArrayEquals(expected, zoneIds);
+        resolver.resolveAll(new LinkedList<>(instances), zoneIds);
+        assertArrayEquals(expected, zoneIds);
+        assertEquals(2, resolvedCount.get());
+        assertEquals(2, resolver.getHitCount());
+    }
+
+    @Test
+    void testResolveAllWithBulkDelegate() {
+        AtomicInteger bulkCount = new AtomicInteger();
+        BulkZoneResolver<Instance> bulkDelegate = new BulkZoneResolver<Instance>() {
+            @Override
+            public String resolve(Instance instance) {
+                return delegate.resolve(instance);
+            }
+
+            @Override
+            public void resolveAll(List<Instance> instances, int[] zoneIds) {
+                bulkCount.addAndGet(instances.size());
+                BulkZoneResolver.super.resolveAll(instances, zoneIds);
+            }
+        };
+        CachingZoneResolver<Instance> resolver = new CachingZoneResolver<>(bulkDelegate);
+        ZoneRegistry zoneRegistry = ZoneRegistry.get();
+        Instance cached = new Instance("zone-a");
+        Instance unregistered = new Instance("zone-caching-bulk-unregistered");
+        resolver.resolve(cached);
+        List<Instance> instances = Arrays.asList(cached, new Instance("zone-b"), unregistered);
+        int[] zoneIds = new int[3];
+        resolver.resolveAll(instances, zoneIds);
+        assertArrayEquals(new int[]{zoneRegistry.register("zone-a"), zoneRegistry.register("zone-b"), OTHER_ZONE_ID},
+                zoneIds);
+        // Only the missed entities are resolved in bulk
+        assertEquals(2, bulkCount.get());
+        assertEquals("zone-b", resolver.resolve(instances.get(1)));
+        assertEquals("zone-caching-bulk-unregistered", resolver.resolve(unregistered));
+        assertEquals(2, bulkCount.get());
+    }
+
+    @Test
+    void testResolveAllGrowsCapacity() {
+        CachingZoneResolver<Instance> resolver = new CachingZoneResolver<>(delegate, 16);
+        List<Instance> instances = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            instances.add(new Instance("zone-" + (i % 4)));
+        }
+        int[] zoneIds = new int[instances.size()];
+        resolver.resolveAll(instances, zoneIds);
+        assertEquals(2048, resolver.getCapacity());
+        assertEquals(1000, resolver.getMissCount());
+        resolver.resolveAll(instances, zoneIds);
+        assertTrue(resolver.getHitCount() > 0);
+        assertEquals(2000, resolver.getHitCount() + resolver.getMissCount());
+    }
+
+    @Test
+    void testBounded() {
+        CachingZoneResolver<Instance> resolver = new CachingZoneResolver<>(delegate, 10);
+        assertEquals(16, resolver.getCapacity());
+        List<Instance> instances = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Instance instance = new Instance("zone-" + i);
+            instances.add(instance);
+            assertEquals(instance.zone, resolver.resolve(instance));
+        }
+        assertTrue(resolver.getEvictionCount() > 0);
+        // Evicted entities are resolved again
+        for (Instance instance : instances) {
+            assertEquals(instance.zone, resolver.resolve(instance));
+        }
+        assertEquals(2000, resolver.getHitCount() + resolver.getMissCount());
+    }
+
+    @Test
+    void testClear() {
+        CachingZoneResolver<Instance> resolver = new CachingZoneResolver<>(delegate);
+        Instance instance = new Instance("zone-a");
+        resolver.resolve(instance);
+        resolver.clear();
+        resolver.resolve(instance);
+        assertEquals(2, resolvedCount.get());
+        assertEquals(0.0, resolver.getHitRate());
+        assertTrue(resolver.toString().contains("missCount=2"));
+    }
+
+    @Test
+    void testEntitiesAreNotRetained() throws InterruptedException {
+        CachingZoneResolver<Instance> resolver = new CachingZoneResolver<>(delegate);
+        Instance instance = new Instance("zone-a");
+        resolver.resolve(instance);
+        WeakReference<Instance> reference = new WeakReference<>(instance);
+        instance = null;
+        for (int i = 0; i < 50 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(reference.get());
+    }
+
+    @Test
+    void testInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new CachingZoneResolver<>(delegate, 1));
+    }
+}
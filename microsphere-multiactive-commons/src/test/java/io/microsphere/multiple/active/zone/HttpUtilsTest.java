@@ -48,6 +48,13 @@ class HttpUtilsTest {
         assertNull(result);
     }
 
+    @Test
+    void testDoGetAsStreamWithNonHttpUrl() throws IOException {
+        assertNull(HttpUtils.doGetAsStream(null, 1000));
+        assertNull(HttpUtils.doGetAsStream("   ", 1000));
+        assertNull(HttpUtils.doGetAsStream("file:///tmp/zone", 1000));
+    }
+
     @Test
     void testDoGetWithHttpUrl() throws IOException {
         String expectedContent = "hello zone";
@@ -0,0 +1,379 @@
+package io.microsphere.multiple.active.zone;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.net.http.HttpTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.microsphere.multiple.active.zone.MetadataHttpClient.DEFAULT_MAX_RESPONSE_SIZE;
+import static io.microsphere.multiple.active.zone.MetadataHttpClient.DEFAULT_TOKEN_TTL;
+import static io.microsphere.multiple.active.zone.MetadataHttpClient.TOKEN_HEADER_NAME;
+import static io.microsphere.multiple.active.zone.MetadataHttpClient.TOKEN_PATH;
+import static io.microsphere.multiple.active.zone.MetadataHttpClient.TOKEN_TTL_HEADER_NAME;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link MetadataHttpClient}
+ */
+class MetadataHttpClientTest {
+
+    private static final String ZONE = "us-east-1a";
+
+    private static final String ZONE_PATH = "/latest/meta-data/placement/availability-zone";
+
+    private static final String TOKEN = "test-token";
+
+    private HttpServer server;
+
+    private String baseUrl;
+
+    private final AtomicInteger tokenRequests = new AtomicInteger();
+
+    private final AtomicInteger metadataRequests = new AtomicInteger();
+
+    private volatile long latency;
+
+    private volatile boolean tokenSupported = true;
+
+    private volatile int tokenStatusCode = 200;
+
+    private volatile boolean tokenRequired;
+
+    private volatile boolean tokenStalled;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // The embedded stand-in for IMDS with the configurable latency
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext(TOKEN_PATH, exchange -> {
+            sleep();
+            tokenRequests.incrementAndGet();
+            if (tokenStalled) {
+                stall(exchange);
+            } else if (!tokenSupported) {
+                respond(exchange, 404, "Not Found");
+            } else if (tokenStatusCode != 200) {
+                respond(exchange, tokenStatusCode, "Unavailable");
+            } else if (!"PUT".equals(exchange.getRequestMethod())
+                    || exchange.getRequestHeaders().getFirst(TOKEN_TTL_HEADER_NAME) == null) {
+                respond(exchange, 400, "Bad Request");
+            } else {
+                exchange.getResponseHeaders().add(TOKEN_TTL_HEADER_NAME,
+                        exchange.getRequestHeaders().getFirst(TOKEN_TTL_HEADER_NAME));
+                respond(exchange, 200, TOKEN);
+            }
+        });
+        server.createContext(ZONE_PATH, exchange -> {
+            sleep();
+            metadataRequests.incrementAndGet();
+            String token = exchange.getRequestHeaders().getFirst(TOKEN_HEADER_NAME);
+            if (token == null ? tokenRequired : !TOKEN.equals(token)) {
+                respond(exchange, 401, "Unauthorized");
+            } else {
+                respond(exchange, 200, ZONE);
+            }
+        });
+        server.createContext("/large", exchange -> respond(exchange, 200, repeat(DEFAULT_MAX_RESPONSE_SIZE + 1)));
+        server.createContext("/chunked", exchange -> {
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                for (int i = 0; i < 16; i++) {
+                    outputStream.write(repeat(1024).getBytes(UTF_8));
+                }
+            } catch (IOException e) {
+                // The client may close the connection when the max size is exceeded
+            }
+        });
+        server.createContext("/stalled", this::stall);
+        server.start();
+        baseUrl = "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    private void sleep() {
+        long latency = this.latency;
+        if (latency > 0) {
+            try {
+                Thread.sleep(latency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void stall(HttpExchange exchange) throws IOException {
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(repeat(1024).getBytes(UTF_8));
+            outputStream.flush();
+            // The body is stalled until the client gives up
+            Thread.sleep(10000);
+        } catch (IOException e) {
+            // The client closes the connection when the timeout elapses
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void respond(HttpExchange exchange, int statusCode, String body) throws IOException {
+        byte[] bytes = body.getBytes(UTF_8);
+        exchange.sendResponseHeaders(statusCode, bytes.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(bytes);
+        }
+    }
+
+    private static String repeat(int size) {
+        StringBuilder builder = new StringBuilder(size);
+        for (int i = 0; i < size; i++) {
+            builder.append('z');
+        }
+        return builder.toString();
+    }
+
+    private MetadataHttpClient newClient(int tokenTtl) {
+        return new MetadataHttpClient(HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build(),
+                DEFAULT_MAX_RESPONSE_SIZE, tokenTtl);
+    }
+
+    @Test
+    void testGet() throws IOException {
+        MetadataHttpClient client = newClient(DEFAULT_TOKEN_TTL);
+        assertEquals(ZONE, client.get(baseUrl + ZONE_PATH, 3000));
+        assertEquals(0, tokenRequests.get());
+        assertEquals(1, metadataRequests.get());
+    }
+
+    @Test
+    void testGetAsync() throws Exception {
+        MetadataHttpClient client = newClient(DEFAULT_TOKEN_TTL);
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(client.getAsync(baseUrl + ZONE_PATH, 3000));
+        }
+        for (CompletableFuture<String> future : futures) {
+            assertEquals(ZONE, future.get());
+        }
+        assertEquals(10, metadataRequests.get());
+    }
+
+    @Test
+    void testGetOnFailedStatus() {
+        tokenRequired = true;
+        MetadataHttpClient client = newClient(DEFAULT_TOKEN_TTL);
+        IOException e = assertThrows(IOException.class, () -> client.get(baseUrl + ZONE_PATH, 3000));
+        assertTrue(e.getMessage().contains("401"));
+    }
+
+    @Test
+    void testGetOnTimeout() {
+        latency = 500;
+        MetadataHttpClient client = newClient(DEFAULT_TOKEN_TTL);
+        assertThrows(IOException.class, () -> client.get(baseUrl + ZONE_PATH, 100));
+    }
+
+    @Test
+    void testGetOnStalledBody() {
+        MetadataHttpClient client = newClient(DEFAULT_TOKEN_TTL);
+        long startTime = System.nanoTime();
+        assertThrows(HttpTimeoutException.class, () -> client.get(baseUrl + "/stalled", 500));
+        assertTrue(System.nanoTime() - startTime < SECONDS.toNanos(5));
+    }
+
+    @Test
+    void testGetOnLargeResponse() throws IOException {
+        MetadataHttpClient client = newClient(DEFAULT_TOKEN_TTL);
+        IOException e = assertThrows(IOException.class, () -> client.get(baseUrl + "/large", 3000));
+        assertTrue(e.getMessage().contains("exceeds the max size"));
+
+        MetadataHttpClient smallClient = new MetadataHttpClient(HttpClient.newHttpClient(), 4096, DEFAULT_TOKEN_TTL);
+        e = assertThrows(IOException.class, () -> smallClient.get(baseUrl + "/chunked", 3000));
+        assertTrue(e.getMessage().contains("exceeds the max size"));
+
+        // The client is still available
+        assertEquals(ZONE, client.get(baseUrl + ZONE_PATH, 3000));
+    }
+
+    @Test
+    void testGetAsStream() throws IOException {
+        MetadataHttpClient client = new MetadataHttpClient(HttpClient.newHttpClient(), 4096, DEFAULT_TOKEN_TTL);
+        try (InputStream inputStream = client.getAsStream(baseUrl + "/large", 3000)) {
+            assertEquals(repeat(DEFAULT_MAX_RESPONSE_SIZE + 1), new String(readAll(inputStream), UTF_8));
+        }
+        try (InputStream inputStream = client.getAsStream(baseUrl + "/chunked", 3000)) {
+            assertEquals(16 * 1024, readAll(inputStream).length);
+        }
+
+        tokenRequired = true;
+        IOException e = assertThrows(IOException.class, () -> client.getAsStream(baseUrl + ZONE_PATH, 3000));
+        assertTrue(e.getMessage().contains("401"));
+    }
+
+    @Test
+    void testGetAsStreamOnStalledBody() throws IOException {
+        MetadataHttpClient client = newClient(DEFAULT_TOKEN_TTL);
+        long startTime = System.nanoTime();
+        try (InputStream inputStream = client.getAsStream(baseUrl + "/stalled", 500)) {
+            assertThrows(HttpTimeoutException.class, () -> readAll(inputStream));
+        }
+        assertTrue(System.nanoTime() - startTime < SECONDS.toNanos(5));
+    }
+
+    private static byte[] readAll(InputStream inputStream) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        int length;
+        while ((length = inputStream.read(buffer)) > -1) {
+            outputStream.write(buffer, 0, length);
+        }
+        return outputStream.toByteArray();
+    }
+
+    @Test
+    void testGetWithToken() throws IOException {
+        tokenRequired = true;
+        latency = 50;
+        MetadataHttpClient client = newClient(DEFAULT_TOKEN_TTL);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(ZONE, client.getWithToken(baseUrl + ZONE_PATH, 3000));
+        }
+        // The session token is cached, the repeated reads cost one round trip
+        assertEquals(1, tokenRequests.get());
+        assertEquals(5, metadataRequests.get());
+    }
+
+    @Test
+    void testGetWithTokenAsyncSharesTokenRequest() throws Exception {
+        tokenRequired = true;
+        latency = 100;
+        MetadataHttpClient client = newClient(DEFAULT_TOKEN_TTL);
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(client.getWithTokenAsync(baseUrl + ZONE_PATH, 3000));
+        }
+        for (CompletableFuture<String> future : futures) {
+            assertEquals(ZONE, future.get());
+        }
+        assertEquals(1, tokenRequests.get());
+        assertEquals(10, metadataRequests.get());
+    }
+
+    @Test
+    void testGetWithTokenOnExpired() throws Exception {
+        tokenRequired = true;
+        AtomicLong nanoClock = new AtomicLong();
+        MetadataHttpClient client = new MetadataHttpClient(HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build(),
+                DEFAULT_MAX_RESPONSE_SIZE, 1, nanoClock::get);
+        assertEquals(ZONE, client.getWithToken(baseUrl + ZONE_PATH, 3000));
+        assertEquals(ZONE, client.getWithToken(baseUrl + ZONE_PATH, 3000));
+        assertEquals(1, tokenRequests.get());
+
+        nanoClock.addAndGet(SECONDS.toNanos(1));
+        assertEquals(ZONE, client.getWithToken(baseUrl + ZONE_PATH, 3000));
+        assertEquals(2, tokenRequests.get());
+    }
+
+    @Test
+    void testGetWithTokenOnUnsupported() throws IOException {
+        tokenSupported = false;
+        MetadataHttpClient client = newClient(DEFAULT_TOKEN_TTL);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(ZONE, client.getWithToken(baseUrl + ZONE_PATH, 3000));
+        }
+        // The absence of session token is cached, fallback to IMDSv1
+        assertEquals(1, tokenRequests.get());
+        assertEquals(3, metadataRequests.get());
+    }
+
+    @Test
+    void testGetWithTokenOnTransientTokenFailure() throws IOException {
+        tokenStatusCode = 503;
+        MetadataHttpClient client = newClient(DEFAULT_TOKEN_TTL);
+        // Fallback to IMDSv1 in this request
+        assertEquals(ZONE, client.getWithToken(baseUrl + ZONE_PATH, 3000));
+        assertEquals(1, tokenRequests.get());
+
+        // The transient failure is not cached, the session token is fetched again
+        tokenStatusCode = 200;
+        tokenRequired = true;
+        assertEquals(ZONE, client.getWithToken(baseUrl + ZONE_PATH, 3000));
+        assertEquals(ZONE, client.getWithToken(baseUrl + ZONE_PATH, 3000));
+        assertEquals(2, tokenRequests.get());
+    }
+
+    @Test
+    void testGetWithTokenOnTokenTimeout() throws IOException {
+        latency = 300;
+        MetadataHttpClient client = newClient(DEFAULT_TOKEN_TTL);
+        assertThrows(IOException.class, () -> client.getWithToken(baseUrl + ZONE_PATH, 100));
+        latency = 0;
+        // The failed session token is not cached
+        assertEquals(ZONE, client.getWithToken(baseUrl + ZONE_PATH, 3000));
+    }
+
+    @Test
+    void testGetWithTokenOnStalledBody() {
+        MetadataHttpClient client = newClient(DEFAULT_TOKEN_TTL);
+        long startTime = System.nanoTime();
+        assertThrows(HttpTimeoutException.class, () -> client.getWithToken(baseUrl + "/stalled", 500));
+        assertTrue(System.nanoTime() - startTime < SECONDS.toNanos(5));
+        assertEquals(1, tokenRequests.get());
+    }
+
+    @Test
+    void testGetWithTokenOnStalledToken() throws Exception {
+        tokenStalled = true;
+        MetadataHttpClient client = newClient(DEFAULT_TOKEN_TTL);
+        long startTime = System.nanoTime();
+        // The stalled session token request uses up the timeout shared with the metadata request
+        assertThrows(HttpTimeoutException.class, () -> client.getWithToken(baseUrl + ZONE_PATH, 500));
+        assertTrue(System.nanoTime() - startTime < SECONDS.toNanos(5));
+
+        tokenStalled = false;
+        tokenRequired = true;
+        // The session token request is cancelled at the same deadline, which may be observed a bit later
+        Thread.sleep(200);
+        // The timed out session token is not cached
+        assertEquals(ZONE, client.getWithToken(baseUrl + ZONE_PATH, 3000));
+        assertEquals(2, tokenRequests.get());
+    }
+
+    @Test
+    void testConstructorOnInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new MetadataHttpClient(null, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new MetadataHttpClient(HttpClient.newHttpClient(), 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new MetadataHttpClient(HttpClient.newHttpClient(), 1, 0));
+    }
+
+    @Test
+    void testGetDefault() {
+        assertNotNull(MetadataHttpClient.getDefault());
+        assertSame(MetadataHttpClient.getDefault(), MetadataHttpClient.getDefault());
+    }
+}
@@ -7,6 +7,7 @@ import org.junit.jupiter.api.Test;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import static io.microsphere.multiple.active.zone.ZoneConstants.ZONE_PROPERTY_NAME;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -66,4 +67,30 @@ class ZoneAttachmentHandlerTest {
         handler.attachZone(unmodifiableMap);
         assertFalse(unmodifiableMap.containsKey(ZONE_PROPERTY_NAME));
     }
+
+    @Test
+    void testAttachZoneWaitsForConfirmedZone() throws Exception {
+        zoneContext.setProvisionalZone("provisional-zone", 10, TimeUnit.SECONDS);
+        Thread thread = new Thread(() -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            zoneContext.setZone("zone-c");
+        });
+        thread.start();
+        Map<String, String> metadata = new HashMap<>();
+        handler.attachZone(metadata);
+        assertEquals("zone-c", metadata.get(ZONE_PROPERTY_NAME));
+        thread.join();
+    }
+
+    @Test
+    void testAttachZoneWithProvisionalZoneOnTimeout() {
+        zoneContext.setProvisionalZone("provisional-zone", 50, TimeUnit.MILLISECONDS);
+        Map<String, String> metadata = new HashMap<>();
+        handler.attachZone(metadata);
+        assertEquals("provisional-zone", metadata.get(ZONE_PROPERTY_NAME));
+    }
 }
@@ -20,10 +20,36 @@ package io.microsphere.multiple.active.zone;
 
 import org.junit.jupiter.api.Test;
 
+import static io.microsphere.multiple.active.zone.ZoneConstants.CONTEXT_COALESCING_INTERVAL_PROPERTY_NAME;
+import static io.microsphere.multiple.active.zone.ZoneConstants.CONTEXT_COALESCING_MAX_LATENCY_PROPERTY_NAME;
+import static io.microsphere.multiple.active.zone.ZoneConstants.CONTEXT_COALESCING_PROPERTY_NAME_PREFIX;
+import static io.microsphere.multiple.active.zone.ZoneConstants.CONTEXT_PROPERTY_NAME_PREFIX;
 import static io.microsphere.multiple.active.zone.ZoneConstants.CURRENT_ZONE_PROPERTY_NAME;
+import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_CONTEXT_COALESCING_INTERVAL;
+import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_CONTEXT_COALESCING_INTERVAL_PROPERTY_VALUE;
+import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_CONTEXT_COALESCING_MAX_LATENCY;
+import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_CONTEXT_COALESCING_MAX_LATENCY_PROPERTY_VALUE;
+import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_LOCATOR_ASYNC_ENABLED;
+import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_LOCATOR_ASYNC_ENABLED_PROPERTY_VALUE;
+import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_LOCATOR_ASYNC_TIMEOUT;
+import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_LOCATOR_ASYNC_TIMEOUT_PROPERTY_VALUE;
+import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_LOCATOR_CACHE_ENABLED;
+import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_LOCATOR_CACHE_ENABLED_PROPERTY_VALUE;
+import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_LOCATOR_DEADLINE;
+import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_LOCATOR_DEADLINE_PROPERTY_VALUE;
 import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_LOCATOR_FAST_FAIL;
 import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_LOCATOR_FAST_FAIL_PROPERTY_VALUE;
+import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_LOCATOR_PARALLEL;
+import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_LOCATOR_PARALLEL_PROPERTY_VALUE;
+import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_LOCATOR_REFRESH_ENABLED;
+import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_LOCATOR_REFRESH_ENABLED_PROPERTY_VALUE;
+import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_LOCATOR_REFRESH_INTERVAL;
+import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_LOCATOR_REFRESH_INTERVAL_PROPERTY_VALUE;
+import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_LOCATOR_REFRESH_JITTER;
+import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_LOCATOR_REFRESH_JITTER_PROPERTY_VALUE;
 import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_PREFERENCE_ENABLED_PROPERTY_VALUE;
+import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_PREFERENCE_FILTER_RESOLVER_CACHE_ENABLED;
+import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_PREFERENCE_FILTER_RESOLVER_CACHE_ENABLED_PROPERTY_VALUE;
 import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_PREFERENCE_UPSTREAM_DISABLED_ZONE;
 import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_PREFERENCE_UPSTREAM_SAME_ZONE_MIN_AVAILABLE;
 import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_PREFERENCE_UPSTREAM_SAME_ZONE_MIN_AVAILABLE_PROPERTY_VALUE;
@@ -37,14 +63,30 @@ import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_ZONE_ENA
 import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_ZONE_PREFERENCE_ENABLED;
 import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_ZONE_PREFERENCE_FILTER_ORDER;
 import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_ZONE_PREFERENCE_FILTER_ORDER_PROPERTY_VALUE;
+import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_ZONE_PREFERENCE_FILTER_PARALLEL_THRESHOLD;
+import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_ZONE_PREFERENCE_FILTER_PARALLEL_THRESHOLD_PROPERTY_VALUE;
 import static io.microsphere.multiple.active.zone.ZoneConstants.ENABLED_PROPERTY_NAME_SUFFIX;
+import static io.microsphere.multiple.active.zone.ZoneConstants.LOCATOR_ASYNC_ENABLED_PROPERTY_NAME;
+import static io.microsphere.multiple.active.zone.ZoneConstants.LOCATOR_ASYNC_PROPERTY_NAME_PREFIX;
+import static io.microsphere.multiple.active.zone.ZoneConstants.LOCATOR_ASYNC_TIMEOUT_PROPERTY_NAME;
+import static io.microsphere.multiple.active.zone.ZoneConstants.LOCATOR_CACHE_ENABLED_PROPERTY_NAME;
+import static io.microsphere.multiple.active.zone.ZoneConstants.LOCATOR_CACHE_FILE_PROPERTY_NAME;
+import static io.microsphere.multiple.active.zone.ZoneConstants.LOCATOR_CACHE_PROPERTY_NAME_PREFIX;
+import static io.microsphere.multiple.active.zone.ZoneConstants.LOCATOR_DEADLINE_PROPERTY_NAME;
 import static io.microsphere.multiple.active.zone.ZoneConstants.LOCATOR_FAST_FAIL_PROPERTY_NAME;
+import static io.microsphere.multiple.active.zone.ZoneConstants.LOCATOR_PARALLEL_PROPERTY_NAME;
 import static io.microsphere.multiple.active.zone.ZoneConstants.LOCATOR_PROPERTY_NAME_PREFIX;
+import static io.microsphere.multiple.active.zone.ZoneConstants.LOCATOR_REFRESH_ENABLED_PROPERTY_NAME;
+import static io.microsphere.multiple.active.zone.ZoneConstants.LOCATOR_REFRESH_INTERVAL_PROPERTY_NAME;
+import static io.microsphere.multiple.active.zone.ZoneConstants.LOCATOR_REFRESH_JITTER_PROPERTY_NAME;
+import static io.microsphere.multiple.active.zone.ZoneConstants.LOCATOR_REFRESH_PROPERTY_NAME_PREFIX;
 import static io.microsphere.multiple.active.zone.ZoneConstants.LOCATOR_TIMEOUT_PROPERTY_NAME;
 import static io.microsphere.multiple.active.zone.ZoneConstants.ORIGINAL_ZONE;
 import static io.microsphere.multiple.active.zone.ZoneConstants.PREFERENCE_ENABLED_PROPERTY_NAME;
 import static io.microsphere.multiple.active.zone.ZoneConstants.PREFERENCE_FILER_PROPERTY_NAME_PREFIX;
 import static io.microsphere.multiple.active.zone.ZoneConstants.PREFERENCE_FILTER_ORDER_PROPERTY_NAME;
+import static io.microsphere.multiple.active.zone.ZoneConstants.PREFERENCE_FILTER_PARALLEL_THRESHOLD_PROPERTY_NAME;
+import static io.microsphere.multiple.active.zone.ZoneConstants.PREFERENCE_FILTER_RESOLVER_CACHE_ENABLED_PROPERTY_NAME;
 import static io.microsphere.multiple.active.zone.ZoneConstants.PREFERENCE_PROPERTY_NAME_PREFIX;
 import static io.microsphere.multiple.active.zone.ZoneConstants.PREFERENCE_UPSTREAM_DISABLED_ZONE_PROPERTY_NAME;
 import static io.microsphere.multiple.active.zone.ZoneConstants.PREFERENCE_UPSTREAM_PROPERTY_NAME_PREFIX;
@@ -89,6 +131,12 @@ class ZoneConstantsTest {
         assertEquals("10", DEFAULT_ZONE_PREFERENCE_FILTER_ORDER_PROPERTY_VALUE);
         assertEquals(10, DEFAULT_ZONE_PREFERENCE_FILTER_ORDER);
         assertEquals("microsphere.availability.zone.preference.filter.order", PREFERENCE_FILTER_ORDER_PROPERTY_NAME);
+        assertEquals("0", DEFAULT_ZONE_PREFERENCE_FILTER_PARALLEL_THRESHOLD_PROPERTY_VALUE);
+        assertEquals(0, DEFAULT_ZONE_PREFERENCE_FILTER_PARALLEL_THRESHOLD);
+        assertEquals("microsphere.availability.zone.preference.filter.parallel-threshold", PREFERENCE_FILTER_PARALLEL_THRESHOLD_PROPERTY_NAME);
+        assertEquals("false", DEFAULT_PREFERENCE_FILTER_RESOLVER_CACHE_ENABLED_PROPERTY_VALUE);
+        assertFalse(DEFAULT_PREFERENCE_FILTER_RESOLVER_CACHE_ENABLED);
+        assertEquals("microsphere.availability.zone.preference.filter.resolver-cache.enabled", PREFERENCE_FILTER_RESOLVER_CACHE_ENABLED_PROPERTY_NAME);
 
         // Zone Preference Upstream Properties
         assertEquals("microsphere.availability.zone.preference.upstream.", PREFERENCE_UPSTREAM_PROPERTY_NAME_PREFIX);
@@ -113,5 +161,41 @@ class ZoneConstantsTest {
         assertEquals("3000", DEFAULT_TIMEOUT_PROPERTY_VALUE);
         assertEquals(3000, DEFAULT_TIMEOUT);
         assertEquals("microsphere.availability.zone.locator.timeout", LOCATOR_TIMEOUT_PROPERTY_NAME);
+        assertEquals("false", DEFAULT_LOCATOR_PARALLEL_PROPERTY_VALUE);
+        assertFalse(DEFAULT_LOCATOR_PARALLEL);
+        assertEquals("microsphere.availability.zone.locator.parallel", LOCATOR_PARALLEL_PROPERTY_NAME);
+        assertEquals("5000", DEFAULT_LOCATOR_DEADLINE_PROPERTY_VALUE);
+        assertEquals(5000, DEFAULT_LOCATOR_DEADLINE);
+        assertEquals("microsphere.availability.zone.locator.deadline", LOCATOR_DEADLINE_PROPERTY_NAME);
+        assertEquals("microsphere.availability.zone.locator.cache.", LOCATOR_CACHE_PROPERTY_NAME_PREFIX);
+        assertEquals("false", DEFAULT_LOCATOR_CACHE_ENABLED_PROPERTY_VALUE);
+        assertFalse(DEFAULT_LOCATOR_CACHE_ENABLED);
+        assertEquals("microsphere.availability.zone.locator.cache.enabled", LOCATOR_CACHE_ENABLED_PROPERTY_NAME);
+        assertEquals("microsphere.availability.zone.locator.cache.file", LOCATOR_CACHE_FILE_PROPERTY_NAME);
+        assertEquals("microsphere.availability.zone.locator.async.", LOCATOR_ASYNC_PROPERTY_NAME_PREFIX);
+        assertEquals("false", DEFAULT_LOCATOR_ASYNC_ENABLED_PROPERTY_VALUE);
+        assertFalse(DEFAULT_LOCATOR_ASYNC_ENABLED);
+        assertEquals("microsphere.availability.zone.locator.async.enabled", LOCATOR_ASYNC_ENABLED_PROPERTY_NAME);
+        assertEquals("10000", DEFAULT_LOCATOR_ASYNC_TIMEOUT_PROPERTY_VALUE);
+        assertEquals(10000, DEFAULT_LOCATOR_ASYNC_TIMEOUT);
+        assertEquals("microsphere.availability.zone.locator.async.timeout", LOCATOR_ASYNC_TIMEOUT_PROPERTY_NAME);
+        assertEquals("microsphere.availability.zone.locator.refresh.", LOCATOR_REFRESH_PROPERTY_NAME_PREFIX);
+        assertEquals("false", DEFAULT_LOCATOR_REFRESH_ENABLED_PROPERTY_VALUE);
+        assertFalse(DEFAULT_LOCATOR_REFRESH_ENABLED);
+        assertEquals("microsphere.availability.zone.locator.refresh.enabled", LOCATOR_REFRESH_ENABLED_PROPERTY_NAME);
+        assertEquals("300000", DEFAULT_LOCATOR_REFRESH_INTERVAL_PROPERTY_VALUE);
+        assertEquals(300000, DEFAULT_LOCATOR_REFRESH_INTERVAL);
+        assertEquals("microsphere.availability.zone.locator.refresh.interval", LOCATOR_REFRESH_INTERVAL_PROPERTY_NAME);
+        assertEquals("30000", DEFAULT_LOCATOR_REFRESH_JITTER_PROPERTY_VALUE);
+        assertEquals(30000, DEFAULT_LOCATOR_REFRESH_JITTER);
+        assertEquals("microsphere.availability.zone.locator.refresh.jitter", LOCATOR_REFRESH_JITTER_PROPERTY_NAME);
+        assertEquals("microsphere.availability.zone.context.", CONTEXT_PROPERTY_NAME_PREFIX);
+        assertEquals("microsphere.availability.zone.context.coalescing.", CONTEXT_COALESCING_PROPERTY_NAME_PREFIX);
+        assertEquals("0", DEFAULT_CONTEXT_COALESCING_INTERVAL_PROPERTY_VALUE);
+        assertEquals(0, DEFAULT_CONTEXT_COALESCING_INTERVAL);
+        assertEquals("microsphere.availability.zone.context.coalescing.interval", CONTEXT_COALESCING_INTERVAL_PROPERTY_NAME);
+        assertEquals("1000", DEFAULT_CONTEXT_COALESCING_MAX_LATENCY_PROPERTY_VALUE);
+        assertEquals(1000, DEFAULT_CONTEXT_COALESCING_MAX_LATENCY);
+        assertEquals("microsphere.availability.zone.context.coalescing.max-latency", CONTEXT_COALESCING_MAX_LATENCY_PROPERTY_NAME);
     }
 }
\ No newline at end of file
@@ -0,0 +1,140 @@
+package io.microsphere.multiple.active.zone;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_PREFERENCE_UPSTREAM_SAME_ZONE_MIN_AVAILABLE;
+import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_PREFERENCE_UPSTREAM_ZONE_READY_PERCENTAGE;
+import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_ZONE;
+import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_ZONE_ENABLED;
+import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_ZONE_PREFERENCE_ENABLED;
+import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_ZONE_PREFERENCE_FILTER_ORDER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link ZoneContextSnapshot}
+ */
+class ZoneContextSnapshotTest {
+
+    private ZoneContext zoneContext;
+
+    @BeforeEach
+    void setUp() {
+        zoneContext = new ZoneContext();
+    }
+
+    @AfterEach
+    void tearDown() {
+        zoneContext.reset();
+    }
+
+    @Test
+    void testDefaultSnapshot() {
+        ZoneContextSnapshot snapshot = zoneContext.getSnapshot();
+        assertEquals(0L, snapshot.getVersion());
+        assertEquals(DEFAULT_ZONE_ENABLED, snapshot.isEnabled());
+        assertEquals(DEFAULT_ZONE, snapshot.getZone());
+        assertEquals(DEFAULT_ZONE_PREFERENCE_ENABLED, snapshot.isPreferenceEnabled());
+        assertEquals(DEFAULT_ZONE_PREFERENCE_FILTER_ORDER, snapshot.getPreferenceFilterOrder());
+        assertEquals(DEFAULT_PREFERENCE_UPSTREAM_ZONE_READY_PERCENTAGE, snapshot.getPreferenceUpstreamZoneReadyPercentage());
+        assertEquals(DEFAULT_PREFERENCE_UPSTREAM_SAME_ZONE_MIN_AVAILABLE, snapshot.getPreferenceUpstreamSameZoneMinAvailable());
+        assertNull(snapshot.getPreferenceUpstreamDisabledZone());
+        assertFalse(snapshot.hasPreferenceUpstreamDisabledZone());
+        assertTrue(snapshot.getPreferenceUpstreamDisabledZones().isEmpty());
+        assertFalse(snapshot.isPreferenceUpstreamDisabledZone(null));
+    }
+
+    @Test
+    void testSnapshotIsImmutable() {
+        ZoneContextSnapshot snapshot = zoneContext.getSnapshot();
+        zoneContext.setZone("zone-a");
+        zoneContext.setEnabled(false);
+
+        assertEquals(DEFAULT_ZONE, snapshot.getZone());
+        assertEquals(DEFAULT_ZONE_ENABLED, snapshot.isEnabled());
+
+        ZoneContextSnapshot current = zoneContext.getSnapshot();
+        assertNotSame(snapshot, current);
+        assertEquals("zone-a", current.getZone());
+        assertFalse(current.isEnabled());
+    }
+
+    @Test
+    void testVersionIncreasesMonotonically() {
+        long version = zoneContext.getVersion();
+        zoneContext.setZone("zone-a");
+        assertEquals(version + 1, zoneContext.getVersion());
+        zoneContext.setPreferenceFilterOrder(99);
+        assertEquals(version + 2, zoneContext.getVersion());
+        assertEquals(zoneContext.getVersion(), zoneContext.getSnapshot().getVersion());
+    }
+
+    @Test
+    void testVersionUnchangedWhenPropertyUnchanged() {
+        zoneContext.setZone("zone-a");
+        ZoneContextSnapshot snapshot = zoneContext.getSnapshot();
+        zoneContext.setZone("zone-a");
+        zoneContext.setZone(" zone-a ");
+        assertSame(snapshot, zoneContext.getSnapshot());
+    }
+
+    @Test
+    void testPreParsedDisabledZones() {
+        zoneContext.setPreferenceUpstreamDisabledZone(" zone-a , zone-b ");
+        ZoneContextSnapshot snapshot = zoneContext.getSnapshot();
+        assertTrue(snapshot.hasPreferenceUpstreamDisabledZone());
+        assertEquals("zone-a,zone-b", snapshot.getPreferenceUpstreamDisabledZone());
+        assertEquals(2, snapshot.getPreferenceUpstreamDisabledZones().size());
+        assertTrue(snapshot.isPreferenceUpstreamDisabledZone("zone-a"));
+        assertTrue(snapshot.isPreferenceUpstreamDisabledZone("zone-b"));
+        assertFalse(snapshot.isPreferenceUpstreamDisabledZone("zone-c"));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getPreferenceUpstreamDisabledZones().add("zone-c"));
+    }
+
+    @Test
+    void testNormalizedZone() {
+        zoneContext.setZone(" zone-a ");
+        assertEquals("zone-a", zoneContext.getSnapshot().getZone());
+    }
+
+    @Test
+    void testToString() {
+        String str = zoneContext.getSnapshot().toString();
+        assertTrue(str.startsWith("ZoneContextSnapshot{"));
+        assertTrue(str.contains("version=0"));
+    }
+
+    @Test
+    void testZoneIds() {
+        zoneContext.setZone("zone-a");
+        zoneContext.setPreferenceUpstreamDisabledZone("zone-b,zone-c");
+        ZoneContextSnapshot snapshot = zoneContext.getSnapshot();
+        ZoneRegistry zoneRegistry = ZoneRegistry.get();
+        assertEquals(zoneRegistry.getId("zone-a"), snapshot.getZoneId());
+        assertTrue(snapshot.isPreferenceUpstreamDisabledZoneId(zoneRegistry.getId("zone-b")));
+        assertTrue(snapshot.isPreferenceUpstreamDisabledZoneId(zoneRegistry.getId("zone-c")));
+        assertFalse(snapshot.isPreferenceUpstreamDisabledZoneId(snapshot.getZoneId()));
+        assertFalse(snapshot.isPreferenceUpstreamDisabledZoneId(ZoneRegistry.UNKNOWN_ZONE_ID));
+        assertTrue(snapshot.isZoneIdsRegistered());
+    }
+
+    @Test
+    void testZoneIdsNotRegistered() {
+        // The snapshot never registers the zones
+        ZoneContextSnapshot snapshot = zoneContext.getSnapshot().withZone("zone-snapshot-unregistered");
+        assertEquals(ZoneRegistry.OTHER_ZONE_ID, snapshot.getZoneId());
+        assertFalse(snapshot.isZoneIdsRegistered());
+        assertEquals(ZoneRegistry.OTHER_ZONE_ID, ZoneRegistry.get().getId("zone-snapshot-unregistered"));
+
+        snapshot = zoneContext.getSnapshot().withPreferenceUpstreamDisabledZone("zone-snapshot-disabled");
+        assertFalse(snapshot.isZoneIdsRegistered());
+        assertTrue(snapshot.isPreferenceUpstreamDisabledZone("zone-snapshot-disabled"));
+    }
+}
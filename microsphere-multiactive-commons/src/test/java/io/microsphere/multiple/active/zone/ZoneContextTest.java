@@ -8,6 +8,12 @@ import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static io.microsphere.multiple.active.zone.ZoneConstants.CURRENT_ZONE_PROPERTY_NAME;
 import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_PREFERENCE_UPSTREAM_SAME_ZONE_MIN_AVAILABLE;
@@ -16,10 +22,14 @@ import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_ZONE;
 import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_ZONE_ENABLED;
 import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_ZONE_PREFERENCE_ENABLED;
 import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_ZONE_PREFERENCE_FILTER_ORDER;
+import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_ZONE_PREFERENCE_FILTER_PARALLEL_THRESHOLD;
+import static io.microsphere.multiple.active.zone.ZoneRegistry.OTHER_ZONE_ID;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -53,6 +63,7 @@ class ZoneContextTest {
         assertEquals(DEFAULT_ZONE, zoneContext.getZone());
         assertEquals(DEFAULT_ZONE_PREFERENCE_ENABLED, zoneContext.isPreferenceEnabled());
         assertEquals(DEFAULT_ZONE_PREFERENCE_FILTER_ORDER, zoneContext.getPreferenceFilterOrder());
+        assertEquals(DEFAULT_ZONE_PREFERENCE_FILTER_PARALLEL_THRESHOLD, zoneContext.getPreferenceFilterParallelThreshold());
         assertEquals(DEFAULT_PREFERENCE_UPSTREAM_ZONE_READY_PERCENTAGE, zoneContext.getPreferenceUpstreamZoneReadyPercentage());
         assertEquals(DEFAULT_PREFERENCE_UPSTREAM_SAME_ZONE_MIN_AVAILABLE, zoneContext.getPreferenceUpstreamSameZoneMinAvailable());
         assertNull(zoneContext.getPreferenceUpstreamDisabledZone());
@@ -114,6 +125,13 @@ class ZoneContextTest {
         assertEquals(5, zoneContext.getPreferenceFilterOrder());
     }
 
+    @Test
+    void testSetPreferenceFilterParallelThreshold() {
+        zoneContext.setPreferenceFilterParallelThreshold(1000);
+        assertEquals(1000, zoneContext.getPreferenceFilterParallelThreshold());
+        assertEquals(1000, zoneContext.getSnapshot().getPreferenceFilterParallelThreshold());
+    }
+
     @Test
     void testSetPreferenceUpstreamZoneReadyPercentage() {
         zoneContext.setPreferenceUpstreamZoneReadyPercentage(50);
@@ -180,6 +198,157 @@ class ZoneContextTest {
         assertEquals(0, events.size());
     }
 
+    @Test
+    void testRemovePropertyChangeListenerRegisteredTwice() {
+        List<PropertyChangeEvent> events = new ArrayList<>();
+        PropertyChangeListener listener = events::add;
+        zoneContext.addPropertyChangeListener(listener);
+        zoneContext.addPropertyChangeListener(listener);
+        zoneContext.removePropertyChangeListener(listener);
+
+        zoneContext.setZone("twice-zone");
+        assertEquals(1, events.size());
+
+        zoneContext.removePropertyChangeListener(listener);
+        zoneContext.removePropertyChangeListener(listener);
+        zoneContext.removePropertyChangeListener(null);
+        zoneContext.addPropertyChangeListener(null);
+
+        zoneContext.setZone("removed-zone");
+        assertEquals(1, events.size());
+    }
+
+    @Test
+    void testGetPropertyChangeListeners() {
+        PropertyChangeListener listener = event -> {
+        };
+        int size = zoneContext.getPropertyChangeListeners().length;
+        zoneContext.addPropertyChangeListener(listener);
+        PropertyChangeListener[] listeners = zoneContext.getPropertyChangeListeners();
+        assertEquals(size + 1, listeners.length);
+        assertEquals(listener, listeners[size]);
+        zoneContext.removePropertyChangeListener(listener);
+        assertEquals(size, zoneContext.getPropertyChangeListeners().length);
+    }
+
+    @Test
+    void testPropertyChangeListenerNotifiedAsynchronously() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            CountDownLatch latch = new CountDownLatch(1);
+            List<Thread> threads = new CopyOnWriteArrayList<>();
+            PropertyChangeListener listener = event -> {
+                threads.add(Thread.currentThread());
+                latch.countDown();
+            };
+            zoneContext.addPropertyChangeListener(listener, executor);
+            zoneContext.setZone("async-zone");
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            assertEquals(1, threads.size());
+            assertFalse(threads.get(0) == Thread.currentThread());
+            zoneContext.removePropertyChangeListener(listener);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testPropertyChangeListenerFailureIsolated() {
+        List<PropertyChangeEvent> events = new ArrayList<>();
+        PropertyChangeListener failingListener = event -> {
+            throw new IllegalStateException("For testing");
+        };
+        PropertyChangeListener listener = events::add;
+        PropertyChangeListener rejectedListener = event -> {
+        };
+        zoneContext.addPropertyChangeListener(failingListener);
+        zoneContext.addPropertyChangeListener(rejectedListener, command -> {
+            throw new IllegalStateException("For testing");
+        });
+        zoneContext.addPropertyChangeListener(listener);
+
+        zoneContext.setZone("isolated-zone");
+        assertEquals(1, events.size());
+        assertEquals("isolated-zone", zoneContext.getZone());
+
+        zoneContext.removePropertyChangeListener(failingListener);
+        zoneContext.removePropertyChangeListener(rejectedListener);
+        zoneContext.removePropertyChangeListener(listener);
+    }
+
+    @Test
+    void testAddAndRemovePropertyChangeListenerConcurrently() throws Exception {
+        int size = zoneContext.getPropertyChangeListeners().length;
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch latch = new CountDownLatch(threads);
+            for (int i = 0; i < threads; i++) {
+                executor.execute(() -> {
+                    for (int j = 0; j < 1000; j++) {
+                        PropertyChangeListener listener = event -> {
+                        };
+                        zoneContext.addPropertyChangeListener(listener);
+                        zoneContext.removePropertyChangeListener(listener);
+                    }
+                    latch.countDown();
+                });
+            }
+            assertTrue(latch.await(30, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(size, zoneContext.getPropertyChangeListeners().length);
+    }
+
+    @Test
+    void testProvisionalZoneConfirmedBySetZone() throws Exception {
+        zoneContext.setProvisionalZone("provisional-zone", 10, TimeUnit.SECONDS);
+        assertTrue(zoneContext.isZoneProvisional());
+        assertEquals("provisional-zone", zoneContext.getZone());
+
+        Thread thread = new Thread(() -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            zoneContext.setZone("located-zone");
+        });
+        thread.start();
+
+        assertEquals("located-zone", zoneContext.awaitZone());
+        assertFalse(zoneContext.isZoneProvisional());
+        thread.join();
+    }
+
+    @Test
+    void testProvisionalZoneConfirmedWithSameZone() {
+        zoneContext.setProvisionalZone("same-zone", 10, TimeUnit.SECONDS);
+        zoneContext.setZone("same-zone");
+        assertFalse(zoneContext.isZoneProvisional());
+        assertEquals("same-zone", zoneContext.awaitZone());
+    }
+
+    @Test
+    void testProvisionalZoneTimeout() {
+        zoneContext.setProvisionalZone("provisional-zone", 50, TimeUnit.MILLISECONDS);
+        long start = System.nanoTime();
+        assertEquals("provisional-zone", zoneContext.awaitZone());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        assertTrue(zoneContext.isZoneProvisional());
+
+        zoneContext.confirmZone();
+        assertFalse(zoneContext.isZoneProvisional());
+        assertEquals("provisional-zone", zoneContext.awaitZone());
+    }
+
+    @Test
+    void testAwaitZoneWhenNotProvisional() {
+        assertFalse(zoneContext.isZoneProvisional());
+        assertEquals(DEFAULT_ZONE, zoneContext.awaitZone());
+    }
+
     @Test
     void testEnable_WhenAlreadyEnabled() {
         // Already enabled by default
@@ -202,6 +371,7 @@ class ZoneContextTest {
         zoneContext.setZone("custom-zone");
         zoneContext.setPreferenceEnabled(true);
         zoneContext.setPreferenceFilterOrder(99);
+        zoneContext.setPreferenceFilterParallelThreshold(1000);
         zoneContext.setPreferenceUpstreamZoneReadyPercentage(50);
         zoneContext.setPreferenceUpstreamSameZoneMinAvailable(10);
         zoneContext.setPreferenceUpstreamDisabledZone("zone-c");
@@ -212,6 +382,7 @@ class ZoneContextTest {
         assertEquals(DEFAULT_ZONE, zoneContext.getZone());
         assertEquals(DEFAULT_ZONE_PREFERENCE_ENABLED, zoneContext.isPreferenceEnabled());
         assertEquals(DEFAULT_ZONE_PREFERENCE_FILTER_ORDER, zoneContext.getPreferenceFilterOrder());
+        assertEquals(DEFAULT_ZONE_PREFERENCE_FILTER_PARALLEL_THRESHOLD, zoneContext.getPreferenceFilterParallelThreshold());
         assertEquals(DEFAULT_PREFERENCE_UPSTREAM_ZONE_READY_PERCENTAGE, zoneContext.getPreferenceUpstreamZoneReadyPercentage());
         assertEquals(DEFAULT_PREFERENCE_UPSTREAM_SAME_ZONE_MIN_AVAILABLE, zoneContext.getPreferenceUpstreamSameZoneMinAvailable());
         assertNull(zoneContext.getPreferenceUpstreamDisabledZone());
@@ -232,12 +403,87 @@ class ZoneContextTest {
         assertEquals("sys-zone", ZoneContext.getCurrentZone());
     }
 
+    @Test
+    void testGetCurrentZoneFromCachedSystemProperty() {
+        System.setProperty(CURRENT_ZONE_PROPERTY_NAME, "sys-zone");
+        assertEquals("sys-zone", ZoneContext.getCurrentZone());
+
+        // The system property is cached until invalidated
+        System.setProperty(CURRENT_ZONE_PROPERTY_NAME, "sys-zone-changed");
+        assertEquals("sys-zone", ZoneContext.getCurrentZone());
+        ZoneContext.invalidateCurrentZone();
+        assertEquals("sys-zone-changed", ZoneContext.getCurrentZone());
+    }
+
+    @Test
+    void testConcurrentSetCurrentZone() throws Exception {
+        int threads = 4;
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                String zone = "zone-concurrent-" + t;
+                futures.add(executorService.submit(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        ZoneContext.setCurrentZone(zone);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executorService.shutdown();
+        }
+        // The system property is consistent with the current zone
+        assertEquals(ZoneContext.getCurrentZone(), System.getProperty(CURRENT_ZONE_PROPERTY_NAME));
+    }
+
     @Test
     void testGetCurrentZoneDefault() {
         System.clearProperty(CURRENT_ZONE_PROPERTY_NAME);
         assertEquals(DEFAULT_ZONE, ZoneContext.getCurrentZone());
     }
 
+    @Test
+    void testSetCurrentZone() {
+        ZoneContext.setCurrentZone("zone-current");
+        assertEquals("zone-current", ZoneContext.getCurrentZone());
+        assertEquals("zone-current", System.getProperty(CURRENT_ZONE_PROPERTY_NAME));
+
+        // The cached current zone takes precedence over the system property
+        System.setProperty(CURRENT_ZONE_PROPERTY_NAME, "sys-zone");
+        assertEquals("zone-current", ZoneContext.getCurrentZone());
+
+        // The system property is not written if the current zone is not changed
+        ZoneContext.setCurrentZone("zone-current");
+        assertEquals("sys-zone", System.getProperty(CURRENT_ZONE_PROPERTY_NAME));
+
+        // The blank zone is ignored
+        ZoneContext.setCurrentZone(" ");
+        ZoneContext.setCurrentZone(null);
+        assertEquals("zone-current", ZoneContext.getCurrentZone());
+    }
+
+    @Test
+    void testSetZoneUpdatesCurrentZone() {
+        zoneContext.setZone("zone-a");
+        assertEquals("zone-a", ZoneContext.getCurrentZone());
+
+        zoneContext.update(mutator -> mutator.setZone("zone-b"));
+        assertEquals("zone-b", ZoneContext.getCurrentZone());
+        assertEquals("zone-b", System.getProperty(CURRENT_ZONE_PROPERTY_NAME));
+
+        // The current zone is not updated by the non-singleton
+        new ZoneContext().setZone("zone-c");
+        assertEquals("zone-b", ZoneContext.getCurrentZone());
+
+        // The cached current zone is cleared by reset
+        zoneContext.reset();
+        System.clearProperty(CURRENT_ZONE_PROPERTY_NAME);
+        assertEquals(DEFAULT_ZONE, ZoneContext.getCurrentZone());
+    }
+
     @Test
     void testPropertyChangeEventFiredForAllProperties() {
         List<PropertyChangeEvent> events = new ArrayList<>();
@@ -254,4 +500,174 @@ class ZoneContextTest {
         assertEquals(6, events.size());
         zoneContext.removePropertyChangeListener(listener);
     }
+
+    @Test
+    void testGetSnapshot() {
+        zoneContext.setZone("zone-a");
+        zoneContext.setPreferenceUpstreamDisabledZone("zone-b");
+        ZoneContextSnapshot snapshot = zoneContext.getSnapshot();
+        assertEquals("zone-a", snapshot.getZone());
+        assertEquals("zone-b", snapshot.getPreferenceUpstreamDisabledZone());
+        assertEquals(zoneContext.getVersion(), snapshot.getVersion());
+    }
+
+    @Test
+    void testPropertyChangeListenerObservesPublishedSnapshot() {
+        List<String> zones = new ArrayList<>();
+        PropertyChangeListener listener = event -> zones.add(zoneContext.getZone());
+        zoneContext.addPropertyChangeListener(listener);
+        zoneContext.setZone("zone-a");
+        zoneContext.removePropertyChangeListener(listener);
+        assertEquals(1, zones.size());
+        assertEquals("zone-a", zones.get(0));
+    }
+
+    @Test
+    void testUpdate() {
+        List<PropertyChangeEvent> events = new ArrayList<>();
+        List<ZoneContextSnapshot> snapshots = new ArrayList<>();
+        PropertyChangeListener listener = event -> {
+            events.add(event);
+            snapshots.add(zoneContext.getSnapshot());
+        };
+        zoneContext.addPropertyChangeListener(listener);
+        long version = zoneContext.getVersion();
+
+        List<PropertyChangeEvent> changes = zoneContext.update(mutator -> {
+            mutator.setZone(" zone-a ");
+            mutator.setPreferenceEnabled(true);
+            mutator.setPreferenceUpstreamDisabledZone("zone-b , zone-c");
+            // Not changed
+            mutator.setEnabled(DEFAULT_ZONE_ENABLED);
+        });
+        zoneContext.removePropertyChangeListener(listener);
+
+        assertEquals(version + 1, zoneContext.getVersion());
+        assertEquals("zone-a", zoneContext.getZone());
+        assertTrue(zoneContext.isPreferenceEnabled());
+        assertEquals("zone-b,zone-c", zoneContext.getPreferenceUpstreamDisabledZone());
+
+        assertEquals(3, changes.size());
+        assertEquals(changes, events);
+        assertEquals("zone", changes.get(0).getPropertyName());
+        assertEquals(DEFAULT_ZONE, changes.get(0).getOldValue());
+        assertEquals("zone-a", changes.get(0).getNewValue());
+        assertEquals("preferenceEnabled", changes.get(1).getPropertyName());
+        assertEquals("preferenceUpstreamDisabledZone", changes.get(2).getPropertyName());
+        // The listener observes all changes published at once
+        for (ZoneContextSnapshot snapshot : snapshots) {
+            assertEquals(zoneContext.getSnapshot(), snapshot);
+        }
+    }
+
+    @Test
+    void testUpdateTakesLastValue() {
+        List<PropertyChangeEvent> changes = zoneContext.update(mutator -> {
+            mutator.setZone("zone-a");
+            mutator.setZone(DEFAULT_ZONE);
+            mutator.setPreferenceFilterOrder(1);
+            mutator.setPreferenceFilterOrder(2);
+        });
+        assertEquals(1, changes.size());
+        assertEquals("preferenceFilterOrder", changes.get(0).getPropertyName());
+        assertEquals(2, zoneContext.getPreferenceFilterOrder());
+        assertEquals(DEFAULT_ZONE, zoneContext.getZone());
+    }
+
+    @Test
+    void testUpdateWithoutChange() {
+        long version = zoneContext.getVersion();
+        ZoneContextSnapshot snapshot = zoneContext.getSnapshot();
+        assertTrue(zoneContext.update(mutator -> mutator.setZone(DEFAULT_ZONE)).isEmpty());
+        assertTrue(zoneContext.update(mutator -> {
+        }).isEmpty());
+        assertEquals(version, zoneContext.getVersion());
+        assertEquals(snapshot, zoneContext.getSnapshot());
+    }
+
+    @Test
+    void testSetInvalidProperty() {
+        long version = zoneContext.getVersion();
+        assertThrows(IllegalArgumentException.class, () -> zoneContext.setPreferenceUpstreamZoneReadyPercentage(-1));
+        assertThrows(IllegalArgumentException.class, () -> zoneContext.setPreferenceUpstreamZoneReadyPercentage(101));
+        assertThrows(IllegalArgumentException.class, () -> zoneContext.setPreferenceUpstreamSameZoneMinAvailable(-1));
+        // Nothing is changed
+        assertEquals(version, zoneContext.getVersion());
+        assertEquals(DEFAULT_PREFERENCE_UPSTREAM_ZONE_READY_PERCENTAGE, zoneContext.getPreferenceUpstreamZoneReadyPercentage());
+        assertEquals(DEFAULT_PREFERENCE_UPSTREAM_SAME_ZONE_MIN_AVAILABLE, zoneContext.getPreferenceUpstreamSameZoneMinAvailable());
+
+        zoneContext.setPreferenceUpstreamZoneReadyPercentage(0);
+        zoneContext.setPreferenceUpstreamSameZoneMinAvailable(0);
+        assertEquals(0, zoneContext.getPreferenceUpstreamZoneReadyPercentage());
+        assertEquals(0, zoneContext.getPreferenceUpstreamSameZoneMinAvailable());
+    }
+
+    @Test
+    void testUpdateWithInvalidProperty() {
+        long version = zoneContext.getVersion();
+        assertThrows(IllegalArgumentException.class, () -> zoneContext.update(mutator -> {
+            mutator.setZone("zone-a");
+            mutator.setPreferenceUpstreamZoneReadyPercentage(101);
+        }));
+        assertThrows(IllegalArgumentException.class, () -> zoneContext.update(mutator -> {
+            mutator.setPreferenceUpstreamDisabledZone("zone-b");
+            mutator.setPreferenceUpstreamSameZoneMinAvailable(-1);
+        }));
+        assertThrows(IllegalArgumentException.class, () -> zoneContext.update(null));
+        // Nothing is changed
+        assertEquals(version, zoneContext.getVersion());
+        assertEquals(DEFAULT_ZONE, zoneContext.getZone());
+        assertNull(zoneContext.getPreferenceUpstreamDisabledZone());
+    }
+
+    @Test
+    void testUpdateRegistersZonesOnlyIfPublished() {
+        ZoneRegistry zoneRegistry = ZoneRegistry.get();
+        assertThrows(IllegalArgumentException.class, () -> zoneContext.update(mutator -> {
+            mutator.setZone("rejected-zone");
+            mutator.setPreferenceUpstreamDisabledZone("rejected-disabled-zone");
+            mutator.setPreferenceUpstreamZoneReadyPercentage(101);
+        }));
+        assertEquals(OTHER_ZONE_ID, zoneRegistry.getId("rejected-zone"));
+        assertEquals(OTHER_ZONE_ID, zoneRegistry.getId("rejected-disabled-zone"));
+
+        zoneContext.update(mutator -> {
+            mutator.setZone("published-zone");
+            mutator.setPreferenceUpstreamDisabledZone("published-disabled-zone");
+        });
+        assertNotEquals(OTHER_ZONE_ID, zoneRegistry.getId("published-zone"));
+        assertNotEquals(OTHER_ZONE_ID, zoneRegistry.getId("published-disabled-zone"));
+    }
+
+    @Test
+    void testUpdateConfirmsZone() {
+        zoneContext.setProvisionalZone("provisional-zone", 10, TimeUnit.SECONDS);
+        assertTrue(zoneContext.isZoneProvisional());
+        zoneContext.update(mutator -> mutator.setZone("provisional-zone"));
+        assertFalse(zoneContext.isZoneProvisional());
+    }
+
+    @Test
+    void testUpdateDispatchesBatchAsynchronously() throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch latch = new CountDownLatch(2);
+        List<PropertyChangeEvent> events = new CopyOnWriteArrayList<>();
+        PropertyChangeListener listener = event -> {
+            events.add(event);
+            latch.countDown();
+        };
+        zoneContext.addPropertyChangeListener(listener, executor);
+        try {
+            zoneContext.update(mutator -> {
+                mutator.setEnabled(!DEFAULT_ZONE_ENABLED);
+                mutator.setPreferenceUpstreamSameZoneMinAvailable(DEFAULT_PREFERENCE_UPSTREAM_SAME_ZONE_MIN_AVAILABLE + 1);
+            });
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            assertEquals("enabled", events.get(0).getPropertyName());
+            assertEquals("preferenceUpstreamSameZoneMinAvailable", events.get(1).getPropertyName());
+        } finally {
+            zoneContext.removePropertyChangeListener(listener);
+            executor.shutdownNow();
+        }
+    }
 }
@@ -0,0 +1,36 @@
+package io.microsphere.multiple.active.zone;
+
+import org.junit.jupiter.api.Test;
+
+import static io.microsphere.multiple.active.zone.ZoneRegistry.OTHER_ZONE_ID;
+import static io.microsphere.multiple.active.zone.ZoneRegistry.UNKNOWN_ZONE_ID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Tests for {@link ZoneIdResolver}
+ */
+class ZoneIdResolverTest {
+
+    @Test
+    void testResolveId() {
+        ZoneIdResolver<String> resolver = entity -> entity;
+        assertEquals(UNKNOWN_ZONE_ID, resolver.resolveId(null));
+        // The zone is not registered by the resolution
+        assertEquals(OTHER_ZONE_ID, resolver.resolveId("zone-id-unregistered"));
+        assertEquals(OTHER_ZONE_ID, ZoneRegistry.get().getId("zone-id-unregistered"));
+        int id = ZoneRegistry.get().register("zone-id-test");
+        assertEquals(id, resolver.resolveId(new String("zone-id-test")));
+    }
+
+    @Test
+    void testOf() {
+        ZoneIdResolver<String> resolver = entity -> entity;
+        assertSame(resolver, ZoneIdResolver.of(resolver));
+
+        ZoneResolver<String> zoneResolver = entity -> entity + "-of";
+        ZoneIdResolver<String> adapted = ZoneIdResolver.of(zoneResolver);
+        assertEquals("zone-of", adapted.resolve("zone"));
+        assertEquals(ZoneRegistry.get().register("zone-of"), adapted.resolveId("zone"));
+    }
+}
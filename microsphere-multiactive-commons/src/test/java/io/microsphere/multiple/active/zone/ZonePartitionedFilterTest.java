@@ -0,0 +1,132 @@
+package io.microsphere.multiple.active.zone;
+
+import io.microsphere.multiple.active.zone.ZonePartitionedIndexTest.Instance;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link ZonePartitionedFilter}
+ */
+class ZonePartitionedFilterTest {
+
+    private final AtomicInteger resolvedCount = new AtomicInteger();
+
+    private final ZoneResolver<Instance> resolver = instance -> {
+        resolvedCount.incrementAndGet();
+        return instance.zone;
+    };
+
+    private ZoneContext zoneContext;
+
+    private ZonePartitionedFilter<Instance> filter;
+
+    @BeforeEach
+    void setUp() {
+        zoneContext = new ZoneContext();
+        zoneContext.setPreferenceEnabled(true);
+        zoneContext.setZone("zone-a");
+        zoneContext.setPreferenceUpstreamSameZoneMinAvailable(1);
+        filter = new ZonePartitionedFilter<>(zoneContext, resolver, instance -> instance.id);
+    }
+
+    @AfterEach
+    void tearDown() {
+        zoneContext.reset();
+    }
+
+    @Test
+    void testFilter() {
+        Instance a1 = new Instance("1", "zone-a");
+        Instance b2 = new Instance("2", "zone-b");
+        Instance a3 = new Instance("3", "zone-a");
+        List<Instance> instances = Arrays.asList(a1, b2, a3);
+        assertEquals(Arrays.asList(a1, a3), filter.filter(instances));
+        assertEquals(3, resolvedCount.get());
+
+        // The same list is not synchronized again
+        assertSame(filter.filter(instances), filter.filter(instances));
+        assertEquals(3, resolvedCount.get());
+
+        zoneContext.setZone("zone-b");
+        assertEquals(Arrays.asList(b2), filter.filter(instances));
+        assertEquals(3, resolvedCount.get());
+    }
+
+    @Test
+    void testFilterDeltas() {
+        Instance a1 = new Instance("1", "zone-a");
+        Instance b2 = new Instance("2", "zone-b");
+        List<Instance> instances = new ArrayList<>(Arrays.asList(a1, b2));
+        assertEquals(Arrays.asList(a1), filter.filter(instances));
+
+        // Added
+        Instance a3 = new Instance("3", "zone-a");
+        instances = new ArrayList<>(Arrays.asList(a1, b2, a3));
+        assertEquals(Arrays.asList(a1, a3), filter.filter(instances));
+        assertEquals(3, resolvedCount.get());
+
+        // Updated
+        Instance b1 = new Instance("1", "zone-b");
+        instances = new ArrayList<>(Arrays.asList(b1, b2, a3));
+        assertEquals(Arrays.asList(a3), filter.filter(instances));
+        assertEquals(4, resolvedCount.get());
+
+        // Removed
+        instances = new ArrayList<>(Arrays.asList(b1, b2));
+        assertEquals(Arrays.asList(b1, b2), filter.filter(instances));
+        assertEquals(4, resolvedCount.get());
+        assertEquals(2, filter.getIndex().size());
+    }
+
+    @Test
+    void testFilterKeepsUpstreamOrder() {
+        Instance a1 = new Instance("1", "zone-a");
+        Instance b2 = new Instance("2", "zone-b");
+        Instance a3 = new Instance("3", "zone-a");
+        assertEquals(Arrays.asList(a1, a3), filter.filter(Arrays.asList(a1, b2, a3)));
+
+        // Reordered by the upstream without any change
+        assertEquals(Arrays.asList(a3, a1), filter.filter(Arrays.asList(b2, a3, a1)));
+        assertEquals(3, resolvedCount.get());
+
+        // No same-zone instance, the ones out of the disabled zone are kept in the upstream order
+        zoneContext.setPreferenceUpstreamDisabledZone("zone-b");
+        zoneContext.setZone("zone-c");
+        assertEquals(Arrays.asList(a3, a1), filter.filter(Arrays.asList(b2, a3, a1)));
+    }
+
+    @Test
+    void testSyncAheadOfFilter() {
+        List<Instance> instances = Arrays.asList(new Instance("1", "zone-a"), new Instance("2", "zone-b"));
+        filter.sync(instances);
+        assertEquals(2, resolvedCount.get());
+        assertEquals(1, filter.filter(instances).size());
+        assertEquals(2, resolvedCount.get());
+    }
+
+    @Test
+    void testFilterNullList() {
+        assertNull(filter.filter(null));
+    }
+
+    @Test
+    void testGetOrder() {
+        assertEquals(zoneContext.getPreferenceFilterOrder(), filter.getOrder());
+    }
+
+    @Test
+    void testToString() {
+        assertTrue(filter.toString().startsWith("ZonePartitionedFilter{"));
+    }
+}
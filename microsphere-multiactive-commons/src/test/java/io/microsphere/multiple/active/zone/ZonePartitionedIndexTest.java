@@ -0,0 +1,187 @@
+package io.microsphere.multiple.active.zone;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link ZonePartitionedIndex}
+ */
+class ZonePartitionedIndexTest {
+
+    /**
+     * Simple entity with an id and a zone label
+     */
+    static class Instance {
+        final String id;
+        final String zone;
+
+        Instance(String id, String zone) {
+            this.id = id;
+            this.zone = zone;
+        }
+
+        @Override
+        public String toString() {
+            return id + "@" + zone;
+        }
+    }
+
+    private final AtomicInteger resolvedCount = new AtomicInteger();
+
+    private final ZoneResolver<Instance> resolver = instance -> {
+        resolvedCount.incrementAndGet();
+        return instance.zone;
+    };
+
+    private ZoneContext zoneContext;
+
+    private ZonePartitionedIndex<Instance> index;
+
+    @BeforeEach
+    void setUp() {
+        zoneContext = new ZoneContext();
+        zoneContext.setPreferenceEnabled(true);
+        zoneContext.setZone("zone-a");
+        zoneContext.setPreferenceUpstreamSameZoneMinAvailable(1);
+        index = new ZonePartitionedIndex<>(resolver, instance -> instance.id);
+    }
+
+    @AfterEach
+    void tearDown() {
+        zoneContext.reset();
+    }
+
+    @Test
+    void testAddRemoveUpdate() {
+        Instance i1 = new Instance("1", "zone-a");
+        Instance i2 = new Instance("2", "zone-b");
+        assertTrue(index.add(i1));
+        assertTrue(index.add(i2));
+        assertFalse(index.add(new Instance("2", "zone-b")));
+        assertEquals(2, index.size());
+        assertEquals(1, index.size("zone-a"));
+        assertEquals(1, index.size("zone-b"));
+
+        // Move "2" into zone-a
+        assertTrue(index.update(new Instance("2", "zone-a")));
+        assertEquals(2, index.size("zone-a"));
+        assertEquals(0, index.size("zone-b"));
+        assertEquals(new HashSet<>(Arrays.asList("zone-a")), index.getZones());
+
+        // Update absent entity means adding
+        assertFalse(index.update(new Instance("3", null)));
+        assertEquals(3, index.size());
+        assertEquals(2, index.zonedSize());
+        assertEquals(66, index.getZoneReadyPercentage());
+
+        assertTrue(index.remove(new Instance("3", null)));
+        assertFalse(index.remove(new Instance("3", null)));
+        assertFalse(index.remove(null));
+        assertFalse(index.add(null));
+        assertEquals(100, index.getZoneReadyPercentage());
+
+        index.clear();
+        assertEquals(0, index.size());
+        assertEquals(0, index.getZoneReadyPercentage());
+        assertTrue(index.getEntities("zone-a").isEmpty());
+    }
+
+    @Test
+    void testSyncResolvesOnlyChangedEntities() {
+        List<Instance> instances = newInstances(100, "zone-a", "zone-b", "zone-c");
+        index.sync(instances);
+        assertEquals(100, resolvedCount.get());
+        assertEquals(instances, index.getEntities());
+
+        // Nothing changed
+        index.sync(instances);
+        assertEquals(100, resolvedCount.get());
+
+        // One removed, one added, one changed
+        List<Instance> next = new ArrayList<>(instances);
+        next.remove(0);
+        next.add(new Instance("new", "zone-a"));
+        next.set(1, new Instance(next.get(1).id, "zone-c"));
+        index.sync(next);
+        assertEquals(102, resolvedCount.get());
+        assertEquals(100, index.size());
+        assertEquals(new HashSet<>(next), new HashSet<>(index.getEntities()));
+    }
+
+    @Test
+    void testGetEntitiesIsCachedAndUnmodifiable() {
+        index.sync(newInstances(10, "zone-a", "zone-b"));
+        List<Instance> entities = index.getEntities("zone-a");
+        assertEquals(5, entities.size());
+        assertSame(entities, index.getEntities("zone-a"));
+        assertSame(index.getEntities(), index.getEntities());
+        assertThrows(UnsupportedOperationException.class, () -> entities.add(new Instance("x", "zone-a")));
+    }
+
+    @Test
+    void testFilterMatchesZonePreferenceFilter() {
+        ZonePreferenceFilter<Instance> filter = new ZonePreferenceFilter<>(zoneContext, resolver);
+        Random random = new Random(7);
+        String[] zones = {"zone-a", "zone-b", "zone-c", null};
+        String[] disabledZones = {null, "zone-b", "zone-a", "zone-b,zone-c"};
+        int[] readyPercentages = {0, 80, 100};
+        int[] minAvailables = {1, 3, 50};
+
+        for (int round = 0; round < 200; round++) {
+            int size = random.nextInt(40);
+            List<Instance> instances = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                instances.add(new Instance(String.valueOf(i), zones[random.nextInt(zones.length)]));
+            }
+            zoneContext.setPreferenceUpstreamDisabledZone(disabledZones[random.nextInt(disabledZones.length)]);
+            zoneContext.setPreferenceUpstreamZoneReadyPercentage(readyPercentages[random.nextInt(readyPercentages.length)]);
+            zoneContext.setPreferenceUpstreamSameZoneMinAvailable(minAvailables[random.nextInt(minAvailables.length)]);
+
+            index.sync(instances);
+            // The partitions are ordered by joining, so compare the results regardless of order
+            List<Instance> expected = filter.filter(instances);
+            List<Instance> actual = index.filter(zoneContext.getSnapshot());
+            assertEquals(expected.size(), actual.size(), zoneContext.toString());
+            assertEquals(new HashSet<>(expected), new HashSet<>(actual), zoneContext.toString());
+        }
+    }
+
+    @Test
+    void testFilterWhenDisabled() {
+        List<Instance> instances = newInstances(4, "zone-a", "zone-b");
+        index.sync(instances);
+        zoneContext.setEnabled(false);
+        assertEquals(instances, index.filter(zoneContext.getSnapshot()));
+        zoneContext.setEnabled(true);
+        zoneContext.setZone("defaultZone");
+        assertEquals(instances, index.filter(zoneContext.getSnapshot()));
+    }
+
+    @Test
+    void testToString() {
+        index.sync(newInstances(4, "zone-a", "zone-b"));
+        assertTrue(index.toString().contains("size=4"));
+    }
+
+    private static List<Instance> newInstances(int size, String... zones) {
+        List<Instance> instances = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            instances.add(new Instance(String.valueOf(i), zones[i % zones.length]));
+        }
+        return instances;
+    }
+}
@@ -4,13 +4,25 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedList;
 import java.util.List;
-
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Collections.singleton;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Tests for {@link ZonePreferenceFilter}
@@ -262,4 +274,279 @@ class ZonePreferenceFilterTest {
         List<ZoneEntity> entities = Arrays.asList(new ZoneEntity("zone-a"), new ZoneEntity("zone-b"));
         assertSame(entities, filter.filter(entities));
     }
+
+    // ---- index-based filtering ----
+
+    @Test
+    void testFilterReturnsRandomAccessResult() {
+        List<ZoneEntity> entities = new LinkedList<>(Arrays.asList(
+                new ZoneEntity("zone-b"),
+                new ZoneEntity("zone-a"),
+                new ZoneEntity("zone-c"),
+                new ZoneEntity("zone-a")
+        ));
+        List<ZoneEntity> result = filter.filter(entities);
+        assertTrue(result instanceof RandomAccess);
+        assertEquals(2, result.size());
+        assertSame(entities.get(1), result.get(0));
+        assertSame(entities.get(3), result.get(1));
+    }
+
+    @Test
+    void testFilterReturnsOriginalListWhenAllInSameZone() {
+        List<ZoneEntity> entities = Arrays.asList(new ZoneEntity("zone-a"), new ZoneEntity("zone-a"));
+        assertSame(entities, filter.filter(entities));
+    }
+
+    @Test
+    void testFilterReturnsOriginalListWhenNoDisabledZoneMatched() {
+        zoneContext.setPreferenceUpstreamDisabledZone("zone-x");
+        List<ZoneEntity> entities = Arrays.asList(new ZoneEntity("zone-b"), new ZoneEntity("zone-c"));
+        assertSame(entities, filter.filter(entities));
+    }
+
+    @Test
+    void testFilterPreservesOrderOnLargeList() {
+        zoneContext.setPreferenceUpstreamDisabledZone("zone-c");
+        List<ZoneEntity> entities = newEntities(2000, "zone-a", "zone-b", "zone-c");
+        List<ZoneEntity> result = filter.filter(entities);
+
+        List<ZoneEntity> expected = new ArrayList<>();
+        for (ZoneEntity entity : entities) {
+            if ("zone-a".equals(entity.zone)) {
+                expected.add(entity);
+            }
+        }
+        assertEquals(expected, result);
+
+        // LinkedList as the source
+        assertEquals(expected, filter.filter(new LinkedList<>(entities)));
+    }
+
+    @Test
+    void testFilterWithDisabledZoneReturnsTargetEntitiesWhenNoSameZone() {
+        zoneContext.setPreferenceUpstreamDisabledZone("zone-c");
+        List<ZoneEntity> entities = Arrays.asList(
+                new ZoneEntity("zone-b"),
+                new ZoneEntity("zone-c"),
+                new ZoneEntity("zone-d")
+        );
+        List<ZoneEntity> result = filter.filter(entities);
+        assertEquals(Arrays.asList(entities.get(0), entities.get(2)), result);
+    }
+
+    @Test
+    void testFilterWithCustomFilteredListFactory() {
+        List<ZoneEntity> created = new ArrayList<>();
+        ZonePreferenceFilter<ZoneEntity> customFilter = new ZonePreferenceFilter<>(zoneContext, resolver,
+                (source, indices, size) -> {
+                    for (int i = 0; i < size; i++) {
+                        created.add(source.get(indices[i]));
+                    }
+                    return created;
+                });
+        List<ZoneEntity> entities = Arrays.asList(new ZoneEntity("zone-a"), new ZoneEntity("zone-b"));
+        assertSame(created, customFilter.filter(entities));
+        assertEquals(1, created.size());
+        assertSame(entities.get(0), created.get(0));
+    }
+
+    @Test
+    void testFilterAllocationBudget() {
+        zoneContext.setPreferenceUpstreamDisabledZone("zone-c");
+        List<ZoneEntity> entities = newEntities(2000, "zone-a", "zone-b", "zone-c", "zone-d");
+        int resultSize = filter.filter(entities).size();
+        assertEquals(500, resultSize);
+
+        // Zero-copy case
+        List<ZoneEntity> sameZoneEntities = newEntities(2000, "zone-a");
+
+        // Warm up
+        for (int i = 0; i < 2000; i++) {
+            filter.filter(entities);
+            filter.filter(sameZoneEntities);
+        }
+
+        // The result list with the exact capacity : the reference array + a bit of header overhead
+        long budget = 8L * resultSize + 256;
+        assertTrue(allocatedBytesPerCall(() -> filter.filter(entities)) <= budget);
+        assertTrue(allocatedBytesPerCall(() -> filter.filter(sameZoneEntities)) <= 64);
+    }
+
+    @Test
+    void testFilterOversizeListWithTransientBuffer() {
+        int size = ZonePreferenceFilter.MAX_RETAINED_BUFFER_CAPACITY + 1;
+        List<ZoneEntity> entities = newEntities(size, "zone-a", "zone-b");
+        List<ZoneEntity> result = filter.filter(entities);
+        assertEquals((size + 1) / 2, result.size());
+        for (ZoneEntity entity : result) {
+            assertEquals("zone-a", entity.zone);
+        }
+
+        // The oversize list allocates its own indices, the retained buffer is not grown
+        List<ZoneEntity> sameZoneEntities = newEntities(size, "zone-a");
+        assertTrue(allocatedBytesPerCall(() -> filter.filter(sameZoneEntities)) >= 8L * size);
+        List<ZoneEntity> retainedSameZoneEntities = newEntities(ZonePreferenceFilter.MAX_RETAINED_BUFFER_CAPACITY, "zone-a");
+        filter.filter(retainedSameZoneEntities);
+        assertTrue(allocatedBytesPerCall(() -> filter.filter(retainedSameZoneEntities)) <= 64);
+    }
+
+    @Test
+    void testFilterByZoneIdsMatchesFilterByZones() {
+        assertFilterMatchesFilterByZones(new ZonePreferenceFilter<>(zoneContext, ZoneIdResolver.of(resolver)));
+    }
+
+    @Test
+    void testFilterByBulkZoneIdsMatchesFilterByZones() {
+        BulkZoneResolver<ZoneEntity> bulkZoneResolver = resolver::resolve;
+        assertFilterMatchesFilterByZones(new ZonePreferenceFilter<>(zoneContext, bulkZoneResolver));
+    }
+
+    @Test
+    void testFilterInParallelMatchesFilterInSequence() {
+        ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+        try {
+            ZonePreferenceFilter<ZoneEntity> parallelFilter = new ZonePreferenceFilter<>(zoneContext, resolver,
+                    FilteredListFactory.arrayList(), forkJoinPool);
+            assertSame(forkJoinPool, parallelFilter.getForkJoinPool());
+            List<ZoneEntity> entities = new ArrayList<>(newEntities(5000, "zone-a", "zone-b", "zone-c", "zone-d"));
+            entities.set(3, null);
+            entities.set(1500, null);
+            entities.set(4, new ZoneEntity(null));
+            entities.set(4096, new ZoneEntity(null));
+            String[] disabledZones = {null, "zone-b", "zone-a", "zone-b,zone-c", "zone-x"};
+            int[] readyPercentages = {0, 99, 100};
+            int[] minAvailables = {1, 2000};
+            for (String disabledZone : disabledZones) {
+                for (int readyPercentage : readyPercentages) {
+                    for (int minAvailable : minAvailables) {
+                        zoneContext.setPreferenceUpstreamDisabledZone(disabledZone);
+                        zoneContext.setPreferenceUpstreamZoneReadyPercentage(readyPercentage);
+                        zoneContext.setPreferenceUpstreamSameZoneMinAvailable(minAvailable);
+                        zoneContext.setPreferenceFilterParallelThreshold(0);
+                        List<ZoneEntity> expected = filter.filter(entities);
+                        zoneContext.setPreferenceFilterParallelThreshold(2);
+                        assertEquals(expected, parallelFilter.filter(entities));
+                        assertEquals(expected, parallelFilter.filter(new LinkedList<>(entities)));
+                    }
+                }
+            }
+        } finally {
+            forkJoinPool.shutdown();
+        }
+    }
+
+    @Test
+    void testFilterInParallelWithBulkZoneResolver() {
+        AtomicInteger bulkCount = new AtomicInteger();
+        BulkZoneResolver<ZoneEntity> bulkZoneResolver = new BulkZoneResolver<ZoneEntity>() {
+            @Override
+            public String resolve(ZoneEntity entity) {
+                return resolver.resolve(entity);
+            }
+
+            @Override
+            public void resolveAll(List<ZoneEntity> entities, int[] zoneIds) {
+                bulkCount.incrementAndGet();
+                BulkZoneResolver.super.resolveAll(entities, zoneIds);
+            }
+        };
+        ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+        try {
+            ZonePreferenceFilter<ZoneEntity> parallelFilter = new ZonePreferenceFilter<>(zoneContext, bulkZoneResolver,
+                    FilteredListFactory.arrayList(), forkJoinPool);
+            List<ZoneEntity> entities = newEntities(5000, "zone-a", "zone-b", "zone-c");
+            zoneContext.setPreferenceUpstreamDisabledZone("zone-b");
+            List<ZoneEntity> expected = filter.filter(entities);
+            zoneContext.setPreferenceFilterParallelThreshold(2);
+            assertEquals(expected, parallelFilter.filter(entities));
+            assertTrue(bulkCount.get() > 1);
+        } finally {
+            forkJoinPool.shutdown();
+        }
+    }
+
+    @Test
+    void testFilterInParallelWithReentrantFiltering() {
+        List<ZoneEntity> nestedEntities = newEntities(10, "zone-a", "zone-b");
+        List<ZoneEntity> nestedExpected = filter.filter(nestedEntities);
+        ZoneResolver<ZoneEntity> reentrantResolver = entity -> {
+            // Filtering in the resolver must not corrupt the outer one
+            assertEquals(nestedExpected, filter.filter(nestedEntities));
+            return resolver.resolve(entity);
+        };
+        List<ZoneEntity> entities = newEntities(5000, "zone-a", "zone-b", "zone-c");
+        List<ZoneEntity> expected = filter.filter(entities);
+        zoneContext.setPreferenceFilterParallelThreshold(2);
+        assertEquals(expected, new ZonePreferenceFilter<>(zoneContext, reentrantResolver).filter(entities));
+    }
+
+    @Test
+    void testFilterInSequenceInForkJoinPool() throws Exception {
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        ZonePreferenceFilter<ZoneEntity> parallelFilter = new ZonePreferenceFilter<>(zoneContext, entity -> {
+            threads.add(Thread.currentThread());
+            return resolver.resolve(entity);
+        });
+        List<ZoneEntity> entities = newEntities(5000, "zone-a", "zone-b", "zone-c");
+        List<ZoneEntity> expected = filter.filter(entities);
+        zoneContext.setPreferenceFilterParallelThreshold(2);
+        ForkJoinPool forkJoinPool = new ForkJoinPool(2);
+        try {
+            ForkJoinTask<Thread> task = forkJoinPool.submit(() -> {
+                assertEquals(expected, parallelFilter.filter(entities));
+                return Thread.currentThread();
+            });
+            assertEquals(singleton(task.get()), threads);
+        } finally {
+            forkJoinPool.shutdown();
+        }
+    }
+
+    @Test
+    void testFilterInParallelUsesDedicatedPoolByDefault() {
+        ForkJoinPool forkJoinPool = filter.getForkJoinPool();
+        assertNotSame(ForkJoinPool.commonPool(), forkJoinPool);
+        assertSame(forkJoinPool, new ZonePreferenceFilter<>(zoneContext, resolver).getForkJoinPool());
+    }
+
+    private void assertFilterMatchesFilterByZones(ZonePreferenceFilter<ZoneEntity> idFilter) {
+        List<ZoneEntity> entities = new ArrayList<>(newEntities(100, "zone-a", "zone-b", "zone-c"));
+        entities.set(3, null);
+        entities.set(4, new ZoneEntity(null));
+        String[] disabledZones = {null, "zone-b", "zone-a", "zone-b,zone-c", "zone-x"};
+        int[] readyPercentages = {0, 99, 100};
+        int[] minAvailables = {1, 40};
+        for (String disabledZone : disabledZones) {
+            for (int readyPercentage : readyPercentages) {
+                for (int minAvailable : minAvailables) {
+                    zoneContext.setPreferenceUpstreamDisabledZone(disabledZone);
+                    zoneContext.setPreferenceUpstreamZoneReadyPercentage(readyPercentage);
+                    zoneContext.setPreferenceUpstreamSameZoneMinAvailable(minAvailable);
+                    assertEquals(filter.filter(entities), idFilter.filter(entities));
+                    assertEquals(filter.filter(entities), idFilter.filter(new LinkedList<>(entities)));
+                }
+            }
+        }
+    }
+
+    private static List<ZoneEntity> newEntities(int size, String... zones) {
+        List<ZoneEntity> entities = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            entities.add(new ZoneEntity(zones[i % zones.length]));
+        }
+        return entities;
+    }
+
+    private static long allocatedBytesPerCall(Runnable runnable) {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        int times = 1000;
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < times; i++) {
+            runnable.run();
+        }
+        long after = threadMXBean.getThreadAllocatedBytes(threadId);
+        return (after - before) / times;
+    }
 }
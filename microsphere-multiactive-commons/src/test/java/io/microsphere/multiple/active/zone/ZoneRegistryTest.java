@@ -0,0 +1,143 @@
+package io.microsphere.multiple.active.zone;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static io.microsphere.multiple.active.zone.ZoneRegistry.DEFAULT_MAX_SIZE;
+import static io.microsphere.multiple.active.zone.ZoneRegistry.OTHER_ZONE_ID;
+import static io.microsphere.multiple.active.zone.ZoneRegistry.UNKNOWN_ZONE_ID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link ZoneRegistry}
+ */
+class ZoneRegistryTest {
+
+    @Test
+    void testRegister() {
+        ZoneRegistry registry = new ZoneRegistry();
+        assertEquals(UNKNOWN_ZONE_ID, registry.register((String) null));
+        assertEquals(0, registry.register("zone-a"));
+        assertEquals(1, registry.register("zone-b"));
+        assertEquals(0, registry.register(new String("zone-a")));
+        assertEquals(2, registry.size());
+    }
+
+    @Test
+    void testRegisterBeyondMaxSize() {
+        ZoneRegistry registry = new ZoneRegistry(2);
+        assertEquals(2, registry.getMaxSize());
+        assertEquals(0, registry.register("zone-a"));
+        assertEquals(1, registry.register("zone-b"));
+        assertEquals(OTHER_ZONE_ID, registry.register("zone-c"));
+        assertEquals(OTHER_ZONE_ID, registry.getId("zone-c"));
+        assertEquals(1, registry.register("zone-b"));
+        assertEquals(2, registry.size());
+        assertEquals(DEFAULT_MAX_SIZE, new ZoneRegistry().getMaxSize());
+    }
+
+    @Test
+    void testGetIdWithLastZone() {
+        ZoneRegistry registry = new ZoneRegistry();
+        int id = registry.register("zone-a");
+        assertEquals(id, registry.getId(new String("zone-a"), "zone-a", id));
+        assertEquals(UNKNOWN_ZONE_ID, registry.getId(null, null, UNKNOWN_ZONE_ID));
+        assertEquals(UNKNOWN_ZONE_ID, registry.getId(null, "zone-a", id));
+        assertEquals(OTHER_ZONE_ID, registry.getId("zone-b", "zone-a", id));
+        assertEquals(id, registry.getId("zone-a", null, UNKNOWN_ZONE_ID));
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    void testGetId() {
+        ZoneRegistry registry = new ZoneRegistry();
+        assertEquals(UNKNOWN_ZONE_ID, registry.getId(null));
+        assertEquals(OTHER_ZONE_ID, registry.getId("zone-a"));
+        assertEquals(0, registry.size());
+        registry.register("zone-a");
+        assertEquals(0, registry.getId("zone-a"));
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    void testGetIds() {
+        ZoneRegistry registry = new ZoneRegistry();
+        registry.register("zone-a");
+        BitSet ids = registry.getIds(Arrays.asList("zone-a", null, "zone-x"));
+        assertEquals(1, ids.cardinality());
+        assertTrue(ids.get(0));
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    void testGetZoneAndIntern() {
+        ZoneRegistry registry = new ZoneRegistry();
+        String zone = "zone-a";
+        String otherZone = new String("zone-a");
+        assertSame(otherZone, registry.intern(otherZone));
+        assertEquals(0, registry.size());
+        registry.register(zone);
+        assertSame(zone, registry.intern(otherZone));
+        assertSame(zone, registry.getZone(0));
+        assertNull(registry.getZone(UNKNOWN_ZONE_ID));
+        assertNull(registry.getZone(OTHER_ZONE_ID));
+        assertNull(registry.getZone(1));
+        assertNull(registry.intern(null));
+    }
+
+    @Test
+    void testToString() {
+        ZoneRegistry registry = new ZoneRegistry();
+        registry.register("zone-a");
+        registry.register("zone-b");
+        assertEquals("ZoneRegistry{zones=zone-a,zone-b}", registry.toString());
+    }
+
+    @Test
+    void testRegisterCollection() {
+        ZoneRegistry registry = new ZoneRegistry();
+        registry.register("zone-x");
+        BitSet ids = registry.register(Arrays.asList("zone-a", null, "zone-x"));
+        assertEquals(2, ids.cardinality());
+        assertTrue(ids.get(0));
+        assertTrue(ids.get(1));
+    }
+
+    @Test
+    void testConcurrentRegister() throws Exception {
+        ZoneRegistry registry = new ZoneRegistry();
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            Future<?>[] futures = new Future[4];
+            for (int t = 0; t < futures.length; t++) {
+                futures[t] = executorService.submit(() -> {
+                    for (int i = 0; i < 100; i++) {
+                        String zone = "zone-" + i;
+                        int id = registry.register(zone);
+                        assertEquals(zone, registry.getZone(id));
+                    }
+                });
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executorService.shutdown();
+        }
+        assertEquals(100, registry.size());
+    }
+
+    @Test
+    void testGet() {
+        assertSame(ZoneRegistry.get(), ZoneRegistry.get());
+    }
+}
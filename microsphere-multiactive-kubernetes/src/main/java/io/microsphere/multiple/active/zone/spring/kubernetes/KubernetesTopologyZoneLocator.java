@@ -0,0 +1,155 @@
+package io.microsphere.multiple.active.zone.spring.kubernetes;
+
+import io.microsphere.multiple.active.zone.spring.AbstractZoneLocator;
+import io.microsphere.multiple.active.zone.spring.ZoneLocator;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * The {@link ZoneLocator} based on the Kubernetes
+ * <a href="https://kubernetes.io/docs/reference/labels-annotations-taints/#topologykubernetesiozone">topology zone</a>
+ * which is exposed to the container by the
+ * <a href="https://kubernetes.io/docs/concepts/workloads/pods/downward-api/">downward API</a>, no network call is
+ * required.
+ * <p>
+ * The zone is resolved from one of those in order :
+ * <ol>
+ *     <li>The environment variable {@link #TOPOLOGY_ZONE_ENV_NAME "KUBERNETES_TOPOLOGY_ZONE"}, e.g. the
+ *     <code>fieldRef</code> of the label or annotation "topology.kubernetes.io/zone"</li>
+ *     <li>The file whose path is specified by the environment variable {@link #TOPOLOGY_ZONE_FILE_ENV_NAME
+ *     "KUBERNETES_TOPOLOGY_ZONE_FILE"}, or {@link #DEFAULT_TOPOLOGY_ZONE_FILE "/etc/podinfo/labels"} if present</li>
+ * </ol>
+ * The file may be mounted from the <code>metadata.labels</code> or <code>metadata.annotations</code> of the downward
+ * API, whose lines are formatted as <code>key="value"</code>, or contain the zone only.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ZoneLocator
+ * @since 1.0.0
+ */
+@Order(KubernetesTopologyZoneLocator.DEFAULT_ORDER)
+public class KubernetesTopologyZoneLocator extends AbstractZoneLocator {
+
+    public static final String TOPOLOGY_ZONE_ENV_NAME = "KUBERNETES_TOPOLOGY_ZONE";
+
+    public static final String TOPOLOGY_ZONE_FILE_ENV_NAME = "KUBERNETES_TOPOLOGY_ZONE_FILE";
+
+    public static final String DEFAULT_TOPOLOGY_ZONE_FILE = "/etc/podinfo/labels";
+
+    /**
+     * The well-known label of the topology zone
+     */
+    public static final String TOPOLOGY_ZONE_LABEL = "topology.kubernetes.io/zone";
+
+    /**
+     * The deprecated label of the topology zone
+     */
+    public static final String FAILURE_DOMAIN_ZONE_LABEL = "failure-domain.beta.kubernetes.io/zone";
+
+    /**
+     * The order ahead of the Amazon ECS and EC2 {@link ZoneLocator ZoneLocators}, because no network call is required
+     */
+    public static final int DEFAULT_ORDER = 1;
+
+    public KubernetesTopologyZoneLocator() {
+        super(DEFAULT_ORDER);
+    }
+
+    @Override
+    public boolean supports(Environment environment) {
+        return environment.containsProperty(TOPOLOGY_ZONE_ENV_NAME) || environment.containsProperty(TOPOLOGY_ZONE_FILE_ENV_NAME)
+                || Files.isReadable(getDefaultTopologyZoneFile());
+    }
+
+    @Override
+    public String locate(Environment environment) {
+        String zone = environment.getProperty(TOPOLOGY_ZONE_ENV_NAME);
+        if (StringUtils.hasText(zone)) {
+            zone = zone.trim();
+            logger.info("The zone ['{}'] was located from the Kubernetes topology [environment variable : '{}']", zone,
+                    TOPOLOGY_ZONE_ENV_NAME);
+            return zone;
+        }
+
+        Path topologyZoneFile = getTopologyZoneFile(environment);
+        if (!Files.isReadable(topologyZoneFile)) {
+            logger.warn("The Kubernetes topology zone file [path : '{}'] can't be read", topologyZoneFile.toAbsolutePath());
+            return null;
+        }
+        try {
+            zone = resolveZone(Files.readAllLines(topologyZoneFile, UTF_8));
+            logger.info("The zone ['{}'] was located from the Kubernetes topology zone file [path : '{}']", zone,
+                    topologyZoneFile.toAbsolutePath());
+        } catch (IOException e) {
+            logger.error("Read Kubernetes topology zone file [path : '{}'] failed", topologyZoneFile.toAbsolutePath(), e);
+        }
+        return zone;
+    }
+
+    /**
+     * Resolve the zone from the lines of the file
+     *
+     * @param lines the lines of the file
+     * @return the zone, or <code>null</code> if not found
+     */
+    static String resolveZone(List<String> lines) {
+        String zone = null;
+        String failureDomainZone = null;
+        String value = null;
+        int values = 0;
+        for (String line : lines) {
+            line = line.trim();
+            if (line.isEmpty()) {
+                continue;
+            }
+            int index = line.indexOf('=');
+            if (index < 0) {
+                value = line;
+                values++;
+                continue;
+            }
+            String key = line.substring(0, index).trim();
+            if (TOPOLOGY_ZONE_LABEL.equals(key)) {
+                zone = unquote(line.substring(index + 1).trim());
+            } else if (FAILURE_DOMAIN_ZONE_LABEL.equals(key)) {
+                failureDomainZone = unquote(line.substring(index + 1).trim());
+            }
+        }
+        if (StringUtils.hasText(zone)) {
+            return zone;
+        }
+        if (StringUtils.hasText(failureDomainZone)) {
+            return failureDomainZone;
+        }
+        // The file contains the zone only
+        return values == 1 ? unquote(value) : null;
+    }
+
+    private static String unquote(String value) {
+        int length = value.length();
+        if (length > 1 && value.charAt(0) == '"' && value.charAt(length - 1) == '"') {
+            return value.substring(1, length - 1);
+        }
+        return value;
+    }
+
+    private Path getTopologyZoneFile(Environment environment) {
+        String topologyZoneFile = environment.getProperty(TOPOLOGY_ZONE_FILE_ENV_NAME);
+        return StringUtils.hasText(topologyZoneFile) ? Paths.get(topologyZoneFile.trim()) : getDefaultTopologyZoneFile();
+    }
+
+    /**
+     * @return the default topology zone file
+     */
+    protected Path getDefaultTopologyZoneFile() {
+        return Paths.get(DEFAULT_TOPOLOGY_ZONE_FILE);
+    }
+}
@@ -0,0 +1,110 @@
+package io.microsphere.multiple.active.zone.spring.kubernetes;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static io.microsphere.multiple.active.zone.spring.kubernetes.KubernetesTopologyZoneLocator.DEFAULT_ORDER;
+import static io.microsphere.multiple.active.zone.spring.kubernetes.KubernetesTopologyZoneLocator.TOPOLOGY_ZONE_ENV_NAME;
+import static io.microsphere.multiple.active.zone.spring.kubernetes.KubernetesTopologyZoneLocator.TOPOLOGY_ZONE_FILE_ENV_NAME;
+import static io.microsphere.multiple.active.zone.spring.kubernetes.KubernetesTopologyZoneLocator.resolveZone;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link KubernetesTopologyZoneLocator}
+ */
+class KubernetesTopologyZoneLocatorTest {
+
+    private static Environment newEnvironment(String... keyValues) {
+        StandardEnvironment environment = new StandardEnvironment();
+        Map<String, Object> properties = new HashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            properties.put(keyValues[i], keyValues[i + 1]);
+        }
+        environment.getPropertySources().addFirst(new MapPropertySource("test", properties));
+        return environment;
+    }
+
+    private static KubernetesTopologyZoneLocator newZoneLocator(Path defaultTopologyZoneFile) {
+        return new KubernetesTopologyZoneLocator() {
+            @Override
+            protected Path getDefaultTopologyZoneFile() {
+                return defaultTopologyZoneFile;
+            }
+        };
+    }
+
+    @Test
+    void testOrder() {
+        assertEquals(DEFAULT_ORDER, new KubernetesTopologyZoneLocator().getOrder());
+    }
+
+    @Test
+    void testSupports(@TempDir Path directory) throws IOException {
+        Path labelsFile = directory.resolve("labels");
+        KubernetesTopologyZoneLocator zoneLocator = newZoneLocator(labelsFile);
+        assertFalse(zoneLocator.supports(newEnvironment()));
+        assertTrue(zoneLocator.supports(newEnvironment(TOPOLOGY_ZONE_ENV_NAME, "us-east-1a")));
+        assertTrue(zoneLocator.supports(newEnvironment(TOPOLOGY_ZONE_FILE_ENV_NAME, labelsFile.toString())));
+
+        Files.write(labelsFile, "app=\"test\"".getBytes(UTF_8));
+        assertTrue(zoneLocator.supports(newEnvironment()));
+    }
+
+    @Test
+    void testLocateFromEnvironmentVariable(@TempDir Path directory) throws IOException {
+        Path labelsFile = directory.resolve("labels");
+        Files.write(labelsFile, "topology.kubernetes.io/zone=\"us-east-1b\"".getBytes(UTF_8));
+        KubernetesTopologyZoneLocator zoneLocator = newZoneLocator(labelsFile);
+        assertEquals("us-east-1a", zoneLocator.locate(newEnvironment(TOPOLOGY_ZONE_ENV_NAME, " us-east-1a ")));
+    }
+
+    @Test
+    void testLocateFromLabelsFile(@TempDir Path directory) throws IOException {
+        Path labelsFile = directory.resolve("labels");
+        Files.write(labelsFile, Arrays.asList("app=\"test\"", "pod-template-hash=\"5d8f9c\"",
+                "topology.kubernetes.io/zone=\"us-east-1c\""), UTF_8);
+        assertEquals("us-east-1c", newZoneLocator(labelsFile).locate(newEnvironment()));
+    }
+
+    @Test
+    void testLocateFromSpecifiedFile(@TempDir Path directory) throws IOException {
+        Path zoneFile = directory.resolve("zone");
+        Files.write(zoneFile, "us-east-1d\n".getBytes(UTF_8));
+        KubernetesTopologyZoneLocator zoneLocator = newZoneLocator(directory.resolve("labels"));
+        assertEquals("us-east-1d", zoneLocator.locate(newEnvironment(TOPOLOGY_ZONE_FILE_ENV_NAME, zoneFile.toString())));
+    }
+
+    @Test
+    void testLocateFromAbsentFile(@TempDir Path directory) {
+        KubernetesTopologyZoneLocator zoneLocator = newZoneLocator(directory.resolve("labels"));
+        assertNull(zoneLocator.locate(newEnvironment()));
+        assertNull(zoneLocator.locate(newEnvironment(TOPOLOGY_ZONE_FILE_ENV_NAME, directory.resolve("zone").toString())));
+    }
+
+    @Test
+    void testResolveZone() {
+        assertEquals("zone-a", resolveZone(Arrays.asList("topology.kubernetes.io/zone=\"zone-a\"",
+                "failure-domain.beta.kubernetes.io/zone=\"zone-b\"")));
+        assertEquals("zone-b", resolveZone(Arrays.asList("app=\"test\"", "failure-domain.beta.kubernetes.io/zone=\"zone-b\"")));
+        assertEquals("zone-c", resolveZone(Arrays.asList("", "  zone-c  ", "")));
+        assertEquals("zone-d", resolveZone(Collections.singletonList("\"zone-d\"")));
+        assertNull(resolveZone(Collections.singletonList("app=\"test\"")));
+        assertNull(resolveZone(Arrays.asList("zone-a", "zone-b")));
+        assertNull(resolveZone(Collections.emptyList()));
+    }
+}
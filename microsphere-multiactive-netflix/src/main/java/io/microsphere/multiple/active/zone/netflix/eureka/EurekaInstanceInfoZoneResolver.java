@@ -1,11 +1,16 @@
 package io.microsphere.multiple.active.zone.netflix.eureka;
 
 import com.netflix.appinfo.InstanceInfo;
+import io.microsphere.multiple.active.zone.BulkZoneResolver;
+import io.microsphere.multiple.active.zone.ZoneRegistry;
 import io.microsphere.multiple.active.zone.ZoneResolver;
 
+import java.util.List;
 import java.util.Map;
+import java.util.RandomAccess;
 
 import static io.microsphere.multiple.active.zone.ZoneConstants.ZONE_PROPERTY_NAME;
+import static io.microsphere.multiple.active.zone.ZoneRegistry.UNKNOWN_ZONE_ID;
 
 /**
  * {@link ZoneResolver} for Netflix Eureka {@link InstanceInfo}
@@ -13,7 +18,7 @@ import static io.microsphere.multiple.active.zone.ZoneConstants.ZONE_PROPERTY_NA
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
  * @since 1.0.0
  */
-public class EurekaInstanceInfoZoneResolver implements ZoneResolver<InstanceInfo> {
+public class EurekaInstanceInfoZoneResolver implements BulkZoneResolver<InstanceInfo> {
 
     @Override
     public String resolve(InstanceInfo instanceInfo) {
@@ -21,4 +26,33 @@ public class EurekaInstanceInfoZoneResolver implements ZoneResolver<InstanceInfo
         String instanceZone = metadata == null ? null : metadata.get(ZONE_PROPERTY_NAME);
         return instanceZone;
     }
+
+    @Override
+    public void resolveAll(List<InstanceInfo> instanceInfos, int[] zoneIds) {
+        ZoneRegistry zoneRegistry = ZoneRegistry.get();
+        String lastZone = null;
+        int lastZoneId = UNKNOWN_ZONE_ID;
+        if (instanceInfos instanceof RandomAccess) {
+            for (int i = 0, size = instanceInfos.size(); i < size; i++) {
+                String zone = resolveZone(instanceInfos.get(i));
+                lastZoneId = zoneIds[i] = zoneRegistry.getId(zone, lastZone, lastZoneId);
+                lastZone = zone;
+            }
+        } else {
+            int i = 0;
+            for (InstanceInfo instanceInfo : instanceInfos) {
+                String zone = resolveZone(instanceInfo);
+                lastZoneId = zoneIds[i++] = zoneRegistry.getId(zone, lastZone, lastZoneId);
+                lastZone = zone;
+            }
+        }
+    }
+
+    private static String resolveZone(InstanceInfo instanceInfo) {
+        if (instanceInfo == null) {
+            return null;
+        }
+        Map<String, String> metadata = instanceInfo.getMetadata();
+        return metadata == null ? null : metadata.get(ZONE_PROPERTY_NAME);
+    }
 }
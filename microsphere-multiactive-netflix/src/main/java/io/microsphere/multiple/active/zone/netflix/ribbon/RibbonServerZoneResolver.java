@@ -17,8 +17,15 @@
 package io.microsphere.multiple.active.zone.netflix.ribbon;
 
 import com.netflix.loadbalancer.Server;
+import io.microsphere.multiple.active.zone.BulkZoneResolver;
+import io.microsphere.multiple.active.zone.ZoneRegistry;
 import io.microsphere.multiple.active.zone.ZoneResolver;
 
+import java.util.List;
+import java.util.RandomAccess;
+
+import static io.microsphere.multiple.active.zone.ZoneRegistry.UNKNOWN_ZONE_ID;
+
 /**
  * {@link ZoneResolver} based on Ribbon {@link Server}
  *
@@ -26,10 +33,35 @@ import io.microsphere.multiple.active.zone.ZoneResolver;
  * @see Server
  * @since ZoneResolver
  */
-public class RibbonServerZoneResolver<T extends Server> implements ZoneResolver<T> {
+public class RibbonServerZoneResolver<T extends Server> implements BulkZoneResolver<T> {
 
     @Override
     public String resolve(T server) {
         return server.getZone();
     }
+
+    @Override
+    public void resolveAll(List<T> servers, int[] zoneIds) {
+        ZoneRegistry zoneRegistry = ZoneRegistry.get();
+        String lastZone = null;
+        int lastZoneId = UNKNOWN_ZONE_ID;
+        if (servers instanceof RandomAccess) {
+            for (int i = 0, size = servers.size(); i < size; i++) {
+                String zone = resolveZone(servers.get(i));
+                lastZoneId = zoneIds[i] = zoneRegistry.getId(zone, lastZone, lastZoneId);
+                lastZone = zone;
+            }
+        } else {
+            int i = 0;
+            for (T server : servers) {
+                String zone = resolveZone(server);
+                lastZoneId = zoneIds[i++] = zoneRegistry.getId(zone, lastZone, lastZoneId);
+                lastZone = zone;
+            }
+        }
+    }
+
+    private static String resolveZone(Server server) {
+        return server == null ? null : server.getZone();
+    }
 }
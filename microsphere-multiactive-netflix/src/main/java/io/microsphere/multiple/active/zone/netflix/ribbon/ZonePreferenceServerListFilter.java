@@ -18,6 +18,7 @@ package io.microsphere.multiple.active.zone.netflix.ribbon;
 
 import com.netflix.loadbalancer.Server;
 import com.netflix.loadbalancer.ServerListFilter;
+import io.microsphere.multiple.active.zone.ZoneFilter;
 import io.microsphere.multiple.active.zone.ZonePreferenceFilter;
 
 import java.util.List;
@@ -26,15 +27,23 @@ import java.util.List;
  * {@link ZonePreferenceFilter} integrates {@link ServerListFilter}
  *
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see ZoneFilter
  * @see ZonePreferenceFilter
  * @see ServerListFilter
  * @since 1.0.0
  */
 public class ZonePreferenceServerListFilter<T extends Server> implements ServerListFilter<T> {
 
-    private ZonePreferenceFilter<T> filter;
+    private ZoneFilter<T> filter;
 
     public ZonePreferenceServerListFilter(ZonePreferenceFilter<T> filter) {
+        this((ZoneFilter<T>) filter);
+    }
+
+    /**
+     * @param filter the {@link ZoneFilter} filtering by the zone preference, e.g. the partitioned or caching one
+     */
+    public ZonePreferenceServerListFilter(ZoneFilter<T> filter) {
         this.filter = filter;
     }
 
@@ -17,9 +17,14 @@
 package io.microsphere.multiple.active.zone.netflix.spring.cloud.ribbon;
 
 import com.netflix.loadbalancer.Server;
+import io.microsphere.multiple.active.zone.ZoneRegistry;
+import io.microsphere.multiple.active.zone.spring.cloud.CloudServerZoneResolver;
 import org.springframework.cloud.client.ServiceInstance;
 
+import java.util.Objects;
+
 import static io.microsphere.multiple.active.zone.spring.cloud.CloudServerZoneResolver.INSTANCE;
+import static io.microsphere.multiple.active.zone.spring.cloud.CloudServerZoneResolver.resolveKey;
 
 /**
  * Ribbon {@link Server} based on Spring Cloud Commons {@link ServiceInstance}
@@ -34,15 +39,19 @@ public class DiscoveryClientServer extends Server {
 
     private final ServiceInstanceMetaInfo metaInfo;
 
+    private final String key;
+
     public DiscoveryClientServer(ServiceInstance serviceInstance) {
         super(serviceInstance.getScheme(), serviceInstance.getHost(), serviceInstance.getPort());
         this.serviceInstance = serviceInstance;
         this.metaInfo = new ServiceInstanceMetaInfo(serviceInstance);
+        this.key = resolveKey(serviceInstance);
         this.setZone(resolveZone(serviceInstance));
     }
 
     private String resolveZone(ServiceInstance serviceInstance) {
-        return INSTANCE.resolve(serviceInstance);
+        // The canonical zone is shared by all servers if it has been registered
+        return ZoneRegistry.get().intern(INSTANCE.resolve(serviceInstance));
     }
 
     @Override
@@ -50,6 +59,39 @@ public class DiscoveryClientServer extends Server {
         return serviceInstance.getInstanceId();
     }
 
+    /**
+     * @return the source {@link ServiceInstance}
+     */
+    public ServiceInstance getServiceInstance() {
+        return serviceInstance;
+    }
+
+    /**
+     * The non-null identity key of server, which is composed of the host, port and instance id because the instance
+     * id may be <code>null</code>
+     *
+     * @return non-null
+     * @see CloudServerZoneResolver#resolveKey(ServiceInstance)
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Whether this server could be reused for the specified {@link ServiceInstance}, the scheme and the metadata
+     * (including the zone) are compared as well, because some {@link ServiceInstance#equals(Object)}, e.g.
+     * <code>EurekaServiceInstance</code>, only compares the instance id.
+     *
+     * @param serviceInstance {@link ServiceInstance}
+     * @return <code>true</code> if the specified {@link ServiceInstance} is not changed
+     */
+    boolean isReusable(ServiceInstance serviceInstance) {
+        ServiceInstance source = this.serviceInstance;
+        return source == serviceInstance || (source.equals(serviceInstance)
+                && Objects.equals(source.getScheme(), serviceInstance.getScheme())
+                && Objects.equals(source.getMetadata(), serviceInstance.getMetadata()));
+    }
+
     @Override
     public MetaInfo getMetaInfo() {
         return metaInfo;
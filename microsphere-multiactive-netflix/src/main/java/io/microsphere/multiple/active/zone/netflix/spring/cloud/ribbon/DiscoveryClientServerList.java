@@ -17,16 +17,37 @@
 package io.microsphere.multiple.active.zone.netflix.spring.cloud.ribbon;
 
 import com.netflix.loadbalancer.ServerList;
+import io.microsphere.multiple.active.zone.ZoneContext;
+import io.microsphere.multiple.active.zone.ZoneFilter;
+import io.microsphere.multiple.active.zone.ZonePartitionedFilter;
+import io.microsphere.multiple.active.zone.ZonePartitionedIndex;
+import io.microsphere.multiple.active.zone.netflix.ribbon.RibbonServerZoneResolver;
+import io.microsphere.multiple.active.zone.netflix.ribbon.ZonePreferenceServerListFilter;
+import org.springframework.cloud.client.ServiceInstance;
 import org.springframework.cloud.client.discovery.DiscoveryClient;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+
+import static io.microsphere.multiple.active.zone.spring.cloud.CloudServerZoneResolver.resolveKey;
 
 /**
- * {@link ServerList} based on Spring Cloud {@link DiscoveryClient}
+ * {@link ServerList} based on Spring Cloud {@link DiscoveryClient}, the {@link DiscoveryClientServer servers} are
+ * created from the {@link ServiceInstance service instances} as they are, unless the {@link #getZoneFilter() zone filter}
+ * is requested, e.g. :
+ * <pre>{@code
+ * new ZonePreferenceServerListFilter<>(serverList.getZoneFilter())
+ * }</pre>
+ * since then the servers of the unchanged service instances are reused, and they are maintained incrementally in the
+ * {@link ZonePartitionedIndex} which the zone filter is based on. Neither the index nor the reuse costs anything if the
+ * zone filter is never requested.
  *
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
  * @see DiscoveryClientServer
+ * @see ZonePartitionedIndex
+ * @see ZonePreferenceServerListFilter
  * @see ServerList
  * @since DiscoveryClient
  */
@@ -36,9 +57,18 @@ public class DiscoveryClientServerList implements ServerList<DiscoveryClientServ
 
     private final String serviceName;
 
+    private final ZoneContext zoneContext;
+
+    private volatile ZonePartitionedFilter<DiscoveryClientServer> zonePartitionedFilter;
+
     public DiscoveryClientServerList(DiscoveryClient discoveryClient, String serviceName) {
+        this(discoveryClient, serviceName, ZoneContext.get());
+    }
+
+    public DiscoveryClientServerList(DiscoveryClient discoveryClient, String serviceName, ZoneContext zoneContext) {
         this.discoveryClient = discoveryClient;
         this.serviceName = serviceName;
+        this.zoneContext = zoneContext;
     }
 
     @Override
@@ -48,9 +78,71 @@ public class DiscoveryClientServerList implements ServerList<DiscoveryClientServ
 
     @Override
     public List<DiscoveryClientServer> getUpdatedListOfServers() {
-        return discoveryClient.getInstances(serviceName)
-                .stream()
-                .map(DiscoveryClientServer::new)
-                .collect(Collectors.toList());
+        List<ServiceInstance> serviceInstances = discoveryClient.getInstances(serviceName);
+        ZonePartitionedFilter<DiscoveryClientServer> zonePartitionedFilter = this.zonePartitionedFilter;
+        if (zonePartitionedFilter != null) {
+            return syncServers(zonePartitionedFilter, serviceInstances);
+        }
+        List<DiscoveryClientServer> servers = new ArrayList<>(serviceInstances.size());
+        for (ServiceInstance serviceInstance : serviceInstances) {
+            servers.add(new DiscoveryClientServer(serviceInstance));
+        }
+        return servers;
+    }
+
+    private List<DiscoveryClientServer> syncServers(ZonePartitionedFilter<DiscoveryClientServer> zonePartitionedFilter,
+                                                    List<ServiceInstance> serviceInstances) {
+        synchronized (zonePartitionedFilter) {
+            List<DiscoveryClientServer> previousServers = zonePartitionedFilter.getIndex().getEntities();
+            Map<String, DiscoveryClientServer> previousServersMap = new HashMap<>(previousServers.size() * 4 / 3 + 1);
+            for (DiscoveryClientServer server : previousServers) {
+                previousServersMap.put(server.getKey(), server);
+            }
+
+            List<DiscoveryClientServer> servers = new ArrayList<>(serviceInstances.size());
+            for (ServiceInstance serviceInstance : serviceInstances) {
+                DiscoveryClientServer server = previousServersMap.get(resolveKey(serviceInstance));
+                // The unchanged server is reused, thus its zone will not be resolved again
+                if (server == null || !server.isReusable(serviceInstance)) {
+                    server = new DiscoveryClientServer(serviceInstance);
+                }
+                servers.add(server);
+            }
+
+            zonePartitionedFilter.sync(servers);
+            return servers;
+        }
+    }
+
+    /**
+     * Get the {@link ZoneFilter} of the servers based on the {@link ZonePartitionedIndex}, which is created on the first
+     * request, and then maintained by {@link #getUpdatedListOfServers()}
+     *
+     * @return non-null
+     */
+    public ZoneFilter<DiscoveryClientServer> getZoneFilter() {
+        return getZonePartitionedFilter();
+    }
+
+    /**
+     * @return {@link ZonePartitionedIndex} of the servers, which is created with the {@link #getZoneFilter() zone filter}
+     */
+    public ZonePartitionedIndex<DiscoveryClientServer> getZonePartitionedIndex() {
+        return getZonePartitionedFilter().getIndex();
+    }
+
+    private ZonePartitionedFilter<DiscoveryClientServer> getZonePartitionedFilter() {
+        ZonePartitionedFilter<DiscoveryClientServer> zonePartitionedFilter = this.zonePartitionedFilter;
+        if (zonePartitionedFilter == null) {
+            synchronized (this) {
+                zonePartitionedFilter = this.zonePartitionedFilter;
+                if (zonePartitionedFilter == null) {
+                    zonePartitionedFilter = new ZonePartitionedFilter<>(zoneContext, new RibbonServerZoneResolver<>(),
+                            DiscoveryClientServer::getKey);
+                    this.zonePartitionedFilter = zonePartitionedFilter;
+                }
+            }
+        }
+        return zonePartitionedFilter;
     }
 }
@@ -0,0 +1,74 @@
+package io.microsphere.multiple.active.zone.netflix.eureka;
+
+import com.netflix.appinfo.InstanceInfo;
+import io.microsphere.multiple.active.zone.ZoneRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import static io.microsphere.multiple.active.zone.ZoneConstants.ZONE_PROPERTY_NAME;
+import static io.microsphere.multiple.active.zone.ZoneRegistry.UNKNOWN_ZONE_ID;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * {@link EurekaInstanceInfoZoneResolver} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see EurekaInstanceInfoZoneResolver
+ * @since 1.0.0
+ */
+class EurekaInstanceInfoZoneResolverTest {
+
+    private final EurekaInstanceInfoZoneResolver resolver = new EurekaInstanceInfoZoneResolver();
+
+    @Test
+    void testResolve() {
+        assertEquals("zone-a", resolver.resolve(newInstanceInfo(1, "zone-a")));
+        assertNull(resolver.resolve(newInstanceInfo(2, null)));
+    }
+
+    @Test
+    void testResolveAllSameAsResolveId() {
+        List<InstanceInfo> instanceInfos = new ArrayList<>();
+        instanceInfos.add(newInstanceInfo(1, "zone-a"));
+        instanceInfos.add(null);
+        instanceInfos.add(newInstanceInfo(2, "zone-unregistered"));
+        instanceInfos.add(newInstanceInfo(3, null));
+        instanceInfos.add(newInstanceInfo(4, "zone-b"));
+        instanceInfos.add(newInstanceInfo(5, "zone-b"));
+        ZoneRegistry.get().register("zone-a");
+        ZoneRegistry.get().register("zone-b");
+
+        int[] expected = new int[instanceInfos.size()];
+        for (int i = 0; i < expected.length; i++) {
+            InstanceInfo instanceInfo = instanceInfos.get(i);
+            expected[i] = instanceInfo == null ? UNKNOWN_ZONE_ID : resolver.resolveId(instanceInfo);
+        }
+
+        int[] zoneIds = new int[instanceInfos.size()];
+        resolver.resolveAll(instanceInfos, zoneIds);
+        assertArrayEquals(expected, zoneIds);
+
+        zoneIds = new int[instanceInfos.size()];
+        resolver.resolveAll(new LinkedList<>(instanceInfos), zoneIds);
+        assertArrayEquals(expected, zoneIds);
+    }
+
+    private static InstanceInfo newInstanceInfo(int index, String zone) {
+        Map<String, String> metadata = new HashMap<>();
+        if (zone != null) {
+            metadata.put(ZONE_PROPERTY_NAME, zone);
+        }
+        return InstanceInfo.Builder.newBuilder()
+                .setAppName("test")
+                .setInstanceId("test-" + index)
+                .setMetadata(metadata)
+                .build();
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.multiple.active.zone.netflix.ribbon;
+
+import com.netflix.loadbalancer.Server;
+import io.microsphere.multiple.active.zone.ZoneRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+import static io.microsphere.multiple.active.zone.ZoneRegistry.UNKNOWN_ZONE_ID;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * {@link RibbonServerZoneResolver} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RibbonServerZoneResolver
+ * @since 1.0.0
+ */
+class RibbonServerZoneResolverTest {
+
+    private final RibbonServerZoneResolver<Server> resolver = new RibbonServerZoneResolver<>();
+
+    @Test
+    void testResolve() {
+        assertEquals("zone-a", resolver.resolve(newServer(1, "zone-a")));
+        assertNull(resolver.resolve(newServer(2, null)));
+    }
+
+    @Test
+    void testResolveAllSameAsResolveId() {
+        List<Server> servers = new ArrayList<>();
+        servers.add(newServer(1, "zone-a"));
+        servers.add(null);
+        servers.add(newServer(2, "zone-unregistered"));
+        servers.add(newServer(3, null));
+        servers.add(newServer(4, "zone-b"));
+        servers.add(newServer(5, "zone-b"));
+        ZoneRegistry.get().register("zone-a");
+        ZoneRegistry.get().register("zone-b");
+
+        int[] expected = new int[servers.size()];
+        for (int i = 0; i < expected.length; i++) {
+            Server server = servers.get(i);
+            expected[i] = server == null ? UNKNOWN_ZONE_ID : resolver.resolveId(server);
+        }
+
+        int[] zoneIds = new int[servers.size()];
+        resolver.resolveAll(servers, zoneIds);
+        assertArrayEquals(expected, zoneIds);
+
+        zoneIds = new int[servers.size()];
+        resolver.resolveAll(new LinkedList<>(servers), zoneIds);
+        assertArrayEquals(expected, zoneIds);
+    }
+
+    private static Server newServer(int index, String zone) {
+        Server server = new Server("127.0.0.1", 8080 + index);
+        server.setZone(zone);
+        return server;
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.multiple.active.zone.netflix.spring.cloud.ribbon;
+
+import io.microsphere.multiple.active.zone.ZoneContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static io.microsphere.multiple.active.zone.ZoneConstants.ZONE_PROPERTY_NAME;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * {@link DiscoveryClientServerList} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see DiscoveryClientServerList
+ * @since 1.0.0
+ */
+class DiscoveryClientServerListTest {
+
+    private ZoneContext zoneContext;
+
+    private List<ServiceInstance> serviceInstances;
+
+    private DiscoveryClientServerList serverList;
+
+    @BeforeEach
+    void setUp() {
+        zoneContext = new ZoneContext();
+        zoneContext.setPreferenceEnabled(true);
+        zoneContext.setZone("zone-a");
+        zoneContext.setPreferenceUpstreamSameZoneMinAvailable(1);
+        serviceInstances = new ArrayList<>();
+        serverList = new DiscoveryClientServerList(new DiscoveryClient() {
+
+            @Override
+            public String description() {
+                return "test";
+            }
+
+            @Override
+            public List<ServiceInstance> getInstances(String serviceId) {
+                return serviceInstances;
+            }
+
+            @Override
+            public List<String> getServices() {
+                return Collections.singletonList("test");
+            }
+        }, "test", zoneContext);
+    }
+
+    @AfterEach
+    void tearDown() {
+        zoneContext.reset();
+    }
+
+    @Test
+    void testGetUpdatedListOfServersWithoutZoneFilter() {
+        ServiceInstance a1 = newServiceInstance("1", 1, "zone-a");
+        serviceInstances = Arrays.asList(a1, newServiceInstance("2", 2, "zone-b"));
+        List<DiscoveryClientServer> servers = serverList.getUpdatedListOfServers();
+        assertEquals(2, servers.size());
+        assertEquals("zone-a", servers.get(0).getZone());
+        assertEquals("127.0.0.1:8081#1", servers.get(0).getKey());
+
+        // The servers are not reused without the zone filter
+        assertNotSame(servers.get(0), serverList.getUpdatedListOfServers().get(0));
+    }
+
+    @Test
+    void testGetUpdatedListOfServersOnDeltas() {
+        ServiceInstance a1 = newServiceInstance("1", 1, "zone-a");
+        ServiceInstance b2 = newServiceInstance("2", 2, "zone-b");
+        serviceInstances = Arrays.asList(a1, b2);
+        serverList.getZoneFilter();
+        List<DiscoveryClientServer> servers = serverList.getUpdatedListOfServers();
+        assertEquals(2, servers.size());
+        assertEquals(1, filter(servers).size());
+
+        // Added : the servers of the unchanged instances are reused
+        ServiceInstance a3 = newServiceInstance("3", 3, "zone-a");
+        serviceInstances = Arrays.asList(a1, b2, a3);
+        List<DiscoveryClientServer> nextServers = serverList.getUpdatedListOfServers();
+        assertSame(servers.get(0), nextServers.get(0));
+        assertSame(servers.get(1), nextServers.get(1));
+        assertEquals(Arrays.asList(nextServers.get(0), nextServers.get(2)), filter(nextServers));
+
+        // Updated
+        ServiceInstance b1 = newServiceInstance("1", 1, "zone-b");
+        serviceInstances = Arrays.asList(b1, b2, a3);
+        servers = nextServers;
+        nextServers = serverList.getUpdatedListOfServers();
+        assertNotSame(servers.get(0), nextServers.get(0));
+        assertEquals("zone-b", nextServers.get(0).getZone());
+        assertEquals(Arrays.asList(nextServers.get(2)), filter(nextServers));
+        assertEquals(2, serverList.getZonePartitionedIndex().size("zone-b"));
+
+        // Removed
+        serviceInstances = Arrays.asList(b1, b2);
+        nextServers = serverList.getUpdatedListOfServers();
+        assertEquals(nextServers, filter(nextServers));
+        assertEquals(2, serverList.getZonePartitionedIndex().size());
+        assertEquals(0, serverList.getZonePartitionedIndex().size("zone-a"));
+    }
+
+    @Test
+    void testGetUpdatedListOfServersWithoutInstanceId() {
+        serviceInstances = Arrays.asList(newServiceInstance(null, 1, "zone-a"), newServiceInstance(null, 2, "zone-a"),
+                newServiceInstance(null, 3, "zone-b"));
+        serverList.getZoneFilter();
+        List<DiscoveryClientServer> servers = serverList.getInitialListOfServers();
+        assertEquals(3, serverList.getZonePartitionedIndex().size());
+        assertEquals(Arrays.asList(servers.get(0), servers.get(1)), filter(servers));
+    }
+
+    @Test
+    void testGetUpdatedListOfServersOnZoneChangedWithSameInstanceId() {
+        ServiceInstance a1 = new InstanceIdServiceInstance(newServiceInstance("1", 1, "zone-a"));
+        ServiceInstance b2 = newServiceInstance("2", 2, "zone-b");
+        serviceInstances = Arrays.asList(a1, b2);
+        serverList.getZoneFilter();
+        List<DiscoveryClientServer> servers = serverList.getUpdatedListOfServers();
+
+        // Equal by the instance id only, but the zone is changed
+        ServiceInstance b1 = new InstanceIdServiceInstance(newServiceInstance("1", 1, "zone-b"));
+        assertEquals(a1, b1);
+        serviceInstances = Arrays.asList(b1, b2);
+        List<DiscoveryClientServer> nextServers = serverList.getUpdatedListOfServers();
+        assertNotSame(servers.get(0), nextServers.get(0));
+        assertEquals("zone-b", nextServers.get(0).getZone());
+        assertEquals(2, serverList.getZonePartitionedIndex().size("zone-b"));
+    }
+
+    private List<DiscoveryClientServer> filter(List<DiscoveryClientServer> servers) {
+        return serverList.getZoneFilter().filter(servers);
+    }
+
+    private static ServiceInstance newServiceInstance(String instanceId, int index, String zone) {
+        Map<String, String> metadata = new HashMap<>();
+        metadata.put(ZONE_PROPERTY_NAME, zone);
+        return new DefaultServiceInstance(instanceId, "test", "127.0.0.1", 8080 + index, false, metadata);
+    }
+
+    /**
+     * The {@link ServiceInstance} is equal by the instance id only, e.g. <code>EurekaServiceInstance</code>
+     */
+    private static class InstanceIdServiceInstance extends DefaultServiceInstance {
+
+        private InstanceIdServiceInstance(ServiceInstance serviceInstance) {
+            super(serviceInstance.getInstanceId(), serviceInstance.getServiceId(), serviceInstance.getHost(),
+                    serviceInstance.getPort(), serviceInstance.isSecure(), serviceInstance.getMetadata());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof ServiceInstance && Objects.equals(getInstanceId(), ((ServiceInstance) o).getInstanceId());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(getInstanceId());
+        }
+    }
+}
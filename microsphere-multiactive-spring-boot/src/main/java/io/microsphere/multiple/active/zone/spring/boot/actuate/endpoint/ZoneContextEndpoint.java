@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.multiple.active.zone.spring.boot.actuate.endpoint;
+
+import io.microsphere.multiple.active.zone.ZoneContext;
+import io.microsphere.multiple.active.zone.ZoneContextSnapshot;
+import io.microsphere.multiple.active.zone.spring.event.ZoneContextChangedEvent;
+import io.microsphere.multiple.active.zone.spring.event.ZoneContextChangedListener;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.core.env.Environment;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import java.beans.PropertyChangeEvent;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.microsphere.multiple.active.zone.ZoneConstants.ORIGINAL_ZONE;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * The actuator {@link Endpoint} to read the live {@link ZoneContext}, and to change it in place without refreshing the
+ * {@link Environment}, e.g. draining a zone in milliseconds by the disabled zones.
+ * <p>
+ * The changes are applied in one transaction by {@link ZoneContextChangedListener#updateZoneContext}, which publishes
+ * the {@link ZoneContextChangedEvent} as the {@link Environment} changes do. They will be overridden if the keys of
+ * the same properties are changed in the {@link Environment} later.
+ * <p>
+ * Because the write operation changes the routing of the outgoing calls, the endpoint is not registered by default. It
+ * must be enabled explicitly by {@link #ACCESS_PROPERTY_NAME "management.endpoint.zone.access"} since Spring Boot 3.4,
+ * e.g. "unrestricted", or "read-only" for the read operation only, or by {@link #ENABLED_PROPERTY_NAME
+ * "management.endpoint.zone.enabled=true"} before Spring Boot 3.4, which is deprecated since then. Like the other
+ * actuator endpoints, it's not exposed over HTTP or JMX unless "management.endpoints.web.exposure.include" or
+ * "management.endpoints.jmx.exposure.include" contains {@link #ENDPOINT_ID "zone"}, and the write operation should
+ * be secured by Spring Security if exposed over HTTP.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ZoneContext
+ * @see ZoneContextChangedListener
+ * @since 1.0.0
+ */
+@Endpoint(id = ZoneContextEndpoint.ENDPOINT_ID)
+public class ZoneContextEndpoint {
+
+    public static final String ENDPOINT_ID = "zone";
+
+    /**
+     * The property name to enable the endpoint before Spring Boot 3.4 : "management.endpoint.zone.enabled"
+     */
+    public static final String ENABLED_PROPERTY_NAME = "management.endpoint." + ENDPOINT_ID + ".enabled";
+
+    /**
+     * The property name of the endpoint access since Spring Boot 3.4 : "management.endpoint.zone.access"
+     */
+    public static final String ACCESS_PROPERTY_NAME = "management.endpoint." + ENDPOINT_ID + ".access";
+
+    private final ZoneContext zoneContext;
+
+    private final ZoneContextChangedListener zoneContextChangedListener;
+
+    public ZoneContextEndpoint(ZoneContext zoneContext, ZoneContextChangedListener zoneContextChangedListener) {
+        Assert.notNull(zoneContext, "The argument 'zoneContext' must not be null!");
+        Assert.notNull(zoneContextChangedListener, "The argument 'zoneContextChangedListener' must not be null!");
+        this.zoneContext = zoneContext;
+        this.zoneContextChangedListener = zoneContextChangedListener;
+    }
+
+    /**
+     * @return the properties of current {@link ZoneContextSnapshot}
+     */
+    @ReadOperation
+    public Map<String, Object> zoneContext() {
+        ZoneContextSnapshot snapshot = zoneContext.getSnapshot();
+        Map<String, Object> zoneContext = new LinkedHashMap<>(16);
+        zoneContext.put("version", snapshot.getVersion());
+        zoneContext.put("enabled", snapshot.isEnabled());
+        zoneContext.put("zone", snapshot.getZone());
+        zoneContext.put("zoneProvisional", this.zoneContext.isZoneProvisional());
+        zoneContext.put("preferenceEnabled", snapshot.isPreferenceEnabled());
+        zoneContext.put("preferenceFilterOrder", snapshot.getPreferenceFilterOrder());
+        zoneContext.put("preferenceFilterParallelThreshold", snapshot.getPreferenceFilterParallelThreshold());
+        zoneContext.put("preferenceUpstreamZoneReadyPercentage", snapshot.getPreferenceUpstreamZoneReadyPercentage());
+        zoneContext.put("preferenceUpstreamSameZoneMinAvailable", snapshot.getPreferenceUpstreamSameZoneMinAvailable());
+        zoneContext.put("preferenceUpstreamDisabledZones", snapshot.getPreferenceUpstreamDisabledZones());
+        return zoneContext;
+    }
+
+    /**
+     * Change the {@link ZoneContext} in one transaction, the absent arguments are not changed.
+     *
+     * @param zone              the zone, "{@value io.microsphere.multiple.active.zone.ZoneConstants#ORIGINAL_ZONE}" is
+     *                          not supported, which requires the zone locators
+     * @param enabled           Zone context enabled or not
+     * @param preferenceEnabled Zone preference enabled or not
+     * @param disabledZones     the comma-delimited disabled zones of upstream servers(nodes) for zone-preference, the
+     *                          blank value clears them
+     * @return the properties of the changed {@link ZoneContextSnapshot}
+     * @throws InvalidEndpointRequestException if any argument is invalid
+     */
+    @WriteOperation
+    public Map<String, Object> changeZoneContext(@Nullable String zone, @Nullable Boolean enabled,
+                                                 @Nullable Boolean preferenceEnabled, @Nullable String disabledZones) {
+        if (zone != null && (!StringUtils.hasText(zone) || ORIGINAL_ZONE.equalsIgnoreCase(zone.trim()))) {
+            String message = "The 'zone' must have text and must not be '" + ORIGINAL_ZONE + "' : " + zone;
+            throw new InvalidEndpointRequestException(message, message);
+        }
+        List<PropertyChangeEvent> propertyChangeEvents;
+        try {
+            propertyChangeEvents = zoneContextChangedListener.updateZoneContext(mutator -> {
+                if (zone != null) {
+                    mutator.setZone(zone);
+                }
+                if (enabled != null) {
+                    mutator.setEnabled(enabled);
+                }
+                if (preferenceEnabled != null) {
+                    mutator.setPreferenceEnabled(preferenceEnabled);
+                }
+                if (disabledZones != null) {
+                    mutator.setPreferenceUpstreamDisabledZone(StringUtils.hasText(disabledZones) ? disabledZones : null);
+                }
+            });
+        } catch (IllegalArgumentException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+        }
+        Map<String, Object> zoneContext = zoneContext();
+        zoneContext.put("changedProperties", propertyChangeEvents.stream().map(PropertyChangeEvent::getPropertyName).collect(toList()));
+        return zoneContext;
+    }
+}
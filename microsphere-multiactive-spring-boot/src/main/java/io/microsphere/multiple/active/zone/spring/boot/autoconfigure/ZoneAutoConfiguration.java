@@ -1,11 +1,26 @@
 package io.microsphere.multiple.active.zone.spring.boot.autoconfigure;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import io.microsphere.multiple.active.zone.ZoneContext;
+import io.microsphere.multiple.active.zone.spring.CachingZoneLocator;
 import io.microsphere.multiple.active.zone.spring.CompositeZoneLocator;
 import io.microsphere.multiple.active.zone.spring.ZoneLocator;
+import io.microsphere.multiple.active.zone.spring.ZoneLocatorListener;
+import io.microsphere.multiple.active.zone.spring.ZoneRelocationScheduler;
+import io.microsphere.multiple.active.zone.spring.boot.actuate.endpoint.ZoneContextEndpoint;
 import io.microsphere.multiple.active.zone.spring.boot.condition.ConditionalOnAvailabilityZoneAvailable;
+import io.microsphere.multiple.active.zone.spring.boot.condition.ConditionalOnZoneEndpointEnabled;
+import io.microsphere.multiple.active.zone.spring.boot.metrics.ZoneLocatorMetrics;
 import io.microsphere.multiple.active.zone.spring.event.ZoneContextChangedListener;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -16,10 +31,14 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
+import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_LOCATOR_CACHE_ENABLED;
+import static io.microsphere.multiple.active.zone.ZoneConstants.LOCATOR_CACHE_ENABLED_PROPERTY_NAME;
+import static io.microsphere.multiple.active.zone.ZoneConstants.LOCATOR_REFRESH_ENABLED_PROPERTY_NAME;
 import static io.microsphere.multiple.active.zone.ZoneContext.get;
 import static io.microsphere.multiple.active.zone.spring.ZoneUtils.ZONE_CONTEXT_BEAN_NAME;
 import static io.microsphere.multiple.active.zone.spring.ZoneUtils.ZONE_LOCATOR_BEAN_NAME;
-import static io.microsphere.spring.core.io.support.SpringFactoriesLoaderUtils.loadFactories;
+import static io.microsphere.multiple.active.zone.spring.ZoneUtils.loadZoneLocators;
+import static java.util.stream.Collectors.toList;
 import static org.springframework.core.annotation.AnnotationAwareOrderComparator.sort;
 
 /**
@@ -30,6 +49,10 @@ import static org.springframework.core.annotation.AnnotationAwareOrderComparator
  */
 @Configuration(proxyBeanMethods = false)
 @ConditionalOnAvailabilityZoneAvailable
+@AutoConfigureAfter(name = {
+        "org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration",
+        "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration"
+})
 @Import(value = {ZoneContextChangedListener.class})
 public class ZoneAutoConfiguration {
 
@@ -42,9 +65,14 @@ public class ZoneAutoConfiguration {
     @Primary
     @Bean(name = ZONE_LOCATOR_BEAN_NAME)
     @ConditionalOnMissingBean
-    public CompositeZoneLocator zoneLocator(Collection<ZoneLocator> zoneLocatorBeans, ConfigurableApplicationContext context) {
-        // Load from Spring Factories
-        List<ZoneLocator> zoneLocators = loadFactories(context, ZoneLocator.class);
+    public CompositeZoneLocator zoneLocator(Collection<ZoneLocator> zoneLocatorBeans,
+                                            ObjectProvider<ZoneLocatorListener> zoneLocatorListeners,
+                                            ZoneContext zoneContext,
+                                            ConfigurableApplicationContext context) {
+        // Load from Spring Factories, which will be instantiated and initialized on demand
+        AutowireCapableBeanFactory beanFactory = context.getAutowireCapableBeanFactory();
+        List<ZoneLocator> zoneLocators = loadZoneLocators(context.getClassLoader(),
+                type -> (ZoneLocator) beanFactory.initializeBean(BeanUtils.instantiateClass(type), type.getName()));
         List<ZoneLocator> allZoneLocators = new ArrayList<>(zoneLocatorBeans.size() + zoneLocators.size());
         // Add ZoneLocator Spring Beans
         allZoneLocators.addAll(zoneLocatorBeans);
@@ -52,6 +80,44 @@ public class ZoneAutoConfiguration {
         allZoneLocators.addAll(zoneLocators);
         // Sort by the order
         sort(allZoneLocators);
-        return new CompositeZoneLocator(allZoneLocators);
+        boolean cacheEnabled = context.getEnvironment().getProperty(LOCATOR_CACHE_ENABLED_PROPERTY_NAME, boolean.class,
+                DEFAULT_LOCATOR_CACHE_ENABLED);
+        CompositeZoneLocator zoneLocator = cacheEnabled ? new CachingZoneLocator(allZoneLocators, null, zoneContext) :
+                new CompositeZoneLocator(allZoneLocators);
+        zoneLocator.setZoneLocatorListeners(zoneLocatorListeners.orderedStream().collect(toList()));
+        return zoneLocator;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = LOCATOR_REFRESH_ENABLED_PROPERTY_NAME, havingValue = "true")
+    public ZoneRelocationScheduler zoneRelocationScheduler(CompositeZoneLocator zoneLocator, ZoneContext zoneContext) {
+        return new ZoneRelocationScheduler(zoneLocator, zoneContext);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+    static class ZoneLocatorMetricsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnBean(MeterRegistry.class)
+        public ZoneLocatorMetrics zoneLocatorMetrics(MeterRegistry meterRegistry) {
+            return new ZoneLocatorMetrics(meterRegistry);
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "org.springframework.boot.actuate.endpoint.annotation.Endpoint")
+    static class ZoneContextEndpointConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnZoneEndpointEnabled
+        @ConditionalOnAvailableEndpoint(endpoint = ZoneContextEndpoint.class)
+        public ZoneContextEndpoint zoneContextEndpoint(ZoneContext zoneContext,
+                                                       ZoneContextChangedListener zoneContextChangedListener) {
+            return new ZoneContextEndpoint(zoneContext, zoneContextChangedListener);
+        }
     }
 }
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.multiple.active.zone.spring.boot.condition;
+
+import io.microsphere.multiple.active.zone.spring.boot.actuate.endpoint.ZoneContextEndpoint;
+import org.springframework.context.annotation.Conditional;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * {@link Conditional @Conditional} that checks if the {@link ZoneContextEndpoint} is enabled explicitly by either
+ * {@link ZoneContextEndpoint#ACCESS_PROPERTY_NAME "management.endpoint.zone.access"} since Spring Boot 3.4 or
+ * {@link ZoneContextEndpoint#ENABLED_PROPERTY_NAME "management.endpoint.zone.enabled=true"} before, thus the endpoint
+ * is disabled by default without the deprecated attribute "enableByDefault" of the endpoint.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ZoneContextEndpoint
+ * @see Conditional
+ * @since 1.0.0
+ */
+@Retention(RUNTIME)
+@Target({TYPE, METHOD})
+@Documented
+@Conditional(OnZoneEndpointEnabledCondition.class)
+public @interface ConditionalOnZoneEndpointEnabled {
+}
@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.multiple.active.zone.spring.boot.condition;
+
+import org.springframework.boot.autoconfigure.condition.AnyNestedCondition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+
+import static io.microsphere.multiple.active.zone.spring.boot.actuate.endpoint.ZoneContextEndpoint.ACCESS_PROPERTY_NAME;
+import static io.microsphere.multiple.active.zone.spring.boot.actuate.endpoint.ZoneContextEndpoint.ENABLED_PROPERTY_NAME;
+
+/**
+ * The condition of {@link ConditionalOnZoneEndpointEnabled}
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ConditionalOnZoneEndpointEnabled
+ * @since 1.0.0
+ */
+class OnZoneEndpointEnabledCondition extends AnyNestedCondition {
+
+    OnZoneEndpointEnabledCondition() {
+        super(ConfigurationPhase.REGISTER_BEAN);
+    }
+
+    @ConditionalOnProperty(name = ACCESS_PROPERTY_NAME)
+    static class OnAccess {
+    }
+
+    @ConditionalOnProperty(name = ENABLED_PROPERTY_NAME, havingValue = "true")
+    static class OnEnabled {
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.multiple.active.zone.spring.boot.context;
+
+import io.microsphere.logging.Logger;
+import io.microsphere.multiple.active.zone.ZoneContext;
+import io.microsphere.multiple.active.zone.spring.CachingZoneLocator;
+import io.microsphere.multiple.active.zone.spring.CompositeZoneLocator;
+import io.microsphere.multiple.active.zone.spring.ZoneLocationBootstrap;
+import io.microsphere.multiple.active.zone.spring.ZoneLocator;
+import io.microsphere.multiple.active.zone.spring.ZoneLocatorListener;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.DefaultSingletonBeanRegistry;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static io.microsphere.logging.LoggerFactory.getLogger;
+import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_LOCATOR_ASYNC_ENABLED;
+import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_LOCATOR_ASYNC_TIMEOUT;
+import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_LOCATOR_CACHE_ENABLED;
+import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_ZONE_ENABLED;
+import static io.microsphere.multiple.active.zone.ZoneConstants.LOCATOR_ASYNC_ENABLED_PROPERTY_NAME;
+import static io.microsphere.multiple.active.zone.ZoneConstants.LOCATOR_ASYNC_TIMEOUT_PROPERTY_NAME;
+import static io.microsphere.multiple.active.zone.ZoneConstants.LOCATOR_CACHE_ENABLED_PROPERTY_NAME;
+import static io.microsphere.multiple.active.zone.ZoneConstants.ORIGINAL_ZONE;
+import static io.microsphere.multiple.active.zone.ZoneConstants.ZONE_ENABLED_PROPERTY_NAME;
+import static io.microsphere.multiple.active.zone.ZoneConstants.ZONE_PROPERTY_NAME;
+import static io.microsphere.multiple.active.zone.spring.ZoneUtils.ZONE_LOCATION_BOOTSTRAP_BEAN_NAME;
+import static io.microsphere.multiple.active.zone.spring.ZoneUtils.loadZoneLocators;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * The {@link ApplicationContextInitializer} starts to locate the zone asynchronously by the {@link ZoneLocator
+ * ZoneLocators} from Spring Factories as soon as the {@link ConfigurableEnvironment Environment} is ready, which runs
+ * in parallel with the beans' creation if
+ * {@link io.microsphere.multiple.active.zone.ZoneConstants#LOCATOR_ASYNC_ENABLED_PROPERTY_NAME async} is enabled.
+ * <p>
+ * The {@link ZoneLocationBootstrap} will be registered as a singleton, and the {@link ZoneLocator} beans are not
+ * involved because they are not available yet. The {@link ZoneLocator ZoneLocators} from Spring Factories are
+ * initialized by the {@link ConfigurableListableBeanFactory BeanFactory} as same as the synchronous way, and the
+ * invocations of them are recorded until the {@link ZoneLocatorListener} beans are available, which will be replayed
+ * to those beans when the context is refreshed.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ZoneLocationBootstrap
+ * @since 1.0.0
+ */
+public class AsyncZoneLocationInitializer implements ApplicationContextInitializer<ConfigurableApplicationContext>, Ordered {
+
+    private static final Logger logger = getLogger(AsyncZoneLocationInitializer.class);
+
+    @Override
+    public void initialize(ConfigurableApplicationContext context) {
+        ConfigurableEnvironment environment = context.getEnvironment();
+        if (!isAsyncEnabled(environment)) {
+            return;
+        }
+
+        String zone = environment.getProperty(ZONE_PROPERTY_NAME, ORIGINAL_ZONE);
+        if (!ORIGINAL_ZONE.equalsIgnoreCase(zone)) {
+            logger.trace("The zone ['{}'] is configured by the property [name : '{}'], no need to locate", zone, ZONE_PROPERTY_NAME);
+            return;
+        }
+
+        ConfigurableListableBeanFactory beanFactory = context.getBeanFactory();
+        if (beanFactory.containsSingleton(ZONE_LOCATION_BOOTSTRAP_BEAN_NAME)) {
+            return;
+        }
+
+        List<ZoneLocator> zoneLocators = loadZoneLocators(context.getClassLoader(),
+                type -> initializeZoneLocator(type, beanFactory, environment));
+        boolean cacheEnabled = environment.getProperty(LOCATOR_CACHE_ENABLED_PROPERTY_NAME, boolean.class, DEFAULT_LOCATOR_CACHE_ENABLED);
+        ZoneContext zoneContext = ZoneContext.get();
+        // The zone corrected by the refresh of cache is published through ZoneLocationBootstrap#whenLocated rather than
+        // the context, which can't publish any event until it's refreshed
+        CompositeZoneLocator zoneLocator = cacheEnabled ? new CachingZoneLocator(zoneLocators, null, zoneContext) :
+                new CompositeZoneLocator(zoneLocators);
+        ZoneLocatorListenerRecorder zoneLocatorListenerRecorder = new ZoneLocatorListenerRecorder(context);
+        zoneLocator.setZoneLocatorListeners(singletonList(zoneLocatorListenerRecorder));
+        zoneLocator.setApplicationStartup(context.getApplicationStartup());
+        context.addApplicationListener(zoneLocatorListenerRecorder);
+        ZoneLocationBootstrap zoneLocationBootstrap = new ZoneLocationBootstrap(zoneLocator, zoneContext);
+        beanFactory.registerSingleton(ZONE_LOCATION_BOOTSTRAP_BEAN_NAME, zoneLocationBootstrap);
+        // The manual singleton is not destroyed by the BeanFactory unless it's registered as the disposable bean
+        if (beanFactory instanceof DefaultSingletonBeanRegistry) {
+            ((DefaultSingletonBeanRegistry) beanFactory).registerDisposableBean(ZONE_LOCATION_BOOTSTRAP_BEAN_NAME,
+                    zoneLocationBootstrap);
+        }
+        int timeout = environment.getProperty(LOCATOR_ASYNC_TIMEOUT_PROPERTY_NAME, int.class, DEFAULT_LOCATOR_ASYNC_TIMEOUT);
+        zoneLocationBootstrap.start(environment, timeout);
+    }
+
+    private ZoneLocator initializeZoneLocator(Class<? extends ZoneLocator> type, ConfigurableListableBeanFactory beanFactory,
+                                              ConfigurableEnvironment environment) {
+        ZoneLocator zoneLocator = BeanUtils.instantiateClass(type);
+        // The EnvironmentAware is not processed by the BeanFactory until the context is refreshed
+        if (zoneLocator instanceof EnvironmentAware) {
+            ((EnvironmentAware) zoneLocator).setEnvironment(environment);
+        }
+        return (ZoneLocator) beanFactory.initializeBean(zoneLocator, type.getName());
+    }
+
+    private boolean isAsyncEnabled(ConfigurableEnvironment environment) {
+        return environment.getProperty(ZONE_ENABLED_PROPERTY_NAME, boolean.class, DEFAULT_ZONE_ENABLED) &&
+                environment.getProperty(LOCATOR_ASYNC_ENABLED_PROPERTY_NAME, boolean.class, DEFAULT_LOCATOR_ASYNC_ENABLED);
+    }
+
+    @Override
+    public int getOrder() {
+        return HIGHEST_PRECEDENCE;
+    }
+
+    /**
+     * The {@link ZoneLocatorListener} records the invocations until the context is refreshed, and then replays them to
+     * the {@link ZoneLocatorListener} beans, which the subsequent invocations are delegated to.
+     */
+    static class ZoneLocatorListenerRecorder implements ZoneLocatorListener, ApplicationListener<ContextRefreshedEvent> {
+
+        private final ConfigurableApplicationContext context;
+
+        private List<Consumer<ZoneLocatorListener>> records = new ArrayList<>();
+
+        private volatile List<ZoneLocatorListener> zoneLocatorListeners;
+
+        ZoneLocatorListenerRecorder(ConfigurableApplicationContext context) {
+            this.context = context;
+        }
+
+        @Override
+        public void onInvoked(ZoneLocator zoneLocator, String locatorName, Operation operation, Outcome outcome, long duration) {
+            dispatch(listener -> listener.onInvoked(zoneLocator, locatorName, operation, outcome, duration));
+        }
+
+        @Override
+        public void onLocated(String zone, Outcome outcome, long duration) {
+            dispatch(listener -> listener.onLocated(zone, outcome, duration));
+        }
+
+        @Override
+        public void onApplicationEvent(ContextRefreshedEvent event) {
+            if (event.getApplicationContext() != context || zoneLocatorListeners != null) {
+                return;
+            }
+            List<ZoneLocatorListener> zoneLocatorListeners = context.getBeanProvider(ZoneLocatorListener.class)
+                    .orderedStream().collect(toList());
+            // The records are replayed before the listeners are published, the ones recorded during the replay are
+            // replayed in the next round, thus the subsequent invocations never overtake the recorded ones
+            while (true) {
+                List<Consumer<ZoneLocatorListener>> records;
+                synchronized (this) {
+                    if (this.zoneLocatorListeners != null) {
+                        return;
+                    }
+                    records = this.records;
+                    if (records.isEmpty()) {
+                        this.records = null;
+                        this.zoneLocatorListeners = zoneLocatorListeners;
+                        return;
+                    }
+                    this.records = new ArrayList<>();
+                }
+                records.forEach(record -> dispatch(zoneLocatorListeners, record));
+            }
+        }
+
+        private void dispatch(Consumer<ZoneLocatorListener> record) {
+            List<ZoneLocatorListener> zoneLocatorListeners = this.zoneLocatorListeners;
+            if (zoneLocatorListeners == null) {
+                synchronized (this) {
+                    zoneLocatorListeners = this.zoneLocatorListeners;
+                    if (zoneLocatorListeners == null) {
+                        records.add(record);
+                        return;
+                    }
+                }
+            }
+            dispatch(zoneLocatorListeners, record);
+        }
+
+        private void dispatch(List<ZoneLocatorListener> zoneLocatorListeners, Consumer<ZoneLocatorListener> record) {
+            for (ZoneLocatorListener zoneLocatorListener : zoneLocatorListeners) {
+                try {
+                    record.accept(zoneLocatorListener);
+                } catch (Throwable e) {
+                    logger.error("{} failed on the zone location", zoneLocatorListener, e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.multiple.active.zone.spring.boot.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import io.microsphere.multiple.active.zone.spring.CompositeZoneLocator;
+import io.microsphere.multiple.active.zone.spring.ZoneLocator;
+import io.microsphere.multiple.active.zone.spring.ZoneLocatorListener;
+import org.springframework.util.Assert;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * The {@link ZoneLocatorListener} records the Micrometer metrics of zone location :
+ * <ul>
+ *     <li>{@link Timer} {@link #LOCATOR_METRIC_NAME "microsphere.zone.locator"} : the invocations of each
+ *     {@link ZoneLocator} tagged with the locator name, the operation and the outcome</li>
+ *     <li>{@link TimeGauge} {@link #LOCATE_DURATION_METRIC_NAME "microsphere.zone.locate.duration"} : the total time
+ *     to locate the zone at startup</li>
+ * </ul>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see CompositeZoneLocator#setZoneLocatorListeners(java.util.List)
+ * @since 1.0.0
+ */
+public class ZoneLocatorMetrics implements ZoneLocatorListener {
+
+    public static final String LOCATOR_METRIC_NAME = "microsphere.zone.locator";
+
+    public static final String LOCATE_DURATION_METRIC_NAME = "microsphere.zone.locate.duration";
+
+    public static final String LOCATOR_TAG_NAME = "locator";
+
+    public static final String OPERATION_TAG_NAME = "operation";
+
+    public static final String OUTCOME_TAG_NAME = "outcome";
+
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicLong locateDuration = new AtomicLong();
+
+    public ZoneLocatorMetrics(MeterRegistry meterRegistry) {
+        Assert.notNull(meterRegistry, "The argument 'meterRegistry' must not be null!");
+        this.meterRegistry = meterRegistry;
+        TimeGauge.builder(LOCATE_DURATION_METRIC_NAME, locateDuration, NANOSECONDS, AtomicLong::doubleValue)
+                .description("The total time to locate the zone at startup")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void onInvoked(ZoneLocator zoneLocator, String locatorName, Operation operation, Outcome outcome, long duration) {
+        Timer.builder(LOCATOR_METRIC_NAME)
+                .description("The time of ZoneLocator invocations")
+                .tag(LOCATOR_TAG_NAME, locatorName)
+                .tag(OPERATION_TAG_NAME, operation.getValue())
+                .tag(OUTCOME_TAG_NAME, outcome.getValue())
+                .register(meterRegistry)
+                .record(duration, NANOSECONDS);
+    }
+
+    @Override
+    public void onLocated(String zone, Outcome outcome, long duration) {
+        locateDuration.set(duration);
+    }
+
+    @Override
+    public String toString() {
+        return "ZoneLocatorMetrics{" + "meterRegistry=" + meterRegistry + ", locateDuration=" + locateDuration + '}';
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.multiple.active.zone.spring.boot.actuate.endpoint;
+
+import io.microsphere.multiple.active.zone.ZoneContext;
+import io.microsphere.multiple.active.zone.ZoneContextMutator;
+import io.microsphere.multiple.active.zone.spring.CompositeZoneLocator;
+import io.microsphere.multiple.active.zone.spring.DefaultZoneLocator;
+import io.microsphere.multiple.active.zone.spring.event.ZoneContextChangedEvent;
+import io.microsphere.multiple.active.zone.spring.event.ZoneContextChangedListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.beans.PropertyChangeEvent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_ZONE;
+import static io.microsphere.multiple.active.zone.ZoneConstants.ORIGINAL_ZONE;
+import static io.microsphere.multiple.active.zone.spring.ZoneUtils.ZONE_CONTEXT_BEAN_NAME;
+import static io.microsphere.multiple.active.zone.spring.ZoneUtils.ZONE_LOCATOR_BEAN_NAME;
+import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link ZoneContextEndpoint} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see ZoneContextEndpoint
+ * @since 1.0.0
+ */
+class ZoneContextEndpointTest {
+
+    private final List<ZoneContextChangedEvent> events = new ArrayList<>();
+
+    private ZoneContext zoneContext;
+
+    private GenericApplicationContext context;
+
+    private ZoneContextEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        zoneContext = ZoneContext.get();
+        zoneContext.reset();
+        context = new GenericApplicationContext();
+        context.getBeanFactory().registerSingleton(ZONE_CONTEXT_BEAN_NAME, zoneContext);
+        context.getBeanFactory().registerSingleton(ZONE_LOCATOR_BEAN_NAME,
+                new CompositeZoneLocator(Collections.singletonList(new DefaultZoneLocator())));
+        context.addApplicationListener(event -> {
+            if (event instanceof ZoneContextChangedEvent) {
+                events.add((ZoneContextChangedEvent) event);
+            }
+        });
+        context.refresh();
+        ZoneContextChangedListener listener = new ZoneContextChangedListener();
+        listener.setEnvironment(context.getEnvironment());
+        listener.setApplicationContext(context);
+        endpoint = new ZoneContextEndpoint(zoneContext, listener);
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+        zoneContext.reset();
+    }
+
+    @Test
+    void testZoneContext() {
+        Map<String, Object> result = endpoint.zoneContext();
+        assertEquals(zoneContext.getVersion(), result.get("version"));
+        assertEquals(DEFAULT_ZONE, result.get("zone"));
+        assertEquals(zoneContext.isEnabled(), result.get("enabled"));
+        assertEquals(false, result.get("zoneProvisional"));
+        assertEquals(zoneContext.isPreferenceEnabled(), result.get("preferenceEnabled"));
+        assertEquals(Collections.emptySet(), result.get("preferenceUpstreamDisabledZones"));
+    }
+
+    @Test
+    void testChangeZoneContext() {
+        long version = zoneContext.getVersion();
+        Map<String, Object> result = endpoint.changeZoneContext(null, null, true, "zone-b, zone-c");
+
+        assertEquals(version + 1, zoneContext.getVersion());
+        assertTrue(zoneContext.isPreferenceEnabled());
+        assertEquals("zone-b,zone-c", zoneContext.getPreferenceUpstreamDisabledZone());
+        assertEquals(Arrays.asList("preferenceEnabled", "preferenceUpstreamDisabledZone"), result.get("changedProperties"));
+        assertEquals(1, events.size());
+        assertEquals(2, events.get(0).getPropertyChangeEvents().size());
+
+        // Clear the disabled zones
+        result = endpoint.changeZoneContext("zone-a", false, null, " ");
+        assertEquals("zone-a", zoneContext.getZone());
+        assertFalse(zoneContext.isEnabled());
+        assertTrue(zoneContext.isPreferenceEnabled());
+        assertFalse(zoneContext.getSnapshot().hasPreferenceUpstreamDisabledZone());
+        assertEquals(Arrays.asList("enabled", "zone", "preferenceUpstreamDisabledZone"), result.get("changedProperties"));
+        assertEquals(2, events.size());
+
+        // Nothing is changed
+        result = endpoint.changeZoneContext(null, null, null, null);
+        assertEquals(emptyList(), result.get("changedProperties"));
+        assertEquals(2, events.size());
+    }
+
+    @Test
+    void testChangeZoneContextWithInvalidZone() {
+        assertThrows(InvalidEndpointRequestException.class, () -> endpoint.changeZoneContext(" ", null, null, null));
+        assertThrows(InvalidEndpointRequestException.class, () -> endpoint.changeZoneContext(ORIGINAL_ZONE, null, null, null));
+        assertEquals(DEFAULT_ZONE, zoneContext.getZone());
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    void testChangeZoneContextWithInvalidProperty() {
+        ZoneContextChangedListener listener = new ZoneContextChangedListener() {
+            @Override
+            public List<PropertyChangeEvent> updateZoneContext(Consumer<ZoneContextMutator> mutation) {
+                throw new IllegalArgumentException("For testing");
+            }
+        };
+        ZoneContextEndpoint endpoint = new ZoneContextEndpoint(zoneContext, listener);
+        InvalidEndpointRequestException e = assertThrows(InvalidEndpointRequestException.class,
+                () -> endpoint.changeZoneContext(null, true, null, null));
+        assertEquals("For testing", e.getMessage());
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.multiple.active.zone.spring.boot.context;
+
+import io.microsphere.multiple.active.zone.ZoneContext;
+import io.microsphere.multiple.active.zone.spring.DefaultZoneLocator;
+import io.microsphere.multiple.active.zone.spring.ZoneLocationBootstrap;
+import io.microsphere.multiple.active.zone.spring.ZoneLocator;
+import io.microsphere.multiple.active.zone.spring.ZoneLocatorListener;
+import io.microsphere.multiple.active.zone.spring.boot.context.AsyncZoneLocationInitializer.ZoneLocatorListenerRecorder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_ZONE;
+import static io.microsphere.multiple.active.zone.spring.ZoneLocatorListener.Operation.LOCATE;
+import static io.microsphere.multiple.active.zone.spring.ZoneLocatorListener.Operation.SUPPORTS;
+import static io.microsphere.multiple.active.zone.spring.ZoneLocatorListener.Outcome.LOCATED;
+import static io.microsphere.multiple.active.zone.spring.ZoneUtils.ZONE_LOCATION_BOOTSTRAP_BEAN_NAME;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link AsyncZoneLocationInitializer} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see AsyncZoneLocationInitializer
+ * @since 1.0.0
+ */
+class AsyncZoneLocationInitializerTest {
+
+    private static final String ASYNC_ENABLED = "microsphere.availability.zone.locator.async.enabled=true";
+
+    private final List<String> disposableBeanNames = new CopyOnWriteArrayList<>();
+
+    private final List<String> events = new CopyOnWriteArrayList<>();
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner(() ->
+            new GenericApplicationContext(new DefaultListableBeanFactory() {
+                @Override
+                public void registerDisposableBean(String beanName, DisposableBean bean) {
+                    disposableBeanNames.add(beanName);
+                    super.registerDisposableBean(beanName, bean);
+                }
+            }))
+            .withInitializer(new AsyncZoneLocationInitializer())
+            .withBean(ZoneLocatorListener.class, () -> new RecordingZoneLocatorListener(events));
+
+    @BeforeEach
+    void setUp() {
+        ZoneContext.get().reset();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ZoneContext.get().reset();
+    }
+
+    @Test
+    void testDisabledByDefault() {
+        contextRunner.run(context -> assertFalse(context.getBeanFactory().containsSingleton(ZONE_LOCATION_BOOTSTRAP_BEAN_NAME)));
+    }
+
+    @Test
+    void testDisabledWhenZoneDisabled() {
+        contextRunner.withPropertyValues(ASYNC_ENABLED, "microsphere.availability.zone.enabled=false")
+                .run(context -> assertFalse(context.getBeanFactory().containsSingleton(ZONE_LOCATION_BOOTSTRAP_BEAN_NAME)));
+    }
+
+    @Test
+    void testDisabledWhenZoneConfigured() {
+        contextRunner.withPropertyValues(ASYNC_ENABLED, "microsphere.availability.zone=zone-a")
+                .run(context -> assertFalse(context.getBeanFactory().containsSingleton(ZONE_LOCATION_BOOTSTRAP_BEAN_NAME)));
+    }
+
+    @Test
+    void testLocateAsynchronously() {
+        contextRunner.withPropertyValues(ASYNC_ENABLED).run(context -> {
+            assertTrue(context.getBeanFactory().containsSingleton(ZONE_LOCATION_BOOTSTRAP_BEAN_NAME));
+            assertTrue(disposableBeanNames.contains(ZONE_LOCATION_BOOTSTRAP_BEAN_NAME));
+            ZoneLocationBootstrap zoneLocationBootstrap = context.getBean(ZONE_LOCATION_BOOTSTRAP_BEAN_NAME,
+                    ZoneLocationBootstrap.class);
+            assertTrue(zoneLocationBootstrap.isStarted());
+            for (int i = 0; i < 500 && events.size() < 3; i++) {
+                Thread.sleep(10);
+            }
+            assertTrue(zoneLocationBootstrap.isDone());
+            assertEquals(DEFAULT_ZONE, zoneLocationBootstrap.getZone());
+            // The invocations are either replayed or delegated to the ZoneLocatorListener bean, and the ZoneLocator
+            // from Spring Factories is named after its class by the BeanFactory
+            String locatorName = DefaultZoneLocator.class.getName();
+            assertEquals(Arrays.asList("supports:" + locatorName + ":supported", "locate:" + locatorName + ":located",
+                    "located:" + DEFAULT_ZONE), events);
+        });
+    }
+
+    @Test
+    void testZoneLocatorListenerRecorder() {
+        AtomicReference<ZoneLocatorListenerRecorder> recorderReference = new AtomicReference<>();
+        new ApplicationContextRunner()
+                .withBean(ZoneLocatorListener.class, () -> new RecordingZoneLocatorListener(events) {
+                    @Override
+                    public void onInvoked(ZoneLocator zoneLocator, String locatorName, Operation operation,
+                                          Outcome outcome, long duration) {
+                        super.onInvoked(zoneLocator, locatorName, operation, outcome, duration);
+                        if ("a".equals(locatorName)) {
+                            // The invocation during the replay must not overtake the recorded ones
+                            recorderReference.get().onLocated("zone-b", LOCATED, 0);
+                        }
+                    }
+                })
+                .run(context -> {
+                    ZoneLocatorListenerRecorder recorder = new ZoneLocatorListenerRecorder(context);
+                    recorderReference.set(recorder);
+                    ZoneLocator zoneLocator = new DefaultZoneLocator();
+                    recorder.onInvoked(zoneLocator, "a", SUPPORTS, LOCATED, 0);
+                    recorder.onInvoked(zoneLocator, "c", LOCATE, LOCATED, 0);
+                    assertTrue(events.isEmpty());
+
+                    // The event of another context is ignored
+                    recorder.onApplicationEvent(new ContextRefreshedEvent(new GenericApplicationContext()));
+                    assertTrue(events.isEmpty());
+
+                    recorder.onApplicationEvent(new ContextRefreshedEvent(context));
+                    assertEquals(Arrays.asList("supports:a:located", "locate:c:located", "located:zone-b"), events);
+
+                    // The subsequent invocations are delegated directly
+                    recorder.onInvoked(zoneLocator, "d", LOCATE, LOCATED, 0);
+                    assertEquals("locate:d:located", events.get(3));
+                });
+    }
+
+    static class RecordingZoneLocatorListener implements ZoneLocatorListener {
+
+        private final List<String> events;
+
+        RecordingZoneLocatorListener(List<String> events) {
+            this.events = events;
+        }
+
+        @Override
+        public void onInvoked(ZoneLocator zoneLocator, String locatorName, Operation operation, Outcome outcome, long duration) {
+            events.add(operation.getValue() + ":" + locatorName + ":" + outcome.getValue());
+        }
+
+        @Override
+        public void onLocated(String zone, Outcome outcome, long duration) {
+            events.add("located:" + zone);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.multiple.active.zone.spring.boot.metrics;
+
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.microsphere.multiple.active.zone.spring.DefaultZoneLocator;
+import io.microsphere.multiple.active.zone.spring.ZoneLocator;
+import org.junit.jupiter.api.Test;
+
+import static io.microsphere.multiple.active.zone.spring.ZoneLocatorListener.Operation.LOCATE;
+import static io.microsphere.multiple.active.zone.spring.ZoneLocatorListener.Operation.SUPPORTS;
+import static io.microsphere.multiple.active.zone.spring.ZoneLocatorListener.Outcome.LOCATED;
+import static io.microsphere.multiple.active.zone.spring.ZoneLocatorListener.Outcome.SUPPORTED;
+import static io.microsphere.multiple.active.zone.spring.boot.metrics.ZoneLocatorMetrics.LOCATE_DURATION_METRIC_NAME;
+import static io.microsphere.multiple.active.zone.spring.boot.metrics.ZoneLocatorMetrics.LOCATOR_METRIC_NAME;
+import static io.microsphere.multiple.active.zone.spring.boot.metrics.ZoneLocatorMetrics.LOCATOR_TAG_NAME;
+import static io.microsphere.multiple.active.zone.spring.boot.metrics.ZoneLocatorMetrics.OPERATION_TAG_NAME;
+import static io.microsphere.multiple.active.zone.spring.boot.metrics.ZoneLocatorMetrics.OUTCOME_TAG_NAME;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * {@link ZoneLocatorMetrics} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see ZoneLocatorMetrics
+ * @since 1.0.0
+ */
+class ZoneLocatorMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ZoneLocatorMetrics metrics = new ZoneLocatorMetrics(meterRegistry);
+
+    @Test
+    void testConstructorWithNullThrows() {
+        assertThrows(IllegalArgumentException.class, () -> new ZoneLocatorMetrics(null));
+    }
+
+    @Test
+    void testOnInvoked() {
+        ZoneLocator zoneLocator = new DefaultZoneLocator();
+        metrics.onInvoked(zoneLocator, "defaultZoneLocator", SUPPORTS, SUPPORTED, MILLISECONDS.toNanos(1));
+        metrics.onInvoked(zoneLocator, "defaultZoneLocator", LOCATE, LOCATED, MILLISECONDS.toNanos(2));
+        metrics.onInvoked(zoneLocator, "defaultZoneLocator", LOCATE, LOCATED, MILLISECONDS.toNanos(4));
+
+        Timer supportsTimer = meterRegistry.find(LOCATOR_METRIC_NAME)
+                .tag(LOCATOR_TAG_NAME, "defaultZoneLocator")
+                .tag(OPERATION_TAG_NAME, "supports")
+                .tag(OUTCOME_TAG_NAME, "supported")
+                .timer();
+        assertNotNull(supportsTimer);
+        assertEquals(1, supportsTimer.count());
+        assertEquals(1, supportsTimer.totalTime(MILLISECONDS));
+
+        Timer locateTimer = meterRegistry.find(LOCATOR_METRIC_NAME)
+                .tag(LOCATOR_TAG_NAME, "defaultZoneLocator")
+                .tag(OPERATION_TAG_NAME, "locate")
+                .tag(OUTCOME_TAG_NAME, "located")
+                .timer();
+        assertNotNull(locateTimer);
+        assertEquals(2, locateTimer.count());
+        assertEquals(6, locateTimer.totalTime(MILLISECONDS));
+
+        assertNull(meterRegistry.find(LOCATOR_METRIC_NAME).tag(OUTCOME_TAG_NAME, "error").timer());
+    }
+
+    @Test
+    void testOnLocated() {
+        TimeGauge timeGauge = meterRegistry.find(LOCATE_DURATION_METRIC_NAME).timeGauge();
+        assertNotNull(timeGauge);
+        assertEquals(0, timeGauge.value(NANOSECONDS));
+
+        metrics.onLocated("zone-a", LOCATED, MILLISECONDS.toNanos(3));
+        assertEquals(3, timeGauge.value(MILLISECONDS));
+        assertEquals(MILLISECONDS.toNanos(3), timeGauge.value(NANOSECONDS));
+    }
+}
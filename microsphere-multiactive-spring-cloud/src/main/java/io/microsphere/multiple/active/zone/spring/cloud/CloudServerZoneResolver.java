@@ -1,11 +1,16 @@
 package io.microsphere.multiple.active.zone.spring.cloud;
 
+import io.microsphere.multiple.active.zone.BulkZoneResolver;
+import io.microsphere.multiple.active.zone.ZoneRegistry;
 import io.microsphere.multiple.active.zone.ZoneResolver;
 import org.springframework.cloud.client.ServiceInstance;
 
+import java.util.List;
 import java.util.Map;
+import java.util.RandomAccess;
 
 import static io.microsphere.multiple.active.zone.ZoneConstants.ZONE_PROPERTY_NAME;
+import static io.microsphere.multiple.active.zone.ZoneRegistry.UNKNOWN_ZONE_ID;
 
 /**
  * {@link ZoneResolver} for Spring cloud {@link ServiceInstance}
@@ -13,7 +18,7 @@ import static io.microsphere.multiple.active.zone.ZoneConstants.ZONE_PROPERTY_NA
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
  * @since 1.0.0
  */
-public class CloudServerZoneResolver implements ZoneResolver<ServiceInstance> {
+public class CloudServerZoneResolver implements BulkZoneResolver<ServiceInstance> {
 
     /**
      * Singleton {@link CloudServerZoneResolver}
@@ -28,4 +33,44 @@ public class CloudServerZoneResolver implements ZoneResolver<ServiceInstance> {
         }
         return null;
     }
+
+    @Override
+    public void resolveAll(List<ServiceInstance> serviceInstances, int[] zoneIds) {
+        ZoneRegistry zoneRegistry = ZoneRegistry.get();
+        String lastZone = null;
+        int lastZoneId = UNKNOWN_ZONE_ID;
+        if (serviceInstances instanceof RandomAccess) {
+            for (int i = 0, size = serviceInstances.size(); i < size; i++) {
+                String zone = resolveZone(serviceInstances.get(i));
+                lastZoneId = zoneIds[i] = zoneRegistry.getId(zone, lastZone, lastZoneId);
+                lastZone = zone;
+            }
+        } else {
+            int i = 0;
+            for (ServiceInstance serviceInstance : serviceInstances) {
+                String zone = resolveZone(serviceInstance);
+                lastZoneId = zoneIds[i++] = zoneRegistry.getId(zone, lastZone, lastZoneId);
+                lastZone = zone;
+            }
+        }
+    }
+
+    /**
+     * Resolve the non-null identity key of {@link ServiceInstance}, which is composed of the host, port and instance
+     * id because the instance id may be <code>null</code>
+     *
+     * @param serviceInstance {@link ServiceInstance}
+     * @return non-null
+     */
+    public static String resolveKey(ServiceInstance serviceInstance) {
+        return serviceInstance.getHost() + ':' + serviceInstance.getPort() + '#' + serviceInstance.getInstanceId();
+    }
+
+    private static String resolveZone(ServiceInstance serviceInstance) {
+        if (serviceInstance == null) {
+            return null;
+        }
+        Map<String, String> instanceMetadata = serviceInstance.getMetadata();
+        return instanceMetadata == null ? null : instanceMetadata.get(ZONE_PROPERTY_NAME);
+    }
 }
@@ -5,6 +5,7 @@ import io.microsphere.multiple.active.zone.ZoneContext;
 import io.microsphere.multiple.active.zone.spring.boot.autoconfigure.ZoneAutoConfiguration;
 import io.microsphere.multiple.active.zone.spring.boot.condition.ConditionalOnAvailabilityZoneAvailable;
 import io.microsphere.multiple.active.zone.spring.cloud.event.ZoneAttachmentListener;
+import io.microsphere.multiple.active.zone.spring.cloud.event.ZoneReattachmentListener;
 import io.microsphere.spring.cloud.client.service.registry.condition.ConditionalOnAutoServiceRegistrationEnabled;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
@@ -52,4 +53,10 @@ public class ZoneCloudAutoConfiguration {
         return new ZoneAttachmentListener();
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    public ZoneReattachmentListener zoneReattachmentListener() {
+        return new ZoneReattachmentListener();
+    }
+
 }
\ No newline at end of file
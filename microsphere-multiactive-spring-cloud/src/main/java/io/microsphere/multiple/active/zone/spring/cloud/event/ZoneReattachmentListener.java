@@ -0,0 +1,105 @@
+package io.microsphere.multiple.active.zone.spring.cloud.event;
+
+import io.microsphere.logging.Logger;
+import io.microsphere.multiple.active.zone.ZoneAttachmentHandler;
+import io.microsphere.multiple.active.zone.ZoneContext;
+import io.microsphere.multiple.active.zone.spring.event.ZoneContextChangedEvent;
+import org.springframework.beans.BeansException;
+import org.springframework.cloud.client.serviceregistry.Registration;
+import org.springframework.cloud.client.serviceregistry.ServiceRegistry;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.context.ApplicationListener;
+
+import java.util.Map;
+import java.util.Objects;
+
+import static io.microsphere.logging.LoggerFactory.getLogger;
+import static io.microsphere.multiple.active.zone.ZoneAttachmentHandler.ZONE_METADATA_KEY;
+
+/**
+ * A listener for the {@link ZoneContextChangedEvent} to attach the changed zone to the metadata of the
+ * {@link Registration Registrations} again, e.g. the zone drift was detected after the registration.
+ * <p>
+ * Only the {@link Registration Registrations} whose zones have been attached and are different from the current zone
+ * will be reattached, and then they will be registered again by the {@link ServiceRegistry} to propagate the new zone
+ * to the registry. The {@link Registration Registrations} without the attached zone are not registered yet, whose zones
+ * will be attached by {@link ZoneAttachmentListener} before the registration.
+ * <p>
+ * Registering again may reset the status of instance, e.g. {@code EurekaServiceRegistry} applies the initial status,
+ * thus the status before the registration is restored if it's changed, the drained instance (e.g. OUT_OF_SERVICE) will
+ * not be brought back by the zone drift.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ZoneAttachmentListener
+ * @see ZoneAttachmentHandler#ZONE_METADATA_KEY
+ * @see ZoneContext
+ * @since 1.0.0
+ */
+public class ZoneReattachmentListener implements ApplicationListener<ZoneContextChangedEvent>, ApplicationContextAware {
+
+    private static final Logger logger = getLogger(ZoneReattachmentListener.class);
+
+    private ApplicationContext applicationContext;
+
+    @Override
+    public void onApplicationEvent(ZoneContextChangedEvent event) {
+        String zone = event.getZoneContext().getZone();
+        ZoneAttachmentHandler zoneAttachmentHandler = applicationContext.getBean(ZoneAttachmentHandler.class);
+        ServiceRegistry<Registration> serviceRegistry = applicationContext.getBeanProvider(ServiceRegistry.class).getIfAvailable();
+        applicationContext.getBeanProvider(Registration.class)
+                .forEach(registration -> reattachZone(registration, zone, zoneAttachmentHandler, serviceRegistry));
+    }
+
+    private void reattachZone(Registration registration, String zone, ZoneAttachmentHandler zoneAttachmentHandler,
+                              ServiceRegistry<Registration> serviceRegistry) {
+        Map<String, String> metadata = registration.getMetadata();
+        String attachedZone = metadata.get(ZONE_METADATA_KEY);
+        if (attachedZone == null) {
+            logger.trace("The zone has not been attached into {}, it will be attached before the registration", registration);
+            return;
+        }
+        if (Objects.equals(attachedZone, zone)) {
+            return;
+        }
+        zoneAttachmentHandler.attachZone(metadata);
+        if (serviceRegistry == null) {
+            logger.warn("No ServiceRegistry is found, the zone ['{}'] of {} can't be propagated to the registry", zone, registration);
+            return;
+        }
+        try {
+            String status = getStatus(serviceRegistry, registration);
+            serviceRegistry.register(registration);
+            logger.info("The zone of {} is changed from ['{}'] to ['{}'], which was registered again", registration, attachedZone, zone);
+            restoreStatus(serviceRegistry, registration, status);
+        } catch (Throwable e) {
+            logger.error("{} failed to register {} again with the zone ['{}']", serviceRegistry, registration, zone, e);
+        }
+    }
+
+    private void restoreStatus(ServiceRegistry<Registration> serviceRegistry, Registration registration, String status) {
+        if (status == null || Objects.equals(status, getStatus(serviceRegistry, registration))) {
+            return;
+        }
+        serviceRegistry.setStatus(registration, status);
+        logger.info("The status ['{}'] of {} was restored after the registration", status, registration);
+    }
+
+    /**
+     * Get the status of {@link Registration}, the status of Eureka is the "status" entry of the {@link Map}.
+     *
+     * @return <code>null</code> if the status is unknown
+     */
+    private String getStatus(ServiceRegistry<Registration> serviceRegistry, Registration registration) {
+        Object status = serviceRegistry.getStatus(registration);
+        if (status instanceof Map) {
+            status = ((Map<?, ?>) status).get("status");
+        }
+        return status == null ? null : status.toString();
+    }
+
+    @Override
+    public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
+        this.applicationContext = applicationContext;
+    }
+}
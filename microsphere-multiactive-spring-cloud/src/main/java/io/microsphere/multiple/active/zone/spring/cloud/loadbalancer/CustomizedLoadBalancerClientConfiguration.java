@@ -16,8 +16,11 @@
  */
 package io.microsphere.multiple.active.zone.spring.cloud.loadbalancer;
 
+import io.microsphere.multiple.active.zone.CachingZonePreferenceFilter;
+import io.microsphere.multiple.active.zone.CachingZoneResolver;
 import io.microsphere.multiple.active.zone.ZoneContext;
 import io.microsphere.multiple.active.zone.ZonePreferenceFilter;
+import io.microsphere.multiple.active.zone.ZoneResolver;
 import io.microsphere.multiple.active.zone.spring.cloud.CloudServerZoneResolver;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -36,14 +39,19 @@ import org.springframework.context.annotation.ConditionContext;
 import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
 import org.springframework.core.type.AnnotatedTypeMetadata;
 
+import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_PREFERENCE_FILTER_RESOLVER_CACHE_ENABLED;
+import static io.microsphere.multiple.active.zone.ZoneConstants.PREFERENCE_FILTER_RESOLVER_CACHE_ENABLED_PROPERTY_NAME;
+
 /**
  * Customized {@link LoadBalancerClients}. Provides some customized implementations of {@link ServiceInstanceListSupplier}.
  *
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
  * @see Configuration
  * @see ZonePreferenceServiceInstanceListSupplier
+ * @see ZonePartitionedServiceInstanceListSupplier
  * @see LoadBalancerClients
  * @see LoadBalancerClientConfiguration
  * @since 1.0.0
@@ -60,10 +68,23 @@ public class CustomizedLoadBalancerClientConfiguration {
         @ConditionalOnMissingBean
         @Conditional(OptimizedZoneConfigurationCondition.class)
         public ServiceInstanceListSupplier optimizedZonePreferenceDiscoveryClientServiceInstanceListSupplier(
-                ConfigurableApplicationContext context, ZonePreferenceFilter<ServiceInstance> zonePreferenceFilter) {
+                ConfigurableApplicationContext context,
+                CachingZonePreferenceFilter<ServiceInstance> cachingZonePreferenceFilter) {
             return ServiceInstanceListSupplier.builder().withDiscoveryClient().withCaching()
                     .with((ctx, delegate) ->
-                            new ZonePreferenceServiceInstanceListSupplier(delegate, zonePreferenceFilter))
+                            new ZonePreferenceServiceInstanceListSupplier(delegate, cachingZonePreferenceFilter))
+                    .build(context);
+        }
+
+        @Bean
+        @ConditionalOnBean(DiscoveryClient.class)
+        @ConditionalOnMissingBean
+        @Conditional(PartitionedZoneConfigurationCondition.class)
+        public ServiceInstanceListSupplier partitionedZonePreferenceDiscoveryClientServiceInstanceListSupplier(
+                ConfigurableApplicationContext context, ZoneContext zoneContext) {
+            return ServiceInstanceListSupplier.builder().withDiscoveryClient().withCaching()
+                    .with((ctx, delegate) ->
+                            new ZonePartitionedServiceInstanceListSupplier(delegate, zoneContext))
                     .build(context);
         }
     }
@@ -77,17 +98,42 @@ public class CustomizedLoadBalancerClientConfiguration {
         @ConditionalOnMissingBean
         @Conditional(OptimizedZoneConfigurationCondition.class)
         public ServiceInstanceListSupplier optimizedZonePreferenceServiceInstanceListSupplier(
-                ConfigurableApplicationContext context, ZonePreferenceFilter<ServiceInstance> zonePreferenceFilter) {
+                ConfigurableApplicationContext context,
+                CachingZonePreferenceFilter<ServiceInstance> cachingZonePreferenceFilter) {
             return ServiceInstanceListSupplier.builder().withBlockingDiscoveryClient().withCaching()
                     .with((ctx, delegate) ->
-                            new ZonePreferenceServiceInstanceListSupplier(delegate, zonePreferenceFilter))
+                            new ZonePreferenceServiceInstanceListSupplier(delegate, cachingZonePreferenceFilter))
+                    .build(context);
+        }
+
+        @Bean
+        @ConditionalOnBean(DiscoveryClient.class)
+        @ConditionalOnMissingBean
+        @Conditional(PartitionedZoneConfigurationCondition.class)
+        public ServiceInstanceListSupplier partitionedZonePreferenceServiceInstanceListSupplier(
+                ConfigurableApplicationContext context, ZoneContext zoneContext) {
+            return ServiceInstanceListSupplier.builder().withBlockingDiscoveryClient().withCaching()
+                    .with((ctx, delegate) ->
+                            new ZonePartitionedServiceInstanceListSupplier(delegate, zoneContext))
                     .build(context);
         }
     }
 
     @Bean
-    public ZonePreferenceFilter<ServiceInstance> zonePreferenceFilter(ZoneContext zoneContext) {
-        return new ZonePreferenceFilter<ServiceInstance>(zoneContext, new CloudServerZoneResolver());
+    public ZonePreferenceFilter<ServiceInstance> zonePreferenceFilter(ZoneContext zoneContext, Environment environment) {
+        ZoneResolver<ServiceInstance> zoneResolver = CloudServerZoneResolver.INSTANCE;
+        if (environment.getProperty(PREFERENCE_FILTER_RESOLVER_CACHE_ENABLED_PROPERTY_NAME, boolean.class,
+                DEFAULT_PREFERENCE_FILTER_RESOLVER_CACHE_ENABLED)) {
+            zoneResolver = new CachingZoneResolver<>(zoneResolver);
+        }
+        return new ZonePreferenceFilter<>(zoneContext, zoneResolver);
+    }
+
+    @Bean
+    public CachingZonePreferenceFilter<ServiceInstance> cachingZonePreferenceFilter(
+            ZonePreferenceFilter<ServiceInstance> zonePreferenceFilter) {
+        // The upstream ServiceInstanceListSupplier is caching, the filtered result could be reused
+        return new CachingZonePreferenceFilter<>(zonePreferenceFilter);
     }
 
     static class OptimizedZoneConfigurationCondition implements Condition {
@@ -99,4 +145,14 @@ public class CustomizedLoadBalancerClientConfiguration {
         }
 
     }
+
+    static class PartitionedZoneConfigurationCondition implements Condition {
+
+        @Override
+        public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            return LoadBalancerEnvironmentPropertyUtils.equalToForClientOrDefault(context.getEnvironment(),
+                    "configurations", "partitioned-zone-preference");
+        }
+
+    }
 }
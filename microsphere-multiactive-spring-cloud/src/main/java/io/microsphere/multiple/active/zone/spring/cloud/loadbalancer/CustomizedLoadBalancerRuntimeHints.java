@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.multiple.active.zone.spring.cloud.loadbalancer;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.springframework.aot.hint.MemberCategory.INVOKE_DECLARED_CONSTRUCTORS;
+import static org.springframework.aot.hint.MemberCategory.INVOKE_DECLARED_METHODS;
+
+/**
+ * The {@link RuntimeHintsRegistrar} for {@link CustomizedLoadBalancerClientConfiguration} in the GraalVM native image.
+ * <p>
+ * {@link CustomizedLoadBalancerClientConfiguration} is the default configuration of {@link LoadBalancerClients},
+ * which is registered into the LoadBalancer child contexts rather than the application context, so it is processed
+ * reflectively if the child context of the client is not generated ahead-of-time.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see CustomizedLoadBalancerClientConfiguration
+ * @since 1.0.0
+ */
+public class CustomizedLoadBalancerRuntimeHints implements RuntimeHintsRegistrar {
+
+    static final List<Class<?>> CONFIGURATION_CLASSES = Arrays.asList(
+            CustomizedLoadBalancerClientConfiguration.class,
+            CustomizedLoadBalancerClientConfiguration.ReactiveConfiguration.class,
+            CustomizedLoadBalancerClientConfiguration.BlockingConfiguration.class,
+            CustomizedLoadBalancerClientConfiguration.OptimizedZoneConfigurationCondition.class,
+            CustomizedLoadBalancerClientConfiguration.PartitionedZoneConfigurationCondition.class
+    );
+
+    static final MemberCategory[] MEMBER_CATEGORIES = {INVOKE_DECLARED_CONSTRUCTORS, INVOKE_DECLARED_METHODS};
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (Class<?> configurationClass : CONFIGURATION_CLASSES) {
+            hints.reflection().registerType(configurationClass, MEMBER_CATEGORIES);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.multiple.active.zone.spring.cloud.loadbalancer;
+
+import io.microsphere.multiple.active.zone.ZoneContext;
+import io.microsphere.multiple.active.zone.ZonePartitionedFilter;
+import io.microsphere.multiple.active.zone.ZonePartitionedIndex;
+import io.microsphere.multiple.active.zone.spring.cloud.CloudServerZoneResolver;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.DelegatingServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+import static io.microsphere.multiple.active.zone.spring.cloud.CloudServerZoneResolver.INSTANCE;
+
+/**
+ * The zone-preference {@link ServiceInstanceListSupplier} based on {@link ZonePartitionedIndex}, the index is
+ * synchronized only when the upstream list is changed, and the filtered list is answered by the index without
+ * traversing the upstream list.
+ * <p>
+ * The service instances are identified by their {@link CloudServerZoneResolver#resolveKey(ServiceInstance) keys},
+ * because the instance id may be <code>null</code>. The filtered instances keep the upstream order as
+ * {@link ZonePreferenceServiceInstanceListSupplier} does, and the unchanged upstream list is filtered without any lock.
+ * <p>
+ * It's opt-in only, and activated by the <code>spring.cloud.loadbalancer.configurations</code> property
+ * <code>partitioned-zone-preference</code>.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see ZonePartitionedIndex
+ * @see ZonePartitionedFilter
+ * @see ZonePreferenceServiceInstanceListSupplier
+ * @since 1.0.0
+ */
+public class ZonePartitionedServiceInstanceListSupplier extends DelegatingServiceInstanceListSupplier {
+
+    private final ZonePartitionedFilter<ServiceInstance> zonePartitionedFilter;
+
+    public ZonePartitionedServiceInstanceListSupplier(ServiceInstanceListSupplier delegate, ZoneContext zoneContext) {
+        super(delegate);
+        this.zonePartitionedFilter = new ZonePartitionedFilter<>(zoneContext, INSTANCE, CloudServerZoneResolver::resolveKey);
+    }
+
+    @Override
+    public Flux<List<ServiceInstance>> get() {
+        return getDelegate().get().map(this::filteredByZone);
+    }
+
+    private List<ServiceInstance> filteredByZone(List<ServiceInstance> serviceInstances) {
+        // The caching upstream emits the same list until the instances are changed
+        return zonePartitionedFilter.filter(serviceInstances);
+    }
+
+    /**
+     * @return {@link ZonePartitionedIndex}
+     */
+    public ZonePartitionedIndex<ServiceInstance> getZonePartitionedIndex() {
+        return zonePartitionedFilter.getIndex();
+    }
+}
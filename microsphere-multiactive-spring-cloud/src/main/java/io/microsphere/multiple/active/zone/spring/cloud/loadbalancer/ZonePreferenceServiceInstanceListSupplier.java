@@ -16,6 +16,7 @@
  */
 package io.microsphere.multiple.active.zone.spring.cloud.loadbalancer;
 
+import io.microsphere.multiple.active.zone.ZoneFilter;
 import io.microsphere.multiple.active.zone.ZonePreferenceFilter;
 import org.springframework.cloud.client.ServiceInstance;
 import org.springframework.cloud.loadbalancer.core.DelegatingServiceInstanceListSupplier;
@@ -28,15 +29,26 @@ import java.util.List;
  * Optimized {@link org.springframework.cloud.loadbalancer.core.ZonePreferenceServiceInstanceListSupplier}
  *
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see ZoneFilter
  * @see ZonePreferenceFilter
  * @since org.springframework.cloud.loadbalancer.core.ZonePreferenceServiceInstanceListSupplier
  */
 public class ZonePreferenceServiceInstanceListSupplier extends DelegatingServiceInstanceListSupplier {
 
-    private final ZonePreferenceFilter<ServiceInstance> zonePreferenceFilter;
+    private final ZoneFilter<ServiceInstance> zonePreferenceFilter;
 
     public ZonePreferenceServiceInstanceListSupplier(ServiceInstanceListSupplier delegate,
                                                      ZonePreferenceFilter<ServiceInstance> zonePreferenceFilter) {
+        this(delegate, (ZoneFilter<ServiceInstance>) zonePreferenceFilter);
+    }
+
+    /**
+     * @param delegate             the delegate {@link ServiceInstanceListSupplier}
+     * @param zonePreferenceFilter the {@link ZoneFilter} filtering by the zone preference, e.g. the caching decorator
+     *                             of {@link ZonePreferenceFilter}
+     */
+    public ZonePreferenceServiceInstanceListSupplier(ServiceInstanceListSupplier delegate,
+                                                     ZoneFilter<ServiceInstance> zonePreferenceFilter) {
         super(delegate);
         this.zonePreferenceFilter = zonePreferenceFilter;
     }
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.multiple.active.zone.spring.cloud;
+
+import io.microsphere.multiple.active.zone.ZoneRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import static io.microsphere.multiple.active.zone.ZoneConstants.ZONE_PROPERTY_NAME;
+import static io.microsphere.multiple.active.zone.ZoneRegistry.UNKNOWN_ZONE_ID;
+import static io.microsphere.multiple.active.zone.spring.cloud.CloudServerZoneResolver.INSTANCE;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * {@link CloudServerZoneResolver} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see CloudServerZoneResolver
+ * @since 1.0.0
+ */
+class CloudServerZoneResolverTest {
+
+    @Test
+    void testResolve() {
+        assertEquals("zone-a", INSTANCE.resolve(newServiceInstance(1, "zone-a")));
+        assertNull(INSTANCE.resolve(newServiceInstance(2, null)));
+    }
+
+    @Test
+    void testResolveAll() {
+        List<ServiceInstance> serviceInstances = new ArrayList<>();
+        serviceInstances.add(newServiceInstance(1, "zone-a"));
+        serviceInstances.add(newServiceInstance(2, "zone-a"));
+        serviceInstances.add(null);
+        serviceInstances.add(newServiceInstance(3, null));
+        serviceInstances.add(newServiceInstance(4, "zone-b"));
+
+        ZoneRegistry zoneRegistry = ZoneRegistry.get();
+        int a = zoneRegistry.register("zone-a");
+        int b = zoneRegistry.register("zone-b");
+        int[] expected = {a, a, UNKNOWN_ZONE_ID, UNKNOWN_ZONE_ID, b};
+
+        int[] zoneIds = new int[serviceInstances.size()];
+        INSTANCE.resolveAll(serviceInstances, zoneIds);
+        assertArrayEquals(expected, zoneIds);
+
+        zoneIds = new int[serviceInstances.size()];
+        INSTANCE.resolveAll(new LinkedList<>(serviceInstances), zoneIds);
+        assertArrayEquals(expected, zoneIds);
+    }
+
+    @Test
+    void testResolveAllSameAsResolveId() {
+        List<ServiceInstance> serviceInstances = new ArrayList<>();
+        serviceInstances.add(newServiceInstance(1, "zone-a"));
+        serviceInstances.add(null);
+        serviceInstances.add(newServiceInstance(2, "zone-unregistered"));
+        serviceInstances.add(newServiceInstance(3, null));
+        serviceInstances.add(newServiceInstance(4, "zone-b"));
+        serviceInstances.add(newServiceInstance(5, "zone-b"));
+        ZoneRegistry.get().register("zone-a");
+        ZoneRegistry.get().register("zone-b");
+
+        int[] expected = new int[serviceInstances.size()];
+        for (int i = 0; i < expected.length; i++) {
+            ServiceInstance serviceInstance = serviceInstances.get(i);
+            expected[i] = serviceInstance == null ? UNKNOWN_ZONE_ID : INSTANCE.resolveId(serviceInstance);
+        }
+
+        int[] zoneIds = new int[serviceInstances.size()];
+        INSTANCE.resolveAll(serviceInstances, zoneIds);
+        assertArrayEquals(expected, zoneIds);
+    }
+
+    private static ServiceInstance newServiceInstance(int index, String zone) {
+        Map<String, String> metadata = new HashMap<>();
+        if (zone != null) {
+            metadata.put(ZONE_PROPERTY_NAME, zone);
+        }
+        return new DefaultServiceInstance("test-" + index, "test", "127.0.0.1", 8080 + index, false, metadata);
+    }
+}
@@ -22,6 +22,7 @@ import io.microsphere.multiple.active.zone.ZoneAttachmentHandler;
 import io.microsphere.multiple.active.zone.ZoneContext;
 import io.microsphere.multiple.active.zone.spring.ZoneLocator;
 import io.microsphere.multiple.active.zone.spring.cloud.event.ZoneAttachmentListener;
+import io.microsphere.multiple.active.zone.spring.cloud.event.ZoneReattachmentListener;
 import io.microsphere.spring.boot.test.AutoConfigurationTest;
 import io.microsphere.spring.cloud.client.service.registry.aspect.EventPublishingRegistrationAspect;
 import io.microsphere.spring.cloud.client.service.registry.event.RegistrationPreRegisteredEvent;
@@ -54,6 +55,7 @@ class ZoneCloudAutoConfigurationTest extends AutoConfigurationTest<ZoneCloudAuto
     protected void configureAutoConfiguredClasses(Set<Class<?>> autoConfiguredClasses) {
         autoConfiguredClasses.add(ZoneAttachmentHandler.class);
         autoConfiguredClasses.add(ZoneAttachmentListener.class);
+        autoConfiguredClasses.add(ZoneReattachmentListener.class);
     }
 
     @Override
@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.multiple.active.zone.spring.cloud.event;
+
+import io.microsphere.multiple.active.zone.ZoneAttachmentHandler;
+import io.microsphere.multiple.active.zone.ZoneContext;
+import io.microsphere.multiple.active.zone.spring.event.ZoneContextChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.serviceregistry.Registration;
+import org.springframework.cloud.client.serviceregistry.ServiceRegistry;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static io.microsphere.multiple.active.zone.ZoneAttachmentHandler.ZONE_METADATA_KEY;
+import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link ZoneReattachmentListener} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see ZoneReattachmentListener
+ * @since 1.0.0
+ */
+class ZoneReattachmentListenerTest {
+
+    private ZoneContext zoneContext;
+
+    private TestRegistration registration;
+
+    private RecordingServiceRegistry serviceRegistry;
+
+    private GenericApplicationContext context;
+
+    private ZoneReattachmentListener listener;
+
+    @BeforeEach
+    void setUp() {
+        zoneContext = new ZoneContext();
+        registration = new TestRegistration();
+        serviceRegistry = new RecordingServiceRegistry();
+        context = new GenericApplicationContext();
+        context.registerBean(ZoneAttachmentHandler.class, () -> new ZoneAttachmentHandler(zoneContext));
+        context.registerBean(Registration.class, () -> registration);
+        context.registerBean(ServiceRegistry.class, () -> serviceRegistry);
+        context.refresh();
+        listener = new ZoneReattachmentListener();
+        listener.setApplicationContext(context);
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+    }
+
+    private void publishZoneContextChangedEvent() {
+        listener.onApplicationEvent(new ZoneContextChangedEvent(context, zoneContext, emptyList()));
+    }
+
+    @Test
+    void testReattachZone() {
+        zoneContext.setZone("zone-a");
+        registration.getMetadata().put(ZONE_METADATA_KEY, "zone-a");
+
+        zoneContext.setZone("zone-b");
+        publishZoneContextChangedEvent();
+        assertEquals("zone-b", registration.getMetadata().get(ZONE_METADATA_KEY));
+        // The registry receives the new zone
+        assertEquals(1, serviceRegistry.registeredZones.size());
+        assertEquals("zone-b", serviceRegistry.registeredZones.get(0));
+
+        // The zone is not changed
+        publishZoneContextChangedEvent();
+        assertEquals(1, serviceRegistry.registeredZones.size());
+    }
+
+    @Test
+    void testReattachZoneOnOutOfService() {
+        zoneContext.setZone("zone-a");
+        registration.getMetadata().put(ZONE_METADATA_KEY, "zone-a");
+        serviceRegistry.register(registration);
+        // The instance is drained
+        serviceRegistry.setStatus(registration, "OUT_OF_SERVICE");
+
+        zoneContext.setZone("zone-b");
+        publishZoneContextChangedEvent();
+        assertEquals("zone-b", serviceRegistry.registeredZones.get(1));
+        // The status is not reset by the registration
+        assertEquals("OUT_OF_SERVICE", serviceRegistry.getStatus(registration));
+    }
+
+    @Test
+    void testReattachZoneBeforeRegistration() {
+        zoneContext.setZone("zone-b");
+        publishZoneContextChangedEvent();
+        // The zone will be attached by ZoneAttachmentListener before the registration
+        assertNull(registration.getMetadata().get(ZONE_METADATA_KEY));
+        assertTrue(serviceRegistry.registeredZones.isEmpty());
+    }
+
+    static class TestRegistration extends DefaultServiceInstance implements Registration {
+
+        TestRegistration() {
+            super("test-instance", "test-service", "localhost", 8080, false, new HashMap<>());
+        }
+    }
+
+    static class RecordingServiceRegistry implements ServiceRegistry<Registration> {
+
+        private final List<String> registeredZones = new CopyOnWriteArrayList<>();
+
+        private volatile String status;
+
+        @Override
+        public void register(Registration registration) {
+            registeredZones.add(registration.getMetadata().get(ZONE_METADATA_KEY));
+            // The initial status is applied like EurekaServiceRegistry
+            status = "UP";
+        }
+
+        @Override
+        public void deregister(Registration registration) {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public void setStatus(Registration registration, String status) {
+            this.status = status;
+        }
+
+        @Override
+        public <T> T getStatus(Registration registration) {
+            return (T) status;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.multiple.active.zone.spring.cloud.loadbalancer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.core.io.support.SpringFactoriesLoader;
+
+import java.util.List;
+
+import static io.microsphere.multiple.active.zone.spring.cloud.loadbalancer.CustomizedLoadBalancerRuntimeHints.CONFIGURATION_CLASSES;
+import static io.microsphere.multiple.active.zone.spring.cloud.loadbalancer.CustomizedLoadBalancerRuntimeHints.MEMBER_CATEGORIES;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.aot.hint.predicate.RuntimeHintsPredicates.reflection;
+
+/**
+ * {@link CustomizedLoadBalancerRuntimeHints} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see CustomizedLoadBalancerRuntimeHints
+ * @since 1.0.0
+ */
+class CustomizedLoadBalancerRuntimeHintsTest {
+
+    @Test
+    void testRegisterHints() {
+        RuntimeHints hints = new RuntimeHints();
+        new CustomizedLoadBalancerRuntimeHints().registerHints(hints, getClass().getClassLoader());
+        for (Class<?> configurationClass : CONFIGURATION_CLASSES) {
+            assertTrue(reflection().onType(configurationClass).withMemberCategories(MEMBER_CATEGORIES).test(hints));
+        }
+    }
+
+    @Test
+    void testAotFactories() {
+        List<RuntimeHintsRegistrar> registrars = SpringFactoriesLoader.forResourceLocation("META-INF/spring/aot.factories")
+                .load(RuntimeHintsRegistrar.class);
+        assertTrue(registrars.stream().anyMatch(CustomizedLoadBalancerRuntimeHints.class::isInstance));
+    }
+}
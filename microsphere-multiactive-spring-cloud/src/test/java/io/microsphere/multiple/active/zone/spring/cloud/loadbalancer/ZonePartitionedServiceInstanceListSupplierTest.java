@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.multiple.active.zone.spring.cloud.loadbalancer;
+
+import io.microsphere.multiple.active.zone.ZoneContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.microsphere.multiple.active.zone.ZoneConstants.ZONE_PROPERTY_NAME;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * {@link ZonePartitionedServiceInstanceListSupplier} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see ZonePartitionedServiceInstanceListSupplier
+ * @since 1.0.0
+ */
+class ZonePartitionedServiceInstanceListSupplierTest {
+
+    private ZoneContext zoneContext;
+
+    private List<ServiceInstance> serviceInstances;
+
+    private ZonePartitionedServiceInstanceListSupplier supplier;
+
+    @BeforeEach
+    void setUp() {
+        zoneContext = new ZoneContext();
+        zoneContext.setPreferenceEnabled(true);
+        zoneContext.setZone("zone-a");
+        zoneContext.setPreferenceUpstreamSameZoneMinAvailable(1);
+        serviceInstances = new ArrayList<>();
+        supplier = new ZonePartitionedServiceInstanceListSupplier(new ServiceInstanceListSupplier() {
+
+            @Override
+            public String getServiceId() {
+                return "test";
+            }
+
+            @Override
+            public Flux<List<ServiceInstance>> get() {
+                return Flux.just(serviceInstances);
+            }
+        }, zoneContext);
+    }
+
+    @AfterEach
+    void tearDown() {
+        zoneContext.reset();
+    }
+
+    @Test
+    void testGetOnDeltas() {
+        ServiceInstance a1 = newServiceInstance("1", 1, "zone-a");
+        ServiceInstance b2 = newServiceInstance("2", 2, "zone-b");
+        serviceInstances = Arrays.asList(a1, b2);
+        assertEquals(Arrays.asList(a1), get());
+        assertEquals(2, supplier.getZonePartitionedIndex().size());
+
+        // Added
+        ServiceInstance a3 = newServiceInstance("3", 3, "zone-a");
+        serviceInstances = Arrays.asList(a1, b2, a3);
+        assertEquals(Arrays.asList(a1, a3), get());
+        assertEquals(3, supplier.getZonePartitionedIndex().size());
+
+        // Updated
+        ServiceInstance b1 = newServiceInstance("1", 1, "zone-b");
+        serviceInstances = Arrays.asList(b1, b2, a3);
+        assertEquals(Arrays.asList(a3), get());
+        assertEquals(2, supplier.getZonePartitionedIndex().size("zone-b"));
+
+        // Removed
+        serviceInstances = Arrays.asList(b1, b2);
+        assertEquals(Arrays.asList(b1, b2), get());
+        assertEquals(0, supplier.getZonePartitionedIndex().size("zone-a"));
+    }
+
+    @Test
+    void testGetWithoutInstanceId() {
+        ServiceInstance a1 = newServiceInstance(null, 1, "zone-a");
+        ServiceInstance a2 = newServiceInstance(null, 2, "zone-a");
+        ServiceInstance b3 = newServiceInstance(null, 3, "zone-b");
+        serviceInstances = Arrays.asList(a1, a2, b3);
+        assertEquals(Arrays.asList(a1, a2), get());
+        assertEquals(3, supplier.getZonePartitionedIndex().size());
+    }
+
+    private List<ServiceInstance> get() {
+        return supplier.get().blockFirst();
+    }
+
+    private static ServiceInstance newServiceInstance(String instanceId, int index, String zone) {
+        Map<String, String> metadata = new HashMap<>();
+        metadata.put(ZONE_PROPERTY_NAME, zone);
+        return new DefaultServiceInstance(instanceId, "test", "127.0.0.1", 8080 + index, false, metadata);
+    }
+}
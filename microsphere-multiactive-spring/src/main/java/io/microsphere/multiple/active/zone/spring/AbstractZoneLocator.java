@@ -29,6 +29,13 @@ public abstract class AbstractZoneLocator implements ZoneLocator, BeanNameAware,
         this.beanName = beanName;
     }
 
+    /**
+     * @return the bean name, or <code>null</code> if it's not a Spring Bean
+     */
+    public final String getBeanName() {
+        return beanName;
+    }
+
     @Override
     public final int getOrder() {
         return order;
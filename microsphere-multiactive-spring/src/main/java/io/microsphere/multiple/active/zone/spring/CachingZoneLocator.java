@@ -0,0 +1,410 @@
+package io.microsphere.multiple.active.zone.spring;
+
+import io.microsphere.logging.Logger;
+import io.microsphere.multiple.active.zone.ZoneContext;
+import io.microsphere.multiple.active.zone.spring.event.ZoneContextChangedEvent;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.core.env.Environment;
+import org.springframework.util.Assert;
+import org.springframework.util.CustomizableThreadFactory;
+import org.springframework.util.StringUtils;
+
+import java.beans.PropertyChangeEvent;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.util.List;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static io.microsphere.logging.LoggerFactory.getLogger;
+import static io.microsphere.multiple.active.zone.ZoneConstants.LOCATOR_CACHE_FILE_PROPERTY_NAME;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.attribute.PosixFilePermission.GROUP_WRITE;
+import static java.nio.file.attribute.PosixFilePermission.OTHERS_WRITE;
+import static java.util.Collections.emptyList;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * The {@link CompositeZoneLocator} caches the located zone into the local file, which is read at the next start
+ * without any remote request.
+ * <p>
+ * The located zone, the source {@link ZoneLocator}, the host identity and the timestamp are persisted. The cached zone
+ * is accepted only if the host identity (the host name and the boot ID) is not changed, and then the zone will be
+ * located again in the background to refresh the cache once {@link #refreshCachedZone()} is invoked, which must happen
+ * after the cached zone has been applied to the {@link ZoneContext}, otherwise the corrected zone would be overridden by
+ * the stale one. If the cached zone is stale, the zone located in the background will be applied to the
+ * {@link ZoneContext} unless its zone has been changed, and then the {@link ZoneContextChangedEvent} will be published
+ * if the {@link ApplicationContext} is present. The zone located by {@link DefaultZoneLocator} is never cached, because
+ * it comes from the Spring property or the default value rather than the host.
+ * <p>
+ * The cache file is {@link #DEFAULT_CACHE_FILE} under the "user.home" by default, whose directories are created to be
+ * accessible to the owner only. The cache file is ignored if it's not owned by the current user, or it's writable by
+ * the group or others.
+ * <p>
+ * The refresh in the background holds the same lock as the {@link #relocate(Environment) relocation}, thus the located
+ * state is never interleaved. If no {@link Executor} is specified, the refresh runs on a single daemon thread owned by
+ * this locator, which is released when idle and shut down when this locator is {@link #destroy() destroyed}.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see CompositeZoneLocator
+ * @since 1.0.0
+ */
+public class CachingZoneLocator extends CompositeZoneLocator implements ApplicationContextAware, DisposableBean {
+
+    private static final Logger logger = getLogger(CachingZoneLocator.class);
+
+    /**
+     * The default cache file relative to the "user.home"
+     */
+    public static final String DEFAULT_CACHE_FILE = ".microsphere/availability-zone.properties";
+
+    static final String ZONE_KEY = "zone";
+
+    static final String LOCATOR_KEY = "locator";
+
+    static final String HOST_KEY = "host";
+
+    static final String TIMESTAMP_KEY = "timestamp";
+
+    private static final String BOOT_ID_FILE = "/proc/sys/kernel/random/boot_id";
+
+    private static final String[] HOST_NAME_FILES = {"/proc/sys/kernel/hostname", "/etc/hostname"};
+
+    static final String THREAD_NAME_PREFIX = "zone-locator-cache-";
+
+    private static final long REFRESH_THREAD_KEEP_ALIVE_SECONDS = 60;
+
+    private final Executor refreshExecutor;
+
+    /**
+     * The {@link ExecutorService} owned by this locator, or <code>null</code> if the {@link Executor} is specified
+     */
+    private final ExecutorService ownedRefreshExecutor;
+
+    private final ZoneContext zoneContext;
+
+    private ApplicationContext context;
+
+    /**
+     * The refresh of the cached zone, which is pending until {@link #refreshCachedZone()} is invoked
+     */
+    private final AtomicReference<Supplier<List<PropertyChangeEvent>>> pendingRefresh = new AtomicReference<>();
+
+    public CachingZoneLocator(List<ZoneLocator> zoneLocators) {
+        this(zoneLocators, null);
+    }
+
+    public CachingZoneLocator(List<ZoneLocator> zoneLocators, Executor refreshExecutor) {
+        this(zoneLocators, refreshExecutor, ZoneContext.get());
+    }
+
+    /**
+     * @param zoneLocators    the list of {@link ZoneLocator}
+     * @param refreshExecutor the {@link Executor} to refresh the cache in the background, if <code>null</code>, a
+     *                        single daemon thread owned by this locator will be used for refreshing
+     * @param zoneContext     the {@link ZoneContext} which the zone refreshed in the background is applied to
+     */
+    public CachingZoneLocator(List<ZoneLocator> zoneLocators, Executor refreshExecutor, ZoneContext zoneContext) {
+        super(zoneLocators);
+        Assert.notNull(zoneContext, "The argument 'zoneContext' must not be null!");
+        this.ownedRefreshExecutor = refreshExecutor == null ? newRefreshExecutor() : null;
+        this.refreshExecutor = refreshExecutor == null ? ownedRefreshExecutor : refreshExecutor;
+        this.zoneContext = zoneContext;
+    }
+
+    private static ExecutorService newRefreshExecutor() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(THREAD_NAME_PREFIX);
+        threadFactory.setDaemon(true);
+        // The thread is terminated when idle, because the refresh only happens at the start
+        return new ThreadPoolExecutor(0, 1, REFRESH_THREAD_KEEP_ALIVE_SECONDS, SECONDS, new LinkedBlockingQueue<>(),
+                threadFactory);
+    }
+
+    @Override
+    protected String doLocate(Environment environment) {
+        Path cacheFile = getCacheFile(environment);
+        String host = resolveHost();
+        String zone = readCachedZone(cacheFile, host);
+        if (zone != null) {
+            pendingRefresh.set(() -> refresh(environment, cacheFile, host, zone));
+            return zone;
+        }
+        return locateAndCache(environment, cacheFile, host);
+    }
+
+    @Override
+    protected String doRelocate(Environment environment) {
+        // Bypass the cached zone
+        return locateAndCache(environment, getCacheFile(environment), resolveHost());
+    }
+
+    private String locateAndCache(Environment environment, Path cacheFile, String host) {
+        String zone = super.doLocate(environment);
+        ZoneLocator locatedZoneLocator = getLocatedZoneLocator();
+        if (zone != null && !(locatedZoneLocator instanceof DefaultZoneLocator)) {
+            writeCachedZone(cacheFile, zone, locatedZoneLocator, host);
+        }
+        return zone;
+    }
+
+    /**
+     * Refresh the zone loaded from the cache file in the background, which must be invoked after the cached zone has
+     * been applied to the {@link ZoneContext}. It takes effect once only if the zone was loaded from the cache file.
+     *
+     * @return the {@link CompletableFuture} of the {@link PropertyChangeEvent PropertyChangeEvents} of {@link ZoneContext}
+     * if the cached zone was stale, or empty list if not
+     */
+    public CompletableFuture<List<PropertyChangeEvent>> refreshCachedZone() {
+        Supplier<List<PropertyChangeEvent>> refresh = pendingRefresh.getAndSet(null);
+        if (refresh == null) {
+            return completedFuture(emptyList());
+        }
+        return supplyAsync(refresh, refreshExecutor);
+    }
+
+    private List<PropertyChangeEvent> refresh(Environment environment, Path cacheFile, String host, String cachedZone) {
+        try {
+            List<PropertyChangeEvent> propertyChangeEvents;
+            // Serialized with the relocation
+            synchronized (this) {
+                String zone = locateAndCache(environment, cacheFile, host);
+                if (zone == null || Objects.equals(zone, cachedZone)) {
+                    return emptyList();
+                }
+                logger.warn("The cached zone ['{}'] is stale, the zone ['{}'] is located in the background", cachedZone, zone);
+                propertyChangeEvents = applyZone(cachedZone, zone);
+            }
+            // The listeners are notified without holding the lock
+            if (!propertyChangeEvents.isEmpty() && context != null) {
+                context.publishEvent(new ZoneContextChangedEvent(context, zoneContext, propertyChangeEvents));
+            }
+            return propertyChangeEvents;
+        } catch (Throwable e) {
+            logger.error("The zone can't be refreshed in the background", e);
+            return emptyList();
+        }
+    }
+
+    private List<PropertyChangeEvent> applyZone(String cachedZone, String zone) {
+        // The zone has been changed, e.g. configured by the property or relocated
+        String currentZone = zoneContext.getZone();
+        if (!Objects.equals(currentZone, cachedZone)) {
+            logger.info("The zone ['{}'] is not the cached one ['{}'], the zone ['{}'] located in the background is not applied",
+                    currentZone, cachedZone, zone);
+            return emptyList();
+        }
+        setZone(zone);
+        return zoneContext.update(mutator -> mutator.setZone(zone));
+    }
+
+    private String readCachedZone(Path cacheFile, String host) {
+        if (!Files.isRegularFile(cacheFile)) {
+            logger.trace("The zone cache file [path : '{}'] does not exist", cacheFile);
+            return null;
+        }
+        if (!isTrusted(cacheFile)) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try {
+            properties.load(new ByteArrayInputStream(Files.readAllBytes(cacheFile)));
+        } catch (IOException | IllegalArgumentException e) {
+            logger.warn("The zone cache file [path : '{}'] can't be read", cacheFile, e);
+            return null;
+        }
+        String zone = properties.getProperty(ZONE_KEY);
+        if (!StringUtils.hasText(zone)) {
+            logger.warn("The zone cache file [path : '{}'] is invalid : {}", cacheFile, properties);
+            return null;
+        }
+        String cachedHost = properties.getProperty(HOST_KEY);
+        if (!Objects.equals(host, cachedHost)) {
+            logger.info("The zone cache file [path : '{}'] is ignored, the host ['{}'] is changed to ['{}']", cacheFile,
+                    cachedHost, host);
+            return null;
+        }
+        logger.info("The zone ['{}'] located by {} at {} was loaded from the cache file [path : '{}']", zone,
+                properties.getProperty(LOCATOR_KEY), properties.getProperty(TIMESTAMP_KEY), cacheFile);
+        return zone;
+    }
+
+    private void writeCachedZone(Path cacheFile, String zone, ZoneLocator zoneLocator, String host) {
+        Properties properties = new Properties();
+        properties.setProperty(ZONE_KEY, zone);
+        properties.setProperty(LOCATOR_KEY, String.valueOf(zoneLocator));
+        properties.setProperty(HOST_KEY, host);
+        properties.setProperty(TIMESTAMP_KEY, String.valueOf(System.currentTimeMillis()));
+        try {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream(256);
+            properties.store(outputStream, "The availability zone located by " + getClass().getName());
+            Path directory = cacheFile.toAbsolutePath().getParent();
+            createDirectories(directory);
+            Path tempFile = Files.createTempFile(directory, cacheFile.getFileName().toString(), ".tmp");
+            try {
+                Files.write(tempFile, outputStream.toByteArray());
+                try {
+                    Files.move(tempFile, cacheFile, ATOMIC_MOVE, REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tempFile, cacheFile, REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+            logger.trace("The zone ['{}'] was written into the cache file [path : '{}']", zone, cacheFile);
+        } catch (IOException e) {
+            logger.warn("The zone ['{}'] can't be written into the cache file [path : '{}']", zone, cacheFile, e);
+        }
+    }
+
+    private void createDirectories(Path directory) throws IOException {
+        if (Files.isDirectory(directory)) {
+            return;
+        }
+        if (Files.getFileAttributeView(directory.getRoot(), PosixFileAttributeView.class) != null) {
+            Files.createDirectories(directory, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+        } else {
+            Files.createDirectories(directory);
+        }
+    }
+
+    /**
+     * Is the cache file trusted, which must be owned by the current user and not writable by the group or others
+     *
+     * @param cacheFile the cache file
+     * @return <code>true</code> if trusted
+     */
+    protected boolean isTrusted(Path cacheFile) {
+        try {
+            UserPrincipal owner = Files.getOwner(cacheFile);
+            String userName = System.getProperty("user.name");
+            UserPrincipal user = cacheFile.getFileSystem().getUserPrincipalLookupService().lookupPrincipalByName(userName);
+            if (!Objects.equals(owner, user)) {
+                logger.warn("The zone cache file [path : '{}'] is ignored, its owner ['{}'] is not the current user ['{}']",
+                        cacheFile, owner, userName);
+                return false;
+            }
+            PosixFileAttributeView attributeView = Files.getFileAttributeView(cacheFile, PosixFileAttributeView.class);
+            if (attributeView != null) {
+                Set<PosixFilePermission> permissions = attributeView.readAttributes().permissions();
+                if (permissions.contains(GROUP_WRITE) || permissions.contains(OTHERS_WRITE)) {
+                    logger.warn("The zone cache file [path : '{}'] is ignored, it's writable by the group or others : {}",
+                            cacheFile, PosixFilePermissions.toString(permissions));
+                    return false;
+                }
+            }
+        } catch (IOException | UnsupportedOperationException e) {
+            logger.warn("The owner and permissions of the zone cache file [path : '{}'] can't be checked", cacheFile, e);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Get the cache file
+     *
+     * @param environment {@link Environment}
+     * @return non-null
+     */
+    protected Path getCacheFile(Environment environment) {
+        String cacheFile = environment.getProperty(LOCATOR_CACHE_FILE_PROPERTY_NAME);
+        if (StringUtils.hasText(cacheFile)) {
+            return Paths.get(cacheFile);
+        }
+        return Paths.get(System.getProperty("user.home"), DEFAULT_CACHE_FILE);
+    }
+
+    /**
+     * Resolve the identity of current host, which consists of the host name and the boot ID if present. The host name
+     * is read from the environment variables or the files of the kernel rather than the reverse DNS lookup, which may
+     * block the startup.
+     *
+     * @return non-null
+     */
+    protected String resolveHost() {
+        String hostName = System.getenv("HOSTNAME");
+        if (!StringUtils.hasText(hostName)) {
+            hostName = System.getenv("COMPUTERNAME");
+        }
+        for (int i = 0; i < HOST_NAME_FILES.length && !StringUtils.hasText(hostName); i++) {
+            hostName = readFirstLine(Paths.get(HOST_NAME_FILES[i]));
+        }
+        if (!StringUtils.hasText(hostName)) {
+            hostName = "localhost";
+        }
+        String bootId = readFirstLine(Paths.get(BOOT_ID_FILE));
+        return StringUtils.hasText(bootId) ? hostName + "/" + bootId : hostName;
+    }
+
+    /**
+     * Read the first line of the file
+     *
+     * @param file the file
+     * @return the trimmed line, or <code>null</code> if the file can't be read
+     */
+    static String readFirstLine(Path file) {
+        if (!Files.isReadable(file)) {
+            return null;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file, UTF_8)) {
+            String line = reader.readLine();
+            return line == null ? null : line.trim();
+        } catch (IOException e) {
+            logger.trace("The file [path : '{}'] can't be read", file, e);
+            return null;
+        }
+    }
+
+    @Override
+    public void setApplicationContext(ApplicationContext context) throws BeansException {
+        this.context = context;
+    }
+
+    /**
+     * Shut down the refresh {@link ExecutorService} owned by this locator, the specified {@link Executor} is left to
+     * its owner
+     */
+    @Override
+    public void destroy() {
+        if (ownedRefreshExecutor != null) {
+            ownedRefreshExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * @return the {@link ExecutorService} owned by this locator, or <code>null</code> if the {@link Executor} is
+     * specified
+     */
+    ExecutorService getOwnedRefreshExecutor() {
+        return ownedRefreshExecutor;
+    }
+
+    @Override
+    public String toString() {
+        return "Caching" + super.toString();
+    }
+}
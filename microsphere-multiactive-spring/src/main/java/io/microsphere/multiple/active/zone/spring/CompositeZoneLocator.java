@@ -1,36 +1,131 @@
 package io.microsphere.multiple.active.zone.spring;
 
 import io.microsphere.logging.Logger;
+import io.microsphere.multiple.active.zone.spring.ZoneLocatorListener.Operation;
+import io.microsphere.multiple.active.zone.spring.ZoneLocatorListener.Outcome;
+import org.springframework.context.ApplicationStartupAware;
 import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 import org.springframework.core.env.Environment;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.util.Assert;
+import org.springframework.util.CustomizableThreadFactory;
 import org.springframework.util.StringUtils;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
 
 import static io.microsphere.logging.LoggerFactory.getLogger;
-import static io.microsphere.multiple.active.zone.ZoneConstants.CURRENT_ZONE_PROPERTY_NAME;
+import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_LOCATOR_DEADLINE;
 import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_LOCATOR_FAST_FAIL;
+import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_LOCATOR_PARALLEL;
+import static io.microsphere.multiple.active.zone.ZoneConstants.LOCATOR_DEADLINE_PROPERTY_NAME;
 import static io.microsphere.multiple.active.zone.ZoneConstants.LOCATOR_FAST_FAIL_PROPERTY_NAME;
+import static io.microsphere.multiple.active.zone.ZoneConstants.LOCATOR_PARALLEL_PROPERTY_NAME;
+import static io.microsphere.multiple.active.zone.ZoneContext.setCurrentZone;
+import static io.microsphere.multiple.active.zone.spring.ZoneLocatorListener.Operation.LOCATE;
+import static io.microsphere.multiple.active.zone.spring.ZoneLocatorListener.Operation.SUPPORTS;
+import static io.microsphere.multiple.active.zone.spring.ZoneLocatorListener.Outcome.ERROR;
+import static io.microsphere.multiple.active.zone.spring.ZoneLocatorListener.Outcome.LOCATED;
+import static io.microsphere.multiple.active.zone.spring.ZoneLocatorListener.Outcome.NULL;
+import static io.microsphere.multiple.active.zone.spring.ZoneLocatorListener.Outcome.SUPPORTED;
+import static io.microsphere.multiple.active.zone.spring.ZoneLocatorListener.Outcome.UNSUPPORTED;
+import static java.lang.System.nanoTime;
+import static java.util.Collections.emptyList;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 /**
  * The composition of {@link ZoneLocator} list.
+ * <p>
+ * The {@link ZoneLocator ZoneLocators} are tried one after another by default. If
+ * {@link io.microsphere.multiple.active.zone.ZoneConstants#LOCATOR_PARALLEL_PROPERTY_NAME parallel} is enabled, all
+ * supported {@link ZoneLocator ZoneLocators} are raced concurrently, the answer of the highest-ordered one is accepted
+ * as soon as all higher-ordered ones have finished, and the whole race is capped by the
+ * {@link io.microsphere.multiple.active.zone.ZoneConstants#LOCATOR_DEADLINE_PROPERTY_NAME deadline}. When the deadline
+ * is exceeded, the highest-ordered answer that has been completed is accepted.
+ * <p>
+ * The location at the first time is recorded as the {@link StartupStep} {@link #LOCATE_STEP_NAME
+ * "microsphere.zone.locate"} of {@link ApplicationStartup}, and each invocation of {@link ZoneLocator} in the same
+ * thread is recorded as the nested {@link StartupStep} {@link #LOCATOR_SUPPORTS_STEP_NAME
+ * "microsphere.zone.locator.supports"} or {@link #LOCATOR_LOCATE_STEP_NAME "microsphere.zone.locator.locate"} tagged
+ * with the locator name, the outcome and the duration. The invocations racing in parallel are recorded and notified
+ * in the calling thread once the race is settled, except the ones still running, which are cancelled. The
+ * invocations in the other threads, e.g. relocating in the background, are only notified to the
+ * {@link ZoneLocatorListener ZoneLocatorListeners}.
+ * <p>
+ * The location, the {@link #relocate(Environment) relocation} and the located state, e.g. the located zone and the
+ * located {@link ZoneLocator}, are guarded by the monitor of this locator, thus the relocation in the background never
+ * interleaves with the others.
  *
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
  * @since 1.0.0
  */
-public class CompositeZoneLocator implements ZoneLocator {
+public class CompositeZoneLocator implements ZoneLocator, ApplicationStartupAware {
 
     private static final Logger logger = getLogger(CompositeZoneLocator.class);
 
+    private static final String THREAD_NAME_PREFIX = "zone-locator-";
+
+    /**
+     * The name of {@link StartupStep} to locate the zone at the first time
+     */
+    public static final String LOCATE_STEP_NAME = "microsphere.zone.locate";
+
+    /**
+     * The name of {@link StartupStep} to invoke {@link ZoneLocator#supports(Environment)}
+     */
+    public static final String LOCATOR_SUPPORTS_STEP_NAME = "microsphere.zone.locator.supports";
+
+    /**
+     * The name of {@link StartupStep} to invoke {@link ZoneLocator#locate(Environment)}
+     */
+    public static final String LOCATOR_LOCATE_STEP_NAME = "microsphere.zone.locator.locate";
+
+    public static final String ZONE_TAG_NAME = "zone";
+
+    public static final String LOCATOR_TAG_NAME = "locator";
+
+    public static final String OUTCOME_TAG_NAME = "outcome";
+
+    public static final String DURATION_TAG_NAME = "duration";
+
     private final List<ZoneLocator> zoneLocators;
 
+    private final ExecutorService executorService;
+
+    /**
+     * The {@link StartupStep} of {@link #locate(Environment)} in current thread
+     */
+    private final ThreadLocal<StartupStep> locateStep = new ThreadLocal<>();
+
+    private ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
+
+    private volatile List<ZoneLocatorListener> zoneLocatorListeners = emptyList();
+
     private volatile String zone;
 
+    private volatile ZoneLocator locatedZoneLocator;
+
     public CompositeZoneLocator(List<ZoneLocator> zoneLocators) {
+        this(zoneLocators, null);
+    }
+
+    /**
+     * @param zoneLocators    the list of {@link ZoneLocator}
+     * @param executorService the {@link ExecutorService} to race the {@link ZoneLocator ZoneLocators} in parallel, if
+     *                        <code>null</code>, a temporary one will be created for each race and shut down after it
+     */
+    public CompositeZoneLocator(List<ZoneLocator> zoneLocators, ExecutorService executorService) {
         Assert.notNull(zoneLocators, "The argument 'zoneLocators' must not be null!");
         this.zoneLocators = new ArrayList<>(zoneLocators);
+        this.executorService = executorService;
         AnnotationAwareOrderComparator.sort(this.zoneLocators);
     }
 
@@ -38,7 +133,7 @@ public class CompositeZoneLocator implements ZoneLocator {
     public boolean supports(Environment environment) {
         // Supported when at least one object supports.
         for (ZoneLocator zoneLocator : zoneLocators) {
-            if (zoneLocator.supports(environment)) {
+            if (supports(zoneLocator, environment)) {
                 return true;
             }
         }
@@ -48,22 +143,128 @@ public class CompositeZoneLocator implements ZoneLocator {
     @Override
     public String locate(Environment environment) {
         // return the located zone at the first time
+        String zone = this.zone;
         if (StringUtils.hasText(zone)) {
             return zone;
         }
+        synchronized (this) {
+            return locateAtFirstTime(environment);
+        }
+    }
+
+    private String locateAtFirstTime(Environment environment) {
+        if (StringUtils.hasText(this.zone)) {
+            return this.zone;
+        }
+
+        String zone = locateAndRecord(environment);
+
+        if (zone == null) {
+            logger.warn("The zone can't be located by anyone of zoneLocators : {}", zoneLocators);
+        }
+
+        this.zone = zone;
+
+        if (this.zone != null) {
+            setCurrentZone(this.zone);
+        }
+
+        return zone;
+    }
 
+    private String locateAndRecord(Environment environment) {
+        StartupStep step = applicationStartup.start(LOCATE_STEP_NAME);
+        locateStep.set(step);
+        long startTime = nanoTime();
         String zone = null;
+        Outcome outcome = ERROR;
+        try {
+            zone = doLocate(environment);
+            outcome = zone == null ? NULL : LOCATED;
+        } finally {
+            long duration = nanoTime() - startTime;
+            locateStep.remove();
+            step.tag(ZONE_TAG_NAME, String.valueOf(zone))
+                    .tag(OUTCOME_TAG_NAME, outcome.getValue())
+                    .tag(DURATION_TAG_NAME, Duration.ofNanos(duration).toString());
+            step.end();
+            for (ZoneLocatorListener listener : zoneLocatorListeners) {
+                try {
+                    listener.onLocated(zone, outcome, duration);
+                } catch (Throwable e) {
+                    logger.error("{} failed on the zone located", listener, e);
+                }
+            }
+        }
+        return zone;
+    }
+
+    /**
+     * Locate the zone again by the {@link ZoneLocator ZoneLocators} regardless of the located zone, which will be
+     * replaced if the zone is located.
+     *
+     * @param environment {@link Environment}
+     * @return the located zone, or <code>null</code> if it can't be located
+     */
+    public synchronized String relocate(Environment environment) {
+        String zone = doRelocate(environment);
+        if (zone != null) {
+            setZone(zone);
+        }
+        return zone;
+    }
+
+    /**
+     * Replace the located zone, e.g. it was stale and has been located again in the background
+     *
+     * @param zone the located zone
+     */
+    protected synchronized void setZone(String zone) {
+        this.zone = zone;
+        setCurrentZone(zone);
+    }
+
+    /**
+     * Locate the zone again by the {@link ZoneLocator ZoneLocators}
+     *
+     * @param environment {@link Environment}
+     * @return the located zone, or <code>null</code> if it can't be located
+     */
+    protected String doRelocate(Environment environment) {
+        return doLocate(environment);
+    }
 
+    /**
+     * Locate the zone by the {@link ZoneLocator ZoneLocators} without the located zone at the first time
+     *
+     * @param environment {@link Environment}
+     * @return the located zone, or <code>null</code> if it can't be located
+     */
+    protected String doLocate(Environment environment) {
         boolean fastFailEnabled = isFastFailEnabled(environment);
+        return isParallelEnabled(environment) ? locateInParallel(environment, fastFailEnabled) :
+                locateSequentially(environment, fastFailEnabled);
+    }
+
+    /**
+     * @return the {@link ZoneLocator} that located the zone at the last time, or <code>null</code> if absent
+     */
+    protected ZoneLocator getLocatedZoneLocator() {
+        return locatedZoneLocator;
+    }
+
+    private String locateSequentially(Environment environment, boolean fastFailEnabled) {
+        String zone = null;
 
         ZoneLocator failedZoneLocator = null;
 
         for (ZoneLocator zoneLocator : zoneLocators) {
             try {
-                if (zoneLocator.supports(environment)) {
-                    zone = zoneLocator.locate(environment);
+                if (supports(zoneLocator, environment)) {
+                    zone = locate(zoneLocator, environment);
                     if (zone != null) {
                         logger.info("{} locates the zone : {}", zoneLocator, zone);
+                        locatedZoneLocator = unwrap(zoneLocator);
                         break;
                     } else {
                         logger.warn("{} can't locate the zone", zoneLocator);
@@ -88,25 +289,295 @@ public class CompositeZoneLocator implements ZoneLocator {
             throw new IllegalStateException("The zone can't be located by " + failedZoneLocator);
         }
 
-        if (zone == null) {
-            logger.warn("The zone can't be located by anyone of zoneLocators : {}", zoneLocators);
+        return zone;
+    }
+
+    private String locateInParallel(Environment environment, boolean fastFailEnabled) {
+        List<ZoneLocator> supportedZoneLocators = new ArrayList<>(zoneLocators.size());
+        for (ZoneLocator zoneLocator : zoneLocators) {
+            try {
+                if (supports(zoneLocator, environment)) {
+                    supportedZoneLocators.add(zoneLocator);
+                } else {
+                    logger.trace("{} does not support to locate the zone", zoneLocator);
+                }
+            } catch (Throwable e) {
+                logger.error("{} failed to locate the zone", zoneLocator, e);
+                if (fastFailEnabled) {
+                    throw new IllegalStateException("The zone can't be located by " + zoneLocator);
+                }
+            }
         }
 
-        this.zone = zone;
+        int size = supportedZoneLocators.size();
+        if (size == 0) {
+            return null;
+        }
 
-        if (this.zone != null) {
-            System.setProperty(CURRENT_ZONE_PROPERTY_NAME, this.zone);
+        long deadline = nanoTime() + MILLISECONDS.toNanos(getDeadline(environment));
+        ExecutorService executorService = this.executorService == null ? newExecutorService(size) : this.executorService;
+        List<Future<Invocation>> futures = new ArrayList<>(size);
+        try {
+            for (ZoneLocator zoneLocator : supportedZoneLocators) {
+                futures.add(executorService.submit(() -> invoke(zoneLocator, environment)));
+            }
+            return race(supportedZoneLocators, futures, deadline, fastFailEnabled);
+        } finally {
+            for (Future<Invocation> future : futures) {
+                future.cancel(true);
+            }
+            if (executorService != this.executorService) {
+                executorService.shutdownNow();
+            }
+            recordCompleted(supportedZoneLocators, futures);
+        }
+    }
+
+    private String race(List<ZoneLocator> zoneLocators, List<Future<Invocation>> futures, long deadline, boolean fastFailEnabled) {
+        int size = futures.size();
+        for (int i = 0; i < size; i++) {
+            ZoneLocator zoneLocator = zoneLocators.get(i);
+            Future<Invocation> future = futures.get(i);
+            try {
+                Invocation invocation = future.get(Math.max(0L, deadline - nanoTime()), NANOSECONDS);
+                String zone = invocation.zone;
+                if (invocation.failure != null) {
+                    logger.error("{} failed to locate the zone", zoneLocator, invocation.failure);
+                } else if (zone != null) {
+                    logger.info("{} locates the zone : {}", zoneLocator, zone);
+                    locatedZoneLocator = unwrap(zoneLocator);
+                    return zone;
+                } else {
+                    logger.warn("{} can't locate the zone", zoneLocator);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.warn("The zone locating was interrupted while waiting for {}", zoneLocator);
+                return null;
+            } catch (TimeoutException e) {
+                logger.warn("The deadline of zone locating is exceeded while waiting for {}", zoneLocator);
+                return getCompletedZone(zoneLocators, futures, i + 1);
+            } catch (ExecutionException e) {
+                logger.error("{} failed to locate the zone", zoneLocator, e.getCause());
+            }
+            if (fastFailEnabled) {
+                throw new IllegalStateException("The zone can't be located by " + zoneLocator);
+            }
+        }
+        return null;
+    }
+
+    private String getCompletedZone(List<ZoneLocator> zoneLocators, List<Future<Invocation>> futures, int from) {
+        int size = futures.size();
+        for (int i = from; i < size; i++) {
+            Future<Invocation> future = futures.get(i);
+            if (future.isDone() && !future.isCancelled()) {
+                try {
+                    String zone = future.get().zone;
+                    if (zone != null) {
+                        logger.info("{} locates the zone : {} before the deadline", zoneLocators.get(i), zone);
+                        locatedZoneLocator = unwrap(zoneLocators.get(i));
+                        return zone;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return null;
+                } catch (ExecutionException e) {
+                    // The failure has been ignored, try the next one
+                }
+            }
+        }
+        return null;
+    }
+
+    private boolean supports(ZoneLocator zoneLocator, Environment environment) {
+        StartupStep step = startStep(LOCATOR_SUPPORTS_STEP_NAME);
+        long startTime = nanoTime();
+        Outcome outcome = ERROR;
+        try {
+            boolean supported = zoneLocator.supports(environment);
+            outcome = supported ? SUPPORTED : UNSUPPORTED;
+            return supported;
+        } finally {
+            record(step, zoneLocator, SUPPORTS, outcome, nanoTime() - startTime);
+        }
+    }
+
+    private String locate(ZoneLocator zoneLocator, Environment environment) {
+        StartupStep step = startStep(LOCATOR_LOCATE_STEP_NAME);
+        long startTime = nanoTime();
+        Outcome outcome = ERROR;
+        try {
+            String zone = zoneLocator.locate(environment);
+            outcome = zone == null ? NULL : LOCATED;
+            return zone;
+        } finally {
+            record(step, zoneLocator, LOCATE, outcome, nanoTime() - startTime);
+        }
+    }
+
+    /**
+     * Invoke {@link ZoneLocator#locate(Environment)} in the racing thread, which will be recorded in the calling thread
+     */
+    private static Invocation invoke(ZoneLocator zoneLocator, Environment environment) {
+        long startTime = nanoTime();
+        try {
+            String zone = zoneLocator.locate(environment);
+            return new Invocation(zone, zone == null ? NULL : LOCATED, nanoTime() - startTime, null);
+        } catch (Throwable e) {
+            return new Invocation(null, ERROR, nanoTime() - startTime, e);
+        }
+    }
+
+    private void recordCompleted(List<ZoneLocator> zoneLocators, List<Future<Invocation>> futures) {
+        for (int i = 0, size = futures.size(); i < size; i++) {
+            Future<Invocation> future = futures.get(i);
+            if (future.isDone() && !future.isCancelled()) {
+                Invocation invocation;
+                try {
+                    invocation = future.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (ExecutionException e) {
+                    continue;
+                }
+                record(startStep(LOCATOR_LOCATE_STEP_NAME), zoneLocators.get(i), LOCATE, invocation.outcome,
+                        invocation.duration);
+            }
+        }
+    }
+
+    private StartupStep startStep(String name) {
+        // The steps are only nested in the one of locate() in the same thread, the ApplicationStartup is not thread-safe
+        return locateStep.get() == null ? ApplicationStartup.DEFAULT.start(name) : applicationStartup.start(name);
+    }
+
+    private void record(StartupStep step, ZoneLocator zoneLocator, Operation operation, Outcome outcome, long duration) {
+        zoneLocator = unwrap(zoneLocator);
+        String locatorName = getLocatorName(zoneLocator);
+        step.tag(LOCATOR_TAG_NAME, locatorName)
+                .tag(OUTCOME_TAG_NAME, outcome.getValue())
+                .tag(DURATION_TAG_NAME, Duration.ofNanos(duration).toString());
+        step.end();
+        for (ZoneLocatorListener listener : zoneLocatorListeners) {
+            try {
+                listener.onInvoked(zoneLocator, locatorName, operation, outcome, duration);
+            } catch (Throwable e) {
+                logger.error("{} failed on the invocation of {}", listener, zoneLocator, e);
+            }
+        }
+    }
+
+    /**
+     * Get the name of {@link ZoneLocator}
+     *
+     * @param zoneLocator {@link ZoneLocator}
+     * @return the bean name if present, or the class name
+     */
+    static String getLocatorName(ZoneLocator zoneLocator) {
+        zoneLocator = unwrap(zoneLocator);
+        if (zoneLocator instanceof LazyZoneLocator) {
+            return ((LazyZoneLocator) zoneLocator).getType().getSimpleName();
+        }
+        if (zoneLocator instanceof AbstractZoneLocator) {
+            String beanName = ((AbstractZoneLocator) zoneLocator).getBeanName();
+            if (StringUtils.hasText(beanName)) {
+                return beanName;
+            }
         }
+        Class<?> type = zoneLocator.getClass();
+        String simpleName = type.getSimpleName();
+        return simpleName.isEmpty() ? type.getName() : simpleName;
+    }
+
+    /**
+     * Get the target {@link ZoneLocator} of {@link LazyZoneLocator} if it was instantiated
+     *
+     * @param zoneLocator {@link ZoneLocator}
+     * @return the target {@link ZoneLocator}, or the argument itself
+     */
+    static ZoneLocator unwrap(ZoneLocator zoneLocator) {
+        if (zoneLocator instanceof LazyZoneLocator) {
+            LazyZoneLocator lazyZoneLocator = (LazyZoneLocator) zoneLocator;
+            if (lazyZoneLocator.isInstantiated()) {
+                return lazyZoneLocator.getZoneLocator();
+            }
+        }
+        return zoneLocator;
+    }
 
+    /**
+     * @return the zone located at the last time, or <code>null</code> if it has not been located
+     */
+    public String getZone() {
         return zone;
     }
 
+    private ExecutorService newExecutorService(int size) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(THREAD_NAME_PREFIX);
+        threadFactory.setDaemon(true);
+        return newFixedThreadPool(size, threadFactory);
+    }
+
+    @Override
+    public void setApplicationStartup(ApplicationStartup applicationStartup) {
+        Assert.notNull(applicationStartup, "The argument 'applicationStartup' must not be null!");
+        this.applicationStartup = applicationStartup;
+    }
+
+    /**
+     * @return the {@link ApplicationStartup} to record the zone location, {@link ApplicationStartup#DEFAULT} by default
+     */
+    public ApplicationStartup getApplicationStartup() {
+        return applicationStartup;
+    }
+
+    /**
+     * Set the {@link ZoneLocatorListener ZoneLocatorListeners}
+     *
+     * @param zoneLocatorListeners the list of {@link ZoneLocatorListener}
+     */
+    public void setZoneLocatorListeners(List<ZoneLocatorListener> zoneLocatorListeners) {
+        Assert.notNull(zoneLocatorListeners, "The argument 'zoneLocatorListeners' must not be null!");
+        this.zoneLocatorListeners = new ArrayList<>(zoneLocatorListeners);
+    }
+
     private boolean isFastFailEnabled(Environment environment) {
         return environment.getProperty(LOCATOR_FAST_FAIL_PROPERTY_NAME, boolean.class, DEFAULT_LOCATOR_FAST_FAIL);
     }
 
+    private boolean isParallelEnabled(Environment environment) {
+        return environment.getProperty(LOCATOR_PARALLEL_PROPERTY_NAME, boolean.class, DEFAULT_LOCATOR_PARALLEL);
+    }
+
+    private int getDeadline(Environment environment) {
+        return environment.getProperty(LOCATOR_DEADLINE_PROPERTY_NAME, int.class, DEFAULT_LOCATOR_DEADLINE);
+    }
+
     @Override
     public String toString() {
         return "CompositeZoneLocator{" + "zoneLocators=" + zoneLocators + ", zone=" + zone + '}';
     }
+
+    /**
+     * The result of {@link ZoneLocator#locate(Environment)} racing in parallel
+     */
+    private static final class Invocation {
+
+        private final String zone;
+
+        private final Outcome outcome;
+
+        private final long duration;
+
+        private final Throwable failure;
+
+        private Invocation(String zone, Outcome outcome, long duration, Throwable failure) {
+            this.zone = zone;
+            this.outcome = outcome;
+            this.duration = duration;
+            this.failure = failure;
+        }
+    }
 }
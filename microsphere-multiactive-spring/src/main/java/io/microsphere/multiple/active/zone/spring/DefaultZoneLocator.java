@@ -1,5 +1,6 @@
 package io.microsphere.multiple.active.zone.spring;
 
+import org.springframework.core.annotation.Order;
 import org.springframework.core.env.Environment;
 import org.springframework.util.StringUtils;
 
@@ -12,6 +13,7 @@ import static io.microsphere.multiple.active.zone.ZoneConstants.ZONE_PROPERTY_NA
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
  * @since 1.0.0
  */
+@Order(DefaultZoneLocator.DEFAULT_ORDER)
 public class DefaultZoneLocator extends AbstractZoneLocator {
 
     public static final int DEFAULT_ORDER = 20;
@@ -0,0 +1,109 @@
+package io.microsphere.multiple.active.zone.spring;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.util.Assert;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Function;
+
+/**
+ * The {@link ZoneLocator} holds the type and the order of the target {@link ZoneLocator} up front, which will not be
+ * instantiated until it's invoked at the first time, e.g. the lower-ordered {@link ZoneLocator ZoneLocators} are never
+ * instantiated if the zone was located by the higher-ordered one.
+ * <p>
+ * The result of {@link #supports(Environment)} is memoized per {@link Environment}, which is assumed to be stable.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ZoneUtils#loadZoneLocators(ClassLoader, Function)
+ * @since 1.0.0
+ */
+public class LazyZoneLocator implements ZoneLocator, Ordered {
+
+    private final Class<? extends ZoneLocator> type;
+
+    private final int order;
+
+    private final Function<Class<? extends ZoneLocator>, ZoneLocator> instantiator;
+
+    private final Map<Environment, Boolean> supportedEnvironments = Collections.synchronizedMap(new WeakHashMap<>(1));
+
+    private volatile ZoneLocator zoneLocator;
+
+    /**
+     * @param type         the type of target {@link ZoneLocator}
+     * @param order        the order of target {@link ZoneLocator}
+     * @param instantiator the function to instantiate the target {@link ZoneLocator} by its type
+     */
+    public LazyZoneLocator(Class<? extends ZoneLocator> type, int order,
+                           Function<Class<? extends ZoneLocator>, ZoneLocator> instantiator) {
+        Assert.notNull(type, "The argument 'type' must not be null!");
+        Assert.notNull(instantiator, "The argument 'instantiator' must not be null!");
+        this.type = type;
+        this.order = order;
+        this.instantiator = instantiator;
+    }
+
+    @Override
+    public boolean supports(Environment environment) {
+        Boolean supported = supportedEnvironments.get(environment);
+        if (supported == null) {
+            supported = getZoneLocator().supports(environment);
+            supportedEnvironments.put(environment, supported);
+        }
+        return supported;
+    }
+
+    @Override
+    public String locate(Environment environment) {
+        return getZoneLocator().locate(environment);
+    }
+
+    /**
+     * Get the target {@link ZoneLocator}, it will be instantiated if absent
+     *
+     * @return non-null
+     */
+    public ZoneLocator getZoneLocator() {
+        ZoneLocator zoneLocator = this.zoneLocator;
+        if (zoneLocator == null) {
+            synchronized (this) {
+                zoneLocator = this.zoneLocator;
+                if (zoneLocator == null) {
+                    zoneLocator = instantiator.apply(type);
+                    Assert.state(zoneLocator != null, () -> "The ZoneLocator [type : '" + type.getName() + "'] can't be instantiated");
+                    this.zoneLocator = zoneLocator;
+                }
+            }
+        }
+        return zoneLocator;
+    }
+
+    /**
+     * @return <code>true</code> if the target {@link ZoneLocator} was instantiated
+     */
+    public boolean isInstantiated() {
+        return zoneLocator != null;
+    }
+
+    /**
+     * @return the type of target {@link ZoneLocator}
+     */
+    public Class<? extends ZoneLocator> getType() {
+        return type;
+    }
+
+    @Override
+    public int getOrder() {
+        return order;
+    }
+
+    @Override
+    public String toString() {
+        ZoneLocator zoneLocator = this.zoneLocator;
+        return zoneLocator == null ? "LazyZoneLocator{" + "type=" + type.getName() + ", order=" + order + '}' :
+                zoneLocator.toString();
+    }
+}
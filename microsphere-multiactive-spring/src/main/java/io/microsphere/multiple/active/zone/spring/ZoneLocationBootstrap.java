@@ -0,0 +1,208 @@
+package io.microsphere.multiple.active.zone.spring;
+
+import io.microsphere.logging.Logger;
+import io.microsphere.multiple.active.zone.ZoneContext;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.env.Environment;
+import org.springframework.util.Assert;
+import org.springframework.util.CustomizableThreadFactory;
+
+import java.beans.PropertyChangeEvent;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static io.microsphere.logging.LoggerFactory.getLogger;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * The bootstrap to locate the zone asynchronously, the {@link ZoneContext} holds the provisional zone until the
+ * {@link ZoneLocator} answers, and then the located zone will be set into the {@link ZoneContext}. The
+ * {@link ZoneLocator} is destroyed with this bootstrap if it's a {@link DisposableBean}.
+ * <p>
+ * If the zone was loaded from the cache file by the {@link CachingZoneLocator}, it will be refreshed in the background
+ * after being set, the zone corrected by the refresh is notified to the {@link #whenLocated(Consumer) callbacks} again.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ZoneLocator
+ * @see ZoneContext#setProvisionalZone(String, long, TimeUnit)
+ * @since 1.0.0
+ */
+public class ZoneLocationBootstrap implements DisposableBean {
+
+    private static final Logger logger = getLogger(ZoneLocationBootstrap.class);
+
+    private static final String THREAD_NAME_PREFIX = "zone-location-bootstrap-";
+
+    private final ZoneLocator zoneLocator;
+
+    private final ZoneContext zoneContext;
+
+    private final Executor executor;
+
+    private final CompletableFuture<Result> future = new CompletableFuture<>();
+
+    /**
+     * The {@link PropertyChangeEvent PropertyChangeEvents} of the zone corrected by the refresh of
+     * {@link CachingZoneLocator}, which is never completed if the zone is not corrected
+     */
+    private final CompletableFuture<List<PropertyChangeEvent>> correction = new CompletableFuture<>();
+
+    private volatile String correctedZone;
+
+    private volatile boolean started;
+
+    public ZoneLocationBootstrap(ZoneLocator zoneLocator, ZoneContext zoneContext) {
+        this(zoneLocator, zoneContext, null);
+    }
+
+    /**
+     * @param zoneLocator {@link ZoneLocator}
+     * @param zoneContext {@link ZoneContext}
+     * @param executor    the {@link Executor} to locate the zone, if <code>null</code>, a daemon thread will be started
+     */
+    public ZoneLocationBootstrap(ZoneLocator zoneLocator, ZoneContext zoneContext, Executor executor) {
+        Assert.notNull(zoneLocator, "The argument 'zoneLocator' must not be null!");
+        Assert.notNull(zoneContext, "The argument 'zoneContext' must not be null!");
+        this.zoneLocator = zoneLocator;
+        this.zoneContext = zoneContext;
+        this.executor = executor;
+    }
+
+    /**
+     * Start to locate the zone asynchronously, current zone of {@link ZoneContext} will be provisional until the zone
+     * is located or the timeout elapses.
+     *
+     * @param environment {@link Environment}
+     * @param timeout     the max time in milliseconds to wait for the located zone
+     */
+    public synchronized void start(Environment environment, long timeout) {
+        if (started) {
+            return;
+        }
+        started = true;
+        zoneContext.setProvisionalZone(zoneContext.getZone(), timeout, TimeUnit.MILLISECONDS);
+        Runnable task = () -> locate(environment);
+        if (executor == null) {
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(THREAD_NAME_PREFIX);
+            threadFactory.setDaemon(true);
+            threadFactory.newThread(task).start();
+        } else {
+            executor.execute(task);
+        }
+        logger.info("The zone is being located asynchronously by {}", zoneLocator);
+    }
+
+    private void locate(Environment environment) {
+        String zone = null;
+        List<PropertyChangeEvent> propertyChangeEvents = emptyList();
+        CompletableFuture<List<PropertyChangeEvent>> refresh = null;
+        try {
+            if (zoneLocator.supports(environment)) {
+                zone = zoneLocator.locate(environment);
+            }
+        } catch (Throwable e) {
+            logger.error("{} failed to locate the zone asynchronously", zoneLocator, e);
+        }
+        if (zone == null) {
+            logger.warn("The zone can't be located asynchronously by {}, the provisional zone ['{}'] is confirmed", zoneLocator,
+                    zoneContext.getZone());
+            zoneContext.confirmZone();
+        } else {
+            String locatedZone = zone;
+            // The provisional zone is confirmed by the update as well
+            propertyChangeEvents = zoneContext.update(mutator -> mutator.setZone(locatedZone));
+            if (zoneLocator instanceof CachingZoneLocator) {
+                // The zone loaded from the cache file is refreshed after it has been applied
+                refresh = ((CachingZoneLocator) zoneLocator).refreshCachedZone();
+            }
+        }
+        future.complete(new Result(zone, unmodifiableList(propertyChangeEvents)));
+        if (refresh != null) {
+            // The correction is notified after the located zone
+            refresh.thenAccept(this::onRefreshed);
+        }
+    }
+
+    private void onRefreshed(List<PropertyChangeEvent> propertyChangeEvents) {
+        if (propertyChangeEvents.isEmpty()) {
+            return;
+        }
+        correctedZone = ((CachingZoneLocator) zoneLocator).getZone();
+        correction.complete(unmodifiableList(propertyChangeEvents));
+    }
+
+    /**
+     * @return <code>true</code> if it was started
+     */
+    public boolean isStarted() {
+        return started;
+    }
+
+    /**
+     * @return <code>true</code> if the location is done
+     */
+    public boolean isDone() {
+        return future.isDone();
+    }
+
+    /**
+     * @return the located zone, or <code>null</code> if the location is not done or failed
+     */
+    public String getZone() {
+        Result result = future.getNow(null);
+        if (result == null) {
+            return null;
+        }
+        String correctedZone = this.correctedZone;
+        return correctedZone == null ? result.zone : correctedZone;
+    }
+
+    /**
+     * Register the callback which is invoked with the {@link PropertyChangeEvent PropertyChangeEvents} of
+     * {@link ZoneContext} when the location is done, it will be invoked immediately if the location has been done.
+     * The events are empty if the zone was not changed or not located. The callback will be invoked again with the
+     * events of the zone corrected by the refresh of {@link CachingZoneLocator} if the cached zone was stale.
+     *
+     * @param callback the callback
+     */
+    public void whenLocated(Consumer<List<PropertyChangeEvent>> callback) {
+        future.thenAccept(result -> accept(callback, result.propertyChangeEvents));
+        correction.thenAccept(propertyChangeEvents -> accept(callback, propertyChangeEvents));
+    }
+
+    private void accept(Consumer<List<PropertyChangeEvent>> callback, List<PropertyChangeEvent> propertyChangeEvents) {
+        try {
+            callback.accept(propertyChangeEvents);
+        } catch (Throwable e) {
+            logger.error("The callback {} failed when the zone was located", callback, e);
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (zoneLocator instanceof DisposableBean) {
+            ((DisposableBean) zoneLocator).destroy();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ZoneLocationBootstrap{" + "zoneLocator=" + zoneLocator + ", started=" + started + ", zone=" + getZone() + '}';
+    }
+
+    private static final class Result {
+
+        private final String zone;
+
+        private final List<PropertyChangeEvent> propertyChangeEvents;
+
+        private Result(String zone, List<PropertyChangeEvent> propertyChangeEvents) {
+            this.zone = zone;
+            this.propertyChangeEvents = propertyChangeEvents;
+        }
+    }
+}
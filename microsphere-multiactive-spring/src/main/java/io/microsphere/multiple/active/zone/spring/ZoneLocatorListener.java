@@ -0,0 +1,106 @@
+package io.microsphere.multiple.active.zone.spring;
+
+import org.springframework.core.env.Environment;
+
+/**
+ * The listener of the {@link ZoneLocator ZoneLocators} invoked by {@link CompositeZoneLocator}, e.g. recording the
+ * time spent by each {@link ZoneLocator}.
+ * <p>
+ * The callbacks may be invoked concurrently by the threads racing the {@link ZoneLocator ZoneLocators} in parallel, so
+ * the implementation must be thread-safe and should not block.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see CompositeZoneLocator#setZoneLocatorListeners(java.util.List)
+ * @since 1.0.0
+ */
+public interface ZoneLocatorListener {
+
+    /**
+     * Callback after the {@link ZoneLocator} was invoked
+     *
+     * @param zoneLocator the {@link ZoneLocator}
+     * @param locatorName the name of {@link ZoneLocator}, the bean name if present, or the class name
+     * @param operation   the invoked {@link Operation}
+     * @param outcome     the {@link Outcome} of invocation
+     * @param duration    the duration of invocation in nanoseconds
+     */
+    void onInvoked(ZoneLocator zoneLocator, String locatorName, Operation operation, Outcome outcome, long duration);
+
+    /**
+     * Callback after the zone was located by {@link CompositeZoneLocator#locate(Environment)} at the first time
+     *
+     * @param zone     the located zone, or <code>null</code> if it can't be located
+     * @param outcome  the {@link Outcome} of location, {@link Outcome#LOCATED}, {@link Outcome#NULL} or
+     *                 {@link Outcome#ERROR}
+     * @param duration the total duration of location in nanoseconds
+     */
+    default void onLocated(String zone, Outcome outcome, long duration) {
+    }
+
+    /**
+     * The operation of {@link ZoneLocator}
+     */
+    enum Operation {
+
+        /**
+         * {@link ZoneLocator#supports(Environment)}
+         */
+        SUPPORTS("supports"),
+
+        /**
+         * {@link ZoneLocator#locate(Environment)}
+         */
+        LOCATE("locate");
+
+        private final String value;
+
+        Operation(String value) {
+            this.value = value;
+        }
+
+        public String getValue() {
+            return value;
+        }
+    }
+
+    /**
+     * The outcome of {@link ZoneLocator} invocation
+     */
+    enum Outcome {
+
+        /**
+         * {@link ZoneLocator#supports(Environment)} returns <code>true</code>
+         */
+        SUPPORTED("supported"),
+
+        /**
+         * {@link ZoneLocator#supports(Environment)} returns <code>false</code>
+         */
+        UNSUPPORTED("unsupported"),
+
+        /**
+         * {@link ZoneLocator#locate(Environment)} returns the zone
+         */
+        LOCATED("located"),
+
+        /**
+         * {@link ZoneLocator#locate(Environment)} returns <code>null</code>
+         */
+        NULL("null"),
+
+        /**
+         * The invocation throws an exception
+         */
+        ERROR("error");
+
+        private final String value;
+
+        Outcome(String value) {
+            this.value = value;
+        }
+
+        public String getValue() {
+            return value;
+        }
+    }
+}
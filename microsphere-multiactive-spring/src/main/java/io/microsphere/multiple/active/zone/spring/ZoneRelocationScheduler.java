@@ -0,0 +1,232 @@
+package io.microsphere.multiple.active.zone.spring;
+
+import io.microsphere.logging.Logger;
+import io.microsphere.multiple.active.zone.ZoneContext;
+import io.microsphere.multiple.active.zone.spring.event.ZoneContextChangedEvent;
+import org.springframework.beans.BeansException;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.env.Environment;
+import org.springframework.util.Assert;
+import org.springframework.util.CustomizableThreadFactory;
+
+import java.beans.PropertyChangeEvent;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static io.microsphere.logging.LoggerFactory.getLogger;
+import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_LOCATOR_REFRESH_INTERVAL;
+import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_LOCATOR_REFRESH_JITTER;
+import static io.microsphere.multiple.active.zone.ZoneConstants.LOCATOR_REFRESH_INTERVAL_PROPERTY_NAME;
+import static io.microsphere.multiple.active.zone.ZoneConstants.LOCATOR_REFRESH_JITTER_PROPERTY_NAME;
+import static io.microsphere.multiple.active.zone.ZoneConstants.ORIGINAL_ZONE;
+import static io.microsphere.multiple.active.zone.ZoneConstants.ZONE_PROPERTY_NAME;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * The scheduler locates the zone again by the {@link CompositeZoneLocator} periodically in a background thread to
+ * detect the zone drift, e.g. the container was migrated or the metadata was wrong at boot. When the located zone is
+ * different from the current zone of {@link ZoneContext}, it will be applied to the {@link ZoneContext}, and then the
+ * {@link ZoneContextChangedEvent} will be published.
+ * <p>
+ * The {@link io.microsphere.multiple.active.zone.ZoneConstants#LOCATOR_REFRESH_INTERVAL_PROPERTY_NAME interval} and
+ * {@link io.microsphere.multiple.active.zone.ZoneConstants#LOCATOR_REFRESH_JITTER_PROPERTY_NAME jitter} are resolved
+ * before each run. The zone will not be relocated if it is configured by the property
+ * {@link io.microsphere.multiple.active.zone.ZoneConstants#ZONE_PROPERTY_NAME} explicitly, or it is
+ * {@link ZoneContext#isZoneProvisional() provisional}, or it was changed in place, e.g. by
+ * {@link io.microsphere.multiple.active.zone.spring.event.ZoneContextChangedListener#updateZoneContext}, that is, the
+ * current zone of {@link ZoneContext} is not the one located by the {@link CompositeZoneLocator} at the last time.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see CompositeZoneLocator#relocate(Environment)
+ * @see ZoneContextChangedEvent
+ * @since 1.0.0
+ */
+public class ZoneRelocationScheduler implements SmartLifecycle, ApplicationContextAware, EnvironmentAware {
+
+    private static final Logger logger = getLogger(ZoneRelocationScheduler.class);
+
+    private static final String THREAD_NAME_PREFIX = "zone-relocation-";
+
+    private final CompositeZoneLocator zoneLocator;
+
+    private final ZoneContext zoneContext;
+
+    private final ScheduledExecutorService scheduledExecutorService;
+
+    private final Object relocationLock = new Object();
+
+    private ApplicationContext context;
+
+    private Environment environment;
+
+    private ScheduledExecutorService executorService;
+
+    private ScheduledFuture<?> scheduledFuture;
+
+    private volatile boolean running;
+
+    private volatile String zone;
+
+    public ZoneRelocationScheduler(CompositeZoneLocator zoneLocator, ZoneContext zoneContext) {
+        this(zoneLocator, zoneContext, null);
+    }
+
+    /**
+     * @param zoneLocator              {@link CompositeZoneLocator}
+     * @param zoneContext              {@link ZoneContext}
+     * @param scheduledExecutorService the {@link ScheduledExecutorService} to relocate the zone, if <code>null</code>,
+     *                                 a single daemon thread will be created when started and shut down when stopped
+     */
+    public ZoneRelocationScheduler(CompositeZoneLocator zoneLocator, ZoneContext zoneContext,
+                                   ScheduledExecutorService scheduledExecutorService) {
+        Assert.notNull(zoneLocator, "The argument 'zoneLocator' must not be null!");
+        Assert.notNull(zoneContext, "The argument 'zoneContext' must not be null!");
+        this.zoneLocator = zoneLocator;
+        this.zoneContext = zoneContext;
+        this.scheduledExecutorService = scheduledExecutorService;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        if (scheduledExecutorService == null) {
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(THREAD_NAME_PREFIX);
+            threadFactory.setDaemon(true);
+            executorService = newSingleThreadScheduledExecutor(threadFactory);
+        } else {
+            executorService = scheduledExecutorService;
+        }
+        running = true;
+        scheduleNext();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        if (scheduledFuture != null) {
+            scheduledFuture.cancel(false);
+            scheduledFuture = null;
+        }
+        if (executorService != scheduledExecutorService) {
+            executorService.shutdownNow();
+        }
+        executorService = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private synchronized void scheduleNext() {
+        if (running) {
+            long delay = getDelay();
+            scheduledFuture = executorService.schedule(this::run, delay, MILLISECONDS);
+            logger.trace("The zone will be relocated in {} ms", delay);
+        }
+    }
+
+    private void run() {
+        try {
+            relocate();
+        } catch (Throwable e) {
+            logger.error("The zone can't be relocated by {}", zoneLocator, e);
+        } finally {
+            scheduleNext();
+        }
+    }
+
+    /**
+     * Locate the zone again, and apply it to the {@link ZoneContext} if it's drifted.
+     *
+     * @return <code>true</code> if the zone drift was detected and applied
+     */
+    public boolean relocate() {
+        // Only one relocation at the same time, the lifecycle is not blocked
+        synchronized (relocationLock) {
+            String configuredZone = environment.getProperty(ZONE_PROPERTY_NAME, ORIGINAL_ZONE);
+            if (!ORIGINAL_ZONE.equalsIgnoreCase(configuredZone)) {
+                logger.trace("The zone ['{}'] is configured by the property [name : '{}'], no need to relocate", configuredZone,
+                        ZONE_PROPERTY_NAME);
+                return false;
+            }
+            if (zoneContext.isZoneProvisional()) {
+                logger.trace("The zone is provisional, no need to relocate");
+                return false;
+            }
+            String locatedZone = getLocatedZone();
+            if (locatedZone != null && !Objects.equals(locatedZone, zoneContext.getZone())) {
+                logger.trace("The zone ['{}'] was changed in place rather than located ['{}'], no need to relocate",
+                        zoneContext.getZone(), locatedZone);
+                return false;
+            }
+
+            String zone = zoneLocator.relocate(environment);
+            if (zone == null) {
+                logger.warn("The zone can't be relocated by {}", zoneLocator);
+                return false;
+            }
+            this.zone = zone;
+
+            String currentZone = zoneContext.getZone();
+            if (Objects.equals(zone, currentZone)) {
+                logger.trace("The zone ['{}'] is not drifted", zone);
+                return false;
+            }
+
+            logger.warn("The zone drift is detected, the zone ['{}'] is changed to ['{}'] located by {}", currentZone, zone,
+                    zoneLocator);
+            List<PropertyChangeEvent> propertyChangeEvents = zoneContext.update(mutator -> mutator.setZone(zone));
+            if (!propertyChangeEvents.isEmpty() && context != null) {
+                context.publishEvent(new ZoneContextChangedEvent(context, zoneContext, propertyChangeEvents));
+            }
+            return true;
+        }
+    }
+
+    private String getLocatedZone() {
+        String zone = this.zone;
+        return zone == null ? zoneLocator.getZone() : zone;
+    }
+
+    /**
+     * @return the zone located at the last time, or <code>null</code> if it has not been relocated
+     */
+    public String getZone() {
+        return zone;
+    }
+
+    private long getDelay() {
+        long interval = Math.max(1, environment.getProperty(LOCATOR_REFRESH_INTERVAL_PROPERTY_NAME, int.class,
+                DEFAULT_LOCATOR_REFRESH_INTERVAL));
+        long jitter = environment.getProperty(LOCATOR_REFRESH_JITTER_PROPERTY_NAME, int.class, DEFAULT_LOCATOR_REFRESH_JITTER);
+        return jitter > 0 ? interval + ThreadLocalRandom.current().nextLong(jitter + 1) : interval;
+    }
+
+    @Override
+    public void setApplicationContext(ApplicationContext context) throws BeansException {
+        this.context = context;
+    }
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public String toString() {
+        return "ZoneRelocationScheduler{" + "zoneLocator=" + zoneLocator + ", running=" + running + ", zone=" + zone + '}';
+    }
+}
@@ -0,0 +1,47 @@
+package io.microsphere.multiple.active.zone.spring;
+
+import io.microsphere.multiple.active.zone.spring.event.ZoneContextChangedListener;
+import org.springframework.aot.hint.ExecutableMode;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static io.microsphere.multiple.active.zone.spring.event.ZoneContextChangedListener.APPLICATION_STARTED_EVENT_CLASS_NAME;
+import static io.microsphere.multiple.active.zone.spring.event.ZoneContextChangedListener.ENVIRONMENT_CHANGE_EVENT_CLASS_NAME;
+import static io.microsphere.multiple.active.zone.spring.event.ZoneContextChangedListener.GET_KEYS_METHOD_NAME;
+import static java.util.Collections.emptyList;
+
+/**
+ * The {@link RuntimeHintsRegistrar} for the zone in the GraalVM native image, which registers the types resolved
+ * reflectively by {@link ZoneContextChangedListener} if present, as well as the method
+ * {@link ZoneContextChangedListener#GET_KEYS_METHOD_NAME getKeys()} of the Spring Cloud's EnvironmentChangeEvent
+ * invoked reflectively.
+ * <p>
+ * The {@link ZoneLocator ZoneLocators} from Spring Factories are not registered here, because the implementation
+ * classes in "META-INF/spring.factories" are registered by Spring Framework.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see RuntimeHintsRegistrar
+ * @since 1.0.0
+ */
+public class ZoneRuntimeHints implements RuntimeHintsRegistrar {
+
+    /**
+     * The names of the types resolved reflectively
+     */
+    static final List<String> REFLECTIVE_TYPE_NAMES = Arrays.asList(
+            APPLICATION_STARTED_EVENT_CLASS_NAME,
+            ENVIRONMENT_CHANGE_EVENT_CLASS_NAME
+    );
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (String typeName : REFLECTIVE_TYPE_NAMES) {
+            hints.reflection().registerTypeIfPresent(classLoader, typeName);
+        }
+        hints.reflection().registerTypeIfPresent(classLoader, ENVIRONMENT_CHANGE_EVENT_CLASS_NAME,
+                typeHint -> typeHint.withMethod(GET_KEYS_METHOD_NAME, emptyList(), ExecutableMode.INVOKE));
+    }
+}
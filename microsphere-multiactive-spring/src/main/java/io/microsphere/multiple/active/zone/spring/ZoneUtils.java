@@ -3,6 +3,14 @@ package io.microsphere.multiple.active.zone.spring;
 import io.microsphere.logging.Logger;
 import io.microsphere.multiple.active.zone.ZoneContext;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.annotation.OrderUtils;
+import org.springframework.core.io.support.SpringFactoriesLoader;
+import org.springframework.util.ClassUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
 
 import static io.microsphere.logging.LoggerFactory.getLogger;
 
@@ -24,6 +32,11 @@ public abstract class ZoneUtils {
      */
     public static final String ZONE_LOCATOR_BEAN_NAME = "zoneLocator";
 
+    /**
+     * {@link ZoneLocationBootstrap} Bean Name
+     */
+    public static final String ZONE_LOCATION_BOOTSTRAP_BEAN_NAME = "zoneLocationBootstrap";
+
     private static final Logger logger = getLogger(ZoneUtils.class);
 
     private ZoneUtils() {
@@ -36,4 +49,43 @@ public abstract class ZoneUtils {
     public static ZoneLocator getZoneLocator(ConfigurableListableBeanFactory beanFactory) {
         return beanFactory.getBean(ZONE_LOCATOR_BEAN_NAME, ZoneLocator.class);
     }
+
+    /**
+     * Load the {@link ZoneLocator ZoneLocators} from Spring Factories, the one whose order is declared by
+     * {@link Order @Order} will be instantiated lazily by {@link LazyZoneLocator}, or it will be instantiated
+     * immediately because its order is only known by the instance.
+     *
+     * @param classLoader  {@link ClassLoader}
+     * @param instantiator the function to instantiate the {@link ZoneLocator} by its type
+     * @return the list of {@link ZoneLocator} in the order of Spring Factories
+     */
+    public static List<ZoneLocator> loadZoneLocators(ClassLoader classLoader,
+                                                     Function<Class<? extends ZoneLocator>, ZoneLocator> instantiator) {
+        List<String> classNames = SpringFactoriesLoader.loadFactoryNames(ZoneLocator.class, classLoader);
+        List<ZoneLocator> zoneLocators = new ArrayList<>(classNames.size());
+        for (String className : classNames) {
+            Class<? extends ZoneLocator> type = resolveZoneLocatorClass(className, classLoader);
+            Integer order = OrderUtils.getOrder(type);
+            if (order == null) {
+                zoneLocators.add(instantiator.apply(type));
+            } else {
+                zoneLocators.add(new LazyZoneLocator(type, order, instantiator));
+                logger.trace("The ZoneLocator [type : '{}' , order : {}] will be instantiated lazily", className, order);
+            }
+        }
+        return zoneLocators;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Class<? extends ZoneLocator> resolveZoneLocatorClass(String className, ClassLoader classLoader) {
+        try {
+            Class<?> type = ClassUtils.forName(className, classLoader);
+            if (!ZoneLocator.class.isAssignableFrom(type)) {
+                throw new IllegalArgumentException("The class [" + className + "] is not assignable to " + ZoneLocator.class.getName());
+            }
+            return (Class<? extends ZoneLocator>) type;
+        } catch (ClassNotFoundException | LinkageError e) {
+            throw new IllegalArgumentException("The ZoneLocator class [" + className + "] can't be loaded", e);
+        }
+    }
 }
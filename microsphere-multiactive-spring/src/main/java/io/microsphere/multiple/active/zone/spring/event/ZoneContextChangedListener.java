@@ -3,8 +3,13 @@ package io.microsphere.multiple.active.zone.spring.event;
 import io.microsphere.logging.Logger;
 import io.microsphere.multiple.active.zone.ZoneConstants;
 import io.microsphere.multiple.active.zone.ZoneContext;
+import io.microsphere.multiple.active.zone.ZoneContextMutator;
+import io.microsphere.multiple.active.zone.spring.CachingZoneLocator;
+import io.microsphere.multiple.active.zone.spring.ZoneLocationBootstrap;
 import io.microsphere.multiple.active.zone.spring.ZoneLocator;
+import io.microsphere.multiple.active.zone.spring.ZoneRelocationScheduler;
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.context.ApplicationEvent;
@@ -12,27 +17,42 @@ import org.springframework.context.EnvironmentAware;
 import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.context.event.SmartApplicationListener;
 import org.springframework.core.env.Environment;
+import org.springframework.util.CustomizableThreadFactory;
+import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 
 import java.beans.PropertyChangeEvent;
-import java.beans.PropertyChangeListener;
+import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
 import static io.microsphere.logging.LoggerFactory.getLogger;
+import static io.microsphere.multiple.active.zone.ZoneConstants.CONTEXT_COALESCING_INTERVAL_PROPERTY_NAME;
+import static io.microsphere.multiple.active.zone.ZoneConstants.CONTEXT_COALESCING_MAX_LATENCY_PROPERTY_NAME;
+import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_CONTEXT_COALESCING_INTERVAL;
+import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_CONTEXT_COALESCING_MAX_LATENCY;
 import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_PREFERENCE_UPSTREAM_DISABLED_ZONE;
 import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_PREFERENCE_UPSTREAM_SAME_ZONE_MIN_AVAILABLE;
 import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_PREFERENCE_UPSTREAM_ZONE_READY_PERCENTAGE;
 import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_ZONE_ENABLED;
 import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_ZONE_PREFERENCE_ENABLED;
 import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_ZONE_PREFERENCE_FILTER_ORDER;
+import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_ZONE_PREFERENCE_FILTER_PARALLEL_THRESHOLD;
 import static io.microsphere.multiple.active.zone.ZoneConstants.ORIGINAL_ZONE;
 import static io.microsphere.multiple.active.zone.ZoneConstants.PREFERENCE_ENABLED_PROPERTY_NAME;
 import static io.microsphere.multiple.active.zone.ZoneConstants.PREFERENCE_FILTER_ORDER_PROPERTY_NAME;
+import static io.microsphere.multiple.active.zone.ZoneConstants.PREFERENCE_FILTER_PARALLEL_THRESHOLD_PROPERTY_NAME;
 import static io.microsphere.multiple.active.zone.ZoneConstants.PREFERENCE_UPSTREAM_DISABLED_ZONE_PROPERTY_NAME;
 import static io.microsphere.multiple.active.zone.ZoneConstants.PREFERENCE_UPSTREAM_SAME_ZONE_MIN_AVAILABLE_PROPERTY_NAME;
 import static io.microsphere.multiple.active.zone.ZoneConstants.PREFERENCE_UPSTREAM_ZONE_READY_PERCENTAGE_PROPERTY_NAME;
@@ -40,6 +60,13 @@ import static io.microsphere.multiple.active.zone.ZoneConstants.ZONE_ENABLED_PRO
 import static io.microsphere.multiple.active.zone.ZoneConstants.ZONE_PROPERTY_NAME;
 import static io.microsphere.util.ClassLoaderUtils.getClassLoader;
 import static io.microsphere.util.ClassLoaderUtils.resolveClass;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.System.nanoTime;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 /**
  * A listener to change the {@link ZoneContext} on one of those being raised :
@@ -48,12 +75,29 @@ import static io.microsphere.util.ClassLoaderUtils.resolveClass;
  *     <li>{@link #ENVIRONMENT_CHANGE_EVENT_CLASS_NAME org.springframework.cloud.context.environment.EnvironmentChangeEvent}</li>
  *     <li>{@link ContextRefreshedEvent}</li>
  * </ul>
+ * If the zone is being located by the {@link ZoneLocationBootstrap} asynchronously, the {@link ZoneContextChangedEvent}
+ * will be published when the located zone lands.
+ * <p>
+ * On the {@link #ENVIRONMENT_CHANGE_EVENT_CLASS_NAME EnvironmentChangeEvent}, only the handled properties whose keys
+ * were changed are re-read, the event is skipped if none of them was changed. The keys nested in the
+ * {@link #prefixedPropertyNames prefixed properties}, e.g. "{@link ZoneConstants#PREFERENCE_UPSTREAM_DISABLED_ZONE_PROPERTY_NAME
+ * microsphere.availability.zone.preference.upstream.disabled-zone}[0]", are matched by their prefixes.
+ * <p>
+ * The changed properties are applied by {@link ZoneContext#update(Consumer) one transaction}, none
+ * of them will be applied if any is invalid.
+ * <p>
+ * If the {@link ZoneConstants#CONTEXT_COALESCING_INTERVAL_PROPERTY_NAME coalescing interval} is positive, the property
+ * changes arriving within it are merged and applied at once, and only one {@link ZoneContextChangedEvent} is
+ * published with the net {@link PropertyChangeEvent PropertyChangeEvents}. The merged changes are applied within the
+ * {@link ZoneConstants#CONTEXT_COALESCING_MAX_LATENCY_PROPERTY_NAME max latency} since the first one arrived, and the
+ * changes of {@link #urgentPropertyNames urgent properties} are applied immediately together with the pending ones.
  *
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
  * @see ZoneContext
  * @since 1.0.0
  */
-public class ZoneContextChangedListener implements SmartApplicationListener, ApplicationContextAware, EnvironmentAware {
+public class ZoneContextChangedListener implements SmartApplicationListener, ApplicationContextAware, EnvironmentAware,
+        DisposableBean {
 
     private static final Class<ZoneContextChangedListener> CURRENT_CLASS = ZoneContextChangedListener.class;
 
@@ -61,15 +105,23 @@ public class ZoneContextChangedListener implements SmartApplicationListener, App
 
     private static final ClassLoader classLoader = getClassLoader(CURRENT_CLASS);
 
+    private static final String THREAD_NAME_PREFIX = "zone-context-coalescing-";
+
     /**
      * ApplicationEvent for Spring Boot
      */
-    private static final String APPLICATION_STARTED_EVENT_CLASS_NAME = "org.springframework.boot.context.event.ApplicationStartedEvent";
+    public static final String APPLICATION_STARTED_EVENT_CLASS_NAME = "org.springframework.boot.context.event.ApplicationStartedEvent";
 
     /**
      * ApplicationEvent for Spring Cloud
      */
-    private static final String ENVIRONMENT_CHANGE_EVENT_CLASS_NAME = "org.springframework.cloud.context.environment.EnvironmentChangeEvent";
+    public static final String ENVIRONMENT_CHANGE_EVENT_CLASS_NAME = "org.springframework.cloud.context.environment.EnvironmentChangeEvent";
+
+    /**
+     * The method of {@link #ENVIRONMENT_CHANGE_EVENT_CLASS_NAME} returning the changed property names, which is invoked
+     * reflectively
+     */
+    public static final String GET_KEYS_METHOD_NAME = "getKeys";
 
     private static final Class<?> APPLICATION_STARTED_EVENT_CLASS = resolveClass(APPLICATION_STARTED_EVENT_CLASS_NAME, classLoader);
 
@@ -81,17 +133,33 @@ public class ZoneContextChangedListener implements SmartApplicationListener, App
 
     private static final boolean IS_SPRING_BOOT_APPLICATION = ENVIRONMENT_CHANGE_EVENT_CLASS == null && APPLICATION_STARTED_EVENT_CLASS != null;
 
+    private static final Method GET_KEYS_METHOD = ENVIRONMENT_CHANGE_EVENT_CLASS == null ? null :
+            ReflectionUtils.findMethod(ENVIRONMENT_CHANGE_EVENT_CLASS, GET_KEYS_METHOD_NAME);
+
     protected static final List<String> ZONE_CONTEXT_PROPERTY_NAMES = Arrays.asList(
             ZONE_PROPERTY_NAME,
             ZONE_ENABLED_PROPERTY_NAME,
             PREFERENCE_ENABLED_PROPERTY_NAME,
             PREFERENCE_FILTER_ORDER_PROPERTY_NAME,
+            PREFERENCE_FILTER_PARALLEL_THRESHOLD_PROPERTY_NAME,
             PREFERENCE_UPSTREAM_ZONE_READY_PERCENTAGE_PROPERTY_NAME,
             PREFERENCE_UPSTREAM_SAME_ZONE_MIN_AVAILABLE_PROPERTY_NAME,
             PREFERENCE_UPSTREAM_DISABLED_ZONE_PROPERTY_NAME
     );
 
-    protected final Map<String, Consumer<String>> propertyChangedHandlers = new HashMap<>(ZONE_CONTEXT_PROPERTY_NAMES.size());
+    protected final Map<String, BiConsumer<String, ZoneContextMutator>> propertyChangedHandlers = new HashMap<>(ZONE_CONTEXT_PROPERTY_NAMES.size());
+
+    /**
+     * The names of handled properties whose nested keys (separated by '.' or '[') are handled as well, e.g. the indexed
+     * elements of a list or the per-service keys
+     */
+    protected final Set<String> prefixedPropertyNames = new HashSet<>();
+
+    /**
+     * The names of handled properties whose changes are applied immediately rather than coalesced, e.g. draining a zone,
+     * the pending changes are flushed with them
+     */
+    protected final Set<String> urgentPropertyNames = new HashSet<>();
 
     public ZoneContextChangedListener() {
         initPropertyChangedHandlers();
@@ -105,6 +173,22 @@ public class ZoneContextChangedListener implements SmartApplicationListener, App
 
     private ZoneLocator zoneLocator;
 
+    private ZoneLocationBootstrap zoneLocationBootstrap;
+
+    private ZoneRelocationScheduler zoneRelocationScheduler;
+
+    private final AtomicBoolean zoneLocatedCallbackRegistered = new AtomicBoolean();
+
+    private final Object coalescingLock = new Object();
+
+    private ScheduledExecutorService coalescingExecutorService;
+
+    private ScheduledFuture<?> coalescingFuture;
+
+    private Set<String> coalescingPropertyNames;
+
+    private long coalescingDeadline;
+
     @Override
     public boolean supportsEventType(Class<? extends ApplicationEvent> eventType) {
         if (IS_SPRING_CLOUD_APPLICATION) {
@@ -119,7 +203,171 @@ public class ZoneContextChangedListener implements SmartApplicationListener, App
 
     @Override
     public void onApplicationEvent(ApplicationEvent event) {
-        tryChangeZoneContext();
+        if (isEnvironmentChangeEvent(event)) {
+            onEnvironmentChanged(getChangedKeys(event));
+        } else {
+            tryChangeZoneContext();
+        }
+        registerZoneLocatedCallback();
+    }
+
+    private boolean isEnvironmentChangeEvent(ApplicationEvent event) {
+        return ENVIRONMENT_CHANGE_EVENT_CLASS != null && ENVIRONMENT_CHANGE_EVENT_CLASS.isInstance(event);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<String> getChangedKeys(ApplicationEvent event) {
+        return GET_KEYS_METHOD == null ? null : (Set<String>) ReflectionUtils.invokeMethod(GET_KEYS_METHOD, event);
+    }
+
+    /**
+     * Change the {@link ZoneContext} by the handled properties whose keys were changed
+     *
+     * @param keys the changed keys, or <code>null</code> if unknown, then all handled properties will be re-read
+     */
+    void onEnvironmentChanged(Collection<String> keys) {
+        Collection<String> propertyNames = keys == null ? ZONE_CONTEXT_PROPERTY_NAMES : resolvePropertyNames(keys);
+        if (propertyNames.isEmpty()) {
+            logger.debug("None of ZoneContext properties was changed in the keys : {}", keys);
+            return;
+        }
+        long interval = environment.getProperty(CONTEXT_COALESCING_INTERVAL_PROPERTY_NAME, long.class,
+                (long) DEFAULT_CONTEXT_COALESCING_INTERVAL);
+        if (interval > 0) {
+            coalesce(propertyNames, interval);
+        } else {
+            changeZoneContext(propertyNames);
+        }
+    }
+
+    private void coalesce(Collection<String> propertyNames, long interval) {
+        Set<String> flushingPropertyNames = null;
+        synchronized (coalescingLock) {
+            if (containsUrgentProperty(propertyNames)) {
+                // The urgent change must not be delayed, the pending changes are flushed with it in one transaction
+                flushingPropertyNames = coalescingPropertyNames == null ? new LinkedHashSet<>() : coalescingPropertyNames;
+                flushingPropertyNames.addAll(propertyNames);
+                coalescingPropertyNames = null;
+                if (coalescingFuture != null) {
+                    coalescingFuture.cancel(false);
+                    coalescingFuture = null;
+                }
+            } else {
+                scheduleCoalescedChanges(propertyNames, interval);
+            }
+        }
+        if (flushingPropertyNames != null) {
+            logger.debug("The changes of ZoneContext properties {} are applied immediately with the urgent ones", flushingPropertyNames);
+            changeZoneContext(flushingPropertyNames);
+        } else {
+            logger.debug("The changes of ZoneContext properties {} are coalescing", propertyNames);
+        }
+    }
+
+    private boolean containsUrgentProperty(Collection<String> propertyNames) {
+        for (String propertyName : propertyNames) {
+            if (urgentPropertyNames.contains(propertyName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void scheduleCoalescedChanges(Collection<String> propertyNames, long interval) {
+        long now = nanoTime();
+        long intervalNanos = MILLISECONDS.toNanos(interval);
+        if (coalescingPropertyNames == null) {
+            long maxLatency = environment.getProperty(CONTEXT_COALESCING_MAX_LATENCY_PROPERTY_NAME, long.class,
+                    (long) DEFAULT_CONTEXT_COALESCING_MAX_LATENCY);
+            coalescingPropertyNames = new LinkedHashSet<>();
+            coalescingDeadline = now + MILLISECONDS.toNanos(max(interval, maxLatency));
+        }
+        coalescingPropertyNames.addAll(propertyNames);
+        // Postpone the pending update until no change arrives within the interval, or the deadline elapses
+        long delay = min(intervalNanos, coalescingDeadline - now);
+        if (coalescingFuture != null) {
+            coalescingFuture.cancel(false);
+        }
+        coalescingFuture = getCoalescingExecutorService().schedule(this::flushCoalescedChanges, delay, NANOSECONDS);
+    }
+
+    private void flushCoalescedChanges() {
+        Set<String> propertyNames;
+        synchronized (coalescingLock) {
+            propertyNames = coalescingPropertyNames;
+            coalescingPropertyNames = null;
+            coalescingFuture = null;
+        }
+        if (propertyNames != null) {
+            try {
+                changeZoneContext(propertyNames);
+            } catch (RuntimeException e) {
+                logger.error("The coalesced changes of ZoneContext properties {} can't be applied", propertyNames, e);
+            }
+        }
+    }
+
+    private ScheduledExecutorService getCoalescingExecutorService() {
+        ScheduledExecutorService executorService = this.coalescingExecutorService;
+        if (executorService == null) {
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(THREAD_NAME_PREFIX);
+            threadFactory.setDaemon(true);
+            executorService = newSingleThreadScheduledExecutor(threadFactory);
+            this.coalescingExecutorService = executorService;
+        }
+        return executorService;
+    }
+
+    /**
+     * Resolve the names of handled properties from the changed keys
+     *
+     * @param keys the changed keys
+     * @return non-null
+     */
+    protected Set<String> resolvePropertyNames(Collection<String> keys) {
+        Set<String> propertyNames = new LinkedHashSet<>();
+        for (String key : keys) {
+            if (propertyChangedHandlers.containsKey(key)) {
+                propertyNames.add(key);
+                continue;
+            }
+            for (String prefixedPropertyName : prefixedPropertyNames) {
+                if (isNestedKey(key, prefixedPropertyName)) {
+                    propertyNames.add(prefixedPropertyName);
+                }
+            }
+        }
+        return propertyNames;
+    }
+
+    static boolean isNestedKey(String key, String propertyName) {
+        int length = propertyName.length();
+        if (key.length() > length && key.startsWith(propertyName)) {
+            char separator = key.charAt(length);
+            return separator == '.' || separator == '[';
+        }
+        return false;
+    }
+
+    private void registerZoneLocatedCallback() {
+        ZoneLocationBootstrap zoneLocationBootstrap = this.zoneLocationBootstrap;
+        if (zoneLocationBootstrap != null && zoneLocationBootstrap.isStarted() && zoneLocatedCallbackRegistered.compareAndSet(false, true)) {
+            zoneLocationBootstrap.whenLocated(this::onZoneLocated);
+        }
+    }
+
+    private void onZoneLocated(List<PropertyChangeEvent> propertyChangeEvents) {
+        if (zoneLocationBootstrap.getZone() == null) {
+            // Fallback to locate the zone synchronously
+            changeZoneContext(singletonList(ZONE_PROPERTY_NAME));
+        } else if (!propertyChangeEvents.isEmpty()) {
+            publishZoneContextChangedEvent(propertyChangeEvents);
+        }
+    }
+
+    private boolean isZoneLocating() {
+        ZoneLocationBootstrap zoneLocationBootstrap = this.zoneLocationBootstrap;
+        return zoneLocationBootstrap != null && zoneLocationBootstrap.isStarted() && !zoneLocationBootstrap.isDone();
     }
 
     private void initPropertyChangedHandlers() {
@@ -127,9 +375,13 @@ public class ZoneContextChangedListener implements SmartApplicationListener, App
         propertyChangedHandlers.put(ZONE_ENABLED_PROPERTY_NAME, this::changeEnabled);
         propertyChangedHandlers.put(PREFERENCE_ENABLED_PROPERTY_NAME, this::changeZonePreferenceEnabled);
         propertyChangedHandlers.put(PREFERENCE_FILTER_ORDER_PROPERTY_NAME, this::changePreferenceFilterOrder);
+        propertyChangedHandlers.put(PREFERENCE_FILTER_PARALLEL_THRESHOLD_PROPERTY_NAME, this::changePreferenceFilterParallelThreshold);
         propertyChangedHandlers.put(PREFERENCE_UPSTREAM_ZONE_READY_PERCENTAGE_PROPERTY_NAME, this::changePreferenceUpstreamZoneReadyPercentage);
         propertyChangedHandlers.put(PREFERENCE_UPSTREAM_SAME_ZONE_MIN_AVAILABLE_PROPERTY_NAME, this::changePreferenceUpstreamSameZoneMinAvailable);
         propertyChangedHandlers.put(PREFERENCE_UPSTREAM_DISABLED_ZONE_PROPERTY_NAME, this::changePreferenceUpstreamDisabledZone);
+        prefixedPropertyNames.add(PREFERENCE_UPSTREAM_DISABLED_ZONE_PROPERTY_NAME);
+        urgentPropertyNames.add(ZONE_ENABLED_PROPERTY_NAME);
+        urgentPropertyNames.add(PREFERENCE_UPSTREAM_DISABLED_ZONE_PROPERTY_NAME);
     }
 
     private void tryChangeZoneContext() {
@@ -137,31 +389,50 @@ public class ZoneContextChangedListener implements SmartApplicationListener, App
     }
 
     private void changeZoneContext(Iterable<String> propertyNames) {
-
-        List<PropertyChangeEvent> propertyChangeEvents = new LinkedList<>();
-
-        PropertyChangeListener listener = propertyChangeEvents::add;
-
         try {
-            // Add PropertyChangeListener temporarily
-            zoneContext.addPropertyChangeListener(listener);
-            // Handle property changed if matched
-            for (String propertyName : propertyNames) {
-                Consumer<String> propertyChangedHandler = propertyChangedHandlers.get(propertyName);
-                if (propertyChangedHandler != null) {
-                    propertyChangedHandler.accept(propertyName);
+            // Apply the changed properties in a transaction
+            updateZoneContext(mutator -> {
+                // Handle property changed if matched
+                for (String propertyName : propertyNames) {
+                    BiConsumer<String, ZoneContextMutator> propertyChangedHandler = propertyChangedHandlers.get(propertyName);
+                    if (propertyChangedHandler != null) {
+                        propertyChangedHandler.accept(propertyName, mutator);
+                    }
                 }
-            }
-        } finally {
-            // Remove PropertyChangeListener finally
-            zoneContext.removePropertyChangeListener(listener);
+            });
+        } catch (IllegalArgumentException e) {
+            logger.error("The properties {} can't be applied into the {}", propertyNames, zoneContext, e);
+        }
+        refreshCachedZone();
+    }
+
+    private void refreshCachedZone() {
+        // The zone loaded from the cache file is refreshed after it has been applied
+        if (zoneLocator instanceof CachingZoneLocator) {
+            ((CachingZoneLocator) zoneLocator).refreshCachedZone();
         }
+    }
+
+    /**
+     * Update the {@link ZoneContext} in a transaction directly, rather than refreshing the {@link Environment}, the
+     * {@link ZoneContextChangedEvent} will be published if any property is changed.
+     * <p>
+     * The updated properties will be overridden if their keys are changed in the {@link Environment} later.
+     *
+     * @param mutation the mutation of {@link ZoneContextMutator}
+     * @return the {@link PropertyChangeEvent PropertyChangeEvents} of the changed properties, or empty list if none
+     * @throws IllegalArgumentException if any property is invalid
+     * @see ZoneContext#update(Consumer)
+     */
+    public List<PropertyChangeEvent> updateZoneContext(Consumer<ZoneContextMutator> mutation) throws IllegalArgumentException {
+        List<PropertyChangeEvent> propertyChangeEvents = zoneContext.update(mutation);
 
         boolean changed = !propertyChangeEvents.isEmpty();
 
         if (changed) {
             publishZoneContextChangedEvent(propertyChangeEvents);
         }
+        return propertyChangeEvents;
     }
 
     private void publishZoneContextChangedEvent(List<PropertyChangeEvent> propertyChangeEvents) {
@@ -169,20 +440,31 @@ public class ZoneContextChangedListener implements SmartApplicationListener, App
         context.publishEvent(new ZoneContextChangedEvent(context, zoneContext, propertyChangeEvents));
     }
 
-    private void changeZone(String propertyName) {
+    private void changeZone(String propertyName, ZoneContextMutator mutator) {
         String zone = getProperty(propertyName, ORIGINAL_ZONE);
         if (StringUtils.hasText(zone)) {
             // Revert to original zone
             if (ORIGINAL_ZONE.equalsIgnoreCase(zone)) {
+                if (isZoneLocating()) {
+                    logger.info("The zone is being located asynchronously by {}", zoneLocationBootstrap);
+                    return;
+                }
                 zone = revertOriginalZone();
             }
-            zoneContext.setZone(zone);
+            mutator.setZone(zone);
         }
     }
 
     private String revertOriginalZone() {
         String originalZone = ZoneConstants.DEFAULT_ZONE;
-        if (zoneLocator.supports(environment)) {
+        // The zone relocated by the scheduler takes precedence over the one located at startup
+        String locatedZone = zoneRelocationScheduler == null ? null : zoneRelocationScheduler.getZone();
+        if (locatedZone == null && zoneLocationBootstrap != null) {
+            locatedZone = zoneLocationBootstrap.getZone();
+        }
+        if (locatedZone != null) {
+            originalZone = locatedZone;
+        } else if (zoneLocator.supports(environment)) {
             originalZone = zoneLocator.locate(environment);
         } else {
             logger.warn("The zone can't be discovered by {}", zoneLocator);
@@ -191,34 +473,39 @@ public class ZoneContextChangedListener implements SmartApplicationListener, App
         return originalZone;
     }
 
-    private void changeEnabled(String propertyName) {
+    private void changeEnabled(String propertyName, ZoneContextMutator mutator) {
         boolean enabled = getProperty(propertyName, boolean.class, DEFAULT_ZONE_ENABLED);
-        zoneContext.setEnabled(enabled);
+        mutator.setEnabled(enabled);
     }
 
-    private void changeZonePreferenceEnabled(String propertyName) {
+    private void changeZonePreferenceEnabled(String propertyName, ZoneContextMutator mutator) {
         boolean preferenceEnabled = getProperty(propertyName, boolean.class, DEFAULT_ZONE_PREFERENCE_ENABLED);
-        zoneContext.setPreferenceEnabled(preferenceEnabled);
+        mutator.setPreferenceEnabled(preferenceEnabled);
     }
 
-    private void changePreferenceFilterOrder(String propertyName) {
+    private void changePreferenceFilterOrder(String propertyName, ZoneContextMutator mutator) {
         int preferenceFilterOrder = getProperty(propertyName, int.class, DEFAULT_ZONE_PREFERENCE_FILTER_ORDER);
-        zoneContext.setPreferenceFilterOrder(preferenceFilterOrder);
+        mutator.setPreferenceFilterOrder(preferenceFilterOrder);
+    }
+
+    private void changePreferenceFilterParallelThreshold(String propertyName, ZoneContextMutator mutator) {
+        int preferenceFilterParallelThreshold = getProperty(propertyName, int.class, DEFAULT_ZONE_PREFERENCE_FILTER_PARALLEL_THRESHOLD);
+        mutator.setPreferenceFilterParallelThreshold(preferenceFilterParallelThreshold);
     }
 
-    private void changePreferenceUpstreamZoneReadyPercentage(String propertyName) {
+    private void changePreferenceUpstreamZoneReadyPercentage(String propertyName, ZoneContextMutator mutator) {
         int preferenceUpstreamZoneReadyPercentage = getProperty(propertyName, int.class, DEFAULT_PREFERENCE_UPSTREAM_ZONE_READY_PERCENTAGE);
-        zoneContext.setPreferenceUpstreamZoneReadyPercentage(preferenceUpstreamZoneReadyPercentage);
+        mutator.setPreferenceUpstreamZoneReadyPercentage(preferenceUpstreamZoneReadyPercentage);
     }
 
-    private void changePreferenceUpstreamSameZoneMinAvailable(String propertyName) {
+    private void changePreferenceUpstreamSameZoneMinAvailable(String propertyName, ZoneContextMutator mutator) {
         int preferenceUpstreamSameZoneMinAvailable = getProperty(propertyName, int.class, DEFAULT_PREFERENCE_UPSTREAM_SAME_ZONE_MIN_AVAILABLE);
-        zoneContext.setPreferenceUpstreamSameZoneMinAvailable(preferenceUpstreamSameZoneMinAvailable);
+        mutator.setPreferenceUpstreamSameZoneMinAvailable(preferenceUpstreamSameZoneMinAvailable);
     }
 
-    private void changePreferenceUpstreamDisabledZone(String propertyName) {
+    private void changePreferenceUpstreamDisabledZone(String propertyName, ZoneContextMutator mutator) {
         String preferenceUpstreamDisabledZone = getProperty(propertyName, DEFAULT_PREFERENCE_UPSTREAM_DISABLED_ZONE);
-        zoneContext.setPreferenceUpstreamDisabledZone(preferenceUpstreamDisabledZone);
+        mutator.setPreferenceUpstreamDisabledZone(preferenceUpstreamDisabledZone);
     }
 
     private String getProperty(String propertyName, String defaultValue) {
@@ -241,6 +528,8 @@ public class ZoneContextChangedListener implements SmartApplicationListener, App
         this.context = context;
         this.zoneContext = context.getBean(ZoneContext.class);
         this.zoneLocator = context.getBean(ZoneLocator.class);
+        this.zoneLocationBootstrap = context.getBeanProvider(ZoneLocationBootstrap.class).getIfAvailable();
+        this.zoneRelocationScheduler = context.getBeanProvider(ZoneRelocationScheduler.class).getIfAvailable();
     }
 
     @Override
@@ -248,4 +537,19 @@ public class ZoneContextChangedListener implements SmartApplicationListener, App
         this.environment = environment;
     }
 
+    @Override
+    public void destroy() {
+        synchronized (coalescingLock) {
+            if (coalescingPropertyNames != null) {
+                logger.info("The coalescing changes of ZoneContext properties {} are discarded on destroy", coalescingPropertyNames);
+                coalescingPropertyNames = null;
+            }
+            coalescingFuture = null;
+            if (coalescingExecutorService != null) {
+                coalescingExecutorService.shutdownNow();
+                coalescingExecutorService = null;
+            }
+        }
+    }
+
 }
@@ -0,0 +1,410 @@
+package io.microsphere.multiple.active.zone.spring;
+
+import io.microsphere.multiple.active.zone.ZoneContext;
+import io.microsphere.multiple.active.zone.spring.event.ZoneContextChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.beans.PropertyChangeEvent;
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static io.microsphere.multiple.active.zone.ZoneConstants.LOCATOR_CACHE_FILE_PROPERTY_NAME;
+import static io.microsphere.multiple.active.zone.ZoneConstants.ZONE_PROPERTY_NAME;
+import static io.microsphere.multiple.active.zone.spring.CachingZoneLocator.HOST_KEY;
+import static io.microsphere.multiple.active.zone.spring.CachingZoneLocator.LOCATOR_KEY;
+import static io.microsphere.multiple.active.zone.spring.CachingZoneLocator.ZONE_KEY;
+import static io.microsphere.multiple.active.zone.spring.CompositeZoneLocatorTest.nullLocator;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link CachingZoneLocator}
+ */
+class CachingZoneLocatorTest {
+
+    /**
+     * Supports and returns the zone, counting the invocations
+     */
+    static class CountingZoneLocator implements ZoneLocator {
+
+        private final String zone;
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        CountingZoneLocator(String zone) {
+            this.zone = zone;
+        }
+
+        @Override
+        public boolean supports(Environment environment) {
+            return true;
+        }
+
+        @Override
+        public String locate(Environment environment) {
+            count.incrementAndGet();
+            return zone;
+        }
+
+        @Override
+        public String toString() {
+            return "CountingZoneLocator[" + zone + "]";
+        }
+    }
+
+    static Environment newEnvironment(Path cacheFile, String zone) {
+        StandardEnvironment env = new StandardEnvironment();
+        Map<String, Object> props = new HashMap<>();
+        props.put(LOCATOR_CACHE_FILE_PROPERTY_NAME, cacheFile.toString());
+        if (zone != null) {
+            props.put(ZONE_PROPERTY_NAME, zone);
+        }
+        env.getPropertySources().addFirst(new MapPropertySource("test", props));
+        return env;
+    }
+
+    static CachingZoneLocator newCachingZoneLocator(String host, List<Runnable> refreshTasks, ZoneLocator... zoneLocators) {
+        return new CachingZoneLocator(Arrays.asList(zoneLocators), refreshTasks::add) {
+            @Override
+            protected String resolveHost() {
+                return host;
+            }
+        };
+    }
+
+    static Properties load(Path cacheFile) throws Exception {
+        Properties properties = new Properties();
+        properties.load(new ByteArrayInputStream(Files.readAllBytes(cacheFile)));
+        return properties;
+    }
+
+    @Test
+    void testLocateWritesCacheFile(@TempDir Path directory) throws Exception {
+        Path cacheFile = directory.resolve("sub/zone.properties");
+        CountingZoneLocator zoneLocator = new CountingZoneLocator("zone-a");
+        List<Runnable> refreshTasks = new ArrayList<>();
+        CachingZoneLocator caching = newCachingZoneLocator("host-1", refreshTasks, zoneLocator);
+
+        assertEquals("zone-a", caching.locate(newEnvironment(cacheFile, null)));
+        assertEquals(1, zoneLocator.count.get());
+        assertTrue(refreshTasks.isEmpty());
+        assertEquals("rwx------", PosixFilePermissions.toString(Files.getPosixFilePermissions(cacheFile.getParent())));
+
+        Properties properties = load(cacheFile);
+        assertEquals("zone-a", properties.getProperty(ZONE_KEY));
+        assertEquals("host-1", properties.getProperty(HOST_KEY));
+        assertEquals(zoneLocator.toString(), properties.getProperty(LOCATOR_KEY));
+        assertNotNull(properties.getProperty(CachingZoneLocator.TIMESTAMP_KEY));
+    }
+
+    @Test
+    void testLocateFromCacheFileAndRefreshInBackground(@TempDir Path directory) throws Exception {
+        Path cacheFile = directory.resolve("zone.properties");
+        newCachingZoneLocator("host-1", new ArrayList<>(), new CountingZoneLocator("zone-a"))
+                .locate(newEnvironment(cacheFile, null));
+
+        CountingZoneLocator zoneLocator = new CountingZoneLocator("zone-b");
+        List<Runnable> refreshTasks = new ArrayList<>();
+        CachingZoneLocator caching = newCachingZoneLocator("host-1", refreshTasks, zoneLocator);
+
+        assertEquals("zone-a", caching.locate(newEnvironment(cacheFile, null)));
+        assertEquals(0, zoneLocator.count.get());
+        // The refresh is pending until the cached zone is applied
+        assertTrue(refreshTasks.isEmpty());
+
+        CompletableFuture<List<PropertyChangeEvent>> future = caching.refreshCachedZone();
+        assertEquals(1, refreshTasks.size());
+        refreshTasks.get(0).run();
+        assertEquals(1, zoneLocator.count.get());
+        assertEquals("zone-b", load(cacheFile).getProperty(ZONE_KEY));
+        // The zone of ZoneContext is not the cached one
+        assertTrue(future.get().isEmpty());
+        // The zone located at the first time is kept
+        assertEquals("zone-a", caching.locate(newEnvironment(cacheFile, null)));
+
+        // The cached zone is refreshed once
+        assertTrue(caching.refreshCachedZone().get().isEmpty());
+        assertEquals(1, refreshTasks.size());
+    }
+
+    @Test
+    void testRefreshAppliesStaleZone(@TempDir Path directory) throws Exception {
+        Path cacheFile = directory.resolve("zone.properties");
+        newCachingZoneLocator("host-1", new ArrayList<>(), new CountingZoneLocator("zone-a"))
+                .locate(newEnvironment(cacheFile, null));
+
+        ZoneContext zoneContext = ZoneContext.get();
+        zoneContext.reset();
+        List<ZoneContextChangedEvent> events = new ArrayList<>();
+        GenericApplicationContext context = new GenericApplicationContext();
+        context.addApplicationListener(event -> {
+            if (event instanceof ZoneContextChangedEvent) {
+                events.add((ZoneContextChangedEvent) event);
+            }
+        });
+        context.refresh();
+        try {
+            List<Runnable> refreshTasks = new ArrayList<>();
+            CachingZoneLocator caching = newCachingZoneLocator("host-1", refreshTasks, new CountingZoneLocator("zone-b"));
+            caching.setApplicationContext(context);
+
+            assertEquals("zone-a", caching.locate(newEnvironment(cacheFile, null)));
+            zoneContext.setZone("zone-a");
+            CompletableFuture<List<PropertyChangeEvent>> future = caching.refreshCachedZone();
+            refreshTasks.get(0).run();
+
+            assertEquals(1, future.get().size());
+            assertEquals("zone-b", zoneContext.getZone());
+            assertEquals("zone-b", caching.getZone());
+            assertEquals("zone-b", ZoneContext.getCurrentZone());
+            assertEquals(1, events.size());
+            assertEquals("zone-a", events.get(0).getPropertyChangeEvents().get(0).getOldValue());
+            assertEquals("zone-b", events.get(0).getPropertyChangeEvents().get(0).getNewValue());
+        } finally {
+            context.close();
+            zoneContext.reset();
+        }
+    }
+
+    @Test
+    void testRefreshSkipsChangedZone(@TempDir Path directory) {
+        Path cacheFile = directory.resolve("zone.properties");
+        newCachingZoneLocator("host-1", new ArrayList<>(), new CountingZoneLocator("zone-a"))
+                .locate(newEnvironment(cacheFile, null));
+
+        ZoneContext zoneContext = ZoneContext.get();
+        zoneContext.reset();
+        try {
+            List<Runnable> refreshTasks = new ArrayList<>();
+            CachingZoneLocator caching = newCachingZoneLocator("host-1", refreshTasks, new CountingZoneLocator("zone-b"));
+
+            assertEquals("zone-a", caching.locate(newEnvironment(cacheFile, null)));
+            zoneContext.setZone("zone-manual");
+            caching.refreshCachedZone();
+            refreshTasks.get(0).run();
+
+            assertEquals("zone-manual", zoneContext.getZone());
+            assertEquals("zone-a", caching.getZone());
+        } finally {
+            zoneContext.reset();
+        }
+    }
+
+    @Test
+    void testLocateIgnoresCacheFileWritableByOthers(@TempDir Path directory) throws Exception {
+        Path cacheFile = directory.resolve("zone.properties");
+        newCachingZoneLocator("host-1", new ArrayList<>(), new CountingZoneLocator("zone-a"))
+                .locate(newEnvironment(cacheFile, null));
+        Files.setPosixFilePermissions(cacheFile, PosixFilePermissions.fromString("rw-rw-rw-"));
+
+        CountingZoneLocator zoneLocator = new CountingZoneLocator("zone-b");
+        List<Runnable> refreshTasks = new ArrayList<>();
+        CachingZoneLocator caching = newCachingZoneLocator("host-1", refreshTasks, zoneLocator);
+
+        assertEquals("zone-b", caching.locate(newEnvironment(cacheFile, null)));
+        assertEquals(1, zoneLocator.count.get());
+        assertTrue(refreshTasks.isEmpty());
+    }
+
+    @Test
+    void testLocateIgnoresCacheFileOfAnotherHost(@TempDir Path directory) throws Exception {
+        Path cacheFile = directory.resolve("zone.properties");
+        newCachingZoneLocator("host-1", new ArrayList<>(), new CountingZoneLocator("zone-a"))
+                .locate(newEnvironment(cacheFile, null));
+
+        CountingZoneLocator zoneLocator = new CountingZoneLocator("zone-b");
+        List<Runnable> refreshTasks = new ArrayList<>();
+        CachingZoneLocator caching = newCachingZoneLocator("host-2", refreshTasks, zoneLocator);
+
+        assertEquals("zone-b", caching.locate(newEnvironment(cacheFile, null)));
+        assertEquals(1, zoneLocator.count.get());
+        assertTrue(refreshTasks.isEmpty());
+        assertEquals("host-2", load(cacheFile).getProperty(HOST_KEY));
+    }
+
+    @Test
+    void testLocateIgnoresInvalidCacheFile(@TempDir Path directory) throws Exception {
+        Path cacheFile = directory.resolve("zone.properties");
+        Files.write(cacheFile, "host=host-1\n".getBytes(UTF_8));
+
+        CountingZoneLocator zoneLocator = new CountingZoneLocator("zone-a");
+        CachingZoneLocator caching = newCachingZoneLocator("host-1", new ArrayList<>(), zoneLocator);
+
+        assertEquals("zone-a", caching.locate(newEnvironment(cacheFile, null)));
+        assertEquals(1, zoneLocator.count.get());
+        assertEquals("zone-a", load(cacheFile).getProperty(ZONE_KEY));
+    }
+
+    @Test
+    void testLocateDoesNotCacheDefaultZoneLocator(@TempDir Path directory) {
+        Path cacheFile = directory.resolve("zone.properties");
+        CachingZoneLocator caching = newCachingZoneLocator("host-1", new ArrayList<>(), nullLocator(), new DefaultZoneLocator());
+
+        assertEquals("zone-property", caching.locate(newEnvironment(cacheFile, "zone-property")));
+        assertFalse(Files.exists(cacheFile));
+    }
+
+    @Test
+    void testLocateDoesNotCacheNullZone(@TempDir Path directory) {
+        Path cacheFile = directory.resolve("zone.properties");
+        CachingZoneLocator caching = newCachingZoneLocator("host-1", new ArrayList<>(), nullLocator());
+
+        assertEquals(null, caching.locate(newEnvironment(cacheFile, null)));
+        assertFalse(Files.exists(cacheFile));
+    }
+
+    @Test
+    void testResolveHost() {
+        CachingZoneLocator caching = new CachingZoneLocator(Collections.emptyList());
+        String host = caching.resolveHost();
+        assertNotNull(host);
+        assertEquals(host, caching.resolveHost());
+    }
+
+    @Test
+    void testReadFirstLine(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("hostname");
+        assertNull(CachingZoneLocator.readFirstLine(file));
+        Files.write(file, " host-1 \nhost-2\n".getBytes(UTF_8));
+        assertEquals("host-1", CachingZoneLocator.readFirstLine(file));
+        Files.write(file, new byte[0]);
+        assertNull(CachingZoneLocator.readFirstLine(file));
+    }
+
+    @Test
+    void testGetDefaultCacheFile() {
+        CachingZoneLocator caching = new CachingZoneLocator(Collections.emptyList());
+        Path cacheFile = caching.getCacheFile(new StandardEnvironment());
+        assertEquals(Paths.get(System.getProperty("user.home"), CachingZoneLocator.DEFAULT_CACHE_FILE), cacheFile);
+    }
+
+    @Test
+    void testRelocateBypassesCacheFile(@TempDir Path directory) throws Exception {
+        Path cacheFile = directory.resolve("zone.properties");
+        newCachingZoneLocator("host-1", new ArrayList<>(), new CountingZoneLocator("zone-a"))
+                .locate(newEnvironment(cacheFile, null));
+
+        CountingZoneLocator zoneLocator = new CountingZoneLocator("zone-b");
+        List<Runnable> refreshTasks = new ArrayList<>();
+        CachingZoneLocator caching = newCachingZoneLocator("host-1", refreshTasks, zoneLocator);
+
+        assertEquals("zone-b", caching.relocate(newEnvironment(cacheFile, null)));
+        assertEquals(1, zoneLocator.count.get());
+        assertTrue(refreshTasks.isEmpty());
+        assertEquals("zone-b", load(cacheFile).getProperty(ZONE_KEY));
+        assertEquals("zone-b", caching.locate(newEnvironment(cacheFile, null)));
+    }
+
+    @Test
+    void testRefreshOnOwnedExecutor(@TempDir Path directory) throws Exception {
+        Path cacheFile = directory.resolve("zone.properties");
+        newCachingZoneLocator("host-1", new ArrayList<>(), new CountingZoneLocator("zone-a"))
+                .locate(newEnvironment(cacheFile, null));
+
+        AtomicReference<String> threadName = new AtomicReference<>();
+        CountDownLatch refreshed = new CountDownLatch(1);
+        ZoneLocator zoneLocator = new CountingZoneLocator("zone-a") {
+            @Override
+            public String locate(Environment environment) {
+                threadName.set(Thread.currentThread().getName());
+                refreshed.countDown();
+                return super.locate(environment);
+            }
+        };
+        CachingZoneLocator caching = new CachingZoneLocator(Arrays.asList(zoneLocator)) {
+            @Override
+            protected String resolveHost() {
+                return "host-1";
+            }
+        };
+        try {
+            assertEquals("zone-a", caching.locate(newEnvironment(cacheFile, null)));
+            caching.refreshCachedZone();
+            assertTrue(refreshed.await(5, SECONDS));
+            assertTrue(threadName.get().startsWith(CachingZoneLocator.THREAD_NAME_PREFIX));
+            assertFalse(caching.getOwnedRefreshExecutor().isShutdown());
+        } finally {
+            caching.destroy();
+        }
+        assertTrue(caching.getOwnedRefreshExecutor().isShutdown());
+    }
+
+    @Test
+    void testDestroyLeavesSpecifiedExecutor() {
+        CachingZoneLocator caching = newCachingZoneLocator("host-1", new ArrayList<>());
+        assertNull(caching.getOwnedRefreshExecutor());
+        caching.destroy();
+    }
+
+    @Test
+    void testRefreshSerializedWithRelocate(@TempDir Path directory) throws Exception {
+        Path cacheFile = directory.resolve("zone.properties");
+        newCachingZoneLocator("host-1", new ArrayList<>(), new CountingZoneLocator("zone-a"))
+                .locate(newEnvironment(cacheFile, null));
+
+        CountDownLatch relocating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger concurrentCount = new AtomicInteger();
+        AtomicInteger maxConcurrentCount = new AtomicInteger();
+        ZoneLocator zoneLocator = new CountingZoneLocator("zone-b") {
+            @Override
+            public String locate(Environment environment) {
+                maxConcurrentCount.accumulateAndGet(concurrentCount.incrementAndGet(), Math::max);
+                try {
+                    relocating.countDown();
+                    release.await(5, SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    concurrentCount.decrementAndGet();
+                }
+                return super.locate(environment);
+            }
+        };
+        List<Runnable> refreshTasks = new ArrayList<>();
+        CachingZoneLocator caching = newCachingZoneLocator("host-1", refreshTasks, zoneLocator);
+        Environment environment = newEnvironment(cacheFile, null);
+        assertEquals("zone-a", caching.locate(environment));
+        caching.refreshCachedZone();
+
+        Thread relocation = new Thread(() -> caching.relocate(environment));
+        relocation.start();
+        assertTrue(relocating.await(5, SECONDS));
+        Thread refresh = new Thread(refreshTasks.get(0));
+        refresh.start();
+        // The refresh waits for the relocation
+        while (refresh.getState() != Thread.State.BLOCKED) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+        relocation.join(5000);
+        refresh.join(5000);
+
+        assertEquals(1, maxConcurrentCount.get());
+        assertEquals("zone-b", caching.getZone());
+    }
+}
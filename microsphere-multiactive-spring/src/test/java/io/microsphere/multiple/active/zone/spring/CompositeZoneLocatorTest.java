@@ -1,16 +1,41 @@
 package io.microsphere.multiple.active.zone.spring;
 
+import io.microsphere.multiple.active.zone.ZoneContext;
+import io.microsphere.multiple.active.zone.spring.ZoneLocatorListener.Operation;
+import io.microsphere.multiple.active.zone.spring.ZoneLocatorListener.Outcome;
 import org.junit.jupiter.api.Test;
+import org.springframework.core.Ordered;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.MapPropertySource;
 import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
 
+import static io.microsphere.multiple.active.zone.ZoneConstants.CURRENT_ZONE_PROPERTY_NAME;
+import static io.microsphere.multiple.active.zone.ZoneConstants.LOCATOR_DEADLINE_PROPERTY_NAME;
 import static io.microsphere.multiple.active.zone.ZoneConstants.LOCATOR_FAST_FAIL_PROPERTY_NAME;
+import static io.microsphere.multiple.active.zone.ZoneConstants.LOCATOR_PARALLEL_PROPERTY_NAME;
+import static io.microsphere.multiple.active.zone.ZoneContext.getCurrentZone;
+import static io.microsphere.multiple.active.zone.spring.CompositeZoneLocator.DURATION_TAG_NAME;
+import static io.microsphere.multiple.active.zone.spring.CompositeZoneLocator.LOCATE_STEP_NAME;
+import static io.microsphere.multiple.active.zone.spring.CompositeZoneLocator.LOCATOR_LOCATE_STEP_NAME;
+import static io.microsphere.multiple.active.zone.spring.CompositeZoneLocator.LOCATOR_SUPPORTS_STEP_NAME;
+import static io.microsphere.multiple.active.zone.spring.CompositeZoneLocator.LOCATOR_TAG_NAME;
+import static io.microsphere.multiple.active.zone.spring.CompositeZoneLocator.OUTCOME_TAG_NAME;
+import static io.microsphere.multiple.active.zone.spring.CompositeZoneLocator.ZONE_TAG_NAME;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -96,6 +121,29 @@ class CompositeZoneLocatorTest {
         };
     }
 
+    /**
+     * Supports and returns a fixed zone after the delay
+     */
+    static ZoneLocator slowLocator(String zone, long delay) {
+        return new ZoneLocator() {
+            @Override
+            public boolean supports(Environment env) {
+                return true;
+            }
+
+            @Override
+            public String locate(Environment env) {
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return null;
+                }
+                return zone;
+            }
+        };
+    }
+
     static Environment newEnvironment() {
         return new StandardEnvironment();
     }
@@ -108,6 +156,16 @@ class CompositeZoneLocatorTest {
         return env;
     }
 
+    static Environment newParallelEnvironment(long deadline, boolean fastFail) {
+        StandardEnvironment env = new StandardEnvironment();
+        Map<String, Object> props = new HashMap<>();
+        props.put(LOCATOR_PARALLEL_PROPERTY_NAME, "true");
+        props.put(LOCATOR_DEADLINE_PROPERTY_NAME, String.valueOf(deadline));
+        props.put(LOCATOR_FAST_FAIL_PROPERTY_NAME, String.valueOf(fastFail));
+        env.getPropertySources().addFirst(new MapPropertySource("test", props));
+        return env;
+    }
+
     @Test
     void testConstructorWithNullThrows() {
         assertThrows(IllegalArgumentException.class, () -> new CompositeZoneLocator(null));
@@ -211,4 +269,291 @@ class CompositeZoneLocatorTest {
         String zone = composite.locate(newEnvironment());
         assertNull(zone);
     }
+
+    @Test
+    void testLocateInParallelWaitsForHigherOrderedLocator() {
+        CompositeZoneLocator composite = new CompositeZoneLocator(
+                Arrays.asList(slowLocator("zone-a", 200), fixedLocator("zone-b"))
+        );
+        assertEquals("zone-a", composite.locate(newParallelEnvironment(5000, false)));
+    }
+
+    @Test
+    void testLocateInParallelSkipsFailedHigherOrderedLocators() {
+        CompositeZoneLocator composite = new CompositeZoneLocator(
+                Arrays.asList(unsupportedLocator(), nullLocator(), throwingLocator(), slowLocator("zone-c", 100))
+        );
+        assertEquals("zone-c", composite.locate(newParallelEnvironment(5000, false)));
+    }
+
+    @Test
+    void testLocateInParallelAcceptsCompletedZoneOnDeadline() {
+        CompositeZoneLocator composite = new CompositeZoneLocator(
+                Arrays.asList(slowLocator("zone-a", 10000), fixedLocator("zone-b"))
+        );
+        long start = System.currentTimeMillis();
+        assertEquals("zone-b", composite.locate(newParallelEnvironment(200, false)));
+        assertTrue(System.currentTimeMillis() - start < 5000);
+    }
+
+    @Test
+    void testLocateInParallelReturnsNullOnDeadline() {
+        CompositeZoneLocator composite = new CompositeZoneLocator(
+                Arrays.asList(slowLocator("zone-a", 10000), slowLocator("zone-b", 10000))
+        );
+        long start = System.currentTimeMillis();
+        assertNull(composite.locate(newParallelEnvironment(200, false)));
+        assertTrue(System.currentTimeMillis() - start < 5000);
+    }
+
+    @Test
+    void testLocateInParallelWithFastFail() {
+        CompositeZoneLocator composite = new CompositeZoneLocator(
+                Arrays.asList(throwingLocator(), fixedLocator("zone-b"))
+        );
+        assertThrows(IllegalStateException.class, () -> composite.locate(newParallelEnvironment(5000, true)));
+    }
+
+    @Test
+    void testLocateInParallelWithExecutorService() {
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            CompositeZoneLocator composite = new CompositeZoneLocator(
+                    Arrays.asList(nullLocator(), slowLocator("zone-b", 50)), executorService
+            );
+            assertEquals("zone-b", composite.locate(newParallelEnvironment(5000, false)));
+            assertFalse(executorService.isShutdown());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    void testRelocateReplacesLocatedZone() {
+        AtomicReference<String> zone = new AtomicReference<>("zone-a");
+        ZoneLocator zoneLocator = new ZoneLocator() {
+            @Override
+            public boolean supports(Environment env) {
+                return true;
+            }
+
+            @Override
+            public String locate(Environment env) {
+                return zone.get();
+            }
+        };
+        CompositeZoneLocator composite = new CompositeZoneLocator(Collections.singletonList(zoneLocator));
+        assertEquals("zone-a", composite.locate(newEnvironment()));
+
+        zone.set("zone-b");
+        assertEquals("zone-a", composite.locate(newEnvironment()));
+        assertEquals("zone-b", composite.relocate(newEnvironment()));
+        assertEquals("zone-b", composite.locate(newEnvironment()));
+
+        // The located zone is kept if it can't be relocated
+        zone.set(null);
+        assertNull(composite.relocate(newEnvironment()));
+        assertEquals("zone-b", composite.locate(newEnvironment()));
+    }
+
+    @Test
+    void testLocateAndRelocateUpdateCurrentZone() {
+        AtomicReference<String> zone = new AtomicReference<>("zone-current");
+        ZoneLocator zoneLocator = new ZoneLocator() {
+            @Override
+            public boolean supports(Environment env) {
+                return true;
+            }
+
+            @Override
+            public String locate(Environment env) {
+                return zone.get();
+            }
+        };
+        CompositeZoneLocator composite = new CompositeZoneLocator(Collections.singletonList(zoneLocator));
+        try {
+            composite.locate(newEnvironment());
+            assertEquals("zone-current", getCurrentZone());
+            assertEquals("zone-current", System.getProperty(CURRENT_ZONE_PROPERTY_NAME));
+
+            zone.set("zone-relocated");
+            composite.relocate(newEnvironment());
+            assertEquals("zone-relocated", getCurrentZone());
+            assertEquals("zone-relocated", System.getProperty(CURRENT_ZONE_PROPERTY_NAME));
+        } finally {
+            ZoneContext.get().reset();
+            System.clearProperty(CURRENT_ZONE_PROPERTY_NAME);
+        }
+    }
+
+    @Test
+    void testLocateRecordsStartupSteps() {
+        List<RecordedStep> steps = new ArrayList<>();
+        AbstractZoneLocator zoneLocator = new AbstractZoneLocator(Ordered.LOWEST_PRECEDENCE) {
+            @Override
+            public boolean supports(Environment environment) {
+                return true;
+            }
+
+            @Override
+            public String locate(Environment environment) {
+                return "zone-c";
+            }
+        };
+        zoneLocator.setBeanName("testZoneLocator");
+        CompositeZoneLocator composite = new CompositeZoneLocator(
+                Arrays.asList(unsupportedLocator(), nullLocator(), zoneLocator)
+        );
+        composite.setApplicationStartup(recordingApplicationStartup(steps));
+        assertEquals("zone-c", composite.locate(newEnvironment()));
+
+        // supports x 3, locate x 2, and the total
+        assertEquals(6, steps.size());
+        assertStep(steps.get(0), LOCATOR_SUPPORTS_STEP_NAME, "unsupported");
+        assertStep(steps.get(1), LOCATOR_SUPPORTS_STEP_NAME, "supported");
+        assertStep(steps.get(2), LOCATOR_LOCATE_STEP_NAME, "null");
+        assertStep(steps.get(3), LOCATOR_SUPPORTS_STEP_NAME, "supported");
+        assertStep(steps.get(4), LOCATOR_LOCATE_STEP_NAME, "located");
+        assertEquals("testZoneLocator", steps.get(4).tags.get(LOCATOR_TAG_NAME));
+        RecordedStep locateStep = steps.get(5);
+        assertEquals(LOCATE_STEP_NAME, locateStep.name);
+        assertEquals("zone-c", locateStep.tags.get(ZONE_TAG_NAME));
+        assertEquals("located", locateStep.tags.get(OUTCOME_TAG_NAME));
+        assertNotNull(locateStep.tags.get(DURATION_TAG_NAME));
+
+        // The located zone is returned without any step
+        steps.clear();
+        assertEquals("zone-c", composite.locate(newEnvironment()));
+        assertTrue(steps.isEmpty());
+    }
+
+    @Test
+    void testLocateInParallelRecordsStartupStepsInCurrentThread() {
+        List<RecordedStep> steps = new CopyOnWriteArrayList<>();
+        CompositeZoneLocator composite = new CompositeZoneLocator(
+                Arrays.asList(slowLocator("zone-a", 50), fixedLocator("zone-b"))
+        );
+        composite.setApplicationStartup(recordingApplicationStartup(steps));
+        assertEquals("zone-a", composite.locate(newParallelEnvironment(5000, false)));
+        // supports x 2, locate x 2 recorded in order once the race is settled, and the total
+        assertEquals(5, steps.size());
+        assertStep(steps.get(0), LOCATOR_SUPPORTS_STEP_NAME, "supported");
+        assertStep(steps.get(1), LOCATOR_SUPPORTS_STEP_NAME, "supported");
+        assertStep(steps.get(2), LOCATOR_LOCATE_STEP_NAME, "located");
+        assertStep(steps.get(3), LOCATOR_LOCATE_STEP_NAME, "located");
+        assertEquals(LOCATE_STEP_NAME, steps.get(4).name);
+    }
+
+    @Test
+    void testLocateInParallelRecordsFailedStartupSteps() {
+        List<RecordedStep> steps = new CopyOnWriteArrayList<>();
+        CompositeZoneLocator composite = new CompositeZoneLocator(
+                Arrays.asList(throwingLocator(), nullLocator(), fixedLocator("zone-c"))
+        );
+        composite.setApplicationStartup(recordingApplicationStartup(steps));
+        assertEquals("zone-c", composite.locate(newParallelEnvironment(5000, false)));
+        assertEquals(7, steps.size());
+        assertStep(steps.get(3), LOCATOR_LOCATE_STEP_NAME, "error");
+        assertStep(steps.get(4), LOCATOR_LOCATE_STEP_NAME, "null");
+        assertStep(steps.get(5), LOCATOR_LOCATE_STEP_NAME, "located");
+        assertEquals(LOCATE_STEP_NAME, steps.get(6).name);
+    }
+
+    @Test
+    void testZoneLocatorListeners() {
+        List<String> invocations = new CopyOnWriteArrayList<>();
+        List<String> locations = new CopyOnWriteArrayList<>();
+        ZoneLocatorListener listener = new ZoneLocatorListener() {
+            @Override
+            public void onInvoked(ZoneLocator zoneLocator, String locatorName, Operation operation, Outcome outcome, long duration) {
+                assertTrue(duration >= 0);
+                invocations.add(operation.getValue() + ":" + outcome.getValue());
+            }
+
+            @Override
+            public void onLocated(String zone, Outcome outcome, long duration) {
+                assertTrue(duration >= 0);
+                locations.add(zone + ":" + outcome.getValue());
+            }
+        };
+        ZoneLocatorListener failingListener = (zoneLocator, locatorName, operation, outcome, duration) -> {
+            throw new RuntimeException("listener error");
+        };
+        CompositeZoneLocator composite = new CompositeZoneLocator(
+                Arrays.asList(unsupportedLocator(), throwingLocator(), fixedLocator("zone-b"))
+        );
+        composite.setZoneLocatorListeners(Arrays.asList(failingListener, listener));
+        assertEquals("zone-b", composite.locate(newEnvironment()));
+        assertEquals(Arrays.asList("supports:unsupported", "supports:supported", "locate:error", "supports:supported",
+                "locate:located"), invocations);
+        assertEquals(Collections.singletonList("zone-b:located"), locations);
+
+        // The relocation is not notified as the location at the first time
+        invocations.clear();
+        assertEquals("zone-b", composite.relocate(newEnvironment()));
+        assertEquals(5, invocations.size());
+        assertEquals(1, locations.size());
+
+        // The invocations in parallel are notified
+        CompositeZoneLocator parallelComposite = new CompositeZoneLocator(
+                Arrays.asList(nullLocator(), fixedLocator("zone-b"))
+        );
+        parallelComposite.setZoneLocatorListeners(Collections.singletonList(listener));
+        invocations.clear();
+        assertEquals("zone-b", parallelComposite.locate(newParallelEnvironment(5000, false)));
+        assertEquals(4, invocations.size());
+        assertTrue(invocations.contains("locate:null"));
+        assertTrue(invocations.contains("locate:located"));
+    }
+
+    @Test
+    void testGetLocatorName() {
+        AbstractZoneLocator zoneLocator = new DefaultZoneLocator();
+        assertEquals("DefaultZoneLocator", CompositeZoneLocator.getLocatorName(zoneLocator));
+        zoneLocator.setBeanName("defaultZoneLocator");
+        assertEquals("defaultZoneLocator", CompositeZoneLocator.getLocatorName(zoneLocator));
+        assertTrue(CompositeZoneLocator.getLocatorName(fixedLocator("zone-a")).startsWith(CompositeZoneLocatorTest.class.getName()));
+    }
+
+    private static void assertStep(RecordedStep step, String name, String outcome) {
+        assertEquals(name, step.name);
+        assertEquals(outcome, step.tags.get(OUTCOME_TAG_NAME));
+        assertNotNull(step.tags.get(LOCATOR_TAG_NAME));
+        assertNotNull(step.tags.get(DURATION_TAG_NAME));
+    }
+
+    /**
+     * The {@link ApplicationStartup} records the ended steps
+     */
+    private static ApplicationStartup recordingApplicationStartup(List<RecordedStep> steps) {
+        return name -> {
+            RecordedStep recordedStep = new RecordedStep(name);
+            return (StartupStep) Proxy.newProxyInstance(StartupStep.class.getClassLoader(), new Class[]{StartupStep.class},
+                    (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "getName":
+                                return name;
+                            case "tag":
+                                recordedStep.tags.put((String) args[0], String.valueOf(args[1]));
+                                return proxy;
+                            case "end":
+                                steps.add(recordedStep);
+                                return null;
+                            default:
+                                return null;
+                        }
+                    });
+        };
+    }
+
+    private static class RecordedStep {
+
+        private final String name;
+
+        private final Map<String, String> tags = new LinkedHashMap<>();
+
+        private RecordedStep(String name) {
+            this.name = name;
+        }
+    }
 }
@@ -0,0 +1,106 @@
+package io.microsphere.multiple.active.zone.spring;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link LazyZoneLocator}
+ */
+class LazyZoneLocatorTest {
+
+    private final AtomicInteger instantiations = new AtomicInteger();
+
+    private final AtomicInteger supportsInvocations = new AtomicInteger();
+
+    private final Function<Class<? extends ZoneLocator>, ZoneLocator> instantiator = type -> {
+        instantiations.incrementAndGet();
+        return new CountingZoneLocator();
+    };
+
+    @Test
+    void testInstantiateLazily() {
+        LazyZoneLocator zoneLocator = new LazyZoneLocator(CountingZoneLocator.class, 5, instantiator);
+        assertFalse(zoneLocator.isInstantiated());
+        assertEquals(5, zoneLocator.getOrder());
+        assertSame(CountingZoneLocator.class, zoneLocator.getType());
+        assertTrue(zoneLocator.toString().contains(CountingZoneLocator.class.getName()));
+        assertEquals(0, instantiations.get());
+
+        assertEquals("zone-a", zoneLocator.locate(new StandardEnvironment()));
+        assertTrue(zoneLocator.isInstantiated());
+        assertEquals("CountingZoneLocator", zoneLocator.toString());
+        ZoneLocator target = zoneLocator.getZoneLocator();
+        assertSame(target, zoneLocator.getZoneLocator());
+        assertEquals(1, instantiations.get());
+    }
+
+    @Test
+    void testSupportsMemoizedPerEnvironment() {
+        LazyZoneLocator zoneLocator = new LazyZoneLocator(CountingZoneLocator.class, 5, instantiator);
+        Environment environment = new StandardEnvironment();
+        for (int i = 0; i < 3; i++) {
+            assertTrue(zoneLocator.supports(environment));
+        }
+        assertEquals(1, supportsInvocations.get());
+
+        assertTrue(zoneLocator.supports(new StandardEnvironment()));
+        assertEquals(2, supportsInvocations.get());
+        assertEquals(1, instantiations.get());
+    }
+
+    @Test
+    void testInstantiateOnNull() {
+        LazyZoneLocator zoneLocator = new LazyZoneLocator(CountingZoneLocator.class, 5, type -> null);
+        assertThrows(IllegalStateException.class, () -> zoneLocator.supports(new StandardEnvironment()));
+        assertFalse(zoneLocator.isInstantiated());
+    }
+
+    @Test
+    void testConstructorOnNull() {
+        assertThrows(IllegalArgumentException.class, () -> new LazyZoneLocator(null, 0, instantiator));
+        assertThrows(IllegalArgumentException.class, () -> new LazyZoneLocator(CountingZoneLocator.class, 0, null));
+    }
+
+    @Test
+    void testNotInstantiatedIfHigherOrderedLocated() {
+        LazyZoneLocator higher = new LazyZoneLocator(CountingZoneLocator.class, 1, instantiator);
+        LazyZoneLocator lower = new LazyZoneLocator(CountingZoneLocator.class, 2, instantiator);
+        CompositeZoneLocator composite = new CompositeZoneLocator(Arrays.asList(lower, higher));
+        assertEquals("zone-a", composite.locate(new StandardEnvironment()));
+        assertTrue(higher.isInstantiated());
+        assertFalse(lower.isInstantiated());
+        assertEquals("CountingZoneLocator", CompositeZoneLocator.getLocatorName(higher));
+        assertEquals("CountingZoneLocator", CompositeZoneLocator.getLocatorName(lower));
+        assertSame(higher.getZoneLocator(), composite.getLocatedZoneLocator());
+    }
+
+    class CountingZoneLocator implements ZoneLocator {
+
+        @Override
+        public boolean supports(Environment environment) {
+            supportsInvocations.incrementAndGet();
+            return true;
+        }
+
+        @Override
+        public String locate(Environment environment) {
+            return "zone-a";
+        }
+
+        @Override
+        public String toString() {
+            return "CountingZoneLocator";
+        }
+    }
+}
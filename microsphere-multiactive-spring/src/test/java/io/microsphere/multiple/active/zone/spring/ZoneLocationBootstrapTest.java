@@ -0,0 +1,168 @@
+package io.microsphere.multiple.active.zone.spring;
+
+import io.microsphere.multiple.active.zone.ZoneContext;
+import io.microsphere.multiple.active.zone.spring.CachingZoneLocatorTest.CountingZoneLocator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.env.Environment;
+
+import java.beans.PropertyChangeEvent;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_ZONE;
+import static io.microsphere.multiple.active.zone.spring.CachingZoneLocatorTest.newCachingZoneLocator;
+import static io.microsphere.multiple.active.zone.spring.CompositeZoneLocatorTest.fixedLocator;
+import static io.microsphere.multiple.active.zone.spring.CompositeZoneLocatorTest.newEnvironment;
+import static io.microsphere.multiple.active.zone.spring.CompositeZoneLocatorTest.nullLocator;
+import static io.microsphere.multiple.active.zone.spring.CompositeZoneLocatorTest.throwingLocator;
+import static io.microsphere.multiple.active.zone.spring.CompositeZoneLocatorTest.unsupportedLocator;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link ZoneLocationBootstrap}
+ */
+class ZoneLocationBootstrapTest {
+
+    private ZoneContext zoneContext;
+
+    @BeforeEach
+    void setUp() {
+        zoneContext = ZoneContext.get();
+        zoneContext.reset();
+    }
+
+    @AfterEach
+    void tearDown() {
+        zoneContext.reset();
+    }
+
+    @Test
+    void testConstructorWithNullThrows() {
+        assertThrows(IllegalArgumentException.class, () -> new ZoneLocationBootstrap(null, zoneContext));
+        assertThrows(IllegalArgumentException.class, () -> new ZoneLocationBootstrap(fixedLocator("zone-a"), null));
+    }
+
+    @Test
+    void testStartHoldsProvisionalZoneUntilLocated() {
+        List<Runnable> tasks = new ArrayList<>();
+        ZoneLocationBootstrap bootstrap = new ZoneLocationBootstrap(fixedLocator("zone-a"), zoneContext, tasks::add);
+        assertFalse(bootstrap.isStarted());
+
+        bootstrap.start(newEnvironment(), 10000);
+        bootstrap.start(newEnvironment(), 10000);
+        assertTrue(bootstrap.isStarted());
+        assertFalse(bootstrap.isDone());
+        assertNull(bootstrap.getZone());
+        assertTrue(zoneContext.isZoneProvisional());
+        assertEquals(DEFAULT_ZONE, zoneContext.getZone());
+        assertEquals(1, tasks.size());
+
+        List<PropertyChangeEvent> events = new ArrayList<>();
+        bootstrap.whenLocated(events::addAll);
+        assertTrue(events.isEmpty());
+
+        tasks.get(0).run();
+        assertTrue(bootstrap.isDone());
+        assertEquals("zone-a", bootstrap.getZone());
+        assertFalse(zoneContext.isZoneProvisional());
+        assertEquals("zone-a", zoneContext.getZone());
+        assertEquals(1, events.size());
+        assertEquals(DEFAULT_ZONE, events.get(0).getOldValue());
+        assertEquals("zone-a", events.get(0).getNewValue());
+
+        List<PropertyChangeEvent> lateEvents = new ArrayList<>();
+        bootstrap.whenLocated(lateEvents::addAll);
+        assertEquals(events, lateEvents);
+    }
+
+    @Test
+    void testStartOnDaemonThread() throws Exception {
+        ZoneLocationBootstrap bootstrap = new ZoneLocationBootstrap(fixedLocator("zone-b"), zoneContext);
+        CountDownLatch latch = new CountDownLatch(1);
+        bootstrap.whenLocated(events -> latch.countDown());
+        bootstrap.start(newEnvironment(), 10000);
+        assertEquals("zone-b", zoneContext.awaitZone());
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals("zone-b", bootstrap.getZone());
+    }
+
+    @Test
+    void testStartConfirmsProvisionalZoneWhenNotLocated() {
+        for (ZoneLocator zoneLocator : new ZoneLocator[]{nullLocator(), throwingLocator(), unsupportedLocator()}) {
+            zoneContext.reset();
+            ZoneLocationBootstrap bootstrap = new ZoneLocationBootstrap(zoneLocator, zoneContext, Runnable::run);
+            List<PropertyChangeEvent> events = new ArrayList<>();
+            bootstrap.whenLocated(events::addAll);
+            bootstrap.start(newEnvironment(), 10000);
+            assertTrue(bootstrap.isDone());
+            assertNull(bootstrap.getZone());
+            assertFalse(zoneContext.isZoneProvisional());
+            assertEquals(DEFAULT_ZONE, zoneContext.getZone());
+            assertTrue(events.isEmpty());
+        }
+    }
+
+    @Test
+    void testWhenLocatedCallbackFailureIsolated() {
+        ZoneLocationBootstrap bootstrap = new ZoneLocationBootstrap(fixedLocator("zone-c"), zoneContext, Runnable::run);
+        List<PropertyChangeEvent> events = new ArrayList<>();
+        bootstrap.whenLocated(e -> {
+            throw new IllegalStateException("For testing");
+        });
+        bootstrap.whenLocated(events::addAll);
+        bootstrap.start(newEnvironment(), 10000);
+        assertEquals(1, events.size());
+        assertTrue(bootstrap.toString().contains("zone-c"));
+    }
+
+    @Test
+    void testWhenLocatedNotifiesCorrectedZone(@TempDir Path directory) {
+        Path cacheFile = directory.resolve("zone.properties");
+        Environment environment = CachingZoneLocatorTest.newEnvironment(cacheFile, null);
+        newCachingZoneLocator("host-1", new ArrayList<>(), new CountingZoneLocator("zone-a")).locate(environment);
+
+        List<Runnable> refreshTasks = new ArrayList<>();
+        CachingZoneLocator zoneLocator = newCachingZoneLocator("host-1", refreshTasks, new CountingZoneLocator("zone-b"));
+        ZoneLocationBootstrap bootstrap = new ZoneLocationBootstrap(zoneLocator, zoneContext, Runnable::run);
+        List<List<PropertyChangeEvent>> notifications = new ArrayList<>();
+        bootstrap.whenLocated(notifications::add);
+        bootstrap.start(environment, 10000);
+
+        // The cached zone is applied before the refresh
+        assertEquals("zone-a", zoneContext.getZone());
+        assertEquals("zone-a", bootstrap.getZone());
+        assertEquals(1, notifications.size());
+        assertEquals(1, refreshTasks.size());
+
+        refreshTasks.get(0).run();
+        assertEquals("zone-b", zoneContext.getZone());
+        assertEquals("zone-b", bootstrap.getZone());
+        assertEquals(2, notifications.size());
+        assertEquals("zone-a", notifications.get(1).get(0).getOldValue());
+        assertEquals("zone-b", notifications.get(1).get(0).getNewValue());
+
+        // The late callback receives both
+        List<List<PropertyChangeEvent>> lateNotifications = new ArrayList<>();
+        bootstrap.whenLocated(lateNotifications::add);
+        assertEquals(notifications, lateNotifications);
+    }
+
+    @Test
+    void testDestroyZoneLocator() throws Exception {
+        CachingZoneLocator zoneLocator = new CachingZoneLocator(Collections.emptyList(), null, zoneContext);
+        ZoneLocationBootstrap bootstrap = new ZoneLocationBootstrap(zoneLocator, zoneContext);
+        bootstrap.destroy();
+        assertTrue(zoneLocator.getOwnedRefreshExecutor().isShutdown());
+    }
+}
@@ -0,0 +1,240 @@
+package io.microsphere.multiple.active.zone.spring;
+
+import io.microsphere.multiple.active.zone.ZoneContext;
+import io.microsphere.multiple.active.zone.spring.event.ZoneContextChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.beans.PropertyChangeEvent;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static io.microsphere.multiple.active.zone.ZoneConstants.LOCATOR_REFRESH_INTERVAL_PROPERTY_NAME;
+import static io.microsphere.multiple.active.zone.ZoneConstants.LOCATOR_REFRESH_JITTER_PROPERTY_NAME;
+import static io.microsphere.multiple.active.zone.ZoneConstants.ZONE_PROPERTY_NAME;
+import static io.microsphere.multiple.active.zone.spring.CompositeZoneLocatorTest.fixedLocator;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link ZoneRelocationScheduler}
+ */
+class ZoneRelocationSchedulerTest {
+
+    private ZoneContext zoneContext;
+
+    private GenericApplicationContext context;
+
+    private final List<ZoneContextChangedEvent> events = new CopyOnWriteArrayList<>();
+
+    private final AtomicReference<String> locatedZone = new AtomicReference<>();
+
+    private final AtomicInteger locateCount = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        zoneContext = ZoneContext.get();
+        zoneContext.reset();
+        context = new GenericApplicationContext();
+        context.addApplicationListener(event -> {
+            if (event instanceof ZoneContextChangedEvent) {
+                events.add((ZoneContextChangedEvent) event);
+            }
+        });
+        context.refresh();
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+        zoneContext.reset();
+    }
+
+    private CompositeZoneLocator newZoneLocator() {
+        return new CompositeZoneLocator(Collections.singletonList(new ZoneLocator() {
+            @Override
+            public boolean supports(Environment environment) {
+                return true;
+            }
+
+            @Override
+            public String locate(Environment environment) {
+                locateCount.incrementAndGet();
+                return locatedZone.get();
+            }
+        }));
+    }
+
+    private ZoneRelocationScheduler newScheduler(Environment environment, ScheduledExecutorService scheduledExecutorService) {
+        ZoneRelocationScheduler scheduler = new ZoneRelocationScheduler(newZoneLocator(), zoneContext, scheduledExecutorService);
+        scheduler.setApplicationContext(context);
+        scheduler.setEnvironment(environment);
+        return scheduler;
+    }
+
+    private static Environment newEnvironment(String... keyValues) {
+        StandardEnvironment environment = new StandardEnvironment();
+        Map<String, Object> properties = new HashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            properties.put(keyValues[i], keyValues[i + 1]);
+        }
+        environment.getPropertySources().addFirst(new MapPropertySource("test", properties));
+        return environment;
+    }
+
+    @Test
+    void testConstructorWithNullThrows() {
+        CompositeZoneLocator zoneLocator = new CompositeZoneLocator(Collections.singletonList(fixedLocator("zone-a")));
+        assertThrows(IllegalArgumentException.class, () -> new ZoneRelocationScheduler(null, zoneContext));
+        assertThrows(IllegalArgumentException.class, () -> new ZoneRelocationScheduler(zoneLocator, null));
+    }
+
+    @Test
+    void testRelocateOnDrift() {
+        zoneContext.setZone("zone-a");
+        locatedZone.set("zone-b");
+        ZoneRelocationScheduler scheduler = newScheduler(newEnvironment(), null);
+        assertNull(scheduler.getZone());
+
+        assertTrue(scheduler.relocate());
+        assertEquals("zone-b", zoneContext.getZone());
+        assertEquals("zone-b", scheduler.getZone());
+        assertEquals(1, events.size());
+        List<PropertyChangeEvent> propertyChangeEvents = events.get(0).getPropertyChangeEvents();
+        assertEquals(1, propertyChangeEvents.size());
+        assertEquals("zone", propertyChangeEvents.get(0).getPropertyName());
+        assertEquals("zone-a", propertyChangeEvents.get(0).getOldValue());
+        assertEquals("zone-b", propertyChangeEvents.get(0).getNewValue());
+
+        // No drift any more
+        assertFalse(scheduler.relocate());
+        assertEquals(1, events.size());
+        assertEquals(2, locateCount.get());
+    }
+
+    @Test
+    void testRelocateWhenNotLocated() {
+        zoneContext.setZone("zone-a");
+        ZoneRelocationScheduler scheduler = newScheduler(newEnvironment(), null);
+        assertFalse(scheduler.relocate());
+        assertEquals("zone-a", zoneContext.getZone());
+        assertNull(scheduler.getZone());
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    void testRelocateSkippedWhenZoneChangedInPlace() {
+        zoneContext.setZone("zone-a");
+        locatedZone.set("zone-a");
+        ZoneRelocationScheduler scheduler = newScheduler(newEnvironment(), null);
+        assertFalse(scheduler.relocate());
+        assertEquals("zone-a", scheduler.getZone());
+
+        // The zone is changed in place rather than located
+        zoneContext.update(mutator -> mutator.setZone("zone-manual"));
+        locatedZone.set("zone-b");
+        assertFalse(scheduler.relocate());
+        assertEquals("zone-manual", zoneContext.getZone());
+        assertEquals(1, locateCount.get());
+        assertTrue(events.isEmpty());
+
+        // Relocated when the zone is reverted to the located one
+        zoneContext.setZone("zone-a");
+        assertTrue(scheduler.relocate());
+        assertEquals("zone-b", zoneContext.getZone());
+    }
+
+    @Test
+    void testRelocateSkippedWhenZoneChangedAfterLocated() {
+        locatedZone.set("zone-a");
+        CompositeZoneLocator zoneLocator = newZoneLocator();
+        assertEquals("zone-a", zoneLocator.locate(newEnvironment()));
+        assertEquals("zone-a", zoneLocator.getZone());
+        zoneContext.setZone("zone-manual");
+
+        ZoneRelocationScheduler scheduler = new ZoneRelocationScheduler(zoneLocator, zoneContext);
+        scheduler.setApplicationContext(context);
+        scheduler.setEnvironment(newEnvironment());
+        locatedZone.set("zone-b");
+        assertFalse(scheduler.relocate());
+        assertEquals("zone-manual", zoneContext.getZone());
+        assertEquals(1, locateCount.get());
+    }
+
+    @Test
+    void testRelocateSkippedWhenZoneConfigured() {
+        zoneContext.setZone("zone-c");
+        locatedZone.set("zone-b");
+        ZoneRelocationScheduler scheduler = newScheduler(newEnvironment(ZONE_PROPERTY_NAME, "zone-c"), null);
+        assertFalse(scheduler.relocate());
+        assertEquals("zone-c", zoneContext.getZone());
+        assertEquals(0, locateCount.get());
+    }
+
+    @Test
+    void testRelocateSkippedWhenZoneProvisional() {
+        locatedZone.set("zone-b");
+        zoneContext.setProvisionalZone("zone-a", 10, TimeUnit.SECONDS);
+        ZoneRelocationScheduler scheduler = newScheduler(newEnvironment(), null);
+        assertFalse(scheduler.relocate());
+        assertEquals(0, locateCount.get());
+
+        zoneContext.confirmZone();
+        assertTrue(scheduler.relocate());
+        assertEquals("zone-b", zoneContext.getZone());
+    }
+
+    @Test
+    void testStartAndStop() throws Exception {
+        zoneContext.setZone("zone-a");
+        locatedZone.set("zone-b");
+        ZoneRelocationScheduler scheduler = newScheduler(newEnvironment(LOCATOR_REFRESH_INTERVAL_PROPERTY_NAME, "10",
+                LOCATOR_REFRESH_JITTER_PROPERTY_NAME, "5"), null);
+        assertFalse(scheduler.isRunning());
+        scheduler.start();
+        scheduler.start();
+        assertTrue(scheduler.isRunning());
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (locateCount.get() < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        scheduler.stop();
+        scheduler.stop();
+        assertFalse(scheduler.isRunning());
+        assertTrue(locateCount.get() >= 3);
+        assertEquals("zone-b", zoneContext.getZone());
+        assertEquals(1, events.size());
+    }
+
+    @Test
+    void testStopKeepsProvidedExecutor() {
+        ScheduledExecutorService scheduledExecutorService = Executors.newSingleThreadScheduledExecutor();
+        try {
+            ZoneRelocationScheduler scheduler = newScheduler(newEnvironment(), scheduledExecutorService);
+            scheduler.start();
+            assertTrue(scheduler.isRunning());
+            scheduler.stop();
+            assertFalse(scheduler.isRunning());
+            assertFalse(scheduledExecutorService.isShutdown());
+        } finally {
+            scheduledExecutorService.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package io.microsphere.multiple.active.zone.spring;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.core.io.support.SpringFactoriesLoader;
+import org.springframework.util.ClassUtils;
+
+import java.util.List;
+
+import static io.microsphere.multiple.active.zone.spring.ZoneRuntimeHints.REFLECTIVE_TYPE_NAMES;
+import static io.microsphere.multiple.active.zone.spring.event.ZoneContextChangedListener.ENVIRONMENT_CHANGE_EVENT_CLASS_NAME;
+import static io.microsphere.multiple.active.zone.spring.event.ZoneContextChangedListener.GET_KEYS_METHOD_NAME;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.aot.hint.predicate.RuntimeHintsPredicates.reflection;
+
+/**
+ * Tests for {@link ZoneRuntimeHints}
+ */
+class ZoneRuntimeHintsTest {
+
+    @Test
+    void testRegisterHints() {
+        RuntimeHints hints = new RuntimeHints();
+        ClassLoader classLoader = getClass().getClassLoader();
+        new ZoneRuntimeHints().registerHints(hints, classLoader);
+        for (String typeName : REFLECTIVE_TYPE_NAMES) {
+            // Only the present types are registered
+            assertEquals(ClassUtils.isPresent(typeName, classLoader), reflection().onType(TypeReference.of(typeName)).test(hints));
+        }
+    }
+
+    @Test
+    void testRegisterGetKeysMethodHint() throws Exception {
+        RuntimeHints hints = new RuntimeHints();
+        ClassLoader classLoader = getClass().getClassLoader();
+        new ZoneRuntimeHints().registerHints(hints, classLoader);
+        if (ClassUtils.isPresent(ENVIRONMENT_CHANGE_EVENT_CLASS_NAME, classLoader)) {
+            assertTrue(reflection().onMethod(ENVIRONMENT_CHANGE_EVENT_CLASS_NAME, GET_KEYS_METHOD_NAME).invoke().test(hints));
+        } else {
+            assertNull(hints.reflection().getTypeHint(TypeReference.of(ENVIRONMENT_CHANGE_EVENT_CLASS_NAME)));
+        }
+    }
+
+    @Test
+    void testAotFactories() {
+        List<RuntimeHintsRegistrar> registrars = SpringFactoriesLoader.forResourceLocation("META-INF/spring/aot.factories")
+                .load(RuntimeHintsRegistrar.class);
+        assertTrue(registrars.stream().anyMatch(ZoneRuntimeHints.class::isInstance));
+    }
+}
@@ -2,10 +2,25 @@ package io.microsphere.multiple.active.zone.spring;
 
 import io.microsphere.multiple.active.zone.ZoneContext;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.core.env.Environment;
 
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Tests for {@link ZoneUtils}
@@ -34,4 +49,62 @@ class ZoneUtilsTest {
         assertNotNull(result);
         assertSame(locator, result);
     }
+
+    @Test
+    void testLoadZoneLocators(@TempDir Path directory) throws IOException {
+        AtomicInteger instantiations = new AtomicInteger();
+        try (URLClassLoader classLoader = newClassLoader(directory, DefaultZoneLocator.class.getName() + "," +
+                UnorderedZoneLocator.class.getName())) {
+            List<ZoneLocator> zoneLocators = ZoneUtils.loadZoneLocators(classLoader, type -> {
+                instantiations.incrementAndGet();
+                return type == DefaultZoneLocator.class ? new DefaultZoneLocator() : new UnorderedZoneLocator();
+            });
+            assertEquals(2, zoneLocators.size());
+
+            // The order of DefaultZoneLocator is declared by @Order
+            assertTrue(zoneLocators.get(0) instanceof LazyZoneLocator);
+            LazyZoneLocator lazyZoneLocator = (LazyZoneLocator) zoneLocators.get(0);
+            assertSame(DefaultZoneLocator.class, lazyZoneLocator.getType());
+            assertEquals(DefaultZoneLocator.DEFAULT_ORDER, lazyZoneLocator.getOrder());
+            assertFalse(lazyZoneLocator.isInstantiated());
+
+            // The order of UnorderedZoneLocator is only known by the instance
+            assertTrue(zoneLocators.get(1) instanceof UnorderedZoneLocator);
+            assertEquals(1, instantiations.get());
+
+            assertTrue(lazyZoneLocator.getZoneLocator() instanceof DefaultZoneLocator);
+            assertEquals(2, instantiations.get());
+        }
+    }
+
+    @Test
+    void testLoadZoneLocatorsOnInvalidClass(@TempDir Path directory) throws IOException {
+        try (URLClassLoader classLoader = newClassLoader(directory, String.class.getName())) {
+            assertThrows(IllegalArgumentException.class, () -> ZoneUtils.loadZoneLocators(classLoader, type -> null));
+        }
+        try (URLClassLoader classLoader = newClassLoader(directory, "not.found.ZoneLocator")) {
+            assertThrows(IllegalArgumentException.class, () -> ZoneUtils.loadZoneLocators(classLoader, type -> null));
+        }
+    }
+
+    private static URLClassLoader newClassLoader(Path directory, String zoneLocatorClassNames) throws IOException {
+        Path root = Files.createTempDirectory(directory, "classpath");
+        Path factoriesFile = root.resolve("META-INF/spring.factories");
+        Files.createDirectories(factoriesFile.getParent());
+        Files.write(factoriesFile, (ZoneLocator.class.getName() + "=" + zoneLocatorClassNames).getBytes(UTF_8));
+        return new URLClassLoader(new URL[]{root.toUri().toURL()}, ZoneUtilsTest.class.getClassLoader());
+    }
+
+    public static class UnorderedZoneLocator implements ZoneLocator {
+
+        @Override
+        public boolean supports(Environment environment) {
+            return true;
+        }
+
+        @Override
+        public String locate(Environment environment) {
+            return "zone-a";
+        }
+    }
 }
@@ -3,6 +3,7 @@ package io.microsphere.multiple.active.zone.spring.event;
 import io.microsphere.multiple.active.zone.ZoneContext;
 import io.microsphere.multiple.active.zone.spring.CompositeZoneLocator;
 import io.microsphere.multiple.active.zone.spring.DefaultZoneLocator;
+import io.microsphere.multiple.active.zone.spring.ZoneLocationBootstrap;
 import io.microsphere.multiple.active.zone.spring.ZoneLocator;
 import io.microsphere.multiple.active.zone.spring.ZoneUtils;
 import org.junit.jupiter.api.AfterEach;
@@ -13,14 +14,23 @@ import org.springframework.context.support.GenericApplicationContext;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.MapPropertySource;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
 
+import static io.microsphere.multiple.active.zone.ZoneConstants.CONTEXT_COALESCING_INTERVAL_PROPERTY_NAME;
+import static io.microsphere.multiple.active.zone.ZoneConstants.CONTEXT_COALESCING_MAX_LATENCY_PROPERTY_NAME;
 import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_ZONE;
+import static io.microsphere.multiple.active.zone.ZoneConstants.DEFAULT_ZONE_PREFERENCE_FILTER_ORDER;
 import static io.microsphere.multiple.active.zone.ZoneConstants.ORIGINAL_ZONE;
 import static io.microsphere.multiple.active.zone.ZoneConstants.PREFERENCE_ENABLED_PROPERTY_NAME;
 import static io.microsphere.multiple.active.zone.ZoneConstants.PREFERENCE_FILTER_ORDER_PROPERTY_NAME;
+import static io.microsphere.multiple.active.zone.ZoneConstants.PREFERENCE_FILTER_PARALLEL_THRESHOLD_PROPERTY_NAME;
 import static io.microsphere.multiple.active.zone.ZoneConstants.PREFERENCE_UPSTREAM_DISABLED_ZONE_PROPERTY_NAME;
 import static io.microsphere.multiple.active.zone.ZoneConstants.PREFERENCE_UPSTREAM_SAME_ZONE_MIN_AVAILABLE_PROPERTY_NAME;
 import static io.microsphere.multiple.active.zone.ZoneConstants.PREFERENCE_UPSTREAM_ZONE_READY_PERCENTAGE_PROPERTY_NAME;
@@ -28,6 +38,7 @@ import static io.microsphere.multiple.active.zone.ZoneConstants.ZONE_ENABLED_PRO
 import static io.microsphere.multiple.active.zone.ZoneConstants.ZONE_PROPERTY_NAME;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -128,6 +139,16 @@ class ZoneContextChangedListenerTest {
         }
     }
 
+    @Test
+    void testContextRefreshChangesPreferenceFilterParallelThreshold() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(PREFERENCE_FILTER_PARALLEL_THRESHOLD_PROPERTY_NAME, "5000");
+
+        try (GenericApplicationContext ctx = buildContext(props)) {
+            assertEquals(5000, zoneContext.getPreferenceFilterParallelThreshold());
+        }
+    }
+
     @Test
     void testContextRefreshChangesUpstreamZoneReadyPercentage() {
         Map<String, Object> props = new HashMap<>();
@@ -244,17 +265,18 @@ class ZoneContextChangedListenerTest {
         assertTrue(ZoneContextChangedListener.ZONE_CONTEXT_PROPERTY_NAMES.contains(ZONE_ENABLED_PROPERTY_NAME));
         assertTrue(ZoneContextChangedListener.ZONE_CONTEXT_PROPERTY_NAMES.contains(PREFERENCE_ENABLED_PROPERTY_NAME));
         assertTrue(ZoneContextChangedListener.ZONE_CONTEXT_PROPERTY_NAMES.contains(PREFERENCE_FILTER_ORDER_PROPERTY_NAME));
+        assertTrue(ZoneContextChangedListener.ZONE_CONTEXT_PROPERTY_NAMES.contains(PREFERENCE_FILTER_PARALLEL_THRESHOLD_PROPERTY_NAME));
         assertTrue(ZoneContextChangedListener.ZONE_CONTEXT_PROPERTY_NAMES.contains(PREFERENCE_UPSTREAM_ZONE_READY_PERCENTAGE_PROPERTY_NAME));
         assertTrue(ZoneContextChangedListener.ZONE_CONTEXT_PROPERTY_NAMES.contains(PREFERENCE_UPSTREAM_SAME_ZONE_MIN_AVAILABLE_PROPERTY_NAME));
         assertTrue(ZoneContextChangedListener.ZONE_CONTEXT_PROPERTY_NAMES.contains(PREFERENCE_UPSTREAM_DISABLED_ZONE_PROPERTY_NAME));
-        assertEquals(7, ZoneContextChangedListener.ZONE_CONTEXT_PROPERTY_NAMES.size());
+        assertEquals(8, ZoneContextChangedListener.ZONE_CONTEXT_PROPERTY_NAMES.size());
     }
 
     @Test
     void testPropertyChangedHandlersInitialized() {
         ZoneContextChangedListener listener = new ZoneContextChangedListener();
         assertFalse(listener.propertyChangedHandlers.isEmpty());
-        assertEquals(7, listener.propertyChangedHandlers.size());
+        assertEquals(8, listener.propertyChangedHandlers.size());
     }
 
     @Test
@@ -338,4 +360,240 @@ class ZoneContextChangedListenerTest {
         assertEquals(DEFAULT_ZONE, zoneContext.getZone());
         ctx.close();
     }
+
+    @Test
+    void testZoneContextChangedEventPublishedWhenZoneLocatedAsynchronously() {
+        List<ZoneContextChangedEvent> events = new ArrayList<>();
+        List<Runnable> tasks = new ArrayList<>();
+        ZoneLocator asyncLocator = new CompositeZoneLocator(Collections.singletonList(new ZoneLocator() {
+            @Override
+            public boolean supports(Environment environment) {
+                return true;
+            }
+
+            @Override
+            public String locate(Environment environment) {
+                return "zone-async";
+            }
+        }));
+        ZoneLocationBootstrap bootstrap = new ZoneLocationBootstrap(asyncLocator, zoneContext, tasks::add);
+
+        GenericApplicationContext ctx = new GenericApplicationContext();
+        ctx.getBeanFactory().registerSingleton(ZoneUtils.ZONE_CONTEXT_BEAN_NAME, zoneContext);
+        ctx.getBeanFactory().registerSingleton(ZoneUtils.ZONE_LOCATOR_BEAN_NAME,
+                new CompositeZoneLocator(Collections.singletonList(new DefaultZoneLocator())));
+        ctx.getBeanFactory().registerSingleton(ZoneUtils.ZONE_LOCATION_BOOTSTRAP_BEAN_NAME, bootstrap);
+        ctx.addApplicationListener(event -> {
+            if (event instanceof ZoneContextChangedEvent) {
+                events.add((ZoneContextChangedEvent) event);
+            }
+        });
+        bootstrap.start(ctx.getEnvironment(), 10000);
+
+        ctx.refresh();
+
+        ZoneContextChangedListener listener = new ZoneContextChangedListener();
+        listener.setEnvironment(ctx.getEnvironment());
+        listener.setApplicationContext(ctx);
+        listener.onApplicationEvent(new ContextRefreshedEvent(ctx));
+
+        // The zone is provisional until located
+        assertTrue(zoneContext.isZoneProvisional());
+        assertEquals(DEFAULT_ZONE, zoneContext.getZone());
+        assertTrue(events.isEmpty());
+
+        tasks.get(0).run();
+
+        assertFalse(zoneContext.isZoneProvisional());
+        assertEquals("zone-async", zoneContext.getZone());
+        assertEquals(1, events.size());
+        ctx.close();
+    }
+
+    @Test
+    void testOnEnvironmentChangedWithUnrelatedKeys() {
+        List<ZoneContextChangedEvent> events = new ArrayList<>();
+        try (GenericApplicationContext ctx = buildContext(null)) {
+            ctx.addApplicationListener(event -> {
+                if (event instanceof ZoneContextChangedEvent) {
+                    events.add((ZoneContextChangedEvent) event);
+                }
+            });
+            Map<String, Object> props = new HashMap<>();
+            props.put(ZONE_PROPERTY_NAME, "zone-changed");
+            ctx.getEnvironment().getPropertySources().addFirst(new MapPropertySource("changed-props", props));
+
+            ZoneContextChangedListener listener = ctx.getBean(ZoneContextChangedListener.class);
+            listener.onEnvironmentChanged(Arrays.asList("server.port", "microsphere.availability.zone.locator.timeout"));
+
+            assertEquals(DEFAULT_ZONE, zoneContext.getZone());
+            assertTrue(events.isEmpty());
+        }
+    }
+
+    @Test
+    void testOnEnvironmentChangedWithChangedKeys() {
+        List<ZoneContextChangedEvent> events = new ArrayList<>();
+        try (GenericApplicationContext ctx = buildContext(null)) {
+            ctx.addApplicationListener(event -> {
+                if (event instanceof ZoneContextChangedEvent) {
+                    events.add((ZoneContextChangedEvent) event);
+                }
+            });
+            Map<String, Object> props = new HashMap<>();
+            props.put(ZONE_PROPERTY_NAME, "zone-changed");
+            props.put(PREFERENCE_UPSTREAM_DISABLED_ZONE_PROPERTY_NAME, "zone-d");
+            ctx.getEnvironment().getPropertySources().addFirst(new MapPropertySource("changed-props", props));
+
+            ZoneContextChangedListener listener = ctx.getBean(ZoneContextChangedListener.class);
+            listener.onEnvironmentChanged(Arrays.asList("server.port", PREFERENCE_UPSTREAM_DISABLED_ZONE_PROPERTY_NAME));
+
+            // Only the changed property is applied
+            assertEquals(DEFAULT_ZONE, zoneContext.getZone());
+            assertEquals("zone-d", zoneContext.getPreferenceUpstreamDisabledZone());
+            assertEquals(1, events.size());
+
+            // All properties are re-read if the changed keys are unknown
+            listener.onEnvironmentChanged(null);
+            assertEquals("zone-changed", zoneContext.getZone());
+            assertEquals(2, events.size());
+        }
+    }
+
+    @Test
+    void testContextRefreshWithInvalidProperty() {
+        List<ZoneContextChangedEvent> events = new ArrayList<>();
+        try (GenericApplicationContext ctx = buildContext(null)) {
+            ctx.addApplicationListener(event -> {
+                if (event instanceof ZoneContextChangedEvent) {
+                    events.add((ZoneContextChangedEvent) event);
+                }
+            });
+            Map<String, Object> props = new HashMap<>();
+            props.put(ZONE_PROPERTY_NAME, "zone-changed");
+            props.put(PREFERENCE_UPSTREAM_ZONE_READY_PERCENTAGE_PROPERTY_NAME, "200");
+            ctx.getEnvironment().getPropertySources().addFirst(new MapPropertySource("changed-props", props));
+
+            ZoneContextChangedListener listener = ctx.getBean(ZoneContextChangedListener.class);
+            listener.onEnvironmentChanged(Arrays.asList(ZONE_PROPERTY_NAME, PREFERENCE_UPSTREAM_ZONE_READY_PERCENTAGE_PROPERTY_NAME));
+
+            // None of the properties is applied
+            assertEquals(DEFAULT_ZONE, zoneContext.getZone());
+            assertTrue(events.isEmpty());
+        }
+    }
+
+    @Test
+    void testResolvePropertyNames() {
+        ZoneContextChangedListener listener = new ZoneContextChangedListener();
+        assertTrue(listener.resolvePropertyNames(Arrays.asList("server.port", ZONE_PROPERTY_NAME + ".locator.timeout")).isEmpty());
+        assertIterableEquals(Arrays.asList(ZONE_ENABLED_PROPERTY_NAME, PREFERENCE_UPSTREAM_DISABLED_ZONE_PROPERTY_NAME),
+                listener.resolvePropertyNames(Arrays.asList(ZONE_ENABLED_PROPERTY_NAME, "server.port",
+                        PREFERENCE_UPSTREAM_DISABLED_ZONE_PROPERTY_NAME + "[0]",
+                        PREFERENCE_UPSTREAM_DISABLED_ZONE_PROPERTY_NAME + "[1]")));
+        assertIterableEquals(Collections.singletonList(PREFERENCE_UPSTREAM_DISABLED_ZONE_PROPERTY_NAME),
+                listener.resolvePropertyNames(Collections.singletonList(PREFERENCE_UPSTREAM_DISABLED_ZONE_PROPERTY_NAME + ".service-a")));
+    }
+
+    @Test
+    void testIsNestedKey() {
+        assertTrue(ZoneContextChangedListener.isNestedKey("a.b.c", "a.b"));
+        assertTrue(ZoneContextChangedListener.isNestedKey("a.b[0]", "a.b"));
+        assertFalse(ZoneContextChangedListener.isNestedKey("a.b", "a.b"));
+        assertFalse(ZoneContextChangedListener.isNestedKey("a.bc", "a.b"));
+        assertFalse(ZoneContextChangedListener.isNestedKey("a", "a.b"));
+    }
+
+    @Test
+    void testOnEnvironmentChangedCoalescing() throws InterruptedException {
+        List<ZoneContextChangedEvent> events = new CopyOnWriteArrayList<>();
+        Map<String, Object> props = new HashMap<>();
+        props.put(CONTEXT_COALESCING_INTERVAL_PROPERTY_NAME, "100");
+        props.put(CONTEXT_COALESCING_MAX_LATENCY_PROPERTY_NAME, "60000");
+        try (GenericApplicationContext ctx = buildContext(props)) {
+            ctx.addApplicationListener(event -> {
+                if (event instanceof ZoneContextChangedEvent) {
+                    events.add((ZoneContextChangedEvent) event);
+                }
+            });
+            ZoneContextChangedListener listener = ctx.getBean(ZoneContextChangedListener.class);
+            Map<String, Object> changedProps = new HashMap<>();
+            ctx.getEnvironment().getPropertySources().addFirst(new MapPropertySource("changed-props", changedProps));
+
+            changedProps.put(ZONE_PROPERTY_NAME, "zone-changed");
+            listener.onEnvironmentChanged(Collections.singletonList(ZONE_PROPERTY_NAME));
+            changedProps.put(PREFERENCE_ENABLED_PROPERTY_NAME, "true");
+            changedProps.put(PREFERENCE_FILTER_ORDER_PROPERTY_NAME, "42");
+            listener.onEnvironmentChanged(Collections.singletonList(PREFERENCE_ENABLED_PROPERTY_NAME));
+            // The change of preference filter order is reverted within the interval
+            changedProps.remove(PREFERENCE_FILTER_ORDER_PROPERTY_NAME);
+            listener.onEnvironmentChanged(Collections.singletonList(PREFERENCE_FILTER_ORDER_PROPERTY_NAME));
+
+            assertEquals(DEFAULT_ZONE, zoneContext.getZone());
+            assertTrue(await(() -> !events.isEmpty()));
+
+            assertEquals("zone-changed", zoneContext.getZone());
+            assertTrue(zoneContext.isPreferenceEnabled());
+            assertEquals(1, events.size());
+            assertEquals(2, events.get(0).getPropertyChangeEvents().size());
+
+            listener.destroy();
+        }
+    }
+
+    @Test
+    void testOnEnvironmentChangedCoalescingWithinMaxLatency() throws InterruptedException {
+        Map<String, Object> props = new HashMap<>();
+        props.put(CONTEXT_COALESCING_INTERVAL_PROPERTY_NAME, "200");
+        props.put(CONTEXT_COALESCING_MAX_LATENCY_PROPERTY_NAME, "500");
+        try (GenericApplicationContext ctx = buildContext(props)) {
+            ZoneContextChangedListener listener = ctx.getBean(ZoneContextChangedListener.class);
+            Map<String, Object> changedProps = new HashMap<>();
+            changedProps.put(PREFERENCE_FILTER_ORDER_PROPERTY_NAME, "42");
+            ctx.getEnvironment().getPropertySources().addFirst(new MapPropertySource("changed-props", changedProps));
+
+            // The changes keep arriving, but they are applied within the max latency
+            assertTrue(await(() -> {
+                listener.onEnvironmentChanged(Collections.singletonList(PREFERENCE_FILTER_ORDER_PROPERTY_NAME));
+                return zoneContext.getPreferenceFilterOrder() == 42;
+            }));
+
+            listener.destroy();
+        }
+    }
+
+    @Test
+    void testOnEnvironmentChangedCoalescingWithUrgentProperty() throws InterruptedException {
+        Map<String, Object> props = new HashMap<>();
+        props.put(CONTEXT_COALESCING_INTERVAL_PROPERTY_NAME, "200");
+        props.put(CONTEXT_COALESCING_MAX_LATENCY_PROPERTY_NAME, "60000");
+        try (GenericApplicationContext ctx = buildContext(props)) {
+            ZoneContextChangedListener listener = ctx.getBean(ZoneContextChangedListener.class);
+            Map<String, Object> changedProps = new HashMap<>();
+            changedProps.put(PREFERENCE_FILTER_ORDER_PROPERTY_NAME, "7");
+            changedProps.put(PREFERENCE_UPSTREAM_DISABLED_ZONE_PROPERTY_NAME, "zone-d");
+            ctx.getEnvironment().getPropertySources().addFirst(new MapPropertySource("changed-props", changedProps));
+
+            listener.onEnvironmentChanged(Collections.singletonList(PREFERENCE_FILTER_ORDER_PROPERTY_NAME));
+            // The non-urgent change is coalescing
+            assertEquals(DEFAULT_ZONE_PREFERENCE_FILTER_ORDER, zoneContext.getPreferenceFilterOrder());
+
+            // The urgent change is applied immediately, and the pending change is flushed with it
+            listener.onEnvironmentChanged(Collections.singletonList(PREFERENCE_UPSTREAM_DISABLED_ZONE_PROPERTY_NAME));
+            assertEquals("zone-d", zoneContext.getPreferenceUpstreamDisabledZone());
+            assertEquals(7, zoneContext.getPreferenceFilterOrder());
+
+            listener.destroy();
+        }
+    }
+
+    private static boolean await(BooleanSupplier condition) throws InterruptedException {
+        for (int i = 0; i < 250; i++) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            Thread.sleep(20);
+        }
+        return false;
+    }
 }